@@ -0,0 +1,114 @@
+package com.reckue.post.benchmarks;
+
+import com.reckue.post.utils.caches.InvertedIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class InvertedIndexBenchmark measures the search as you type in the index of a million posts,
+ * with the last word shorter and longer than the prefixes whose postings are kept.
+ * The mixed group adds and changes posts of the full index while the other threads search,
+ * so every write forgets the oldest post under the write lock.
+ * Run it with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InvertedIndexBenchmark {
+
+    private static final int WORDS = 50000;
+    private static final int WORDS_PER_TITLE = 6;
+
+    @Param("1000000")
+    private int posts;
+
+    private InvertedIndex index;
+    private String tag;
+    private String[] words;
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        words = new String[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 4 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(8)));
+            }
+            words[i] = word.toString();
+        }
+        tag = words[0];
+        index = new InvertedIndex(posts, 3);
+        for (nextId = 0; nextId < posts; nextId++) {
+            index.put(String.valueOf(nextId), title(random), List.of(words[random.nextInt(100)]));
+        }
+    }
+
+    private String title(Random random) {
+        StringBuilder title = new StringBuilder();
+        for (int j = 0; j < WORDS_PER_TITLE; j++) {
+            title.append(words[random.nextInt(WORDS)]).append(' ');
+        }
+        return title.toString();
+    }
+
+    @Benchmark
+    public void shortPrefix(Blackhole blackhole) {
+        blackhole.consume(index.search("abc", 20));
+    }
+
+    @Benchmark
+    public void longPrefix(Blackhole blackhole) {
+        blackhole.consume(index.search("abcd", 20));
+    }
+
+    @Benchmark
+    public void tagAndLongPrefix(Blackhole blackhole) {
+        blackhole.consume(index.search(tag + " abcde", 20));
+    }
+
+    /**
+     * Every second write changes a random post of the index, the others add a new post
+     * and so remove the oldest one.
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void write() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String id = random.nextBoolean()
+                ? String.valueOf(nextId++)
+                : String.valueOf(nextId - 1 - random.nextInt(posts));
+        index.put(id, title(random), List.of(words[random.nextInt(100)]));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public void search(Blackhole blackhole) {
+        blackhole.consume(index.search(tag + " abcd", 20));
+    }
+}
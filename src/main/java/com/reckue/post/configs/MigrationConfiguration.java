@@ -4,6 +4,8 @@ import com.github.mongobee.Mongobee;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
@@ -19,15 +21,20 @@ public class MigrationConfiguration {
 
     /**
      * This method creates an instance of the Mongobee object and tells about the package to scan for changes.
+     * The change sets get the application template, so the documents are written with the custom conversions.
      *
      * @return runner the object of Mongobee class
      */
     @Bean
     public Mongobee mongobee(@Value("${spring.data.mongodb.host}") String host,
                              @Value("${spring.data.mongodb.port}") String port,
-                             @Value("${spring.data.mongodb.database}") String database) {
+                             @Value("${spring.data.mongodb.database}") String database,
+                             MongoTemplate mongoTemplate,
+                             Environment environment) {
         Mongobee runner = new Mongobee("mongodb://" + host + ":" + port + "/" + database);
         runner.setChangeLogsScanPackage("com.reckue.post.migrations");
+        runner.setMongoTemplate(mongoTemplate);
+        runner.setSpringEnvironment(environment);
         return runner;
     }
 }
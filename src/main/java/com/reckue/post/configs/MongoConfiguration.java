@@ -0,0 +1,25 @@
+package com.reckue.post.configs;
+
+import com.reckue.post.utils.codecs.NodeContentCodec;
+import com.reckue.post.utils.codecs.NodeContentConverters;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+/**
+ * Class MongoConfiguration sets up the custom conversions of the models stored in Mongo.
+ */
+@Configuration
+public class MongoConfiguration {
+
+    /**
+     * This method registers the converters which compress the big contents of nodes.
+     *
+     * @param codec the codec of node contents
+     * @return the object of MongoCustomConversions class
+     */
+    @Bean
+    public MongoCustomConversions mongoCustomConversions(NodeContentCodec codec) {
+        return new MongoCustomConversions(NodeContentConverters.getConvertersToRegister(codec));
+    }
+}
@@ -0,0 +1,21 @@
+package com.reckue.post.configs;
+
+import com.reckue.post.utils.converters.nodes.NodeCodecRegistry;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Class NodeCodecConfiguration fails the startup if some node type can't be converted.
+ */
+@Configuration
+public class NodeCodecConfiguration {
+
+    /**
+     * This method is used to check that every node type has a codec.
+     */
+    @PostConstruct
+    public void verify() {
+        NodeCodecRegistry.verify();
+    }
+}
@@ -0,0 +1,12 @@
+package com.reckue.post.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Class SchedulingConfiguration enables the background jobs of the service.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
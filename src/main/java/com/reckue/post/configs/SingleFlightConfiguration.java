@@ -0,0 +1,44 @@
+package com.reckue.post.configs;
+
+import com.reckue.post.configs.properties.SingleFlightProperties;
+import com.reckue.post.models.Comment;
+import com.reckue.post.utils.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Class SingleFlightConfiguration creates the coalescers of the hot reads.
+ * The reads of a post by id are coalesced by its loading cache.
+ */
+@Configuration
+public class SingleFlightConfiguration {
+
+    /**
+     * This method is used to create the coalescer of counting the ratings of a post.
+     *
+     * @param properties the settings of coalescing
+     * @param registry   the registry of metrics
+     * @return the coalescer by post identifier
+     */
+    @Bean
+    public SingleFlight<String, Integer> ratingsCountFlight(SingleFlightProperties properties,
+                                                            MeterRegistry registry) {
+        return new SingleFlight<>("ratings-count", properties.getTimeout(), registry);
+    }
+
+    /**
+     * This method is used to create the coalescer of reading the comment tree of a post.
+     *
+     * @param properties the settings of coalescing
+     * @param registry   the registry of metrics
+     * @return the coalescer by post identifier
+     */
+    @Bean
+    public SingleFlight<String, List<Comment>> commentTreeFlight(SingleFlightProperties properties,
+                                                                 MeterRegistry registry) {
+        return new SingleFlight<>("comment-tree", properties.getTimeout(), registry);
+    }
+}
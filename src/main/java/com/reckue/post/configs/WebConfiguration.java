@@ -0,0 +1,25 @@
+package com.reckue.post.configs;
+
+import com.reckue.post.utils.RenderedPostHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Class WebConfiguration sets up the conversion of the responses.
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    /**
+     * This method registers the converter of the serialized post responses before the JSON one.
+     *
+     * @param converters the registered converters
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new RenderedPostHttpMessageConverter());
+    }
+}
@@ -0,0 +1,24 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class BlobProperties holds the settings of the shared storage of text and code node contents.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.blob")
+public class BlobProperties {
+
+    /**
+     * Minimal length in characters of the content which is moved to a shared blob.
+     */
+    private int threshold = 2048;
+
+    /**
+     * Maximal total length in characters of the blob contents kept in memory.
+     */
+    private long cacheCapacity = 8 * 1024 * 1024;
+}
@@ -0,0 +1,44 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class CascadeDeleteProperties holds the settings of the background cascade delete of posts.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.cascade")
+public class CascadeDeleteProperties {
+
+    /**
+     * Maximum quantity of documents removed by a single deleteMany.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Pause in milliseconds between two batches, so a big post doesn't stall the database.
+     */
+    private long batchPause = 50;
+
+    /**
+     * Delay in milliseconds between two polls of the job queue.
+     */
+    private long pollDelay = 1000;
+
+    /**
+     * Time in milliseconds after which a running job without progress is taken by another instance.
+     */
+    private long lease = 60000;
+
+    /**
+     * Maximum quantity of attempts after which a failed job isn't taken again.
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Delay in milliseconds before the first retry of a failed job, it is doubled by every next attempt.
+     */
+    private long retryDelay = 10000;
+}
@@ -0,0 +1,32 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.zip.Deflater;
+
+/**
+ * Class CompressionProperties holds the settings of the compression of node contents in database.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.compression")
+public class CompressionProperties {
+
+    /**
+     * Whether the big contents of text, code and list nodes are compressed on write.
+     * The compressed contents are read regardless of this flag.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Minimal size in bytes of the content which is compressed.
+     */
+    private int threshold = 16384;
+
+    /**
+     * Deflate compression level from 1 (fastest) to 9 (smallest).
+     */
+    private int level = Deflater.DEFAULT_COMPRESSION;
+}
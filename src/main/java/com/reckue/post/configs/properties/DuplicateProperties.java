@@ -0,0 +1,26 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class DuplicateProperties holds the settings of the near duplicate posts found by SimHash fingerprints.
+ * The stored block keys are computed with the distance, so the fingerprints have to be removed
+ * when the distance is changed.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.duplicates")
+public class DuplicateProperties {
+
+    /**
+     * Maximal quantity of different bits of the fingerprints of near duplicates.
+     */
+    private int distance = 4;
+
+    /**
+     * Maximal quantity of the candidates compared with a fingerprint for one request.
+     */
+    private int candidates = 200;
+}
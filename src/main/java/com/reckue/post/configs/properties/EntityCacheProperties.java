@@ -0,0 +1,25 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class EntityCacheProperties holds the settings of the in-process cache of posts.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.entity-cache")
+public class EntityCacheProperties {
+
+    /**
+     * Maximal total estimated size in bytes of the cached posts.
+     */
+    private long maximumWeight = 64 * 1024 * 1024;
+
+    /**
+     * Time in milliseconds after which a cached post is read again,
+     * it bounds staleness of the posts changed by the other instances.
+     */
+    private long expireAfterWrite = 60000;
+}
@@ -0,0 +1,19 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class ErrorResponseProperties holds the settings of the error responses.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.errors")
+public class ErrorResponseProperties {
+
+    /**
+     * Whether the error responses contain the stack trace of the exception.
+     */
+    private boolean includeTrace = false;
+}
@@ -0,0 +1,62 @@
+package com.reckue.post.configs.properties;
+
+import com.reckue.post.models.types.PostStatusType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class FeedProperties holds the settings of the in-memory snapshots of the first pages of the post lists.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.feed")
+public class FeedProperties {
+
+    /**
+     * Maximal quantity of the first posts of a list kept in its snapshot.
+     */
+    private int size = 100;
+
+    /**
+     * Time in milliseconds after which a snapshot is read again from the database,
+     * it bounds staleness of the lists changed by the other instances.
+     */
+    private long refreshInterval = 60000;
+
+    /**
+     * The lists served from the snapshots.
+     */
+    private List<Feed> feeds = new ArrayList<>(List.of(
+            new Feed("createdDate", true, null),
+            new Feed("createdDate", true, PostStatusType.PUBLISHED)));
+
+    /**
+     * Class Feed describes a list of posts by the parameters of its request.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Feed {
+
+        /**
+         * Parameter for sorting: createdDate, modificationDate or id.
+         */
+        private String sort;
+
+        /**
+         * Sorting descending.
+         */
+        private boolean desc;
+
+        /**
+         * Status of the listed posts or null for all the posts.
+         */
+        private PostStatusType status;
+    }
+}
@@ -0,0 +1,32 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class InstantSearchProperties holds the settings of the in-memory index of the post titles and tags
+ * used by the search as you type.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.instant-search")
+public class InstantSearchProperties {
+
+    /**
+     * The index is built on start and kept by every instance, otherwise the text index of the database is searched.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximal quantity of the indexed posts, the newest posts are kept. It bounds the memory of the index,
+     * which takes about half a kilobyte per post with a short title and a few tags.
+     */
+    private int capacity = 1000000;
+
+    /**
+     * Maximal length of the prefixes of the words whose postings are kept, a longer prefix is found
+     * by merging the postings of the words starting with it. Longer prefixes take more memory.
+     */
+    private int prefixLength = 3;
+}
@@ -0,0 +1,40 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class InvalidationProperties holds the settings of the invalidation of the local caches
+ * by the changes made through the other instances of the service.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.invalidation")
+public class InvalidationProperties {
+
+    /**
+     * Whether the change stream of the database is watched.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time in milliseconds the change stream waits for a change before the watcher checks if it is stopped.
+     */
+    private long maxAwaitTime = 1000;
+
+    /**
+     * Time in milliseconds between the attempts to open the change stream after it failed.
+     */
+    private long retryDelay = 30000;
+
+    /**
+     * Time in milliseconds after which the cached posts are read again while the change stream isn't available.
+     */
+    private long fallbackTtl = 5000;
+
+    /**
+     * Time in milliseconds between the rebuilds of the instant search index while the change stream isn't available.
+     */
+    private long searchRebuildDelay = 300000;
+}
@@ -0,0 +1,25 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class NegativeLookupProperties holds the settings of the cache of missing identifiers.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.negative-lookup")
+public class NegativeLookupProperties {
+
+    /**
+     * Time in milliseconds an identifier is remembered as missing,
+     * it bounds the time the objects created by the other instances are seen as missing.
+     */
+    private long ttl = 5000;
+
+    /**
+     * Maximal quantity of the remembered identifiers.
+     */
+    private long maximumSize = 100000;
+}
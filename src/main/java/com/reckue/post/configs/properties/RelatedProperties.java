@@ -0,0 +1,37 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class RelatedProperties holds the settings of the related posts found by MinHash signatures.
+ * The stored signatures are computed with these settings, so the signatures have to be removed
+ * when the quantity of hashes or bands is changed.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.related")
+public class RelatedProperties {
+
+    /**
+     * Quantity of the hash functions, the length of the signature.
+     */
+    private int hashes = 128;
+
+    /**
+     * Quantity of the bands of the signature, the posts with an equal band are the candidates.
+     * More bands of fewer rows find less similar posts.
+     */
+    private int bands = 32;
+
+    /**
+     * Quantity of consecutive words in a shingle of the text.
+     */
+    private int shingleSize = 2;
+
+    /**
+     * Maximal quantity of the candidates ranked by their signatures for one request.
+     */
+    private int candidates = 500;
+}
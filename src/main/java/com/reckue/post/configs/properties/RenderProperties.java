@@ -0,0 +1,48 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class RenderProperties holds the settings of the cache of serialized post responses.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.render")
+public class RenderProperties {
+
+    /**
+     * Maximal total size in bytes of the cached responses, zero disables the cache.
+     */
+    private long cacheCapacity = 16 * 1024 * 1024;
+
+    /**
+     * Whether the responses are also kept compressed with gzip.
+     */
+    private boolean gzip = true;
+
+    /**
+     * Minimal size in bytes of the response which is compressed with gzip.
+     */
+    private int gzipThreshold = 1024;
+
+    /**
+     * Where the cached responses are kept.
+     */
+    private Storage storage = Storage.HEAP;
+
+    /**
+     * Size in bytes of one slab of the off-heap storage, the bigger responses aren't cached.
+     * The whole capacity is limited by the direct memory of the JVM (-XX:MaxDirectMemorySize).
+     */
+    private int slabSize = 1024 * 1024;
+
+    /**
+     * Enum Storage represents the storages of the cached responses.
+     */
+    public enum Storage {
+        HEAP,
+        OFF_HEAP
+    }
+}
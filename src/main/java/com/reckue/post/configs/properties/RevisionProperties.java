@@ -0,0 +1,20 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class RevisionProperties holds the settings of the revision history of posts.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.revision")
+public class RevisionProperties {
+
+    /**
+     * Every version divisible by the interval is stored as a full snapshot,
+     * so a version is restored from at most interval - 1 deltas.
+     */
+    private int snapshotInterval = 20;
+}
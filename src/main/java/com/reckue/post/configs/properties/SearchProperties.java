@@ -0,0 +1,20 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class SearchProperties holds the settings of the text indexed by the search.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.search")
+public class SearchProperties {
+
+    /**
+     * Maximal length of the plain text of the nodes stored with every post for the text index.
+     * The text is cut at this length, so a huge post doesn't make a huge index entry.
+     */
+    private int maxTextLength = 20000;
+}
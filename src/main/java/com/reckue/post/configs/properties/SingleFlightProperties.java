@@ -0,0 +1,20 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class SingleFlightProperties holds the settings of coalescing of the concurrent reads of the same key.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.single-flight")
+public class SingleFlightProperties {
+
+    /**
+     * Time in milliseconds a coalesced read waits for the result of the read in flight,
+     * after that it reads by itself.
+     */
+    private long timeout = 5000;
+}
@@ -0,0 +1,26 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class TagCatalogProperties holds the settings of the in-memory catalog of tags.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.tag-catalog")
+public class TagCatalogProperties {
+
+    /**
+     * Delay in milliseconds between two reads of all the tags from the database,
+     * it bounds staleness of the tags changed by the other instances while their changes can't be watched.
+     */
+    private long refreshInterval = 60000;
+
+    /**
+     * Posts keep only the identifiers of their tags and the names are resolved from the catalog,
+     * so a tag is renamed without rewriting the posts. The stored posts are converted on start.
+     */
+    private boolean references = false;
+}
@@ -0,0 +1,25 @@
+package com.reckue.post.configs.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class TagUsageProperties holds the settings of the counters of the posts of every tag.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reckue.tag-usage")
+public class TagUsageProperties {
+
+    /**
+     * Length in milliseconds of the period of time counted by a single bucket,
+     * the windows of the trending tags are rounded to it.
+     */
+    private long bucketSize = 3600000;
+
+    /**
+     * Window in milliseconds of the trending tags if it isn't given.
+     */
+    private long defaultWindow = 7 * 24 * 3600000L;
+}
@@ -5,8 +5,11 @@ import com.reckue.post.models.Comment;
 import com.reckue.post.services.CommentService;
 import com.reckue.post.transfers.CommentRequest;
 import com.reckue.post.transfers.CommentResponse;
+import com.reckue.post.utils.EntityTags;
 import com.reckue.post.utils.converters.CommentConverter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -14,6 +17,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static com.reckue.post.utils.converters.CommentConverter.convert;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
 
 /**
  * Class CommentController is responsible for processing incoming requests.
@@ -35,22 +39,26 @@ public class CommentController implements CommentApi {
      * @return the object of class CommentResponse
      */
     @PostMapping
-    public CommentResponse create(@RequestBody @Valid CommentRequest commentRequest) {
-        return convert(commentService.create(convert(commentRequest)));
+    public ResponseEntity<CommentResponse> create(@RequestBody @Valid CommentRequest commentRequest) {
+        return withEntityTag(convert(commentService.create(convert(commentRequest))));
     }
 
     /**
      * This type of request allows to update by id the object and process it using the converter.
      *
      * @param id             the object identifier
+     * @param ifMatch        the expected version of the object, any version if it is absent
      * @param commentRequest the object of class CommentRequest
      * @return the object of class CommentResponse
      */
     @PutMapping("/{id}")
-    public CommentResponse update(@PathVariable String id, @RequestBody @Valid CommentRequest commentRequest) {
+    public ResponseEntity<CommentResponse> update(@PathVariable String id,
+                                                  @RequestHeader(value = IF_MATCH, required = false) String ifMatch,
+                                                  @RequestBody @Valid CommentRequest commentRequest) {
         Comment comment = convert(commentRequest);
         comment.setId(id);
-        return convert(commentService.update(comment));
+        comment.setVersion(EntityTags.parseVersion(ifMatch));
+        return withEntityTag(convert(commentService.update(comment)));
     }
 
     /**
@@ -77,13 +85,50 @@ public class CommentController implements CommentApi {
 
     /**
      * This type of request allows to get the object by id, process it using the converter.
+     * The conditional request is checked against the version of the object without reading the object itself.
      *
      * @param id the object identifier
      * @return the object of class CommentResponse
      */
     @GetMapping("/{id}")
-    public CommentResponse findById(@PathVariable String id) {
-        return convert(commentService.findById(id));
+    public ResponseEntity<CommentResponse> findById(@PathVariable String id) {
+        if (EntityTags.isConditional()) {
+            Comment stamp = commentService.findVersionById(id);
+            String entityTag = EntityTags.of(stamp.getVersion());
+            if (EntityTags.isNotModified(entityTag, stamp.getModificationDate())) {
+                return EntityTags.withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED),
+                        entityTag, stamp.getModificationDate()).build();
+            }
+        }
+        Comment comment = commentService.findById(id);
+        return EntityTags.withValidators(ResponseEntity.ok(),
+                EntityTags.of(comment.getVersion()), comment.getModificationDate())
+                .body(convert(comment));
+    }
+
+    /**
+     * This type of request allows to get all the comments to the post in the order of threads,
+     * process them using the converter.
+     * The entity tag of the list is built from the identifiers and versions of the comments,
+     * so the conditional request is checked without reading the comments themselves.
+     *
+     * @param postId the post identifier
+     * @return list of objects of class CommentResponse
+     */
+    @GetMapping("/post/{postId}")
+    public ResponseEntity<List<CommentResponse>> findAllByPostId(@PathVariable String postId) {
+        if (EntityTags.isConditional()) {
+            String entityTag = entityTag(commentService.findVersionsByPostId(postId));
+            if (EntityTags.isNotModified(entityTag, null)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(entityTag).build();
+            }
+        }
+        List<Comment> comments = commentService.findAllByPostId(postId);
+        return ResponseEntity.ok()
+                .eTag(entityTag(comments))
+                .body(comments.stream()
+                        .map(CommentConverter::convert)
+                        .collect(Collectors.toList()));
     }
 
     /**
@@ -95,4 +140,17 @@ public class CommentController implements CommentApi {
     public void deleteById(@PathVariable String id) {
         commentService.deleteById(id);
     }
+
+    private ResponseEntity<CommentResponse> withEntityTag(CommentResponse response) {
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(response.getVersion()))
+                .body(response);
+    }
+
+    private static String entityTag(List<Comment> comments) {
+        return EntityTags.ofContent(comments.stream()
+                .map(comment -> comment.getId() + ':' + EntityTags.of(comment.getVersion()))
+                .sorted()
+                .collect(Collectors.toList()));
+    }
 }
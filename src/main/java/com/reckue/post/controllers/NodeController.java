@@ -5,9 +5,12 @@ import com.reckue.post.models.Node;
 import com.reckue.post.services.NodeService;
 import com.reckue.post.transfers.NodeRequest;
 import com.reckue.post.transfers.NodeResponse;
+import com.reckue.post.utils.EntityTags;
 import com.reckue.post.utils.converters.NodeConverter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -15,6 +18,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static com.reckue.post.utils.converters.NodeConverter.convert;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
 
 /**
  * Class NodeController is responsible for processing incoming requests.
@@ -37,23 +41,27 @@ public class NodeController implements NodeApi {
      * @return the object of class NodeResponse
      */
     @PostMapping
-    public NodeResponse create(@RequestBody @Valid NodeRequest nodeRequest) {
+    public ResponseEntity<NodeResponse> create(@RequestBody @Valid NodeRequest nodeRequest) {
         log.info("{}", nodeRequest);
-        return convert(nodeService.create(convert(nodeRequest)));
+        return withEntityTag(convert(nodeService.create(convert(nodeRequest))));
     }
 
     /**
      * This type of request allows to update by id the object and process it using the converter.
      *
      * @param id          the object identifier
+     * @param ifMatch     the expected version of the object, any version if it is absent
      * @param nodeRequest the object of class NodeRequest
      * @return the object of class NodeResponse
      */
     @PutMapping("/{id}")
-    public NodeResponse update(@PathVariable String id, @RequestBody @Valid NodeRequest nodeRequest) {
+    public ResponseEntity<NodeResponse> update(@PathVariable String id,
+                                               @RequestHeader(value = IF_MATCH, required = false) String ifMatch,
+                                               @RequestBody @Valid NodeRequest nodeRequest) {
         Node node = convert(nodeRequest);
         node.setId(id);
-        return convert(nodeService.update(node));
+        node.setVersion(EntityTags.parseVersion(ifMatch));
+        return withEntityTag(convert(nodeService.update(node)));
     }
 
     /**
@@ -80,13 +88,25 @@ public class NodeController implements NodeApi {
 
     /**
      * This type of request allows to get the object by id, process it using the converter.
+     * A conditional request reads only the version and modification date of the node first.
      *
      * @param id the object identifier
      * @return the object of class NodeResponse
      */
     @GetMapping("/{id}")
-    public NodeResponse findById(@PathVariable String id) {
-        return convert(nodeService.findById(id));
+    public ResponseEntity<NodeResponse> findById(@PathVariable String id) {
+        if (EntityTags.isConditional()) {
+            Node stamp = nodeService.findVersionById(id);
+            String entityTag = EntityTags.of(stamp.getVersion());
+            if (EntityTags.isNotModified(entityTag, stamp.getModificationDate())) {
+                return EntityTags.withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED),
+                        entityTag, stamp.getModificationDate()).build();
+            }
+        }
+        Node node = nodeService.findById(id);
+        return EntityTags.withValidators(ResponseEntity.ok(),
+                EntityTags.of(node.getVersion()), node.getModificationDate())
+                .body(convert(node));
     }
 
     /**
@@ -98,4 +118,10 @@ public class NodeController implements NodeApi {
     public void deleteById(@PathVariable String id) {
         nodeService.deleteById(id);
     }
+
+    private ResponseEntity<NodeResponse> withEntityTag(NodeResponse response) {
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(response.getVersion()))
+                .body(response);
+    }
 }
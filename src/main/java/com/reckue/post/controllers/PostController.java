@@ -2,18 +2,34 @@ package com.reckue.post.controllers;
 
 import com.reckue.post.controllers.apis.PostApi;
 import com.reckue.post.models.Post;
+import com.reckue.post.models.types.PostStatusType;
+import com.reckue.post.services.PostRenderService;
 import com.reckue.post.services.PostService;
+import com.reckue.post.services.TagService;
 import com.reckue.post.transfers.PostRequest;
 import com.reckue.post.transfers.PostResponse;
+import com.reckue.post.transfers.PostSummaryResponse;
+import com.reckue.post.transfers.RenderedPost;
+import com.reckue.post.utils.EntityTags;
 import com.reckue.post.utils.converters.PostConverter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import javax.validation.Valid;
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static com.reckue.post.utils.converters.PostConverter.convert;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.VARY;
 
 /**
  * Class PostController represents simple REST-Controller.
@@ -27,6 +43,8 @@ import static com.reckue.post.utils.converters.PostConverter.convert;
 public class PostController implements PostApi {
 
     private final PostService postService;
+    private final PostRenderService postRenderService;
+    private final TagService tagService;
 
     /**
      * This type of request allows to create, process it using the converter and save.
@@ -35,33 +53,74 @@ public class PostController implements PostApi {
      * @return the object of class PostResponse
      */
     @PostMapping
-    public PostResponse create(@RequestBody @Valid PostRequest postRequest) {
-        return convert(postService.create(convert(postRequest)));
+    public ResponseEntity<PostResponse> create(@RequestBody @Valid PostRequest postRequest) {
+        return withEntityTag(convert(postService.create(convert(postRequest))));
     }
 
     /**
      * This type of request allows to update by id the object, process it using the converter and save.
      *
      * @param id          the object identifier
+     * @param ifMatch     the expected version of the object, any version if it is absent
      * @param postRequest the object of class PostRequest
      * @return the object of class PostResponse
      */
     @PutMapping("/{id}")
-    public PostResponse update(@PathVariable String id, @RequestBody @Valid PostRequest postRequest) {
+    public ResponseEntity<PostResponse> update(@PathVariable String id,
+                                               @RequestHeader(value = IF_MATCH, required = false) String ifMatch,
+                                               @RequestBody @Valid PostRequest postRequest) {
         Post post = convert(postRequest);
         post.setId(id);
-        return convert(postService.update(post));
+        post.setVersion(EntityTags.parseVersion(ifMatch));
+        return withEntityTag(convert(postService.update(post)));
     }
 
     /**
-     * This type of request allows to get the object by id, process it using the converter.
+     * This type of request allows to get the object by id.
+     * The serialized response is reused while the version of the object and the names of its tags stay the same,
+     * it is sent compressed if the client accepts gzip and the response is big enough.
+     * The client accepting gzip always gets the entity tag with the gzip suffix,
+     * so the tag is known before the response is read and never shared by two representations.
+     * The cached bytes are released when the request is completed.
+     * The client that already has the current version gets 304 Not Modified without reading the object.
+     * The names of the tags kept by reference change apart from the post, so the entity tag has their generation
+     * and the modification date isn't sent for such a post.
      *
-     * @param id the object identifier
-     * @return the object of class PostResponse
+     * @param id             the object identifier
+     * @param acceptEncoding value of the Accept-Encoding header
+     * @return the serialized object of class PostResponse
      */
     @GetMapping("/{id}")
-    public PostResponse findById(@PathVariable String id) {
-        return convert(postService.findById(id));
+    public ResponseEntity<RenderedPost> findById(@PathVariable String id,
+                                                 @RequestHeader(value = ACCEPT_ENCODING, required = false)
+                                                         String acceptEncoding) {
+        Post stamp = postService.findVersionById(id);
+        long generation = tagService.generation(stamp.getTags());
+        Instant modificationDate = generation == 0 ? stamp.getModificationDate() : null;
+        boolean gzip = EntityTags.acceptsGzip(acceptEncoding);
+        String entityTag = EntityTags.of(stamp.getVersion(), generation, gzip);
+        if (EntityTags.isNotModified(entityTag, modificationDate)) {
+            return EntityTags.withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED),
+                    entityTag, modificationDate)
+                    .header(VARY, ACCEPT_ENCODING)
+                    .build();
+        }
+        RenderedPost rendered = postRenderService.find(id, stamp.getVersion(), generation);
+        if (rendered == null) {
+            rendered = postRenderService.render(postService.findById(id));
+        }
+        RequestContextHolder.currentRequestAttributes().registerDestructionCallback(
+                RenderedPost.class.getName(), rendered::release, RequestAttributes.SCOPE_REQUEST);
+        Instant lastModified = rendered.getVersion() == stamp.getVersion()
+                && rendered.getGeneration() == generation ? modificationDate : null;
+        ResponseEntity.BodyBuilder response = EntityTags.withValidators(ResponseEntity.ok(),
+                EntityTags.of(rendered.getVersion(), rendered.getGeneration(), gzip), lastModified)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(VARY, ACCEPT_ENCODING);
+        if (gzip && rendered.hasGzip()) {
+            response.header(CONTENT_ENCODING, "gzip");
+        }
+        return response.body(rendered);
     }
 
     /**
@@ -84,6 +143,11 @@ public class PostController implements PostApi {
      * @param offset quantity to skip
      * @param sort   parameter for sorting
      * @param desc   sorting descending
+     * @param status status of the objects, all the objects are listed if it isn't given
+     * @param tag    identifiers of the tags, if they are given the newest objects with the tags are listed
+     *               by pages after the cursor instead of the offset
+     * @param mode   all if the objects must have all the tags, any if any of them, default - all
+     * @param cursor identifier of the last object of the previous page of the objects with the tags
      * @return list of given quantity of objects of class PostResponse with a given offset
      * sorted by the selected parameter for sorting in descending order
      */
@@ -91,9 +155,82 @@ public class PostController implements PostApi {
     public List<PostResponse> findAll(@RequestParam(required = false) Integer limit,
                                       @RequestParam(required = false) Integer offset,
                                       @RequestParam(required = false) String sort,
-                                      @RequestParam(required = false) Boolean desc) {
+                                      @RequestParam(required = false) Boolean desc,
+                                      @RequestParam(required = false) PostStatusType status,
+                                      @RequestParam(required = false) List<String> tag,
+                                      @RequestParam(required = false) String mode,
+                                      @RequestParam(required = false) String cursor) {
+
+        List<Post> posts = tag == null || tag.isEmpty()
+                ? postService.findAll(limit, offset, sort, desc, status)
+                : postService.findAllByTags(tag, mode, status, cursor, limit);
+        return posts.stream()
+                .map(PostConverter::convert)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * This type of request allows to get the summaries of the objects matching the text by pages,
+     * process it using the converter.
+     *
+     * @param q      the searched words and phrases
+     * @param status status of the objects, all the objects are searched if it isn't given
+     * @param cursor cursor of the last object of the previous page
+     * @param limit  quantity of objects
+     * @return list of objects of class PostSummaryResponse, the most relevant objects go first
+     */
+    @GetMapping("/search")
+    public List<PostSummaryResponse> search(@RequestParam String q,
+                                            @RequestParam(required = false) PostStatusType status,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit) {
+        return postService.search(q, status, cursor, limit).stream()
+                .map(PostConverter::convert)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * This type of request allows to get the summaries of the newest objects whose titles and tags
+     * have all the typed words, process it using the converter.
+     *
+     * @param q     the typed text, its last word may be typed partly
+     * @param limit quantity of objects
+     * @return list of objects of class PostSummaryResponse, the newest objects go first
+     */
+    @GetMapping("/search/instant")
+    public List<PostSummaryResponse> searchInstant(@RequestParam String q,
+                                                   @RequestParam(required = false) Integer limit) {
+        return postService.searchInstant(q, limit).stream()
+                .map(PostConverter::convert)
+                .collect(Collectors.toList());
+    }
 
-        return postService.findAll(limit, offset, sort, desc).stream()
+    /**
+     * This type of request allows to get the objects most similar to the object by their tags and text,
+     * process it using the converter.
+     *
+     * @param id    the object identifier
+     * @param limit quantity of objects
+     * @return list of objects of class PostResponse, the most similar objects go first
+     */
+    @GetMapping("/{id}/related")
+    public List<PostResponse> findRelated(@PathVariable String id,
+                                          @RequestParam(required = false) Integer limit) {
+        return postService.findRelated(id, limit).stream()
+                .map(PostConverter::convert)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * This type of request allows to get the near duplicates of the object by its text,
+     * process it using the converter.
+     *
+     * @param id the object identifier
+     * @return list of objects of class PostResponse, the closest objects go first
+     */
+    @GetMapping("/{id}/duplicates")
+    public List<PostResponse> findDuplicates(@PathVariable String id) {
+        return postService.findDuplicates(id).stream()
                 .map(PostConverter::convert)
                 .collect(Collectors.toList());
     }
@@ -107,4 +244,10 @@ public class PostController implements PostApi {
     public void deleteById(@PathVariable String id) {
         postService.deleteById(id);
     }
+
+    private ResponseEntity<PostResponse> withEntityTag(PostResponse response) {
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(response.getVersion()))
+                .body(response);
+    }
 }
@@ -0,0 +1,54 @@
+package com.reckue.post.controllers;
+
+import com.reckue.post.controllers.apis.PostRevisionApi;
+import com.reckue.post.services.PostRevisionService;
+import com.reckue.post.transfers.PostResponse;
+import com.reckue.post.transfers.PostRevisionResponse;
+import com.reckue.post.utils.converters.PostConverter;
+import com.reckue.post.utils.converters.PostRevisionConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Class PostRevisionController represents REST-Controller of the revision history of posts.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(value = "/posts/{postId}/revisions")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+public class PostRevisionController implements PostRevisionApi {
+
+    private final PostRevisionService postRevisionService;
+
+    /**
+     * This type of request allows to get the revisions of the post, process it using the converter.
+     *
+     * @param postId the post identifier
+     * @param limit  quantity of objects
+     * @param offset quantity to skip
+     * @return list of objects of class PostRevisionResponse sorted by version in descending order
+     */
+    @GetMapping
+    public List<PostRevisionResponse> findAll(@PathVariable String postId,
+                                              @RequestParam(required = false) Integer limit,
+                                              @RequestParam(required = false) Integer offset) {
+        return postRevisionService.findAllByPostId(postId, limit, offset).stream()
+                .map(PostRevisionConverter::convert)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * This type of request allows to get the post in the given version, process it using the converter.
+     *
+     * @param postId  the post identifier
+     * @param version the version of the post
+     * @return the object of class PostResponse
+     */
+    @GetMapping("/{version}")
+    public PostResponse findByVersion(@PathVariable String postId, @PathVariable long version) {
+        return PostConverter.convert(postRevisionService.findByVersion(postId, version));
+    }
+}
@@ -5,8 +5,11 @@ import com.reckue.post.models.Tag;
 import com.reckue.post.services.TagService;
 import com.reckue.post.transfers.TagRequest;
 import com.reckue.post.transfers.TagResponse;
+import com.reckue.post.utils.EntityTags;
 import com.reckue.post.utils.converters.TagConverter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -59,7 +62,7 @@ public class TagController implements TagApi {
      *
      * @param limit  quantity of objects
      * @param offset quantity to skip
-     * @param sort   parameter for sorting
+     * @param sort   parameter for sorting: id, name or popular
      * @param desc   sorting descending
      * @return list of given quantity of objects of class TagResponse with a given offset
      * sorted by the selected parameter for sorting in descending order
@@ -75,15 +78,53 @@ public class TagController implements TagApi {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * This type of request allows to get the tags for autocompletion, process them using the converter.
+     *
+     * @param prefix the beginning of the name, ignoring case
+     * @param limit  quantity of objects
+     * @return list of objects of class TagResponse, the most used tags go first
+     */
+    @GetMapping("/suggest")
+    public List<TagResponse> suggest(@RequestParam(required = false, defaultValue = "") String prefix,
+                                     @RequestParam(required = false) Integer limit) {
+        return tagService.suggest(prefix, limit).stream()
+                .map(TagConverter::convert)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * This type of request allows to get the tags most added to the posts within the last period of time,
+     * process them using the converter.
+     *
+     * @param window length of the period, e.g. 24h or 7d
+     * @param limit  quantity of objects
+     * @return list of objects of class TagResponse, the most added tags go first
+     */
+    @GetMapping("/trending")
+    public List<TagResponse> findTrending(@RequestParam(required = false) String window,
+                                          @RequestParam(required = false) Integer limit) {
+        return tagService.findTrending(window, limit).stream()
+                .map(TagConverter::convert)
+                .collect(Collectors.toList());
+    }
+
     /**
      * This type of request allows to get the object by id, process it using the converter.
+     * Tags aren't versioned, so the entity tag is a hash of the tag itself and the response isn't serialized
+     * if the client already has it.
      *
      * @param id the object identifier
      * @return the object of class TagResponse
      */
     @GetMapping("/{id}")
-    public TagResponse findById(@PathVariable String id) {
-        return convert(tagService.findById(id));
+    public ResponseEntity<TagResponse> findById(@PathVariable String id) {
+        Tag tag = tagService.findById(id);
+        String entityTag = EntityTags.ofContent(List.of(tag.getId(), String.valueOf(tag.getName())));
+        if (EntityTags.isNotModified(entityTag, null)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(entityTag).build();
+        }
+        return ResponseEntity.ok().eTag(entityTag).body(convert(tag));
     }
 
     /**
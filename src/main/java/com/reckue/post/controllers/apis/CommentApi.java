@@ -6,6 +6,7 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 
@@ -21,15 +22,16 @@ public interface CommentApi {
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The comment successfully added"),
             @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
-    CommentResponse create(CommentRequest commentRequest);
+    ResponseEntity<CommentResponse> create(CommentRequest commentRequest);
 
     @ApiOperation(value = "Update a comment")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The comment successfully updated"),
             @ApiResponse(code = 400, message = "You need to fill in the fields of your request"),
             @ApiResponse(code = 404, message = "The resource you were trying to change is not found"),
+            @ApiResponse(code = 412, message = "The resource has been changed, reload it and retry the request"),
             @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
-    CommentResponse update(String id, CommentRequest commentRequest);
+    ResponseEntity<CommentResponse> update(String id, String ifMatch, CommentRequest commentRequest);
 
     @ApiOperation(value = "View a list of available comments", response = CommentResponse.class)
     @ApiResponses(value = {
@@ -44,7 +46,14 @@ public interface CommentApi {
             @ApiResponse(code = 200, message = "The comment successfully found"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
             @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
-    CommentResponse findById(String id);
+    ResponseEntity<CommentResponse> findById(String id);
+
+    @ApiOperation(value = "Get all comments to a post in the order of threads", response = CommentResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The comments successfully found"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
+    ResponseEntity<List<CommentResponse>> findAllByPostId(String postId);
 
     @ApiOperation(value = "Delete a comment")
     @ApiResponses(value = {
@@ -6,6 +6,7 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 
@@ -21,15 +22,16 @@ public interface NodeApi {
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The node successfully added"),
             @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
-    NodeResponse create(NodeRequest nodeRequest);
+    ResponseEntity<NodeResponse> create(NodeRequest nodeRequest);
 
     @ApiOperation(value = "Update a node")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The node successfully updated"),
             @ApiResponse(code = 400, message = "You need to fill in the fields of your request"),
             @ApiResponse(code = 404, message = "The resource you were trying to change is not found"),
+            @ApiResponse(code = 412, message = "The resource has been changed, reload it and retry the request"),
             @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
-    NodeResponse update(String id, NodeRequest nodeRequest);
+    ResponseEntity<NodeResponse> update(String id, String ifMatch, NodeRequest nodeRequest);
 
     @ApiOperation(value = "View a list of available nodes", response = NodeResponse.class)
     @ApiResponses(value = {
@@ -44,7 +46,7 @@ public interface NodeApi {
             @ApiResponse(code = 200, message = "The node successfully found"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
             @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
-    NodeResponse findById(String id);
+    ResponseEntity<NodeResponse> findById(String id);
 
     @ApiOperation(value = "Delete a node")
     @ApiResponses(value = {
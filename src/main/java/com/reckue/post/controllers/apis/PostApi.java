@@ -1,11 +1,15 @@
 package com.reckue.post.controllers.apis;
 
+import com.reckue.post.models.types.PostStatusType;
 import com.reckue.post.transfers.PostRequest;
 import com.reckue.post.transfers.PostResponse;
+import com.reckue.post.transfers.PostSummaryResponse;
+import com.reckue.post.transfers.RenderedPost;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 
@@ -22,22 +26,23 @@ public interface PostApi {
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The post successfully added"),
             @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
-    PostResponse create(PostRequest postRequest);
+    ResponseEntity<PostResponse> create(PostRequest postRequest);
 
     @ApiOperation(value = "Update a post")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The post successfully updated"),
             @ApiResponse(code = 400, message = "You need to fill in the fields of your request"),
             @ApiResponse(code = 404, message = "The resource you were trying to change is not found"),
+            @ApiResponse(code = 412, message = "The resource has been changed, reload it and retry the request"),
             @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
-    PostResponse update(String id, PostRequest postRequest);
+    ResponseEntity<PostResponse> update(String id, String ifMatch, PostRequest postRequest);
 
     @ApiOperation(value = "Get a post by id", response = PostResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The post successfully found"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
             @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
-    PostResponse findById(String id);
+    ResponseEntity<RenderedPost> findById(String id, String acceptEncoding);
 
     @ApiOperation(value = "Get the posts by title", response = PostResponse.class)
     @ApiResponses(value = {
@@ -52,7 +57,38 @@ public interface PostApi {
             @ApiResponse(code = 400, message = "You need to change the parameters of your request"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
             @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
-    List<PostResponse> findAll(Integer limit, Integer offset, String sort, Boolean desc);
+    List<PostResponse> findAll(Integer limit, Integer offset, String sort, Boolean desc, PostStatusType status,
+                               List<String> tag, String mode, String cursor);
+
+    @ApiOperation(value = "Search the posts by their text", response = PostSummaryResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "List of found posts successfully retrieved"),
+            @ApiResponse(code = 400, message = "You need to change the parameters of your request"),
+            @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
+    List<PostSummaryResponse> search(String q, PostStatusType status, String cursor, Integer limit);
+
+    @ApiOperation(value = "Search the posts by the words of their titles and tags as you type",
+            response = PostSummaryResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "List of found posts successfully retrieved"),
+            @ApiResponse(code = 400, message = "You need to change the parameters of your request"),
+            @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
+    List<PostSummaryResponse> searchInstant(String q, Integer limit);
+
+    @ApiOperation(value = "View a list of the posts related to a post", response = PostResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "List of related posts successfully retrieved"),
+            @ApiResponse(code = 400, message = "You need to change the parameters of your request"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
+    List<PostResponse> findRelated(String id, Integer limit);
+
+    @ApiOperation(value = "View a list of the near duplicates of a post", response = PostResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "List of near duplicates successfully retrieved"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
+    List<PostResponse> findDuplicates(String id);
 
     @ApiOperation(value = "Delete a post")
     @ApiResponses(value = {
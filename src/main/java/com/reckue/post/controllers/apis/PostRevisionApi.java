@@ -0,0 +1,32 @@
+package com.reckue.post.controllers.apis;
+
+import com.reckue.post.transfers.PostResponse;
+import com.reckue.post.transfers.PostRevisionResponse;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import java.util.List;
+
+/**
+ * Interface PostRevisionApi allows to post annotations for swagger.
+ */
+@Api(tags = {"/posts/{postId}/revisions"})
+@SuppressWarnings("unused")
+public interface PostRevisionApi {
+
+    @ApiOperation(value = "View a list of revisions of a post", response = PostRevisionResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "List of revisions successfully retrieved"),
+            @ApiResponse(code = 400, message = "You need to change the parameters of your request"),
+            @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
+    List<PostRevisionResponse> findAll(String postId, Integer limit, Integer offset);
+
+    @ApiOperation(value = "Get a post in the given version", response = PostResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The version of the post successfully restored"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
+    PostResponse findByVersion(String postId, long version);
+}
@@ -6,6 +6,7 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 
@@ -39,12 +40,26 @@ public interface TagApi {
             @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
     List<TagResponse> findAll(Integer limit, Integer offset, String sort, Boolean desc);
 
+    @ApiOperation(value = "View the most used tags starting with a prefix", response = TagResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "List of tags successfully retrieved"),
+            @ApiResponse(code = 400, message = "You need to change the parameters of your request"),
+            @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
+    List<TagResponse> suggest(String prefix, Integer limit);
+
+    @ApiOperation(value = "View the tags most added to the posts within a period", response = TagResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "List of tags successfully retrieved"),
+            @ApiResponse(code = 400, message = "You need to change the parameters of your request"),
+            @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
+    List<TagResponse> findTrending(String window, Integer limit);
+
     @ApiOperation(value = "Get a tag by id", response = TagResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The tag successfully found"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
             @ApiResponse(code = 500, message = "Access to the resource you tried to obtain is not possible")})
-    TagResponse findById(String id);
+    ResponseEntity<TagResponse> findById(String id);
 
     @ApiOperation(value = "Delete a tag")
     @ApiResponses(value = {
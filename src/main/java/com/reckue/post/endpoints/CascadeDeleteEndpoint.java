@@ -0,0 +1,44 @@
+package com.reckue.post.endpoints;
+
+import com.reckue.post.models.CascadeDeleteJob;
+import com.reckue.post.services.CascadeDeleteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Class CascadeDeleteEndpoint shows the progress of the cascade delete jobs through actuator,
+ * together with the attempts of every job and the time of its next retry.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "cascades")
+public class CascadeDeleteEndpoint {
+
+    private final CascadeDeleteService cascadeDeleteService;
+
+    /**
+     * This method is used to get the latest jobs.
+     *
+     * @return list of objects of class CascadeDeleteJob
+     */
+    @ReadOperation
+    public List<CascadeDeleteJob> jobs() {
+        return cascadeDeleteService.findLatest();
+    }
+
+    /**
+     * This method is used to get a job by id.
+     *
+     * @param id the job identifier
+     * @return the object of class CascadeDeleteJob
+     */
+    @ReadOperation
+    public CascadeDeleteJob job(@Selector String id) {
+        return cascadeDeleteService.findById(id);
+    }
+}
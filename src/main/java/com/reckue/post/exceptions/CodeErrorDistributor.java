@@ -2,12 +2,16 @@ package com.reckue.post.exceptions;
 
 import com.reckue.post.exceptions.models.comment.CommentAlreadyExistsException;
 import com.reckue.post.exceptions.models.comment.CommentNotFoundException;
+import com.reckue.post.exceptions.models.comment.CommentVersionConflictException;
 import com.reckue.post.exceptions.models.nodes.NodeAlreadyExistsException;
 import com.reckue.post.exceptions.models.nodes.NodeNotFoundException;
+import com.reckue.post.exceptions.models.nodes.NodeVersionConflictException;
 import com.reckue.post.exceptions.models.nodes.pollnode.PollNodeAlreadyExistsException;
 import com.reckue.post.exceptions.models.nodes.pollnode.PollNodeNotFoundException;
 import com.reckue.post.exceptions.models.post.PostAlreadyExistsException;
 import com.reckue.post.exceptions.models.post.PostNotFoundException;
+import com.reckue.post.exceptions.models.post.PostRevisionNotFoundException;
+import com.reckue.post.exceptions.models.post.PostVersionConflictException;
 import com.reckue.post.exceptions.models.rating.RatingAlreadyExistsException;
 import com.reckue.post.exceptions.models.rating.RatingNotFoundException;
 import com.reckue.post.exceptions.models.tag.TagAlreadyExistsException;
@@ -33,6 +37,7 @@ public class CodeErrorDistributor {
         codeErrors.put(CommentNotFoundException.class, "RPE-004");
         codeErrors.put(RatingNotFoundException.class, "RPE-005");
         codeErrors.put(PollNodeNotFoundException.class, "RPE-006");
+        codeErrors.put(PostRevisionNotFoundException.class, "RPE-007");
 
         codeErrors.put(PostAlreadyExistsException.class, "RPE-1001");
         codeErrors.put(NodeAlreadyExistsException.class, "RPE-1002");
@@ -42,5 +47,11 @@ public class CodeErrorDistributor {
         codeErrors.put(PollNodeAlreadyExistsException.class, "RPE-1006");
 
         codeErrors.put(ReckueIllegalArgumentException.class, "RPE-1500");
+        codeErrors.put(PreconditionFailedException.class, "RPE-1501");
+
+        // retryable: the client should reload the model and repeat the request
+        codeErrors.put(PostVersionConflictException.class, "RPE-2001");
+        codeErrors.put(NodeVersionConflictException.class, "RPE-2002");
+        codeErrors.put(CommentVersionConflictException.class, "RPE-2004");
     }
 }
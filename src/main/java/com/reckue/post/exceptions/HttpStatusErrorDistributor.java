@@ -2,12 +2,16 @@ package com.reckue.post.exceptions;
 
 import com.reckue.post.exceptions.models.comment.CommentAlreadyExistsException;
 import com.reckue.post.exceptions.models.comment.CommentNotFoundException;
+import com.reckue.post.exceptions.models.comment.CommentVersionConflictException;
 import com.reckue.post.exceptions.models.nodes.NodeAlreadyExistsException;
 import com.reckue.post.exceptions.models.nodes.NodeNotFoundException;
+import com.reckue.post.exceptions.models.nodes.NodeVersionConflictException;
 import com.reckue.post.exceptions.models.nodes.pollnode.PollNodeAlreadyExistsException;
 import com.reckue.post.exceptions.models.nodes.pollnode.PollNodeNotFoundException;
 import com.reckue.post.exceptions.models.post.PostAlreadyExistsException;
 import com.reckue.post.exceptions.models.post.PostNotFoundException;
+import com.reckue.post.exceptions.models.post.PostRevisionNotFoundException;
+import com.reckue.post.exceptions.models.post.PostVersionConflictException;
 import com.reckue.post.exceptions.models.rating.RatingAlreadyExistsException;
 import com.reckue.post.exceptions.models.rating.RatingNotFoundException;
 import com.reckue.post.exceptions.models.tag.TagAlreadyExistsException;
@@ -33,6 +37,7 @@ public class HttpStatusErrorDistributor {
         httpStatuses.put(CommentNotFoundException.class, HttpStatus.NOT_FOUND);
         httpStatuses.put(RatingNotFoundException.class, HttpStatus.NOT_FOUND);
         httpStatuses.put(PollNodeNotFoundException.class, HttpStatus.NOT_FOUND);
+        httpStatuses.put(PostRevisionNotFoundException.class, HttpStatus.NOT_FOUND);
         httpStatuses.put(PostAlreadyExistsException.class, HttpStatus.CONFLICT);
         httpStatuses.put(NodeAlreadyExistsException.class, HttpStatus.CONFLICT);
         httpStatuses.put(TagAlreadyExistsException.class, HttpStatus.CONFLICT);
@@ -41,5 +46,10 @@ public class HttpStatusErrorDistributor {
         httpStatuses.put(PollNodeAlreadyExistsException.class, HttpStatus.CONFLICT);
 
         httpStatuses.put(ReckueIllegalArgumentException.class, HttpStatus.BAD_REQUEST);
+        httpStatuses.put(PreconditionFailedException.class, HttpStatus.PRECONDITION_FAILED);
+
+        httpStatuses.put(PostVersionConflictException.class, HttpStatus.PRECONDITION_FAILED);
+        httpStatuses.put(NodeVersionConflictException.class, HttpStatus.PRECONDITION_FAILED);
+        httpStatuses.put(CommentVersionConflictException.class, HttpStatus.PRECONDITION_FAILED);
     }
 }
@@ -5,9 +5,14 @@ import lombok.Getter;
 /**
  * Class ModelNotFoundException is responsible for throwing
  * exception when the received model is not found in the database.
+ * The missing models are expected, so the exception is thrown without a stack trace.
  *
  * @author Daria Smirnova
  */
 @Getter
 public abstract class ModelNotFoundException extends ReckueException {
+
+    protected ModelNotFoundException() {
+        super(false);
+    }
 }
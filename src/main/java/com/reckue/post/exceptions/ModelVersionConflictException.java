@@ -0,0 +1,12 @@
+package com.reckue.post.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Class ModelVersionConflictException is responsible for throwing
+ * exception when the updated model has been changed by somebody else.
+ * The client is able to retry the request with the actual version of the model.
+ */
+@Getter
+public abstract class ModelVersionConflictException extends ReckueException {
+}
@@ -0,0 +1,19 @@
+package com.reckue.post.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Class PreconditionFailedException is responsible for throwing exception
+ * when the precondition of a conditional request can't be evaluated for the model,
+ * e.g. a weak entity tag is given for a change. It comes from the client, so it is thrown without a stack trace.
+ */
+@Getter
+public class PreconditionFailedException extends ReckueException {
+
+    private final String message;
+
+    public PreconditionFailedException(String message) {
+        super(false);
+        this.message = message;
+    }
+}
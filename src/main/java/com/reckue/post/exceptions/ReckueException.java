@@ -6,4 +6,17 @@ package com.reckue.post.exceptions;
  * @author Artur Magomedov
  */
 public abstract class ReckueException extends RuntimeException {
+
+    protected ReckueException() {
+    }
+
+    /**
+     * Creates the exception that may skip filling its stack trace.
+     * The expected errors are thrown without a stack trace, it is the most expensive part of throwing.
+     *
+     * @param writableStackTrace whether the stack trace should be filled
+     */
+    protected ReckueException(boolean writableStackTrace) {
+        super(null, null, false, writableStackTrace);
+    }
 }
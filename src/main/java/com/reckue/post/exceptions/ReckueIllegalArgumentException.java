@@ -4,7 +4,7 @@ import lombok.Getter;
 
 /**
  * Class ReckueIllegalArgumentException thrown to indicate that a method has been passed an illegal or
- * inappropriate argument.
+ * inappropriate argument. The argument comes from the client, so the exception is thrown without a stack trace.
  *
  * @author Artur Magomedov
  */
@@ -14,6 +14,7 @@ public class ReckueIllegalArgumentException extends ReckueException {
     private final String message;
 
     public ReckueIllegalArgumentException(String message) {
+        super(false);
         this.message = message;
     }
 }
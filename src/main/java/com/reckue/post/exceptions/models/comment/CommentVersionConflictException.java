@@ -0,0 +1,22 @@
+package com.reckue.post.exceptions.models.comment;
+
+import com.reckue.post.exceptions.ModelVersionConflictException;
+import lombok.Getter;
+
+/**
+ * Class CommentVersionConflictException is responsible for throwing
+ * exception when the updated Comment has been changed concurrently.
+ */
+@Getter
+public class CommentVersionConflictException extends ModelVersionConflictException {
+
+    private final String message;
+
+    public CommentVersionConflictException() {
+        this.message = "Comment Version Conflict";
+    }
+
+    public CommentVersionConflictException(String id, Long version) {
+        this.message = "Comment by id '" + id + "' has been changed, version '" + version + "' is outdated";
+    }
+}
@@ -0,0 +1,22 @@
+package com.reckue.post.exceptions.models.nodes;
+
+import com.reckue.post.exceptions.ModelVersionConflictException;
+import lombok.Getter;
+
+/**
+ * Class NodeVersionConflictException is responsible for throwing
+ * exception when the updated Node has been changed concurrently.
+ */
+@Getter
+public class NodeVersionConflictException extends ModelVersionConflictException {
+
+    private final String message;
+
+    public NodeVersionConflictException() {
+        this.message = "Node Version Conflict";
+    }
+
+    public NodeVersionConflictException(String id, Long version) {
+        this.message = "Node by id '" + id + "' has been changed, version '" + version + "' is outdated";
+    }
+}
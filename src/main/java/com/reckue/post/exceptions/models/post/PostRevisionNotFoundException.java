@@ -0,0 +1,18 @@
+package com.reckue.post.exceptions.models.post;
+
+import com.reckue.post.exceptions.ModelNotFoundException;
+import lombok.Getter;
+
+/**
+ * Class PostRevisionNotFoundException is responsible for throwing
+ * exception when the requested version of a post can't be restored from the revisions.
+ */
+@Getter
+public class PostRevisionNotFoundException extends ModelNotFoundException {
+
+    private final String message;
+
+    public PostRevisionNotFoundException(String postId, long version) {
+        this.message = "Revision '" + version + "' of post by id '" + postId + "' is not found";
+    }
+}
@@ -0,0 +1,22 @@
+package com.reckue.post.exceptions.models.post;
+
+import com.reckue.post.exceptions.ModelVersionConflictException;
+import lombok.Getter;
+
+/**
+ * Class PostVersionConflictException is responsible for throwing
+ * exception when the updated Post has been changed concurrently.
+ */
+@Getter
+public class PostVersionConflictException extends ModelVersionConflictException {
+
+    private final String message;
+
+    public PostVersionConflictException() {
+        this.message = "Post Version Conflict";
+    }
+
+    public PostVersionConflictException(String id, Long version) {
+        this.message = "Post by id '" + id + "' has been changed, version '" + version + "' is outdated";
+    }
+}
@@ -1,7 +1,9 @@
 package com.reckue.post.handlers;
 
+import com.reckue.post.configs.properties.ErrorResponseProperties;
 import com.reckue.post.exceptions.ReckueException;
 import com.reckue.post.transfers.errors.ErrorResponse;
+import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -12,20 +14,24 @@ import static com.reckue.post.exceptions.HttpStatusErrorDistributor.httpStatuses
 
 /**
  * Class CustomExceptionHandler allows to handle all exceptions.
+ * The stack trace is rendered only if it is enabled by the profile.
  *
  * @author Artur Magomedov
  */
 @RestControllerAdvice
+@RequiredArgsConstructor
 @SuppressWarnings("unused")
 public class CustomExceptionHandler {
 
+    private final ErrorResponseProperties properties;
+
     @ExceptionHandler(ReckueException.class)
     public ResponseEntity<?> handleReckueException(ReckueException e) {
         return new ResponseEntity<>(ErrorResponse.builder()
                 .title(e.getClass().getSimpleName())
                 .code(codeErrors.get(e.getClass()))
                 .message(e.getMessage())
-                .trace(ExceptionUtils.getStackTrace(e))
+                .trace(properties.isIncludeTrace() ? ExceptionUtils.getStackTrace(e) : null)
                 .build(), httpStatuses.get(e.getClass()));
     }
 }
@@ -0,0 +1,36 @@
+package com.reckue.post.listeners;
+
+import com.reckue.post.configs.properties.SearchProperties;
+import com.reckue.post.models.Post;
+import com.reckue.post.services.ContentBlobService;
+import com.reckue.post.utils.SearchText;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class PostSearchTextListener stores the plain text of the nodes with the saved posts for the text index.
+ * The contents of the nodes can be moved to blobs or compressed, so the index can't cover the nodes themselves.
+ * The text isn't a field of the posts, so it is never read back into the objects and the caches.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostSearchTextListener extends AbstractMongoEventListener<Post> {
+
+    public static final String SEARCH_TEXT = "searchText";
+
+    private final ContentBlobService contentBlobService;
+    private final SearchProperties properties;
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<Post> event) {
+        Document document = event.getDocument();
+        if (document == null || event.getSource().getNodes() == null) {
+            return;
+        }
+        contentBlobService.resolve(event.getSource().getNodes());
+        document.put(SEARCH_TEXT, SearchText.of(event.getSource().getNodes(), properties.getMaxTextLength()));
+    }
+}
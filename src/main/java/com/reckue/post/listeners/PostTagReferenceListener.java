@@ -0,0 +1,56 @@
+package com.reckue.post.listeners;
+
+import com.reckue.post.configs.properties.TagCatalogProperties;
+import com.reckue.post.models.Post;
+import com.reckue.post.services.TagService;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Class PostTagReferenceListener keeps only the identifiers of the tags in the stored posts
+ * when the tag references are enabled. The tags of the saved and read posts are replaced
+ * by the tags of the catalog, so the posts have the current names and share one object per tag.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostTagReferenceListener extends AbstractMongoEventListener<Post> {
+
+    private static final String TAGS = "tags";
+
+    private final TagService tagService;
+    private final TagCatalogProperties properties;
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Post> event) {
+        if (properties.isReferences()) {
+            event.getSource().setTags(tagService.resolve(event.getSource().getTags()));
+        }
+    }
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<Post> event) {
+        Document document = event.getDocument();
+        if (!properties.isReferences() || document == null || document.get(TAGS) == null) {
+            return;
+        }
+        List<Document> references = document.getList(TAGS, Document.class).stream()
+                .map(tag -> new Document("_id", tag.get("_id")))
+                .collect(Collectors.toList());
+        document.put(TAGS, references);
+    }
+
+    @Override
+    public void onAfterConvert(AfterConvertEvent<Post> event) {
+        if (properties.isReferences()) {
+            event.getSource().setTags(tagService.resolve(event.getSource().getTags()));
+        }
+    }
+}
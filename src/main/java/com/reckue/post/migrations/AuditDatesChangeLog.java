@@ -0,0 +1,71 @@
+package com.reckue.post.migrations;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import com.reckue.post.models.Comment;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.Rating;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class AuditDatesChangeLog prepares the stored documents for the audit dates kept as instants.
+ * The dates are already stored as UTC instants, so only the documents without them are rewritten:
+ * the created date is taken from the object identifier when possible
+ * and the missing modification date is set to the created date.
+ */
+@Slf4j
+@ChangeLog(order = "3")
+@SuppressWarnings("unused")
+public class AuditDatesChangeLog {
+
+    private static final List<Class<?>> AUDITED = List.of(Post.class, Node.class, Comment.class, Rating.class);
+
+    @ChangeSet(id = "audit-dates-backfill", author = "reckue", order = "1")
+    public void backfill(MongoTemplate mongoTemplate) {
+        Instant now = Instant.now();
+        for (Class<?> type : AUDITED) {
+            String collection = mongoTemplate.getCollectionName(type);
+            long count = backfill(mongoTemplate, collection, now);
+            log.info("Audit dates are backfilled in {}: {} documents", collection, count);
+        }
+    }
+
+    private long backfill(MongoTemplate mongoTemplate, String collection, Instant now) {
+        Query query = query(new Criteria().orOperator(
+                where("createdDate").exists(false),
+                where("modificationDate").exists(false)));
+        query.fields().include("createdDate").include("modificationDate");
+        long count = 0;
+        try (CloseableIterator<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            while (documents.hasNext()) {
+                Document document = documents.next();
+                Date created = document.getDate("createdDate");
+                if (created == null) {
+                    Object id = document.get("_id");
+                    created = id instanceof ObjectId ? ((ObjectId) id).getDate() : Date.from(now);
+                }
+                Date modified = document.getDate("modificationDate");
+                Update update = Update.update("createdDate", created)
+                        .set("modificationDate", modified == null ? created : modified);
+                mongoTemplate.updateFirst(query(where("_id").is(document.get("_id"))), update, collection);
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,78 @@
+package com.reckue.post.migrations;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.Post;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class NodeCompressionChangeLog rewrites the contents of the stored nodes
+ * when the compression of node contents is enabled or its threshold is changed.
+ * Only the nodes are rewritten by updates without the entity class, which would increase the version,
+ * so the versions and the dates of the documents stay the same.
+ * The applied threshold is kept in database, so the documents are rewritten once per setting.
+ */
+@Slf4j
+@ChangeLog(order = "2")
+@SuppressWarnings("unused")
+public class NodeCompressionChangeLog {
+
+    private static final String SETTINGS = "storageSettings";
+    private static final String SETTING_ID = "node-compression";
+
+    @ChangeSet(id = "node-compression", author = "reckue", order = "1", runAlways = true)
+    public void recompress(MongoTemplate mongoTemplate, Environment environment) {
+        if (!environment.getProperty("reckue.compression.enabled", Boolean.class, false)) {
+            return;
+        }
+        Integer threshold = environment.getProperty("reckue.compression.threshold", Integer.class, 16384);
+        Document applied = mongoTemplate.findById(SETTING_ID, Document.class, SETTINGS);
+        if (applied != null && threshold.equals(applied.getInteger("threshold"))) {
+            return;
+        }
+        long nodes = recompressNodes(mongoTemplate);
+        long posts = recompressPosts(mongoTemplate);
+        mongoTemplate.upsert(query(where("_id").is(SETTING_ID)), Update.update("threshold", threshold), SETTINGS);
+        log.info("Node contents are recompressed with threshold {}: {} nodes, {} posts", threshold, nodes, posts);
+    }
+
+    private long recompressNodes(MongoTemplate mongoTemplate) {
+        Query query = query(where("node").exists(true));
+        query.fields().include("node");
+        long count = 0;
+        try (CloseableIterator<Node> nodes = mongoTemplate.stream(query, Node.class)) {
+            while (nodes.hasNext()) {
+                Node node = nodes.next();
+                mongoTemplate.updateFirst(query(where("_id").is(node.getId())),
+                        Update.update("node", node.getNode()), mongoTemplate.getCollectionName(Node.class));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long recompressPosts(MongoTemplate mongoTemplate) {
+        Query query = query(where("nodes.0").exists(true));
+        query.fields().include("nodes");
+        long count = 0;
+        try (CloseableIterator<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            while (posts.hasNext()) {
+                Post post = posts.next();
+                mongoTemplate.updateFirst(query(where("_id").is(post.getId())),
+                        Update.update("nodes", post.getNodes()), mongoTemplate.getCollectionName(Post.class));
+                count++;
+            }
+        }
+        return count;
+    }
+}
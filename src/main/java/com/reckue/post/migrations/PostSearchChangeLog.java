@@ -0,0 +1,99 @@
+package com.reckue.post.migrations;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import com.reckue.post.listeners.PostSearchTextListener;
+import com.reckue.post.models.ContentBlob;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.nodes.TextContent;
+import com.reckue.post.utils.SearchText;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class PostSearchChangeLog creates the text index of the posts used by the search.
+ * The index covers the title and the plain text of the nodes stored with every post, the title weighs more.
+ * The contents of the nodes themselves aren't indexed, because the big ones are moved to blobs or compressed.
+ * The text of the existing posts is written by updates without the entity class, so the versions stay the same.
+ */
+@Slf4j
+@ChangeLog(order = "5")
+@SuppressWarnings("unused")
+public class PostSearchChangeLog {
+
+    private static final String INDEX = "search";
+    private static final int BATCH_SIZE = 500;
+
+    @ChangeSet(id = "post-search-index", author = "reckue", order = "1")
+    public void createIndex(MongoTemplate mongoTemplate, Environment environment) {
+        Integer maxLength = environment.getProperty("reckue.search.max-text-length", Integer.class, 20000);
+        long posts = writeSearchText(mongoTemplate, maxLength);
+        mongoTemplate.indexOps(Post.class).ensureIndex(new TextIndexDefinition.TextIndexDefinitionBuilder()
+                .named(INDEX)
+                .onField("title", 5F)
+                .onField(PostSearchTextListener.SEARCH_TEXT)
+                .build());
+        log.info("Search text is written for {} posts", posts);
+    }
+
+    private long writeSearchText(MongoTemplate mongoTemplate, int maxLength) {
+        String collection = mongoTemplate.getCollectionName(Post.class);
+        Query query = new Query();
+        query.fields().include("nodes");
+        long count = 0;
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        try (CloseableIterator<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            while (posts.hasNext()) {
+                Post post = posts.next();
+                resolve(mongoTemplate, post.getNodes());
+                operations.updateOne(query(where("_id").is(post.getId())),
+                        Update.update(PostSearchTextListener.SEARCH_TEXT, SearchText.of(post.getNodes(), maxLength)));
+                count++;
+                if (count % BATCH_SIZE == 0) {
+                    operations.execute();
+                    operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                }
+            }
+        }
+        if (count % BATCH_SIZE != 0) {
+            operations.execute();
+        }
+        return count;
+    }
+
+    private void resolve(MongoTemplate mongoTemplate, List<Node> nodes) {
+        if (nodes == null) {
+            return;
+        }
+        Map<String, List<TextContent>> unresolved = new HashMap<>();
+        for (Node node : nodes) {
+            if (node != null && node.getNode() instanceof TextContent) {
+                TextContent text = (TextContent) node.getNode();
+                if (text.getBlobId() != null && text.getContent() == null) {
+                    unresolved.computeIfAbsent(text.getBlobId(), id -> new ArrayList<>()).add(text);
+                }
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        for (ContentBlob blob : mongoTemplate.find(query(where("_id").in(unresolved.keySet())), ContentBlob.class)) {
+            unresolved.get(blob.getId()).forEach(text -> text.setContent(blob.getContent()));
+        }
+    }
+}
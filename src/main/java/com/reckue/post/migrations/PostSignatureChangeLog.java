@@ -0,0 +1,60 @@
+package com.reckue.post.migrations;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostSignature;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class PostSignatureChangeLog copies the statuses of the posts to their stored signatures,
+ * which are found as related posts only with the published status.
+ * The former index of the band keys alone is dropped, the compound index of the model replaces it.
+ */
+@Slf4j
+@ChangeLog(order = "6")
+@SuppressWarnings("unused")
+public class PostSignatureChangeLog {
+
+    private static final int BATCH_SIZE = 500;
+
+    @ChangeSet(id = "post-signature-status", author = "reckue", order = "1")
+    public void copyStatus(MongoTemplate mongoTemplate) {
+        String collection = mongoTemplate.getCollectionName(PostSignature.class);
+        Query query = query(where("status").exists(true));
+        query.fields().include("status");
+        long count = 0;
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        try (CloseableIterator<Document> posts = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(Post.class))) {
+            while (posts.hasNext()) {
+                Document post = posts.next();
+                operations.updateOne(query(where("_id").is(post.get("_id"))),
+                        Update.update("status", post.get("status")));
+                count++;
+                if (count % BATCH_SIZE == 0) {
+                    operations.execute();
+                    operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                }
+            }
+        }
+        if (count % BATCH_SIZE != 0) {
+            operations.execute();
+        }
+        IndexOperations indexes = mongoTemplate.indexOps(PostSignature.class);
+        if (indexes.getIndexInfo().stream().anyMatch(index -> index.getName().equals("bands"))) {
+            indexes.dropIndex("bands");
+        }
+        log.info("Statuses are copied to the signatures of {} posts", count);
+    }
+}
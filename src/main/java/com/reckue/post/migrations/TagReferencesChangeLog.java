@@ -0,0 +1,92 @@
+package com.reckue.post.migrations;
+
+import com.github.mongobee.changeset.ChangeLog;
+import com.github.mongobee.changeset.ChangeSet;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class TagReferencesChangeLog rewrites the tags of the stored posts when the tag references
+ * are enabled or disabled. With the references the posts keep only the identifiers of their tags,
+ * without them the names are taken from the tags again.
+ * Only the tags are rewritten by batches of updates without the entity class,
+ * so the versions and the dates of the documents stay the same.
+ * The applied setting is kept in database, so the documents are rewritten once per setting.
+ */
+@Slf4j
+@ChangeLog(order = "4")
+@SuppressWarnings("unused")
+public class TagReferencesChangeLog {
+
+    private static final String SETTINGS = "storageSettings";
+    private static final String SETTING_ID = "tag-references";
+    private static final int BATCH_SIZE = 500;
+
+    @ChangeSet(id = "tag-references", author = "reckue", order = "1", runAlways = true)
+    public void convert(MongoTemplate mongoTemplate, Environment environment) {
+        Boolean references = environment.getProperty("reckue.tag-catalog.references", Boolean.class, false);
+        Document applied = mongoTemplate.findById(SETTING_ID, Document.class, SETTINGS);
+        if (applied == null ? !references : references.equals(applied.getBoolean("references"))) {
+            return;
+        }
+        long posts = references ? toReferences(mongoTemplate) : toNames(mongoTemplate);
+        mongoTemplate.upsert(query(where("_id").is(SETTING_ID)), Update.update("references", references), SETTINGS);
+        log.info("Tags of posts are rewritten with references {}: {} posts", references, posts);
+    }
+
+    private long toReferences(MongoTemplate mongoTemplate) {
+        return rewrite(mongoTemplate, query(where("tags.name").exists(true)),
+                tag -> new Document("_id", tag.get("_id")));
+    }
+
+    private long toNames(MongoTemplate mongoTemplate) {
+        Map<Object, String> names = new HashMap<>();
+        for (Document tag : mongoTemplate.findAll(Document.class, mongoTemplate.getCollectionName(Tag.class))) {
+            names.put(tag.get("_id"), tag.getString("name"));
+        }
+        return rewrite(mongoTemplate, query(where("tags").elemMatch(where("name").exists(false))),
+                tag -> new Document("_id", tag.get("_id")).append("name", names.get(tag.get("_id"))));
+    }
+
+    private long rewrite(MongoTemplate mongoTemplate, Query query, UnaryOperator<Document> tagRewriter) {
+        String collection = mongoTemplate.getCollectionName(Post.class);
+        query.fields().include("tags");
+        long count = 0;
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        try (CloseableIterator<Document> posts = mongoTemplate.stream(query, Document.class, collection)) {
+            while (posts.hasNext()) {
+                Document post = posts.next();
+                List<Document> tags = post.getList("tags", Document.class).stream()
+                        .map(tagRewriter)
+                        .collect(Collectors.toList());
+                operations.updateOne(query(where("_id").is(post.get("_id"))), Update.update("tags", tags));
+                count++;
+                if (count % BATCH_SIZE == 0) {
+                    operations.execute();
+                    operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                }
+            }
+        }
+        if (count % BATCH_SIZE != 0) {
+            operations.execute();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,49 @@
+package com.reckue.post.models;
+
+import com.reckue.post.models.types.JobStatusType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Class CascadeDeleteJob is responsible for model of the background job
+ * which removes the nodes, comments, ratings, polls and revisions of a deleted post.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+public class CascadeDeleteJob {
+
+    @Id
+    private String id;
+
+    private String postId;
+    private JobStatusType status;
+    private String error;
+
+    // retries of the failed job
+    private int attempts;
+    private Instant notBefore;
+
+    // progress counters
+    private long deletedNodes;
+    private long deletedPollNodes;
+    private long deletedComments;
+    private long deletedRatings;
+    private long deletedRevisions;
+
+    private Instant finishedDate;
+    @LastModifiedDate
+    private Instant modificationDate;
+    @CreatedDate
+    private Instant createdDate;
+}
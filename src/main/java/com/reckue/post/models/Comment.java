@@ -7,9 +7,11 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -29,11 +31,15 @@ public class Comment {
 
     private String text;
     private String userId;
+    @Indexed
     private String postId;
     private String commentId;
 
+    @Version
+    private Long version;
+
     @CreatedDate
-    private LocalDateTime createdDate;
+    private Instant createdDate;
     @LastModifiedDate
-    private LocalDateTime modificationDate;
+    private Instant modificationDate;
 }
@@ -0,0 +1,33 @@
+package com.reckue.post.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Class ContentBlob is responsible for model of the text content shared by the nodes.
+ * The identifier is the SHA-256 hash of the content, so equal contents are stored once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+public class ContentBlob {
+
+    @Id
+    private String id;
+
+    private String content;
+    private int size;
+
+    // quantity of the stored nodes and posts referring to the blob
+    private long refCount;
+
+    private Instant createdDate;
+}
@@ -10,9 +10,10 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 /**
  * Class Node is responsible for displaying all types of nodes.
  *
@@ -38,8 +39,11 @@ public class Node {
     private String userId;
     private StatusType status;
 
+    @Version
+    private Long version;
+
     @LastModifiedDate
-    private LocalDateTime modificationDate;
+    private Instant modificationDate;
     @CreatedDate
-    private LocalDateTime createdDate;
+    private Instant createdDate;
 }
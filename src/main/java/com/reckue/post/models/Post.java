@@ -9,9 +9,14 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -24,6 +29,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document
+@CompoundIndexes({
+        @CompoundIndex(name = "status_created_date", def = "{'status': 1, 'createdDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "tags_id", def = "{'tags._id': 1, '_id': -1}")
+})
 public class Post {
 
     @Id
@@ -36,8 +45,12 @@ public class Post {
     private List<Tag> tags;
     private PostStatusType status;
 
+    @Version
+    private Long version;
+
     @LastModifiedDate
-    private LocalDateTime modificationDate;
+    private Instant modificationDate;
     @CreatedDate
-    private LocalDateTime createdDate;
+    @Indexed(direction = IndexDirection.DESCENDING)
+    private Instant createdDate;
 }
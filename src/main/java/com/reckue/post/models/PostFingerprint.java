@@ -0,0 +1,40 @@
+package com.reckue.post.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * Class PostFingerprint is responsible for model of the SimHash fingerprint of the text of a post.
+ * The identifier is the post identifier, the block keys are indexed, so the near duplicates are found by them.
+ * The index of the block keys goes on by the identifier descending, so the newest candidates are read first.
+ * The near duplicates are kept on both sides, the post is flagged while it has a near duplicate published before.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+@CompoundIndex(name = "blocks_id", def = "{'blocks': 1, '_id': -1}")
+public class PostFingerprint {
+
+    @Id
+    private String id;
+
+    private long fingerprint;
+
+    private List<String> blocks;
+
+    @Indexed
+    private boolean flagged;
+
+    @Indexed
+    private List<String> duplicates;
+}
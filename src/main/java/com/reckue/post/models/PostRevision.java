@@ -0,0 +1,50 @@
+package com.reckue.post.models;
+
+import com.reckue.post.models.revisions.NodeDelta;
+import com.reckue.post.models.types.PostStatusType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Class PostRevision is responsible for model of a single version of a post.
+ * A snapshot revision contains all the nodes of the post,
+ * other revisions contain only the deltas of the nodes from the previous version.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+@CompoundIndex(name = "post_version", def = "{'postId': 1, 'version': 1}", unique = true)
+public class PostRevision {
+
+    @Id
+    private String id;
+
+    private String postId;
+    private long version;
+    private boolean snapshot;
+
+    // fields of the post in this version
+    private String title;
+    private String source;
+    private String userId;
+    private List<Tag> tags;
+    private PostStatusType status;
+
+    // snapshot only
+    private List<Node> nodes;
+    // delta only
+    private List<NodeDelta> nodeDeltas;
+
+    private Instant modificationDate;
+    private Instant createdDate;
+}
@@ -0,0 +1,37 @@
+package com.reckue.post.models;
+
+import com.reckue.post.models.types.PostStatusType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * Class PostSignature is responsible for model of the MinHash signature of the tags and the text of a post.
+ * The identifier is the post identifier, the band keys are indexed, so the similar posts are found by them.
+ * The status of the post is kept with the signature, so only the published posts are found.
+ * The index of the band keys goes on by the status and the identifier descending, so the newest candidates
+ * of every band are merged from the index and the lookup stops at the limit without sorting in memory.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+@CompoundIndex(name = "bands_status_id", def = "{'bands': 1, 'status': 1, '_id': -1}")
+public class PostSignature {
+
+    @Id
+    private String id;
+
+    private int[] signature;
+
+    private List<String> bands;
+
+    private PostStatusType status;
+}
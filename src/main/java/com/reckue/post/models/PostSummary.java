@@ -0,0 +1,33 @@
+package com.reckue.post.models;
+
+import com.reckue.post.models.types.PostStatusType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Class PostSummary is responsible for model of a post found by the text search, without its nodes.
+ * The score is the relevance of the post to the searched text.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSummary {
+
+    @Id
+    private String id;
+
+    private String title;
+    private String userId;
+    private List<Tag> tags;
+    private PostStatusType status;
+    private Instant createdDate;
+    private Instant modificationDate;
+    private double score;
+}
@@ -9,7 +9,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 
 /**
  * Class Rating is responsible for model that works with rating.
@@ -30,7 +30,7 @@ public class Rating {
     private String postId;
 
  @LastModifiedDate
- private LocalDateTime modificationDate;
+ private Instant modificationDate;
  @CreatedDate
- private LocalDateTime createdDate;
+ private Instant createdDate;
 }
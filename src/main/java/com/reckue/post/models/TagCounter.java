@@ -0,0 +1,25 @@
+package com.reckue.post.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Class TagCounter is responsible for model of the quantity of the posts with a tag.
+ * The identifier is the tag identifier.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+public class TagCounter {
+
+    @Id
+    private String id;
+
+    private long count;
+}
@@ -0,0 +1,35 @@
+package com.reckue.post.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Class TagUsageBucket is responsible for model of the change of the quantity of the posts with a tag
+ * within a period of time. The buckets are removed by the database when they are older than any window.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+public class TagUsageBucket {
+
+    public static final int RETENTION_SECONDS = 31 * 24 * 60 * 60;
+
+    @Id
+    private String id;
+
+    private String tagId;
+
+    @Indexed(expireAfterSeconds = RETENTION_SECONDS)
+    private Instant start;
+
+    private long count;
+}
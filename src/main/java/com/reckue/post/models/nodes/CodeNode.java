@@ -17,8 +17,14 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document
-public class CodeNode implements Parent {
+public class CodeNode implements Parent, TextContent {
 
     private LangType language;
     private String content;
+    private String blobId;
+
+    public CodeNode(LangType language, String content) {
+        this.language = language;
+        this.content = content;
+    }
 }
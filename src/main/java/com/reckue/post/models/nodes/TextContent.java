@@ -0,0 +1,16 @@
+package com.reckue.post.models.nodes;
+
+/**
+ * Interface TextContent represents the nodes with text content which can be stored in a shared blob.
+ * A node stored with a blob has the blob identifier and no content in database.
+ */
+public interface TextContent {
+
+    String getContent();
+
+    void setContent(String content);
+
+    String getBlobId();
+
+    void setBlobId(String blobId);
+}
@@ -16,7 +16,12 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document
-public class TextNode implements Parent {
+public class TextNode implements Parent, TextContent {
 
     private String content;
+    private String blobId;
+
+    public TextNode(String content) {
+        this.content = content;
+    }
 }
@@ -0,0 +1,27 @@
+package com.reckue.post.models.revisions;
+
+import com.reckue.post.models.Node;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class NodeDelta represents a node of the post in a revision.
+ * Either it is a new node stored completely or it refers to the node of the previous version
+ * by its position with a new identifier and, probably, a patch of its text content.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NodeDelta {
+
+    // new node
+    private Node node;
+
+    // node of the previous version
+    private Integer base;
+    private String id;
+    private TextPatch patch;
+}
@@ -0,0 +1,20 @@
+package com.reckue.post.models.revisions;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class TextPatch represents a change of text: the characters from the position are replaced by the inserted text.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextPatch {
+
+    private int position;
+    private int removed;
+    private String inserted;
+}
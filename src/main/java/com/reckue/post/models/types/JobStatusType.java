@@ -0,0 +1,12 @@
+package com.reckue.post.models.types;
+
+/**
+ * Enum JobStatusType represents enumeration of statuses that are associated with background jobs.
+ */
+public enum JobStatusType {
+
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
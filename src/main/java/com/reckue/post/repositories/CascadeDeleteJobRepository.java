@@ -0,0 +1,21 @@
+package com.reckue.post.repositories;
+
+import com.reckue.post.models.CascadeDeleteJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Interface CascadeDeleteJobRepository is responsible for connecting to MongoDB.
+ */
+@Repository
+public interface CascadeDeleteJobRepository extends MongoRepository<CascadeDeleteJob, String> {
+
+    /**
+     * This method is used to get the latest jobs.
+     *
+     * @return list of objects of class CascadeDeleteJob sorted by createdDate in descending order
+     */
+    List<CascadeDeleteJob> findTop100ByOrderByCreatedDateDesc();
+}
@@ -4,11 +4,21 @@ import com.reckue.post.models.Comment;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Interface CommentRepository is responsible for connecting to MongoDB.
  *
  * @author Artur Magomedov
  */
 @Repository
-public interface CommentRepository extends MongoRepository<Comment, String> {
+public interface CommentRepository extends MongoRepository<Comment, String>, CommentRepositoryCustom {
+
+    /**
+     * This method is used to get all comments to a single post in order of their creation.
+     *
+     * @param postId the post identifier
+     * @return list of objects of class Comment
+     */
+    List<Comment> findAllByPostIdOrderByCreatedDateAsc(String postId);
 }
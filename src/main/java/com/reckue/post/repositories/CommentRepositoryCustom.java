@@ -0,0 +1,40 @@
+package com.reckue.post.repositories;
+
+import com.reckue.post.models.Comment;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+/**
+ * Interface CommentRepositoryCustom is responsible for the conditional updates and the version projections of Comment.
+ */
+public interface CommentRepositoryCustom {
+
+    /**
+     * This method is used to update the object with a single query only if its version matches the expected one.
+     * The version of the object is incremented by the same query.
+     *
+     * @param id      the object identifier
+     * @param version expected version or null to update any version
+     * @param update  changes of the object
+     * @return the object of class Comment as it is after the update or null if nothing is matched
+     */
+    Comment updateIfVersionMatches(String id, Long version, Update update);
+
+    /**
+     * This method is used to get only the version and the modification date of the object.
+     *
+     * @param id the object identifier
+     * @return the object of class Comment with identifier, version and modification date
+     * or null if it isn't contained in database
+     */
+    Comment findVersionById(String id);
+
+    /**
+     * This method is used to get only the identifiers, versions and modification dates of the comments to a post.
+     *
+     * @param postId the post identifier
+     * @return list of objects of class Comment with identifier, version and modification date
+     */
+    List<Comment> findVersionsByPostId(String postId);
+}
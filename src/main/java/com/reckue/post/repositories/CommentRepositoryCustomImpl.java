@@ -0,0 +1,61 @@
+package com.reckue.post.repositories;
+
+import com.reckue.post.models.Comment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class CommentRepositoryCustomImpl represents realization of CommentRepositoryCustom.
+ */
+@RequiredArgsConstructor
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * This method is used to update the object with a single query only if its version matches the expected one.
+     *
+     * @param id      the object identifier
+     * @param version expected version or null to update any version
+     * @param update  changes of the object
+     * @return the object of class Comment as it is after the update or null if nothing is matched
+     */
+    @Override
+    public Comment updateIfVersionMatches(String id, Long version, Update update) {
+        return mongoTemplate.findAndModify(VersionQueries.byIdAndVersion(id, version),
+                update.inc("version", 1), FindAndModifyOptions.options().returnNew(true), Comment.class);
+    }
+
+    /**
+     * This method is used to get only the version and the modification date of the object.
+     *
+     * @param id the object identifier
+     * @return the object of class Comment with identifier, version and modification date
+     * or null if it isn't contained in database
+     */
+    @Override
+    public Comment findVersionById(String id) {
+        return mongoTemplate.findOne(VersionQueries.versionById(id), Comment.class);
+    }
+
+    /**
+     * This method is used to get only the identifiers, versions and modification dates of the comments to a post.
+     *
+     * @param postId the post identifier
+     * @return list of objects of class Comment with identifier, version and modification date
+     */
+    @Override
+    public List<Comment> findVersionsByPostId(String postId) {
+        Query query = query(where("postId").is(postId));
+        query.fields().include("version").include("modificationDate");
+        return mongoTemplate.find(query, Comment.class);
+    }
+}
@@ -10,5 +10,5 @@ import org.springframework.stereotype.Repository;
  * @author Kamila Meshcheryakova
  */
 @Repository
-public interface NodeRepository extends MongoRepository<Node, String> {
+public interface NodeRepository extends MongoRepository<Node, String>, NodeRepositoryCustom {
 }
@@ -0,0 +1,38 @@
+package com.reckue.post.repositories;
+
+import com.reckue.post.models.Node;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Interface NodeRepositoryCustom is responsible for the conditional updates and deletes of Node.
+ */
+public interface NodeRepositoryCustom {
+
+    /**
+     * This method is used to update the object with a single query only if its version matches the expected one.
+     * The version of the object is incremented by the same query.
+     *
+     * @param id      the object identifier
+     * @param version expected version or null to update any version
+     * @param update  changes of the object
+     * @return the object of class Node as it is after the update or null if nothing is matched
+     */
+    Node updateIfVersionMatches(String id, Long version, Update update);
+
+    /**
+     * This method is used to delete the object by id with a single query.
+     *
+     * @param id the object identifier
+     * @return the deleted object of class Node or null if it isn't contained in database
+     */
+    Node removeById(String id);
+
+    /**
+     * This method is used to get only the version and the modification date of the object.
+     *
+     * @param id the object identifier
+     * @return the object of class Node with identifier, version and modification date
+     * or null if it isn't contained in database
+     */
+    Node findVersionById(String id);
+}
@@ -0,0 +1,56 @@
+package com.reckue.post.repositories;
+
+import com.reckue.post.models.Node;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class NodeRepositoryCustomImpl represents realization of NodeRepositoryCustom.
+ */
+@RequiredArgsConstructor
+public class NodeRepositoryCustomImpl implements NodeRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * This method is used to update the object with a single query only if its version matches the expected one.
+     *
+     * @param id      the object identifier
+     * @param version expected version or null to update any version
+     * @param update  changes of the object
+     * @return the object of class Node as it is after the update or null if nothing is matched
+     */
+    @Override
+    public Node updateIfVersionMatches(String id, Long version, Update update) {
+        return mongoTemplate.findAndModify(VersionQueries.byIdAndVersion(id, version),
+                update.inc("version", 1), FindAndModifyOptions.options().returnNew(true), Node.class);
+    }
+
+    /**
+     * This method is used to delete the object by id with a single query.
+     *
+     * @param id the object identifier
+     * @return the deleted object of class Node or null if it isn't contained in database
+     */
+    @Override
+    public Node removeById(String id) {
+        return mongoTemplate.findAndRemove(query(where("_id").is(id)), Node.class);
+    }
+
+    /**
+     * This method is used to get only the version and the modification date of the object.
+     *
+     * @param id the object identifier
+     * @return the object of class Node with identifier, version and modification date
+     * or null if it isn't contained in database
+     */
+    @Override
+    public Node findVersionById(String id) {
+        return mongoTemplate.findOne(VersionQueries.versionById(id), Node.class);
+    }
+}
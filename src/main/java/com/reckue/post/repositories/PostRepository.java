@@ -1,10 +1,13 @@
 package com.reckue.post.repositories;
 
 import com.reckue.post.models.Post;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interface PostRepository is responsible for connecting to MongoDB.
@@ -12,7 +15,7 @@ import java.util.List;
  * @author Kamila Meshcheryakova
  */
 @Repository
-public interface PostRepository extends MongoRepository<Post, String> {
+public interface PostRepository extends MongoRepository<Post, String>, PostRepositoryCustom {
 
     /**
      * This method is used to get the objects by title.
@@ -21,4 +24,14 @@ public interface PostRepository extends MongoRepository<Post, String> {
      * @return list of objects of class Post
      */
     List<Post> findAllByTitle(String title);
+
+    /**
+     * This method is used to read all the objects by a cursor with only their titles and tags.
+     * The stream must be closed.
+     *
+     * @param sort the order of the objects
+     * @return stream of objects of class Post without their nodes
+     */
+    @Query(value = "{}", fields = "{'title': 1, 'tags': 1}")
+    Stream<Post> streamAllBy(Sort sort);
 }
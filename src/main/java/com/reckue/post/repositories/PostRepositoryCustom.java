@@ -0,0 +1,78 @@
+package com.reckue.post.repositories;
+
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostSummary;
+import com.reckue.post.models.types.PostStatusType;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface PostRepositoryCustom is responsible for the conditional updates and deletes of Post.
+ */
+public interface PostRepositoryCustom {
+
+    /**
+     * This method is used to update the object with a single query only if its version matches the expected one.
+     * The version of the object is incremented by the same query.
+     *
+     * @param id      the object identifier
+     * @param version expected version or null to update any version
+     * @param update  changes of the object
+     * @return the object of class Post as it is after the update or null if nothing is matched
+     */
+    Post updateIfVersionMatches(String id, Long version, Update update);
+
+    /**
+     * This method is used to delete the object by id with a single query.
+     *
+     * @param id the object identifier
+     * @return the deleted object of class Post or null if it isn't contained in database
+     */
+    Post removeById(String id);
+
+    /**
+     * This method is used to get only the version, the modification date and the tag identifiers of the object.
+     *
+     * @param id the object identifier
+     * @return the object of class Post with identifier, version, modification date and tag identifiers
+     * or null if it isn't contained in database
+     */
+    Post findVersionById(String id);
+
+    /**
+     * This method is used to count the posts of every tag with a single aggregation.
+     *
+     * @return quantity of posts by tag identifier
+     */
+    Map<String, Long> countTagUsages();
+
+    /**
+     * This method is used to get the identifiers of the posts with the tags, the newest posts go first.
+     * The posts are looked up by the index of the tag identifiers, with all the tags
+     * it is done by the first tag, so the tags should be ordered from the rarest one.
+     *
+     * @param tagIds the tag identifiers
+     * @param all    true if the posts must have all the tags, false if any of them
+     * @param status status of the posts or null for all the posts
+     * @param cursor identifier of the last post of the previous page or null for the first page
+     * @param limit  quantity of objects
+     * @return list of post identifiers
+     */
+    List<String> findIdsByTags(List<String> tagIds, boolean all, PostStatusType status, String cursor, int limit);
+
+    /**
+     * This method is used to get the summaries of the posts matching the text by the text index,
+     * the most relevant posts go first and the posts with the same relevance are sorted by id descending.
+     * The page starts after the cursor, which is the relevance and the identifier of the last post.
+     *
+     * @param text        the searched words and phrases
+     * @param status      status of the posts or null for all the posts
+     * @param cursorScore relevance of the last post of the previous page or null for the first page
+     * @param cursorId    identifier of the last post of the previous page or null for the first page
+     * @param limit       quantity of objects
+     * @return list of objects of class PostSummary
+     */
+    List<PostSummary> search(String text, PostStatusType status, Double cursorScore, String cursorId, int limit);
+}
@@ -0,0 +1,162 @@
+package com.reckue.post.repositories;
+
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostSummary;
+import com.reckue.post.models.types.PostStatusType;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class PostRepositoryCustomImpl represents realization of PostRepositoryCustom.
+ */
+@RequiredArgsConstructor
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * This method is used to update the object with a single query only if its version matches the expected one.
+     *
+     * @param id      the object identifier
+     * @param version expected version or null to update any version
+     * @param update  changes of the object
+     * @return the object of class Post as it is after the update or null if nothing is matched
+     */
+    @Override
+    public Post updateIfVersionMatches(String id, Long version, Update update) {
+        return mongoTemplate.findAndModify(VersionQueries.byIdAndVersion(id, version),
+                update.inc("version", 1), FindAndModifyOptions.options().returnNew(true), Post.class);
+    }
+
+    /**
+     * This method is used to delete the object by id with a single query.
+     *
+     * @param id the object identifier
+     * @return the deleted object of class Post or null if it isn't contained in database
+     */
+    @Override
+    public Post removeById(String id) {
+        return mongoTemplate.findAndRemove(query(where("_id").is(id)), Post.class);
+    }
+
+    /**
+     * This method is used to get only the version, the modification date and the tag identifiers of the object.
+     * The tags are needed for the entity tag, since the names of the tags kept by reference change apart.
+     *
+     * @param id the object identifier
+     * @return the object of class Post with identifier, version, modification date and tag identifiers
+     * or null if it isn't contained in database
+     */
+    @Override
+    public Post findVersionById(String id) {
+        Query query = VersionQueries.versionById(id);
+        query.fields().include("tags._id");
+        return mongoTemplate.findOne(query, Post.class);
+    }
+
+    /**
+     * This method is used to count the posts of every tag with a single aggregation,
+     * a tag repeated in a post is counted once.
+     *
+     * @return quantity of posts by tag identifier
+     */
+    @Override
+    public Map<String, Long> countTagUsages() {
+        List<Document> pipeline = List.of(
+                new Document("$unwind", "$tags"),
+                new Document("$group", new Document("_id", new Document("post", "$_id").append("tag", "$tags._id"))),
+                new Document("$group", new Document("_id", "$_id.tag").append("count", new Document("$sum", 1))));
+        Map<String, Long> counts = new HashMap<>();
+        for (Document document : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Post.class))
+                .aggregate(pipeline)) {
+            Object tag = document.get("_id");
+            if (tag != null) {
+                counts.put(tag.toString(), ((Number) document.get("count")).longValue());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * This method is used to get the identifiers of the posts with the tags, the newest posts go first.
+     * The page starts after the cursor, so it isn't shifted by the posts created meanwhile.
+     *
+     * @param tagIds the tag identifiers, from the rarest one
+     * @param all    true if the posts must have all the tags, false if any of them
+     * @param status status of the posts or null for all the posts
+     * @param cursor identifier of the last post of the previous page or null for the first page
+     * @param limit  quantity of objects
+     * @return list of post identifiers
+     */
+    @Override
+    public List<String> findIdsByTags(List<String> tagIds, boolean all, PostStatusType status, String cursor,
+                                      int limit) {
+        Criteria criteria = all ? where("tags.id").all(tagIds) : where("tags.id").in(tagIds);
+        if (status != null) {
+            criteria.and("status").is(status);
+        }
+        if (cursor != null) {
+            criteria.and("id").lt(ObjectId.isValid(cursor) ? new ObjectId(cursor) : cursor);
+        }
+        Query query = query(criteria).with(Sort.by(Sort.Direction.DESC, "id")).limit(limit);
+        query.fields().include("id");
+        return mongoTemplate.find(query, Post.class).stream()
+                .map(Post::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * This method is used to get the summaries of the posts matching the text by the text index.
+     * The relevance is added as a field, so the page after the cursor is filtered and sorted by it.
+     *
+     * @param text        the searched words and phrases
+     * @param status      status of the posts or null for all the posts
+     * @param cursorScore relevance of the last post of the previous page or null for the first page
+     * @param cursorId    identifier of the last post of the previous page or null for the first page
+     * @param limit       quantity of objects
+     * @return list of objects of class PostSummary
+     */
+    @Override
+    public List<PostSummary> search(String text, PostStatusType status, Double cursorScore, String cursorId,
+                                    int limit) {
+        Document match = new Document("$text", new Document("$search", text));
+        if (status != null) {
+            match.append("status", status.name());
+        }
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$match", match));
+        pipeline.add(new Document("$addFields", new Document("score", new Document("$meta", "textScore"))));
+        if (cursorScore != null && cursorId != null) {
+            Object id = ObjectId.isValid(cursorId) ? new ObjectId(cursorId) : cursorId;
+            pipeline.add(new Document("$match", new Document("$or", List.of(
+                    new Document("score", new Document("$lt", cursorScore)),
+                    new Document("score", cursorScore).append("_id", new Document("$lt", id))))));
+        }
+        pipeline.add(new Document("$sort", new Document("score", -1).append("_id", -1)));
+        pipeline.add(new Document("$limit", limit));
+        pipeline.add(new Document("$project", new Document("title", 1).append("userId", 1).append("tags", 1)
+                .append("status", 1).append("createdDate", 1).append("modificationDate", 1).append("score", 1)));
+        List<PostSummary> summaries = new ArrayList<>();
+        for (Document document : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Post.class))
+                .aggregate(pipeline)) {
+            summaries.add(mongoTemplate.getConverter().read(PostSummary.class, document));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,17 @@
+package com.reckue.post.repositories;
+
+import com.reckue.post.models.PostRevision;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+/**
+ * Interface PostRevisionRepository extends MongoRepository interface for post revisions.
+ */
+public interface PostRevisionRepository extends MongoRepository<PostRevision, String> {
+
+    boolean existsByPostIdAndVersion(String postId, long version);
+
+    Optional<PostRevision> findTopByPostIdAndSnapshotIsTrueAndVersionLessThanEqualOrderByVersionDesc(
+            String postId, long version);
+}
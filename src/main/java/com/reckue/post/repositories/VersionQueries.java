@@ -0,0 +1,48 @@
+package com.reckue.post.repositories;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class VersionQueries builds the queries of the conditional updates of versioned models
+ * and the projections of their versions.
+ */
+public class VersionQueries {
+
+    /**
+     * This method is used to build a query which matches the object only in the expected version.
+     * Documents saved before the models became versioned don't have the version at all,
+     * they are matched as the version 0.
+     *
+     * @param id      the object identifier
+     * @param version expected version or null to match any version
+     * @return the query
+     */
+    public static Query byIdAndVersion(String id, Long version) {
+        Query query = query(where("_id").is(id));
+        if (version == null) {
+            return query;
+        }
+        if (version == 0) {
+            return query.addCriteria(new Criteria().orOperator(
+                    where("version").is(0L),
+                    where("version").exists(false)));
+        }
+        return query.addCriteria(where("version").is(version));
+    }
+
+    /**
+     * This method is used to build a query which reads only the version and the modification date of the object.
+     *
+     * @param id the object identifier
+     * @return the query
+     */
+    public static Query versionById(String id) {
+        Query query = query(where("_id").is(id));
+        query.fields().include("version").include("modificationDate");
+        return query;
+    }
+}
@@ -0,0 +1,39 @@
+package com.reckue.post.services;
+
+import com.reckue.post.models.CascadeDeleteJob;
+
+import java.util.List;
+
+/**
+ * Interface CascadeDeleteService represents the background removal of everything that belongs to a deleted post.
+ */
+public interface CascadeDeleteService {
+
+    /**
+     * This method is used to enqueue the cascade delete of a post.
+     *
+     * @param postId the post identifier
+     * @return the object of class CascadeDeleteJob
+     */
+    CascadeDeleteJob enqueue(String postId);
+
+    /**
+     * This method is used to get the latest jobs.
+     *
+     * @return list of objects of class CascadeDeleteJob
+     */
+    List<CascadeDeleteJob> findLatest();
+
+    /**
+     * This method is used to get a job by id.
+     *
+     * @param id the job identifier
+     * @return the object of class CascadeDeleteJob or null if it isn't contained in database
+     */
+    CascadeDeleteJob findById(String id);
+
+    /**
+     * This method is used to process all the pending jobs.
+     */
+    void processPendingJobs();
+}
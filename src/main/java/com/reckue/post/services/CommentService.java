@@ -2,10 +2,18 @@ package com.reckue.post.services;
 
 import com.reckue.post.models.Comment;
 
+import java.util.List;
+
 /**
  * Interface CommentService extends base interface with CRUD-operations and add own methods.
  *
  * @author Artur Magomedov
  */
 public interface CommentService extends BaseService<Comment> {
+
+    List<Comment> findAllByPostId(String postId);
+
+    Comment findVersionById(String id);
+
+    List<Comment> findVersionsByPostId(String postId);
 }
@@ -0,0 +1,50 @@
+package com.reckue.post.services;
+
+import com.reckue.post.models.Node;
+
+import java.util.Collection;
+
+/**
+ * Interface ContentBlobService represents the shared storage of big text and code node contents.
+ * Every stored node or post which refers to a blob holds one reference to it,
+ * the blob is removed when the last reference is released.
+ */
+public interface ContentBlobService {
+
+    /**
+     * This method is used to move the big content of the node to a blob before the node is stored.
+     * The node keeps its content in memory, only the blob identifier is stored with the node.
+     *
+     * @param node the object of class Node
+     */
+    void acquire(Node node);
+
+    /**
+     * This method is used to add one reference to the blobs of the nodes.
+     *
+     * @param nodes the nodes
+     */
+    void retain(Collection<Node> nodes);
+
+    /**
+     * This method is used to remove one reference from the blobs of the nodes.
+     *
+     * @param nodes the nodes
+     */
+    void release(Collection<Node> nodes);
+
+    /**
+     * This method is used to remove one reference from every given blob, repeated identifiers are counted.
+     *
+     * @param blobIds the blob identifiers
+     */
+    void releaseBlobs(Collection<String> blobIds);
+
+    /**
+     * This method is used to fill the contents of the nodes stored with blobs.
+     * All the blobs missing in the cache are read by a single query.
+     *
+     * @param nodes the nodes
+     */
+    void resolve(Collection<Node> nodes);
+}
@@ -0,0 +1,35 @@
+package com.reckue.post.services;
+
+import com.reckue.post.models.Post;
+
+import java.util.List;
+
+/**
+ * Interface DuplicatePostService represents the search of the near duplicate posts by their text.
+ * The posts are compared by SimHash fingerprints, which are computed when the posts are saved.
+ */
+public interface DuplicatePostService {
+
+    /**
+     * This method is used to compute and store the fingerprint of the saved post
+     * and to flag the post if it has near duplicates, the near duplicates are linked to the post as well.
+     *
+     * @param post the saved object of class Post
+     */
+    void saved(Post post);
+
+    /**
+     * This method is used to remove the fingerprint of the deleted post and its links from the near duplicates.
+     *
+     * @param id the post identifier
+     */
+    void deleted(String id);
+
+    /**
+     * This method is used to get the near duplicates of the post.
+     *
+     * @param post object of class Post
+     * @return list of objects of class Post, the closest posts go first
+     */
+    List<Post> findDuplicates(Post post);
+}
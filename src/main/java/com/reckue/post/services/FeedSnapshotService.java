@@ -0,0 +1,48 @@
+package com.reckue.post.services;
+
+import com.reckue.post.models.Post;
+import com.reckue.post.models.types.PostStatusType;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface FeedSnapshotService represents the in-memory snapshots of the first posts of the most requested lists.
+ * The snapshots are changed in place when the posts are saved or deleted.
+ */
+public interface FeedSnapshotService {
+
+    /**
+     * This method is used to get the page of the list from its snapshot.
+     * As in the list query, the first posts up to the limit are taken and the offset is skipped from them.
+     *
+     * @param sort   parameter for sorting
+     * @param desc   sorting descending
+     * @param status status of the listed posts or null for all the posts
+     * @param limit  quantity of objects
+     * @param offset quantity to skip
+     * @return list of objects of class Post or empty if the page can't be served from a snapshot
+     */
+    Optional<List<Post>> find(String sort, boolean desc, PostStatusType status, int limit, int offset);
+
+    /**
+     * This method is used to put the saved post to the snapshots or move it within them.
+     *
+     * @param post the saved object of class Post
+     */
+    void saved(Post post);
+
+    /**
+     * This method is used to remove the deleted post from the snapshots.
+     *
+     * @param id the post identifier
+     */
+    void deleted(String id);
+
+    /**
+     * This method is used to apply the change of the post made elsewhere, the post is read again.
+     *
+     * @param id the post identifier
+     */
+    void changed(String id);
+}
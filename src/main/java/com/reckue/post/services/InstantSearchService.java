@@ -0,0 +1,57 @@
+package com.reckue.post.services;
+
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostSummary;
+
+import java.util.List;
+
+/**
+ * Interface InstantSearchService represents the search as you type by the words of the post titles and tags.
+ * The posts are found by an in-memory index, which is kept current when the posts are saved and deleted.
+ */
+public interface InstantSearchService {
+
+    /**
+     * This method is used to check whether the index is built and can be searched.
+     *
+     * @return true if the index is ready
+     */
+    boolean isReady();
+
+    /**
+     * This method is used to find the newest posts with all the words of the query,
+     * the last word of the query may be typed partly.
+     *
+     * @param query the typed text
+     * @param limit quantity of posts
+     * @return list of objects of class PostSummary with identifiers and titles
+     */
+    List<PostSummary> search(String query, int limit);
+
+    /**
+     * This method is used to index the saved post.
+     *
+     * @param post the saved object of class Post
+     */
+    void saved(Post post);
+
+    /**
+     * This method is used to remove the deleted post from the index.
+     *
+     * @param id the post identifier
+     */
+    void deleted(String id);
+
+    /**
+     * This method is used to index the post changed by another instance, it is read from the database.
+     *
+     * @param id the post identifier
+     */
+    void changed(String id);
+
+    /**
+     * This method is used to build the index again in background, when the changes made by the other instances
+     * may be missed. The current index is searched until the new one is built.
+     */
+    void rebuild();
+}
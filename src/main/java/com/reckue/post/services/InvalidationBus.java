@@ -0,0 +1,24 @@
+package com.reckue.post.services;
+
+/**
+ * Interface InvalidationBus represents the delivery of the changes made by any instance of the service
+ * to the local caches of this instance.
+ */
+public interface InvalidationBus {
+
+    /**
+     * This method is used to check if the changes are delivered by the change stream of the database.
+     * Otherwise the local caches are kept only for a short time.
+     *
+     * @return true if the change stream is watched
+     */
+    boolean isStreaming();
+
+    /**
+     * This method is used to evict the changed object from the local caches.
+     *
+     * @param collection name of the collection of the object
+     * @param id         the object identifier
+     */
+    void invalidate(String collection, String id);
+}
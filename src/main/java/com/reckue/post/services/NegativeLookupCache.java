@@ -0,0 +1,33 @@
+package com.reckue.post.services;
+
+/**
+ * Interface NegativeLookupCache represents the short-lived cache of the identifiers known to be missing,
+ * so the repeated lookups of deleted or nonexistent objects don't reach the database.
+ */
+public interface NegativeLookupCache {
+
+    /**
+     * This method is used to check if the object was recently found missing.
+     *
+     * @param type the class of the object
+     * @param id   the object identifier
+     * @return true if the object is known to be missing
+     */
+    boolean isMissing(Class<?> type, String id);
+
+    /**
+     * This method is used to remember that the object is missing.
+     *
+     * @param type the class of the object
+     * @param id   the object identifier
+     */
+    void markMissing(Class<?> type, String id);
+
+    /**
+     * This method is used to forget that the object is missing after it is created.
+     *
+     * @param type the class of the object
+     * @param id   the object identifier
+     */
+    void evict(Class<?> type, String id);
+}
@@ -9,6 +9,14 @@ import com.reckue.post.models.Node;
  */
 public interface NodeService extends BaseService<Node> {
 
+    /**
+     * This method is used to get the current version and modification date of the object by id.
+     *
+     * @param id object
+     * @return the object of class Node with identifier, version and modification date
+     */
+    Node findVersionById(String id);
+
     /**
      * This method is used to delete all nodes.
      */
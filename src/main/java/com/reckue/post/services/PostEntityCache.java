@@ -0,0 +1,65 @@
+package com.reckue.post.services;
+
+import com.reckue.post.models.Post;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface PostEntityCache represents the read-through cache of posts in front of the repository.
+ * The cached posts are shared between the callers, so they must not be changed.
+ */
+public interface PostEntityCache {
+
+    /**
+     * This method is used to get the post by id with resolved node contents.
+     *
+     * @param id the post identifier
+     * @return the object of class Post or empty if it isn't contained in database
+     */
+    Optional<Post> findById(String id);
+
+    /**
+     * This method is used to check if the post exists.
+     *
+     * @param id the post identifier
+     * @return true if the post exists
+     */
+    boolean existsById(String id);
+
+    /**
+     * This method is used to get the posts by identifiers, the missing ones are read with a single query.
+     *
+     * @param ids the post identifiers
+     * @return list of the found objects of class Post
+     */
+    List<Post> findAllById(Collection<String> ids);
+
+    /**
+     * This method is used to remove the post from the cache after it is changed.
+     *
+     * @param id the post identifier
+     */
+    void evict(String id);
+
+    /**
+     * This method is used to remove all the posts from the cache when their changes could be missed.
+     */
+    void evictAll();
+
+    /**
+     * This method is used to remove the cached posts with the tag, e.g. after the tag they keep by reference
+     * is renamed. Only the cached posts are looked through.
+     *
+     * @param tagId the tag identifier
+     */
+    void evictAllByTag(String tagId);
+
+    /**
+     * This method is used to change the time after which the cached posts are read again.
+     *
+     * @param millis time in milliseconds
+     */
+    void expireAfterWrite(long millis);
+}
@@ -0,0 +1,44 @@
+package com.reckue.post.services;
+
+import com.reckue.post.models.Post;
+import com.reckue.post.transfers.RenderedPost;
+
+/**
+ * Interface PostRenderService represents the cache of serialized post responses.
+ * The responses are kept per post and are valid only for the version they were rendered from
+ * and the generation of the names of the post tags.
+ */
+public interface PostRenderService {
+
+    /**
+     * This method is used to get the cached response of the post.
+     * The response has to be released when its bytes are written.
+     *
+     * @param id         the post identifier
+     * @param version    the current version of the post
+     * @param generation the current generation of the names of the post tags
+     * @return the object of class RenderedPost or null if the version and generation aren't cached
+     */
+    RenderedPost find(String id, long version, long generation);
+
+    /**
+     * This method is used to serialize the response of the post and cache it.
+     *
+     * @param post the object of class Post with resolved node contents
+     * @return the object of class RenderedPost
+     */
+    RenderedPost render(Post post);
+
+    /**
+     * This method is used to remove the cached response of the post.
+     *
+     * @param id the post identifier
+     */
+    void evict(String id);
+
+    /**
+     * This method is used to remove the cached responses of all the posts,
+     * e.g. after a change of data they share but their versions don't reflect.
+     */
+    void evictAll();
+}
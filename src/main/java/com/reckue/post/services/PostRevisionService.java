@@ -0,0 +1,40 @@
+package com.reckue.post.services;
+
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostRevision;
+
+import java.util.List;
+
+/**
+ * Interface PostRevisionService represents the revision history of posts.
+ */
+public interface PostRevisionService {
+
+    /**
+     * This method is used to store the revision of a new version of the post.
+     *
+     * @param previous the post in the previous version or null if the post is just created
+     * @param current  the post in the new version
+     * @return the object of class PostRevision
+     */
+    PostRevision record(Post previous, Post current);
+
+    /**
+     * This method is used to get the revisions of the post without their nodes.
+     *
+     * @param postId the post identifier
+     * @param limit  quantity of objects
+     * @param offset quantity to skip
+     * @return list of objects of class PostRevision sorted by version in descending order
+     */
+    List<PostRevision> findAllByPostId(String postId, Integer limit, Integer offset);
+
+    /**
+     * This method is used to restore the post in the given version.
+     *
+     * @param postId  the post identifier
+     * @param version the version of the post
+     * @return the object of class Post
+     */
+    Post findByVersion(String postId, long version);
+}
@@ -1,6 +1,8 @@
 package com.reckue.post.services;
 
 import com.reckue.post.models.Post;
+import com.reckue.post.models.PostSummary;
+import com.reckue.post.models.types.PostStatusType;
 
 import java.util.List;
 
@@ -19,6 +21,77 @@ public interface PostService extends BaseService<Post> {
      */
     List<Post> findAllByTitle(String title);
 
+    /**
+     * This method is used to get all objects of class Post with the status by parameters.
+     *
+     * @param limit  quantity of objects
+     * @param offset quantity to skip
+     * @param sort   parameter for sorting
+     * @param desc   sorting descending
+     * @param status status of the objects or null for all the objects
+     * @return list of given quantity of objects of class Post with a given offset
+     * sorted by the selected parameter for sorting in descending order
+     */
+    List<Post> findAll(Integer limit, Integer offset, String sort, Boolean desc, PostStatusType status);
+
+    /**
+     * This method is used to get the objects with the tags by pages, the newest objects go first.
+     *
+     * @param tagIds the tag identifiers
+     * @param mode   all if the objects must have all the tags, any if any of them, default - all
+     * @param status status of the objects or null for all the objects
+     * @param cursor identifier of the last object of the previous page or null for the first page
+     * @param limit  quantity of objects
+     * @return list of objects of class Post
+     */
+    List<Post> findAllByTags(List<String> tagIds, String mode, PostStatusType status, String cursor, Integer limit);
+
+    /**
+     * This method is used to get the objects most similar to the object by their tags and text.
+     *
+     * @param id    the object identifier
+     * @param limit quantity of objects
+     * @return list of objects of class Post, the most similar objects go first
+     */
+    List<Post> findRelated(String id, Integer limit);
+
+    /**
+     * This method is used to get the near duplicates of the object by its text.
+     *
+     * @param id the object identifier
+     * @return list of objects of class Post, the closest objects go first
+     */
+    List<Post> findDuplicates(String id);
+
+    /**
+     * This method is used to get the summaries of the objects matching the text by pages, the most relevant go first.
+     *
+     * @param text   the searched words and phrases
+     * @param status status of the objects or null for all the objects
+     * @param cursor cursor of the last object of the previous page or null for the first page
+     * @param limit  quantity of objects
+     * @return list of objects of class PostSummary
+     */
+    List<PostSummary> search(String text, PostStatusType status, String cursor, Integer limit);
+
+    /**
+     * This method is used to get the summaries of the newest objects whose titles and tags have all the typed words,
+     * the last word may be typed partly.
+     *
+     * @param query the typed text
+     * @param limit quantity of objects
+     * @return list of objects of class PostSummary
+     */
+    List<PostSummary> searchInstant(String query, Integer limit);
+
+    /**
+     * This method is used to get the current version, modification date and tags of the object by id.
+     *
+     * @param id object
+     * @return the object of class Post with identifier, version, modification date and tags
+     */
+    Post findVersionById(String id);
+
     /**
      * This method is used to delete all posts.
      */
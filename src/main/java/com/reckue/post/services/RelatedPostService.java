@@ -0,0 +1,35 @@
+package com.reckue.post.services;
+
+import com.reckue.post.models.Post;
+
+import java.util.List;
+
+/**
+ * Interface RelatedPostService represents the search of the posts similar by their tags and text.
+ * The posts are compared by MinHash signatures, which are computed when the posts are saved.
+ */
+public interface RelatedPostService {
+
+    /**
+     * This method is used to compute and store the signature of the saved post.
+     *
+     * @param post the saved object of class Post
+     */
+    void saved(Post post);
+
+    /**
+     * This method is used to remove the signature of the deleted post.
+     *
+     * @param id the post identifier
+     */
+    void deleted(String id);
+
+    /**
+     * This method is used to get the posts most similar to the post.
+     *
+     * @param post  object of class Post
+     * @param limit quantity of objects
+     * @return list of objects of class Post, the most similar posts go first
+     */
+    List<Post> findRelated(Post post, int limit);
+}
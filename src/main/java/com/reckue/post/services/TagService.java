@@ -2,10 +2,60 @@ package com.reckue.post.services;
 
 import com.reckue.post.models.Tag;
 
+import java.util.List;
+
 /**
  * Interface TagService extends base interface with CRUD-operations and add own methods.
  *
  * @author Kamila Meshcheryakova
  */
 public interface TagService extends BaseService<Tag> {
+
+    /**
+     * This method is used to get the tags whose names start with the prefix, the most used tags go first.
+     *
+     * @param prefix the beginning of the name, ignoring case
+     * @param limit  quantity of objects
+     * @return list of objects of class Tag
+     */
+    List<Tag> suggest(String prefix, Integer limit);
+
+    /**
+     * This method is used to get the tags most added to the posts within the last period of time.
+     *
+     * @param window length of the period, e.g. 24h or 7d
+     * @param limit  quantity of objects
+     * @return list of objects of class Tag
+     */
+    List<Tag> findTrending(String window, Integer limit);
+
+    /**
+     * This method is used to read all the tags of the catalog from the database again.
+     */
+    void refresh();
+
+    /**
+     * This method is used to read the tag of the catalog from the database again after it is changed elsewhere.
+     *
+     * @param id the tag identifier
+     */
+    void refresh(String id);
+
+    /**
+     * This method is used to replace the tags by the tags of the catalog, so their names are current.
+     *
+     * @param tags list of objects of class Tag, only their identifiers are used
+     * @return list of objects of class Tag
+     */
+    List<Tag> resolve(List<Tag> tags);
+
+    /**
+     * This method is used to get the generation of the names of the tags of a post,
+     * it changes when any of the tags is renamed. It is zero unless the posts keep only the identifiers
+     * of their tags, since otherwise a rename doesn't change the stored posts.
+     *
+     * @param tags list of resolved objects of class Tag
+     * @return the generation or zero if the posts keep the names or there are no tags
+     */
+    long generation(List<Tag> tags);
 }
@@ -0,0 +1,43 @@
+package com.reckue.post.services;
+
+import com.reckue.post.models.Tag;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Interface TagUsageService represents the counters of the posts of every tag,
+ * in total and by periods of time.
+ */
+public interface TagUsageService {
+
+    /**
+     * This method is used to get quantity of the posts with the tag.
+     *
+     * @param tagId the tag identifier
+     * @return quantity of posts
+     */
+    long count(String tagId);
+
+    /**
+     * This method is used to count the difference of the tags of a post after it is changed.
+     *
+     * @param previous the tags before the change or null if the post is created
+     * @param current  the tags after the change or null if the post is deleted
+     */
+    void changed(Collection<Tag> previous, Collection<Tag> current);
+
+    /**
+     * This method is used to get the tags most added to the posts within the last period of time.
+     *
+     * @param window length of the period in milliseconds
+     * @param limit  quantity of tags
+     * @return list of tag identifiers, the most added tags go first
+     */
+    List<String> trending(long window, int limit);
+
+    /**
+     * This method is used to read the counters of every tag from the database again.
+     */
+    void refresh();
+}
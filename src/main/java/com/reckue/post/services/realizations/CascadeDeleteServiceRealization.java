@@ -0,0 +1,256 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.configs.properties.CascadeDeleteProperties;
+import com.reckue.post.models.CascadeDeleteJob;
+import com.reckue.post.models.Comment;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.PostRevision;
+import com.reckue.post.models.Rating;
+import com.reckue.post.models.nodes.PollNode;
+import com.reckue.post.models.types.JobStatusType;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.repositories.CascadeDeleteJobRepository;
+import com.reckue.post.services.CascadeDeleteService;
+import com.reckue.post.services.ContentBlobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class CascadeDeleteServiceRealization represents realization of CascadeDeleteService.
+ * The jobs are stored in database, so any instance of the service is able to take them,
+ * and every collection is drained with bounded batches of deleteMany.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CascadeDeleteServiceRealization implements CascadeDeleteService {
+
+    private final CascadeDeleteJobRepository cascadeDeleteJobRepository;
+    private final MongoTemplate mongoTemplate;
+    private final CascadeDeleteProperties properties;
+    private final ContentBlobService contentBlobService;
+
+    /**
+     * This method is used to enqueue the cascade delete of a post.
+     *
+     * @param postId the post identifier
+     * @return the object of class CascadeDeleteJob
+     */
+    @Override
+    public CascadeDeleteJob enqueue(String postId) {
+        return cascadeDeleteJobRepository.save(CascadeDeleteJob.builder()
+                .postId(postId)
+                .status(JobStatusType.PENDING)
+                .build());
+    }
+
+    /**
+     * This method is used to get the latest jobs.
+     *
+     * @return list of objects of class CascadeDeleteJob sorted by createdDate in descending order
+     */
+    @Override
+    public List<CascadeDeleteJob> findLatest() {
+        return cascadeDeleteJobRepository.findTop100ByOrderByCreatedDateDesc();
+    }
+
+    /**
+     * This method is used to get a job by id.
+     *
+     * @param id the job identifier
+     * @return the object of class CascadeDeleteJob or null if it isn't contained in database
+     */
+    @Override
+    public CascadeDeleteJob findById(String id) {
+        return cascadeDeleteJobRepository.findById(id).orElse(null);
+    }
+
+    /**
+     * This method is used to process all the pending jobs one by one.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${reckue.cascade.poll-delay:1000}")
+    public void processPendingJobs() {
+        CascadeDeleteJob job = claimNextJob();
+        while (job != null) {
+            process(job);
+            job = claimNextJob();
+        }
+    }
+
+    /**
+     * This method is used to atomically take the oldest pending job whose retry time has come,
+     * a failed job which still has attempts left or a running job which has lost its lease.
+     * Failed jobs are taken too, so the jobs failed before a raise of maxAttempts are retried.
+     *
+     * @return the object of class CascadeDeleteJob or null if there are no jobs
+     */
+    private CascadeDeleteJob claimNextJob() {
+        Instant now = Instant.now();
+        Query query = query(new Criteria().orOperator(
+                where("status").is(JobStatusType.PENDING).and("notBefore").not().gt(now),
+                where("status").is(JobStatusType.FAILED).and("notBefore").not().gt(now)
+                        .and("attempts").not().gte(properties.getMaxAttempts()),
+                where("status").is(JobStatusType.RUNNING)
+                        .and("modificationDate").lt(now.minus(properties.getLease(), ChronoUnit.MILLIS))))
+                .with(Sort.by("createdDate"));
+        Update update = Update.update("status", JobStatusType.RUNNING)
+                .set("modificationDate", now)
+                .inc("attempts", 1);
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), CascadeDeleteJob.class);
+    }
+
+    private void process(CascadeDeleteJob job) {
+        try {
+            drainNodes(job);
+            drain(job, Comment.class, "deletedComments");
+            drain(job, Rating.class, "deletedRatings");
+            drain(job, PostRevision.class, "deletedRevisions");
+            finish(job, JobStatusType.DONE, null);
+        } catch (RuntimeException e) {
+            log.error("Cascade delete of post {} is failed, attempt {}", job.getPostId(), job.getAttempts(), e);
+            if (job.getAttempts() < properties.getMaxAttempts()) {
+                retry(job, e.getMessage());
+            } else {
+                finish(job, JobStatusType.FAILED, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * This method is used to return the failed job to the queue,
+     * the delay before the next attempt is doubled by every attempt.
+     *
+     * @param job   the object of class CascadeDeleteJob
+     * @param error the message of the failure
+     */
+    private void retry(CascadeDeleteJob job, String error) {
+        Instant now = Instant.now();
+        long delay = properties.getRetryDelay() << Math.min(Math.max(job.getAttempts() - 1, 0), 20);
+        mongoTemplate.updateFirst(query(where("_id").is(job.getId())),
+                Update.update("status", JobStatusType.PENDING)
+                        .set("error", error)
+                        .set("notBefore", now.plusMillis(delay))
+                        .set("modificationDate", now),
+                CascadeDeleteJob.class);
+    }
+
+    /**
+     * This method is used to remove the nodes of the post together with their polls
+     * and to release their references to the content blobs.
+     *
+     * @param job the object of class CascadeDeleteJob
+     */
+    private void drainNodes(CascadeDeleteJob job) {
+        List<Document> batch = nextBatch(job.getPostId(), Node.class, "type", "node._id", "node.blobId");
+        while (!batch.isEmpty()) {
+            contentBlobService.releaseBlobs(batch.stream()
+                    .map(node -> node.get("node", Document.class))
+                    .filter(Objects::nonNull)
+                    .map(content -> content.getString("blobId"))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+            List<Object> pollIds = batch.stream()
+                    .filter(node -> NodeType.POLL.name().equals(node.get("type")))
+                    .map(node -> node.get("node", Document.class))
+                    .filter(Objects::nonNull)
+                    .map(poll -> poll.get("_id"))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            if (!pollIds.isEmpty()) {
+                long polls = mongoTemplate.remove(query(where("_id").in(pollIds)), PollNode.class)
+                        .getDeletedCount();
+                progress(job, "deletedPollNodes", polls);
+            }
+            progress(job, "deletedNodes", removeBatch(batch, Node.class));
+            throttle();
+            batch = nextBatch(job.getPostId(), Node.class, "type", "node._id", "node.blobId");
+        }
+    }
+
+    /**
+     * This method is used to remove all the documents of the post from a collection.
+     *
+     * @param job     the object of class CascadeDeleteJob
+     * @param type    the model stored in the collection
+     * @param counter the name of the progress counter
+     */
+    private void drain(CascadeDeleteJob job, Class<?> type, String counter) {
+        List<Document> batch = nextBatch(job.getPostId(), type);
+        while (!batch.isEmpty()) {
+            progress(job, counter, removeBatch(batch, type));
+            throttle();
+            batch = nextBatch(job.getPostId(), type);
+        }
+    }
+
+    private List<Document> nextBatch(String postId, Class<?> type, String... fields) {
+        Query query = query(where("postId").is(postId)).limit(properties.getBatchSize());
+        query.fields().include("_id");
+        for (String field : fields) {
+            query.fields().include(field);
+        }
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(type));
+    }
+
+    private long removeBatch(List<Document> batch, Class<?> type) {
+        List<Object> ids = batch.stream()
+                .map(document -> document.get("_id"))
+                .collect(Collectors.toList());
+        return mongoTemplate.remove(query(where("_id").in(ids)), type).getDeletedCount();
+    }
+
+    /**
+     * This method is used to store the progress of the job, it also renews the lease of the job.
+     *
+     * @param job     the object of class CascadeDeleteJob
+     * @param counter the name of the progress counter
+     * @param deleted quantity of removed documents
+     */
+    private void progress(CascadeDeleteJob job, String counter, long deleted) {
+        mongoTemplate.updateFirst(query(where("_id").is(job.getId())),
+                new Update().inc(counter, deleted).set("modificationDate", Instant.now()),
+                CascadeDeleteJob.class);
+    }
+
+    private void finish(CascadeDeleteJob job, JobStatusType status, String error) {
+        Instant now = Instant.now();
+        mongoTemplate.updateFirst(query(where("_id").is(job.getId())),
+                Update.update("status", status)
+                        .set("error", error)
+                        .set("finishedDate", now)
+                        .set("modificationDate", now),
+                CascadeDeleteJob.class);
+    }
+
+    private void throttle() {
+        if (properties.getBatchPause() <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(properties.getBatchPause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cascade delete is interrupted", e);
+        }
+    }
+}
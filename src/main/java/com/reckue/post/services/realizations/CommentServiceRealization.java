@@ -3,19 +3,30 @@ package com.reckue.post.services.realizations;
 
 import com.reckue.post.exceptions.ReckueIllegalArgumentException;
 import com.reckue.post.exceptions.models.comment.CommentNotFoundException;
+import com.reckue.post.exceptions.models.comment.CommentVersionConflictException;
 import com.reckue.post.exceptions.models.post.PostNotFoundException;
 import com.reckue.post.models.Comment;
 import com.reckue.post.models.Rating;
 import com.reckue.post.repositories.CommentRepository;
-import com.reckue.post.repositories.PostRepository;
 import com.reckue.post.services.CommentService;
+import com.reckue.post.services.NegativeLookupCache;
+import com.reckue.post.services.PostEntityCache;
+import com.reckue.post.utils.SingleFlight;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -27,9 +38,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CommentServiceRealization implements CommentService {
 
+    private static final String ROOT = "";
+
     private final CommentRepository commentRepository;
 
-    private final PostRepository postRepository;
+    private final PostEntityCache postEntityCache;
+
+    private final SingleFlight<String, List<Comment>> commentTreeFlight;
+
+    private final NegativeLookupCache negativeLookupCache;
 
     /**
      * This method is used to create an object of class Comment.
@@ -40,7 +57,9 @@ public class CommentServiceRealization implements CommentService {
     @Override
     public Comment create(Comment comment) {
         validateCreatingComment(comment);
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        negativeLookupCache.evict(Comment.class, comment.getId());
+        return saved;
     }
 
     /**
@@ -51,7 +70,7 @@ public class CommentServiceRealization implements CommentService {
      * @param comment object of class Comment
      */
     public void validateCreatingComment(Comment comment) {
-        if (!postRepository.existsById(comment.getPostId())) {
+        if (!postEntityCache.existsById(comment.getPostId())) {
             throw new PostNotFoundException(comment.getPostId());
         }
         if (!commentRepository.existsById(comment.getCommentId())) {
@@ -61,12 +80,15 @@ public class CommentServiceRealization implements CommentService {
 
     /**
      * This method is used to update data in an object of class Comment.
+     * The object is changed by a single conditional query, so concurrent changes aren't lost.
      * Throws {@link CommentNotFoundException} in case
      * if such object isn't contained in database.
+     * Throws {@link CommentVersionConflictException} in case
+     * if the version of the object isn't equal to the expected one.
      * Throws {@link ReckueIllegalArgumentException} in case
      * if such parameter is null.
      *
-     * @param comment object of class Comment
+     * @param comment object of class Comment, its version is the expected version of the stored object
      * @return comment object of class Comment
      */
     @Override
@@ -74,15 +96,19 @@ public class CommentServiceRealization implements CommentService {
         if (comment.getId() == null) {
             throw new ReckueIllegalArgumentException("The parameter is null");
         }
-        Comment savedComment = commentRepository
-                .findById(comment.getId())
-                .orElseThrow(() -> new CommentNotFoundException(comment.getId()));
-        savedComment.setText(comment.getText());
-        savedComment.setPostId(comment.getPostId());
-        savedComment.setUserId(comment.getUserId());
-        savedComment.setCommentId(comment.getCommentId());
-
-        return commentRepository.save(savedComment);
+        Update update = Update.update("text", comment.getText())
+                .set("postId", comment.getPostId())
+                .set("userId", comment.getUserId())
+                .set("commentId", comment.getCommentId())
+                .set("modificationDate", Instant.now());
+        Comment savedComment = commentRepository.updateIfVersionMatches(comment.getId(), comment.getVersion(), update);
+        if (savedComment == null) {
+            if (comment.getVersion() != null && commentRepository.existsById(comment.getId())) {
+                throw new CommentVersionConflictException(comment.getId(), comment.getVersion());
+            }
+            throw new CommentNotFoundException(comment.getId());
+        }
+        return savedComment;
     }
 
     /**
@@ -236,8 +262,94 @@ public class CommentServiceRealization implements CommentService {
      */
     @Override
     public Comment findById(String id) {
-        return commentRepository.findById(id).orElseThrow(
-                () -> new CommentNotFoundException(id));
+        if (negativeLookupCache.isMissing(Comment.class, id)) {
+            throw new CommentNotFoundException(id);
+        }
+        return commentRepository.findById(id).orElseThrow(() -> {
+            negativeLookupCache.markMissing(Comment.class, id);
+            return new CommentNotFoundException(id);
+        });
+    }
+
+    /**
+     * This method is used to get the current version and modification date of the object by id
+     * without reading the object itself.
+     * Throws {@link CommentNotFoundException} in case if such object isn't contained in database.
+     *
+     * @param id object
+     * @return the object of class Comment with identifier, version and modification date
+     */
+    @Override
+    public Comment findVersionById(String id) {
+        if (negativeLookupCache.isMissing(Comment.class, id)) {
+            throw new CommentNotFoundException(id);
+        }
+        Comment comment = commentRepository.findVersionById(id);
+        if (comment == null) {
+            negativeLookupCache.markMissing(Comment.class, id);
+            throw new CommentNotFoundException(id);
+        }
+        return comment;
+    }
+
+    /**
+     * This method is used to get the versions and modification dates of all comments to a single post
+     * without reading the comments themselves.
+     * Throws {@link PostNotFoundException} in case if such post id isn't contained in database.
+     *
+     * @param postId the post identifier
+     * @return list of objects of class Comment with identifier, version and modification date
+     */
+    @Override
+    public List<Comment> findVersionsByPostId(String postId) {
+        if (!postEntityCache.existsById(postId)) {
+            throw new PostNotFoundException(postId);
+        }
+        return commentRepository.findVersionsByPostId(postId);
+    }
+
+    /**
+     * This method is used to get all comments to a single post as a tree flattened in the order of threads:
+     * every comment is followed by its answers, the comments of one level go in order of their creation.
+     * The answers to missing comments are placed at the top level.
+     * Throws {@link PostNotFoundException} in case if such post id isn't contained in database.
+     * The concurrent reads of the same post are coalesced into one, the returned list is shared and unmodifiable.
+     *
+     * @param postId the post identifier
+     * @return list of objects of class Comment
+     */
+    @Override
+    public List<Comment> findAllByPostId(String postId) {
+        return commentTreeFlight.execute(postId, () -> findTreeByPostId(postId));
+    }
+
+    private List<Comment> findTreeByPostId(String postId) {
+        if (!postEntityCache.existsById(postId)) {
+            throw new PostNotFoundException(postId);
+        }
+        List<Comment> comments = commentRepository.findAllByPostIdOrderByCreatedDateAsc(postId);
+        Set<String> ids = comments.stream().map(Comment::getId).collect(Collectors.toSet());
+        Map<String, List<Comment>> answers = comments.stream()
+                .collect(Collectors.groupingBy(comment -> ids.contains(comment.getCommentId())
+                        ? comment.getCommentId() : ROOT, LinkedHashMap::new, Collectors.toList()));
+        List<Comment> tree = new ArrayList<>(comments.size());
+        Deque<Comment> stack = new ArrayDeque<>();
+        pushAnswers(stack, answers.get(ROOT));
+        while (!stack.isEmpty()) {
+            Comment comment = stack.pop();
+            tree.add(comment);
+            pushAnswers(stack, answers.get(comment.getId()));
+        }
+        return Collections.unmodifiableList(tree);
+    }
+
+    private void pushAnswers(Deque<Comment> stack, List<Comment> answers) {
+        if (answers == null) {
+            return;
+        }
+        for (int i = answers.size() - 1; i >= 0; i--) {
+            stack.push(answers.get(i));
+        }
     }
 
     /**
@@ -249,10 +361,14 @@ public class CommentServiceRealization implements CommentService {
      */
     @Override
     public void deleteById(String id) {
-        if (commentRepository.existsById(id)) {
-            commentRepository.deleteById(id);
-        } else {
+        if (negativeLookupCache.isMissing(Comment.class, id)) {
+            throw new CommentNotFoundException(id);
+        }
+        if (!commentRepository.existsById(id)) {
+            negativeLookupCache.markMissing(Comment.class, id);
             throw new CommentNotFoundException(id);
         }
+        commentRepository.deleteById(id);
+        negativeLookupCache.markMissing(Comment.class, id);
     }
 }
@@ -0,0 +1,190 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.configs.properties.BlobProperties;
+import com.reckue.post.models.ContentBlob;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.nodes.TextContent;
+import com.reckue.post.services.ContentBlobService;
+import com.reckue.post.utils.LruCache;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class ContentBlobServiceRealization represents realization of ContentBlobService.
+ * The blobs are immutable, so the cache is never invalidated.
+ */
+@Service
+public class ContentBlobServiceRealization implements ContentBlobService {
+
+    private final MongoTemplate mongoTemplate;
+    private final BlobProperties properties;
+    private final LruCache<String, String> cache;
+
+    public ContentBlobServiceRealization(MongoTemplate mongoTemplate, BlobProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.cache = new LruCache<>(properties.getCacheCapacity(), String::length);
+    }
+
+    /**
+     * This method is used to move the big content of the node to a blob before the node is stored.
+     * The blob is created by the first node with such content, the next ones only add references.
+     *
+     * @param node the object of class Node
+     */
+    @Override
+    public void acquire(Node node) {
+        if (!(node.getNode() instanceof TextContent)) {
+            return;
+        }
+        TextContent text = (TextContent) node.getNode();
+        String content = text.getContent();
+        if (content == null || content.length() < properties.getThreshold()) {
+            text.setBlobId(null);
+            return;
+        }
+        String id = hash(content);
+        Update update = new Update()
+                .setOnInsert("content", content)
+                .setOnInsert("size", content.length())
+                .setOnInsert("createdDate", Instant.now())
+                .inc("refCount", 1);
+        try {
+            mongoTemplate.upsert(query(where("_id").is(id)), update, ContentBlob.class);
+        } catch (DuplicateKeyException e) {
+            // the same blob is inserted concurrently, now it exists
+            mongoTemplate.upsert(query(where("_id").is(id)), update, ContentBlob.class);
+        }
+        text.setBlobId(id);
+        cache.put(id, content);
+    }
+
+    /**
+     * This method is used to add one reference to the blobs of the nodes.
+     *
+     * @param nodes the nodes
+     */
+    @Override
+    public void retain(Collection<Node> nodes) {
+        changeReferences(countBlobs(blobIdsOf(nodes)), 1);
+    }
+
+    /**
+     * This method is used to remove one reference from the blobs of the nodes.
+     *
+     * @param nodes the nodes
+     */
+    @Override
+    public void release(Collection<Node> nodes) {
+        releaseBlobs(blobIdsOf(nodes));
+    }
+
+    /**
+     * This method is used to remove one reference from every given blob
+     * and to remove the blobs without references.
+     *
+     * @param blobIds the blob identifiers
+     */
+    @Override
+    public void releaseBlobs(Collection<String> blobIds) {
+        Map<String, Integer> counts = countBlobs(blobIds);
+        if (counts.isEmpty()) {
+            return;
+        }
+        changeReferences(counts, -1);
+        mongoTemplate.remove(query(where("_id").in(counts.keySet()).and("refCount").lte(0)), ContentBlob.class);
+    }
+
+    /**
+     * This method is used to fill the contents of the nodes stored with blobs.
+     *
+     * @param nodes the nodes
+     */
+    @Override
+    public void resolve(Collection<Node> nodes) {
+        Map<String, List<TextContent>> unresolved = new HashMap<>();
+        for (Node node : nodes) {
+            if (node != null && node.getNode() instanceof TextContent) {
+                TextContent text = (TextContent) node.getNode();
+                if (text.getBlobId() != null && text.getContent() == null) {
+                    String content = cache.get(text.getBlobId());
+                    if (content != null) {
+                        text.setContent(content);
+                    } else {
+                        unresolved.computeIfAbsent(text.getBlobId(), id -> new ArrayList<>()).add(text);
+                    }
+                }
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        for (ContentBlob blob : mongoTemplate.find(query(where("_id").in(unresolved.keySet())), ContentBlob.class)) {
+            cache.put(blob.getId(), blob.getContent());
+            unresolved.get(blob.getId()).forEach(text -> text.setContent(blob.getContent()));
+        }
+    }
+
+    private void changeReferences(Map<String, Integer> counts, int sign) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContentBlob.class);
+        counts.forEach((id, count) -> operations.updateOne(query(where("_id").is(id)),
+                new Update().inc("refCount", sign * count)));
+        operations.execute();
+    }
+
+    private static List<String> blobIdsOf(Collection<Node> nodes) {
+        List<String> blobIds = new ArrayList<>();
+        if (nodes == null) {
+            return blobIds;
+        }
+        for (Node node : nodes) {
+            if (node != null && node.getNode() instanceof TextContent) {
+                String blobId = ((TextContent) node.getNode()).getBlobId();
+                if (blobId != null) {
+                    blobIds.add(blobId);
+                }
+            }
+        }
+        return blobIds;
+    }
+
+    private static Map<String, Integer> countBlobs(Collection<String> blobIds) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String blobId : blobIds) {
+            counts.merge(blobId, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static String hash(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 isn't supported", e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.configs.properties.DuplicateProperties;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostFingerprint;
+import com.reckue.post.models.nodes.CodeNode;
+import com.reckue.post.models.nodes.TextContent;
+import com.reckue.post.models.nodes.TextNode;
+import com.reckue.post.services.DuplicatePostService;
+import com.reckue.post.services.PostEntityCache;
+import com.reckue.post.utils.MinHash;
+import com.reckue.post.utils.SimHash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class DuplicatePostServiceRealization represents realization of DuplicatePostService.
+ * The features of a post are the pairs of consecutive words of its text and code nodes, ignoring case and punctuation.
+ * The fingerprint is split into one block more than the distance, so a near duplicate has an equal block
+ * and the candidates are found by the index of the blocks, only they are compared by the distance.
+ * The fingerprint missing for a post saved before is computed on its first request.
+ * <p>
+ * The near duplicates are kept on both sides: the saved post is added to the posts it duplicates
+ * and removed from the posts it doesn't duplicate anymore or when it is deleted.
+ * A post is flagged while it has a near duplicate published before, the identifiers grow with time,
+ * so the earlier posts have the smaller identifiers.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DuplicatePostServiceRealization implements DuplicatePostService {
+
+    private static final int SHINGLE_SIZE = 2;
+
+    private final MongoTemplate mongoTemplate;
+    private final PostEntityCache postEntityCache;
+    private final DuplicateProperties properties;
+
+    /**
+     * This method is used to compute and store the fingerprint of the saved post,
+     * to flag the post if it has near duplicates published before and to link it to its near duplicates.
+     * The post is already saved at this point, so a failure doesn't fail the request.
+     *
+     * @param post the saved object of class Post
+     */
+    @Override
+    public void saved(Post post) {
+        try {
+            PostFingerprint fingerprint = fingerprint(post);
+            List<String> duplicates = findDuplicateIds(fingerprint);
+            fingerprint.setDuplicates(duplicates);
+            fingerprint.setFlagged(isFlagged(post.getId(), duplicates));
+            mongoTemplate.save(fingerprint);
+            unlink(post.getId(), query(where("duplicates").is(post.getId()).and("_id").nin(duplicates)));
+            link(post.getId(), duplicates);
+            if (fingerprint.isFlagged()) {
+                log.info("Post by id '{}' is flagged as a near duplicate of {}", post.getId(), duplicates);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Fingerprint of post by id '{}' isn't stored", post.getId(), e);
+        }
+    }
+
+    /**
+     * This method is used to remove the fingerprint of the deleted post and to remove the post
+     * from the near duplicates of the other posts, which are unflagged if it was their only earlier duplicate.
+     *
+     * @param id the post identifier
+     */
+    @Override
+    public void deleted(String id) {
+        mongoTemplate.remove(query(where("_id").is(id)), PostFingerprint.class);
+        unlink(id, query(where("duplicates").is(id)));
+    }
+
+    private void link(String id, List<String> duplicates) {
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(query(where("_id").in(duplicates)),
+                new Update().addToSet("duplicates", id), PostFingerprint.class);
+        List<String> later = duplicates.stream()
+                .filter(duplicate -> duplicate.compareTo(id) > 0)
+                .collect(Collectors.toList());
+        if (!later.isEmpty()) {
+            mongoTemplate.updateMulti(query(where("_id").in(later)),
+                    Update.update("flagged", true), PostFingerprint.class);
+        }
+    }
+
+    private void unlink(String id, Query linked) {
+        linked.fields().include("duplicates");
+        for (PostFingerprint fingerprint : mongoTemplate.find(linked, PostFingerprint.class)) {
+            List<String> duplicates = new ArrayList<>(fingerprint.getDuplicates());
+            duplicates.remove(id);
+            mongoTemplate.updateFirst(query(where("_id").is(fingerprint.getId())),
+                    new Update().pull("duplicates", id).set("flagged", isFlagged(fingerprint.getId(), duplicates)),
+                    PostFingerprint.class);
+        }
+    }
+
+    private static boolean isFlagged(String id, List<String> duplicates) {
+        return duplicates.stream().anyMatch(duplicate -> duplicate.compareTo(id) < 0);
+    }
+
+    /**
+     * This method is used to get the near duplicates of the post.
+     * The posts with the same distance are sorted by id, so the first published post goes first.
+     *
+     * @param post object of class Post
+     * @return list of objects of class Post, the closest posts go first
+     */
+    @Override
+    public List<Post> findDuplicates(Post post) {
+        PostFingerprint fingerprint = mongoTemplate.findById(post.getId(), PostFingerprint.class);
+        if (fingerprint == null) {
+            fingerprint = fingerprint(post);
+            mongoTemplate.save(fingerprint);
+        }
+        List<String> ids = findDuplicateIds(fingerprint);
+        Map<String, Post> posts = postEntityCache.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return ids.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> findDuplicateIds(PostFingerprint fingerprint) {
+        if (fingerprint.getBlocks().isEmpty()) {
+            return List.of();
+        }
+        Query candidates = query(where("blocks").in(fingerprint.getBlocks()).and("_id").ne(fingerprint.getId()))
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(properties.getCandidates());
+        candidates.fields().include("fingerprint");
+        return mongoTemplate.find(candidates, PostFingerprint.class).stream()
+                .filter(candidate -> distance(fingerprint, candidate) <= properties.getDistance())
+                .sorted(Comparator.comparingInt((PostFingerprint candidate) -> distance(fingerprint, candidate))
+                        .thenComparing(PostFingerprint::getId))
+                .map(PostFingerprint::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static int distance(PostFingerprint first, PostFingerprint second) {
+        return SimHash.distance(first.getFingerprint(), second.getFingerprint());
+    }
+
+    private PostFingerprint fingerprint(Post post) {
+        List<String> features = new ArrayList<>();
+        if (post.getNodes() != null) {
+            post.getNodes().stream()
+                    .filter(node -> node.getNode() instanceof TextNode || node.getNode() instanceof CodeNode)
+                    .map(node -> ((TextContent) node.getNode()).getContent())
+                    .forEach(text -> features.addAll(MinHash.shingles(text, SHINGLE_SIZE)));
+        }
+        long fingerprint = SimHash.fingerprint(features);
+        return PostFingerprint.builder()
+                .id(post.getId())
+                .fingerprint(fingerprint)
+                .blocks(features.isEmpty() ? List.of() : SimHash.blocks(fingerprint, properties.getDistance() + 1))
+                .duplicates(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,240 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.configs.properties.FeedProperties;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.types.PostStatusType;
+import com.reckue.post.services.FeedSnapshotService;
+import com.reckue.post.services.PostEntityCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Class FeedSnapshotServiceRealization represents realization of FeedSnapshotService.
+ * Every configured list keeps the identifiers and sort values of its first posts in sorted order,
+ * the posts themselves are read through the cache of posts.
+ * <p>
+ * A saved post is put to its place by binary search and the last entry is dropped when the snapshot is full.
+ * The snapshot knows only its own entries, so a post sorted after the last of them is skipped
+ * while there are more posts in the database, and a snapshot shrunk to a half is read again.
+ * The snapshots are also read again after the refresh interval to catch the changes that were missed.
+ */
+@Service
+public class FeedSnapshotServiceRealization implements FeedSnapshotService {
+
+    private static final Map<String, Function<Post, Comparable<?>>> SORT_KEYS = Map.of(
+            "createdDate", Post::getCreatedDate,
+            "modificationDate", Post::getModificationDate,
+            "id", Post::getId);
+
+    private final MongoTemplate mongoTemplate;
+    private final PostEntityCache postEntityCache;
+    private final FeedProperties properties;
+    private final Map<String, Snapshot> snapshots = new LinkedHashMap<>();
+
+    public FeedSnapshotServiceRealization(MongoTemplate mongoTemplate, PostEntityCache postEntityCache,
+                                          FeedProperties properties, MeterRegistry registry) {
+        this.mongoTemplate = mongoTemplate;
+        this.postEntityCache = postEntityCache;
+        this.properties = properties;
+        for (FeedProperties.Feed feed : properties.getFeeds()) {
+            if (!SORT_KEYS.containsKey(feed.getSort())) {
+                throw new IllegalStateException("Feed can't be sorted by " + feed.getSort());
+            }
+            String name = name(feed.getSort(), feed.isDesc(), feed.getStatus());
+            snapshots.put(name, new Snapshot(feed, name, registry));
+        }
+    }
+
+    @Override
+    public Optional<List<Post>> find(String sort, boolean desc, PostStatusType status, int limit, int offset) {
+        Snapshot snapshot = snapshots.get(name(sort, desc, status));
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        List<String> ids;
+        synchronized (snapshot) {
+            if (snapshot.isStale(properties.getRefreshInterval())) {
+                rebuild(snapshot);
+            }
+            if (limit > snapshot.entries.size() && !snapshot.complete) {
+                snapshot.misses.increment();
+                return Optional.empty();
+            }
+            int to = Math.min(limit, snapshot.entries.size());
+            ids = snapshot.entries.subList(Math.min(offset, to), to).stream()
+                    .map(entry -> entry.id)
+                    .collect(Collectors.toList());
+        }
+        Map<String, Post> posts = postEntityCache.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        if (posts.size() < ids.size()) {
+            synchronized (snapshot) {
+                snapshot.dirty = true;
+            }
+            snapshot.misses.increment();
+            return Optional.empty();
+        }
+        snapshot.hits.increment();
+        return Optional.of(ids.stream().map(posts::get).collect(Collectors.toList()));
+    }
+
+    @Override
+    public void saved(Post post) {
+        for (Snapshot snapshot : snapshots.values()) {
+            synchronized (snapshot) {
+                if (snapshot.dirty) {
+                    continue;
+                }
+                remove(snapshot, post.getId());
+                FeedProperties.Feed feed = snapshot.feed;
+                if (feed.getStatus() == null || feed.getStatus() == post.getStatus()) {
+                    insert(snapshot, new Entry(post.getId(), SORT_KEYS.get(feed.getSort()).apply(post)));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void deleted(String id) {
+        for (Snapshot snapshot : snapshots.values()) {
+            synchronized (snapshot) {
+                if (!snapshot.dirty) {
+                    remove(snapshot, id);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void changed(String id) {
+        postEntityCache.findById(id).ifPresentOrElse(this::saved, () -> deleted(id));
+    }
+
+    private void insert(Snapshot snapshot, Entry entry) {
+        int index = -Collections.binarySearch(snapshot.entries, entry, snapshot.order) - 1;
+        if (index < 0 || index == snapshot.entries.size() && !snapshot.complete) {
+            return;
+        }
+        snapshot.entries.add(index, entry);
+        if (snapshot.entries.size() > properties.getSize()) {
+            snapshot.entries.remove(snapshot.entries.size() - 1);
+            snapshot.complete = false;
+        }
+    }
+
+    private void remove(Snapshot snapshot, String id) {
+        if (!snapshot.entries.removeIf(entry -> entry.id.equals(id))) {
+            return;
+        }
+        if (!snapshot.complete && snapshot.entries.size() < properties.getSize() / 2) {
+            snapshot.dirty = true;
+        }
+    }
+
+    /**
+     * This method is used to read the first posts of the list with a single query,
+     * one more post is read to know if the list is longer than the snapshot.
+     *
+     * @param snapshot the snapshot of the list
+     */
+    private void rebuild(Snapshot snapshot) {
+        FeedProperties.Feed feed = snapshot.feed;
+        Sort.Direction direction = feed.isDesc() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Query query = new Query().with(Sort.by(direction, feed.getSort()).and(Sort.by(direction, "id")))
+                .limit(properties.getSize() + 1);
+        query.fields().include(feed.getSort());
+        if (feed.getStatus() != null) {
+            query.addCriteria(Criteria.where("status").is(feed.getStatus()));
+        }
+        List<Post> posts = mongoTemplate.find(query, Post.class);
+        Function<Post, Comparable<?>> key = SORT_KEYS.get(feed.getSort());
+        snapshot.entries = posts.stream()
+                .limit(properties.getSize())
+                .map(post -> new Entry(post.getId(), key.apply(post)))
+                .collect(Collectors.toCollection(ArrayList::new));
+        snapshot.complete = posts.size() <= properties.getSize();
+        snapshot.dirty = false;
+        snapshot.builtAt = System.currentTimeMillis();
+    }
+
+    private static String name(String sort, boolean desc, PostStatusType status) {
+        return sort + (desc ? ":desc" : ":asc") + (status == null ? "" : ":" + status);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Comparable left, Comparable right) {
+        if (left == null || right == null) {
+            return left == null ? (right == null ? 0 : -1) : 1;
+        }
+        return left.compareTo(right);
+    }
+
+    private static class Entry {
+
+        private final String id;
+        private final Comparable<?> key;
+
+        Entry(String id, Comparable<?> key) {
+            this.id = id;
+            this.key = key;
+        }
+    }
+
+    private static class Snapshot {
+
+        private final FeedProperties.Feed feed;
+        private final Comparator<Entry> order;
+        private final Counter hits;
+        private final Counter misses;
+        private List<Entry> entries = new ArrayList<>();
+        private boolean complete;
+        private boolean dirty = true;
+        private volatile long builtAt;
+
+        Snapshot(FeedProperties.Feed feed, String name, MeterRegistry registry) {
+            this.feed = feed;
+            Comparator<Entry> ascending = (left, right) -> compareKeys(left.key, right.key);
+            ascending = ascending.thenComparing(entry -> entry.id);
+            this.order = feed.isDesc() ? ascending.reversed() : ascending;
+            this.hits = counter(registry, name, "hit");
+            this.misses = counter(registry, name, "miss");
+            Gauge.builder("reckue.post.feed.staleness", this, Snapshot::staleness)
+                    .description("Time in seconds since the snapshot of the list was read from the database")
+                    .tag("feed", name)
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+
+        boolean isStale(long refreshInterval) {
+            return dirty || System.currentTimeMillis() - builtAt > refreshInterval;
+        }
+
+        double staleness() {
+            return builtAt == 0 ? Double.NaN : (System.currentTimeMillis() - builtAt) / 1000.0;
+        }
+
+        private static Counter counter(MeterRegistry registry, String name, String result) {
+            return Counter.builder("reckue.post.feed")
+                    .description("Pages of the lists requested from the snapshots")
+                    .tag("feed", name)
+                    .tag("result", result)
+                    .register(registry);
+        }
+    }
+}
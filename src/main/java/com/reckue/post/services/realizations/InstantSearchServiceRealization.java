@@ -0,0 +1,181 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.configs.properties.InstantSearchProperties;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostSummary;
+import com.reckue.post.models.Tag;
+import com.reckue.post.repositories.PostRepository;
+import com.reckue.post.services.InstantSearchService;
+import com.reckue.post.utils.caches.InvertedIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Class InstantSearchServiceRealization represents realization of InstantSearchService.
+ * The index is built on start by a background thread reading the newest posts by a cursor,
+ * the posts saved and deleted meanwhile are indexed again when the index is built.
+ * Until then the index isn't ready and the text index of the database is searched instead.
+ * The index is built again in the same way when the changes of the other instances may be missed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InstantSearchServiceRealization implements InstantSearchService, SmartLifecycle {
+
+    private final PostRepository postRepository;
+    private final InstantSearchProperties properties;
+
+    private final Set<String> changedWhileBuilding = ConcurrentHashMap.newKeySet();
+    private volatile InvertedIndex index;
+    private volatile boolean building;
+    private volatile boolean running;
+
+    @Override
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * This method is used to find the newest posts with all the words of the query,
+     * the last word of the query may be typed partly.
+     *
+     * @param query the typed text
+     * @param limit quantity of posts
+     * @return list of objects of class PostSummary with identifiers and titles or an empty list if isn't ready
+     */
+    @Override
+    public List<PostSummary> search(String query, int limit) {
+        InvertedIndex current = index;
+        return current == null ? List.of() : current.search(query, limit);
+    }
+
+    @Override
+    public void saved(Post post) {
+        if (building) {
+            changedWhileBuilding.add(post.getId());
+        }
+        InvertedIndex current = index;
+        if (current != null) {
+            current.put(post.getId(), post.getTitle(), names(post.getTags()));
+        }
+    }
+
+    @Override
+    public void deleted(String id) {
+        if (building) {
+            changedWhileBuilding.add(id);
+        }
+        InvertedIndex current = index;
+        if (current != null) {
+            current.remove(id);
+        }
+    }
+
+    @Override
+    public void changed(String id) {
+        if (building) {
+            changedWhileBuilding.add(id);
+        }
+        if (index != null) {
+            reindex(id);
+        }
+    }
+
+    /**
+     * This method is used to build the index from the newest posts read by a cursor,
+     * they are added from the oldest one, so the newest posts go first in the results.
+     * The posts changed while building are read again, the index built meanwhile replaces the current one.
+     */
+    public void build() {
+        long start = System.currentTimeMillis();
+        building = true;
+        changedWhileBuilding.clear();
+        InvertedIndex built = new InvertedIndex(properties.getCapacity(), properties.getPrefixLength());
+        List<Post> newest = new ArrayList<>();
+        try (Stream<Post> posts = postRepository.streamAllBy(Sort.by(Sort.Direction.DESC, "_id"))) {
+            posts.limit(properties.getCapacity()).forEach(newest::add);
+        }
+        for (int i = newest.size() - 1; i >= 0; i--) {
+            Post post = newest.get(i);
+            built.put(post.getId(), post.getTitle(), names(post.getTags()));
+        }
+        index = built;
+        building = false;
+        changedWhileBuilding.forEach(this::reindex);
+        changedWhileBuilding.clear();
+        log.info("Instant search index of {} posts is built in {} ms", built.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * This method is used to build the index again by a background thread, unless it is being built.
+     */
+    @Override
+    public synchronized void rebuild() {
+        if (!running || building) {
+            return;
+        }
+        building = true;
+        Thread builder = new Thread(() -> {
+            try {
+                build();
+            } catch (RuntimeException e) {
+                building = false;
+                log.warn("Instant search index isn't built, the text index is searched instead", e);
+            }
+        }, "instant-search-index");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void reindex(String id) {
+        InvertedIndex current = index;
+        Post post = postRepository.findById(id).orElse(null);
+        if (post == null) {
+            current.remove(id);
+        } else {
+            current.put(id, post.getTitle(), names(post.getTags()));
+        }
+    }
+
+    private static List<String> names(List<Tag> tags) {
+        if (tags == null) {
+            return List.of();
+        }
+        return tags.stream()
+                .filter(Objects::nonNull)
+                .map(Tag::getName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        rebuild();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,302 @@
+package com.reckue.post.services.realizations;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.reckue.post.configs.properties.EntityCacheProperties;
+import com.reckue.post.configs.properties.InvalidationProperties;
+import com.reckue.post.models.Comment;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.Rating;
+import com.reckue.post.models.Tag;
+import com.reckue.post.services.FeedSnapshotService;
+import com.reckue.post.services.InstantSearchService;
+import com.reckue.post.services.InvalidationBus;
+import com.reckue.post.services.NegativeLookupCache;
+import com.reckue.post.services.PostEntityCache;
+import com.reckue.post.services.PostRenderService;
+import com.reckue.post.services.TagService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class InvalidationBusRealization represents realization of InvalidationBus.
+ * A background thread watches the change stream of the posts, nodes, comments, ratings and tags
+ * and evicts the changed objects from the local caches, the changed posts are moved within the feed snapshots.
+ * <p>
+ * The stream is resumed after the last seen change when it breaks, so no change is missed.
+ * If the stream can't be opened, e.g. the database isn't a replica set, the cached posts are kept
+ * only for a short time and the stream is tried again later. The caches are cleared
+ * when the stream is opened again, since the changes made in between are unknown,
+ * and the instant search index is built again then and from time to time while the stream isn't available.
+ */
+@Slf4j
+@Service
+public class InvalidationBusRealization implements InvalidationBus, SmartLifecycle {
+
+    private static final Set<Integer> LOST_HISTORY_CODES = Set.of(280, 286);
+
+    private final MongoTemplate mongoTemplate;
+    private final PostEntityCache postEntityCache;
+    private final PostRenderService postRenderService;
+    private final NegativeLookupCache negativeLookupCache;
+    private final FeedSnapshotService feedSnapshotService;
+    private final InstantSearchService instantSearchService;
+    private final TagService tagService;
+    private final InvalidationProperties properties;
+    private final EntityCacheProperties entityCacheProperties;
+    private final Map<String, Class<?>> collections;
+    private final Counter events;
+
+    private volatile boolean running;
+    private volatile boolean streaming;
+    private volatile BsonDocument resumeToken;
+    private Thread watcher;
+    private boolean reported;
+    private boolean resumed;
+    private boolean missed;
+
+    public InvalidationBusRealization(MongoTemplate mongoTemplate, PostEntityCache postEntityCache,
+                                      PostRenderService postRenderService, NegativeLookupCache negativeLookupCache,
+                                      FeedSnapshotService feedSnapshotService,
+                                      InstantSearchService instantSearchService, TagService tagService,
+                                      InvalidationProperties properties, EntityCacheProperties entityCacheProperties,
+                                      MeterRegistry registry) {
+        this.mongoTemplate = mongoTemplate;
+        this.postEntityCache = postEntityCache;
+        this.postRenderService = postRenderService;
+        this.negativeLookupCache = negativeLookupCache;
+        this.feedSnapshotService = feedSnapshotService;
+        this.instantSearchService = instantSearchService;
+        this.tagService = tagService;
+        this.properties = properties;
+        this.entityCacheProperties = entityCacheProperties;
+        this.collections = Map.of(
+                mongoTemplate.getCollectionName(Post.class), Post.class,
+                mongoTemplate.getCollectionName(Node.class), Node.class,
+                mongoTemplate.getCollectionName(Comment.class), Comment.class,
+                mongoTemplate.getCollectionName(Rating.class), Rating.class,
+                mongoTemplate.getCollectionName(Tag.class), Tag.class);
+        this.events = Counter.builder("reckue.invalidation.events")
+                .description("Changes delivered by the change stream")
+                .register(registry);
+        Gauge.builder("reckue.invalidation.streaming", this, bus -> bus.isStreaming() ? 1 : 0)
+                .description("Whether the change stream is watched")
+                .register(registry);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * This method is used to evict the changed object from the local caches.
+     *
+     * @param collection name of the collection of the object
+     * @param id         the object identifier
+     */
+    @Override
+    public void invalidate(String collection, String id) {
+        Class<?> type = collections.get(collection);
+        if (type == null || id == null) {
+            return;
+        }
+        if (type == Post.class) {
+            postEntityCache.evict(id);
+            postRenderService.evict(id);
+            feedSnapshotService.changed(id);
+            instantSearchService.changed(id);
+        }
+        if (type == Tag.class) {
+            tagService.refresh(id);
+        }
+        negativeLookupCache.evict(type, id);
+    }
+
+    /**
+     * This method is used to build the instant search index again while the change stream isn't available,
+     * since the changes made by the other instances aren't delivered.
+     */
+    @Scheduled(fixedDelayString = "${reckue.invalidation.search-rebuild-delay:300000}",
+            initialDelayString = "${reckue.invalidation.search-rebuild-delay:300000}")
+    public void rebuildSearchIndex() {
+        if (running && !streaming) {
+            instantSearchService.rebuild();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        postEntityCache.expireAfterWrite(properties.getFallbackTtl());
+        watcher = new Thread(this::watch, "invalidation-bus");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (watcher != null) {
+            watcher.interrupt();
+            watcher = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void watch() {
+        while (running) {
+            try {
+                stream();
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                if (e instanceof MongoCommandException
+                        && LOST_HISTORY_CODES.contains(((MongoCommandException) e).getCode())) {
+                    resumeToken = null;
+                }
+                if (e instanceof MongoException && streaming && resumeToken != null && !resumed) {
+                    log.info("Change stream is broken, it is resumed: {}", e.getMessage());
+                    resumed = true;
+                    continue;
+                }
+                fallback(e);
+                if (!pause()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void stream() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", collections.keySet()))))
+                .maxAwaitTime(properties.getMaxAwaitTime(), TimeUnit.MILLISECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            resumed = false;
+            if (!streaming) {
+                streaming = true;
+                reported = false;
+                postEntityCache.expireAfterWrite(entityCacheProperties.getExpireAfterWrite());
+                postEntityCache.evictAll();
+                tagService.refresh();
+                if (missed) {
+                    missed = false;
+                    instantSearchService.rebuild();
+                }
+                log.info("Local caches are invalidated by the change stream");
+            }
+            while (running) {
+                ChangeStreamDocument<Document> event = cursor.tryNext();
+                if (event == null) {
+                    resumeToken = cursor.getResumeToken();
+                    continue;
+                }
+                resumeToken = event.getResumeToken();
+                if (dispatch(event)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * This method is used to evict the object of the change. A failure to apply the change,
+     * e.g. to read the changed object again, is logged, so the watcher keeps on delivering the next changes.
+     *
+     * @param event the change
+     * @return true if the stream is invalidated and has to be opened again
+     */
+    private boolean dispatch(ChangeStreamDocument<Document> event) {
+        events.increment();
+        OperationType operation = event.getOperationType();
+        if (operation == OperationType.INSERT || operation == OperationType.UPDATE
+                || operation == OperationType.REPLACE || operation == OperationType.DELETE) {
+            String collection = event.getNamespace().getCollectionName();
+            String id = id(event.getDocumentKey());
+            try {
+                invalidate(collection, id);
+            } catch (RuntimeException e) {
+                log.warn("Change of object by id '{}' in '{}' isn't applied to the local caches", id, collection, e);
+            }
+            return false;
+        }
+        postEntityCache.evictAll();
+        if (operation == OperationType.INVALIDATE) {
+            resumeToken = null;
+            return true;
+        }
+        return false;
+    }
+
+    private void fallback(RuntimeException e) {
+        missed = true;
+        if (streaming) {
+            streaming = false;
+            postEntityCache.expireAfterWrite(properties.getFallbackTtl());
+        }
+        if (reported) {
+            log.debug("Change stream isn't available", e);
+            return;
+        }
+        reported = true;
+        log.warn("Change stream isn't available, the cached posts are kept for {} ms: {}",
+                properties.getFallbackTtl(), e.getMessage());
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getRetryDelay());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String id(BsonDocument documentKey) {
+        BsonValue id = documentKey == null ? null : documentKey.get("_id");
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        if (id.isString()) {
+            return id.asString().getValue();
+        }
+        return id.toString();
+    }
+}
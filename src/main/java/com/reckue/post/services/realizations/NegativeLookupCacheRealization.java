@@ -0,0 +1,53 @@
+package com.reckue.post.services.realizations;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reckue.post.configs.properties.NegativeLookupProperties;
+import com.reckue.post.services.NegativeLookupCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Class NegativeLookupCacheRealization represents realization of NegativeLookupCache.
+ * The identifiers of all the types are kept in one bounded cache, prefixed with the name of the type.
+ */
+@Service
+public class NegativeLookupCacheRealization implements NegativeLookupCache {
+
+    private final Cache<String, Boolean> cache;
+
+    public NegativeLookupCacheRealization(NegativeLookupProperties properties, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "missing-ids");
+    }
+
+    @Override
+    public boolean isMissing(Class<?> type, String id) {
+        return id != null && cache.getIfPresent(key(type, id)) != null;
+    }
+
+    @Override
+    public void markMissing(Class<?> type, String id) {
+        if (id != null) {
+            cache.put(key(type, id), Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void evict(Class<?> type, String id) {
+        if (id != null) {
+            cache.invalidate(key(type, id));
+        }
+    }
+
+    private static String key(Class<?> type, String id) {
+        return type.getSimpleName() + '/' + id;
+    }
+}
@@ -2,13 +2,18 @@ package com.reckue.post.services.realizations;
 
 import com.reckue.post.exceptions.ReckueIllegalArgumentException;
 import com.reckue.post.exceptions.models.nodes.NodeNotFoundException;
+import com.reckue.post.exceptions.models.nodes.NodeVersionConflictException;
 import com.reckue.post.models.Node;
 import com.reckue.post.repositories.NodeRepository;
+import com.reckue.post.services.ContentBlobService;
+import com.reckue.post.services.NegativeLookupCache;
 import com.reckue.post.services.NodeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -24,26 +29,35 @@ import java.util.stream.Collectors;
 public class NodeServiceRealization implements NodeService {
 
     private final NodeRepository nodeRepository;
+    private final ContentBlobService contentBlobService;
+    private final NegativeLookupCache negativeLookupCache;
 
     /**
      * This method is used to create an object of class Node.
+     * The big content of the node is stored in a shared blob.
      *
      * @param node object of class Node
      * @return node object of class Node
      */
     @Override
     public Node create(Node node) {
-        return nodeRepository.save(node);
+        contentBlobService.acquire(node);
+        Node saved = nodeRepository.save(node);
+        negativeLookupCache.evict(Node.class, node.getId());
+        return saved;
     }
 
     /**
      * This method is used to update data in an object of class Node.
+     * The object is changed by a single conditional query, so concurrent changes aren't lost.
      * Throws {@link NodeNotFoundException} in case
      * if such object isn't contained in database.
+     * Throws {@link NodeVersionConflictException} in case
+     * if the version of the object isn't equal to the expected one.
      * Throws {@link ReckueIllegalArgumentException} in case
      * if parameter equals null.
      *
-     * @param node object of class Node
+     * @param node object of class Node, its version is the expected version of the stored object
      * @return node object of class Node
      */
     @Override
@@ -51,15 +65,20 @@ public class NodeServiceRealization implements NodeService {
         if (node.getId() == null) {
             throw new ReckueIllegalArgumentException("The parameter is null");
         }
-        Node savedNode = nodeRepository
-                .findById(node.getId())
-                .orElseThrow(() -> new NodeNotFoundException(node.getId()));
-        savedNode.setUserId(node.getUserId());
-        savedNode.setType(node.getType());
-        savedNode.setSource(node.getSource());
-        savedNode.setStatus(node.getStatus());
-
-        return nodeRepository.save(savedNode);
+        Update update = Update.update("userId", node.getUserId())
+                .set("type", node.getType())
+                .set("source", node.getSource())
+                .set("status", node.getStatus())
+                .set("modificationDate", Instant.now());
+        Node savedNode = nodeRepository.updateIfVersionMatches(node.getId(), node.getVersion(), update);
+        if (savedNode == null) {
+            if (node.getVersion() != null && nodeRepository.existsById(node.getId())) {
+                throw new NodeVersionConflictException(node.getId(), node.getVersion());
+            }
+            throw new NodeNotFoundException(node.getId());
+        }
+        contentBlobService.resolve(List.of(savedNode));
+        return savedNode;
     }
 
     /**
@@ -69,7 +88,9 @@ public class NodeServiceRealization implements NodeService {
      */
     @Override
     public List<Node> findAll() {
-        return nodeRepository.findAll();
+        List<Node> nodes = nodeRepository.findAll();
+        contentBlobService.resolve(nodes);
+        return nodes;
     }
 
     /**
@@ -227,23 +248,55 @@ public class NodeServiceRealization implements NodeService {
      */
     @Override
     public Node findById(String id) {
-        return nodeRepository.findById(id).orElseThrow(
-                () -> new NodeNotFoundException(id));
+        if (negativeLookupCache.isMissing(Node.class, id)) {
+            throw new NodeNotFoundException(id);
+        }
+        Node node = nodeRepository.findById(id).orElseThrow(() -> {
+            negativeLookupCache.markMissing(Node.class, id);
+            return new NodeNotFoundException(id);
+        });
+        contentBlobService.resolve(List.of(node));
+        return node;
     }
 
     /**
-     * This method is used to delete an object by id.
+     * This method is used to get the current version and modification date of the object by id
+     * without reading the object itself.
+     * Throws {@link NodeNotFoundException} in case if such object isn't contained in database.
+     *
+     * @param id object
+     * @return the object of class Node with identifier, version and modification date
+     */
+    @Override
+    public Node findVersionById(String id) {
+        if (negativeLookupCache.isMissing(Node.class, id)) {
+            throw new NodeNotFoundException(id);
+        }
+        Node node = nodeRepository.findVersionById(id);
+        if (node == null) {
+            negativeLookupCache.markMissing(Node.class, id);
+            throw new NodeNotFoundException(id);
+        }
+        return node;
+    }
+
+    /**
+     * This method is used to delete an object by id, the reference to its content blob is released.
      * Throws {@link NodeNotFoundException} in case if such object isn't contained in database.
      *
      * @param id object
      */
     @Override
     public void deleteById(String id) {
-        if (nodeRepository.existsById(id)) {
-            nodeRepository.deleteById(id);
-        } else {
+        if (negativeLookupCache.isMissing(Node.class, id)) {
+            throw new NodeNotFoundException(id);
+        }
+        Node node = nodeRepository.removeById(id);
+        negativeLookupCache.markMissing(Node.class, id);
+        if (node == null) {
             throw new NodeNotFoundException(id);
         }
+        contentBlobService.release(List.of(node));
     }
 
     /**
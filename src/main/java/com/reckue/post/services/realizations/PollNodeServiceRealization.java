@@ -4,6 +4,7 @@ import com.reckue.post.exceptions.ReckueIllegalArgumentException;
 import com.reckue.post.exceptions.models.nodes.pollnode.PollNodeNotFoundException;
 import com.reckue.post.models.nodes.PollNode;
 import com.reckue.post.repositories.PollNodeRepository;
+import com.reckue.post.services.NegativeLookupCache;
 import com.reckue.post.services.PollNodeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -24,6 +25,7 @@ import java.util.stream.Collectors;
 public class PollNodeServiceRealization implements PollNodeService {
 
     private final PollNodeRepository pollNodeRepository;
+    private final NegativeLookupCache negativeLookupCache;
 
     /**
      * This method is used to create an object of class PollNode.
@@ -33,7 +35,9 @@ public class PollNodeServiceRealization implements PollNodeService {
      */
     @Override
     public PollNode create(PollNode node) {
-        return pollNodeRepository.save(node);
+        PollNode saved = pollNodeRepository.save(node);
+        negativeLookupCache.evict(PollNode.class, node.getId());
+        return saved;
     }
 
     /**
@@ -159,8 +163,13 @@ public class PollNodeServiceRealization implements PollNodeService {
      */
     @Override
     public PollNode findById(String id) {
-        return pollNodeRepository.findById(id).orElseThrow(
-                () -> new PollNodeNotFoundException(id));
+        if (negativeLookupCache.isMissing(PollNode.class, id)) {
+            throw new PollNodeNotFoundException(id);
+        }
+        return pollNodeRepository.findById(id).orElseThrow(() -> {
+            negativeLookupCache.markMissing(PollNode.class, id);
+            return new PollNodeNotFoundException(id);
+        });
     }
 
     /**
@@ -172,10 +181,14 @@ public class PollNodeServiceRealization implements PollNodeService {
      */
     @Override
     public void deleteById(String id) {
-        if (pollNodeRepository.existsById(id)) {
-            pollNodeRepository.deleteById(id);
-        } else {
+        if (negativeLookupCache.isMissing(PollNode.class, id)) {
+            throw new PollNodeNotFoundException(id);
+        }
+        if (!pollNodeRepository.existsById(id)) {
+            negativeLookupCache.markMissing(PollNode.class, id);
             throw new PollNodeNotFoundException(id);
         }
+        pollNodeRepository.deleteById(id);
+        negativeLookupCache.markMissing(PollNode.class, id);
     }
 }
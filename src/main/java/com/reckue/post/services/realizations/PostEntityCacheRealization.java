@@ -0,0 +1,188 @@
+package com.reckue.post.services.realizations;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.reckue.post.configs.properties.EntityCacheProperties;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.nodes.ListNode;
+import com.reckue.post.models.nodes.PollNode;
+import com.reckue.post.models.nodes.TextContent;
+import com.reckue.post.repositories.PostRepository;
+import com.reckue.post.services.ContentBlobService;
+import com.reckue.post.services.PostEntityCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Class PostEntityCacheRealization represents realization of PostEntityCache.
+ * The cache is bounded by the estimated size of the posts and admits new posts by their frequency
+ * (Window TinyLFU of Caffeine), so a scan of rarely read posts doesn't push out the popular ones.
+ * The missing posts aren't cached.
+ */
+@Service
+public class PostEntityCacheRealization implements PostEntityCache {
+
+    private static final int OBJECT_WEIGHT = 64;
+
+    private final PostRepository postRepository;
+    private final ContentBlobService contentBlobService;
+    private final LoadingCache<String, Post> cache;
+
+    public PostEntityCacheRealization(PostRepository postRepository, ContentBlobService contentBlobService,
+                                      EntityCacheProperties properties, MeterRegistry registry) {
+        this.postRepository = postRepository;
+        this.contentBlobService = contentBlobService;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight())
+                .weigher((String id, Post post) -> weight(post))
+                .expireAfterWrite(Duration.ofMillis(properties.getExpireAfterWrite()))
+                .recordStats()
+                .build(new PostLoader());
+        CaffeineCacheMetrics.monitor(registry, cache, "posts");
+    }
+
+    /**
+     * This method is used to get the post by id with resolved node contents.
+     *
+     * @param id the post identifier
+     * @return the object of class Post or empty if it isn't contained in database
+     */
+    @Override
+    public Optional<Post> findById(String id) {
+        return Optional.ofNullable(cache.get(id));
+    }
+
+    /**
+     * This method is used to check if the post exists, the post isn't read if it isn't cached.
+     *
+     * @param id the post identifier
+     * @return true if the post exists
+     */
+    @Override
+    public boolean existsById(String id) {
+        return cache.getIfPresent(id) != null || postRepository.existsById(id);
+    }
+
+    /**
+     * This method is used to get the posts by identifiers, the missing ones are read with a single query.
+     *
+     * @param ids the post identifiers
+     * @return list of the found objects of class Post
+     */
+    @Override
+    public List<Post> findAllById(Collection<String> ids) {
+        return new ArrayList<>(cache.getAll(ids).values());
+    }
+
+    /**
+     * This method is used to remove the post from the cache after it is changed.
+     *
+     * @param id the post identifier
+     */
+    @Override
+    public void evict(String id) {
+        cache.invalidate(id);
+    }
+
+    @Override
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * This method is used to remove the cached posts with the tag.
+     *
+     * @param tagId the tag identifier
+     */
+    @Override
+    public void evictAllByTag(String tagId) {
+        cache.asMap().values().removeIf(post -> post.getTags() != null
+                && post.getTags().stream().anyMatch(tag -> tag != null && tagId.equals(tag.getId())));
+    }
+
+    @Override
+    public void expireAfterWrite(long millis) {
+        cache.policy().expireAfterWrite()
+                .ifPresent(expiration -> expiration.setExpiresAfter(Duration.ofMillis(millis)));
+    }
+
+    /**
+     * This method is used to estimate the memory taken by the post.
+     *
+     * @param post the object of class Post
+     * @return estimated size in bytes
+     */
+    static int weight(Post post) {
+        long weight = OBJECT_WEIGHT + chars(post.getTitle()) + chars(post.getSource()) + chars(post.getUserId());
+        if (post.getTags() != null) {
+            weight += OBJECT_WEIGHT * post.getTags().size();
+        }
+        if (post.getNodes() != null) {
+            for (Node node : post.getNodes()) {
+                weight += OBJECT_WEIGHT + weight(node);
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private static long weight(Node node) {
+        if (node.getNode() instanceof TextContent) {
+            return chars(((TextContent) node.getNode()).getContent());
+        }
+        if (node.getNode() instanceof ListNode) {
+            return chars(((ListNode) node.getNode()).getContent());
+        }
+        if (node.getNode() instanceof PollNode) {
+            return chars(((PollNode) node.getNode()).getItems());
+        }
+        return OBJECT_WEIGHT;
+    }
+
+    private static long chars(String value) {
+        return value == null ? 0 : 2L * value.length();
+    }
+
+    private static long chars(List<String> values) {
+        return values == null ? 0 : values.stream().mapToLong(value -> OBJECT_WEIGHT + chars(value)).sum();
+    }
+
+    private Post resolved(Post post) {
+        if (post.getNodes() != null) {
+            contentBlobService.resolve(post.getNodes());
+        }
+        return post;
+    }
+
+    private class PostLoader implements CacheLoader<String, Post> {
+
+        @Override
+        public Post load(String id) {
+            return postRepository.findById(id).map(PostEntityCacheRealization.this::resolved).orElse(null);
+        }
+
+        @Override
+        public Map<String, Post> loadAll(Iterable<? extends String> ids) {
+            List<String> keys = new ArrayList<>();
+            ids.forEach(keys::add);
+            List<Post> posts = new ArrayList<>();
+            postRepository.findAllById(keys).forEach(posts::add);
+            contentBlobService.resolve(posts.stream()
+                    .filter(post -> post.getNodes() != null)
+                    .flatMap(post -> post.getNodes().stream())
+                    .collect(Collectors.toList()));
+            return posts.stream().collect(Collectors.toMap(Post::getId, Function.identity()));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.reckue.post.services.realizations;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reckue.post.configs.properties.RenderProperties;
+import com.reckue.post.models.Post;
+import com.reckue.post.services.PostRenderService;
+import com.reckue.post.services.TagService;
+import com.reckue.post.transfers.RenderedPost;
+import com.reckue.post.utils.caches.HeapRenderedPostStore;
+import com.reckue.post.utils.caches.OffHeapRenderedPostStore;
+import com.reckue.post.utils.caches.RenderedPostStore;
+import com.reckue.post.utils.converters.PostConverter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Class PostRenderServiceRealization represents realization of PostRenderService.
+ * The responses are kept in the heap or, to keep big caches away from the garbage collector, in direct memory.
+ * The cached response of a post is replaced as soon as a newer version is rendered,
+ * so a stale response is never returned even if its eviction is missed.
+ * The response rendered with the previous names of the post tags isn't returned either.
+ */
+@Service
+public class PostRenderServiceRealization implements PostRenderService {
+
+    private final ObjectMapper objectMapper;
+    private final RenderProperties properties;
+    private final TagService tagService;
+    private final RenderedPostStore store;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PostRenderServiceRealization(ObjectMapper objectMapper, RenderProperties properties,
+                                        TagService tagService, MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.tagService = tagService;
+        this.store = properties.getStorage() == RenderProperties.Storage.OFF_HEAP
+                ? new OffHeapRenderedPostStore(properties.getCacheCapacity(), properties.getSlabSize())
+                : new HeapRenderedPostStore(properties.getCacheCapacity());
+        this.hits = Counter.builder("reckue.post.render.cache")
+                .description("Requests of posts served from the cache of serialized responses")
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("reckue.post.render.cache")
+                .description("Requests of posts serialized again")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("reckue.post.render.cache.size", store, RenderedPostStore::size)
+                .description("Quantity of the cached responses")
+                .register(registry);
+        Gauge.builder("reckue.post.render.cache.bytes", store, RenderedPostStore::bytes)
+                .description("Total size of the cached responses")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * This method is used to get the cached response of the post.
+     *
+     * @param id         the post identifier
+     * @param version    the current version of the post
+     * @param generation the current generation of the names of the post tags
+     * @return the object of class RenderedPost or null if the version and generation aren't cached
+     */
+    @Override
+    public RenderedPost find(String id, long version, long generation) {
+        RenderedPost rendered = store.find(id, version);
+        if (rendered != null && rendered.getGeneration() != generation) {
+            rendered.release();
+            rendered = null;
+        }
+        if (rendered == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return rendered;
+    }
+
+    /**
+     * This method is used to serialize the response of the post and cache it.
+     *
+     * @param post the object of class Post with resolved node contents
+     * @return the object of class RenderedPost
+     */
+    @Override
+    public RenderedPost render(Post post) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(PostConverter.convert(post));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] gzip = properties.isGzip() && json.length >= properties.getGzipThreshold() ? gzip(json) : null;
+        RenderedPost rendered = RenderedPost.of(post.getVersion() == null ? 0 : post.getVersion(),
+                tagService.generation(post.getTags()), json, gzip);
+        store.put(post.getId(), rendered);
+        return rendered;
+    }
+
+    /**
+     * This method is used to remove the cached response of the post.
+     *
+     * @param id the post identifier
+     */
+    @Override
+    public void evict(String id) {
+        store.remove(id);
+    }
+
+    /**
+     * This method is used to remove the cached responses of all the posts.
+     */
+    @Override
+    public void evictAll() {
+        store.clear();
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream stream = new GZIPOutputStream(bytes)) {
+            stream.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,358 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.configs.properties.RevisionProperties;
+import com.reckue.post.exceptions.ReckueIllegalArgumentException;
+import com.reckue.post.exceptions.models.post.PostRevisionNotFoundException;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostRevision;
+import com.reckue.post.models.nodes.CodeNode;
+import com.reckue.post.models.nodes.Parent;
+import com.reckue.post.models.nodes.TextContent;
+import com.reckue.post.models.nodes.TextNode;
+import com.reckue.post.models.revisions.NodeDelta;
+import com.reckue.post.models.revisions.TextPatch;
+import com.reckue.post.repositories.PostRevisionRepository;
+import com.reckue.post.services.PostRevisionService;
+import com.reckue.post.utils.TextDiff;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class PostRevisionServiceRealization represents realization of PostRevisionService.
+ * Every version divisible by the snapshot interval is stored completely,
+ * the versions between the snapshots store only the deltas of the nodes.
+ * The nodes of the post get new identifiers on every update,
+ * so the nodes of two versions are matched by position and by content instead of identifiers.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostRevisionServiceRealization implements PostRevisionService {
+
+    private final PostRevisionRepository postRevisionRepository;
+    private final MongoTemplate mongoTemplate;
+    private final RevisionProperties properties;
+
+    /**
+     * This method is used to store the revision of a new version of the post.
+     * If the revision of the previous version is absent, for example the post was created
+     * before the history was kept, the previous version is stored as a snapshot too.
+     *
+     * @param previous the post in the previous version or null if the post is just created
+     * @param current  the post in the new version
+     * @return the object of class PostRevision
+     */
+    @Override
+    public PostRevision record(Post previous, Post current) {
+        long version = versionOf(current);
+        if (previous == null || isSnapshotVersion(version)) {
+            return postRevisionRepository.save(snapshot(current));
+        }
+        if (!postRevisionRepository.existsByPostIdAndVersion(current.getId(), version - 1)) {
+            Post base = snapshotOf(previous);
+            base.setVersion(version - 1);
+            postRevisionRepository.save(snapshot(base));
+        }
+        PostRevision revision = header(current);
+        revision.setNodeDeltas(deltas(nodesOf(previous), nodesOf(current)));
+        return postRevisionRepository.save(revision);
+    }
+
+    /**
+     * This method is used to get the revisions of the post without their nodes.
+     *
+     * @param postId the post identifier
+     * @param limit  quantity of objects
+     * @param offset quantity to skip
+     * @return list of objects of class PostRevision sorted by version in descending order
+     */
+    @Override
+    public List<PostRevision> findAllByPostId(String postId, Integer limit, Integer offset) {
+        if (limit == null) limit = 10;
+        if (offset == null) offset = 0;
+        if (limit < 0 || offset < 0) {
+            throw new ReckueIllegalArgumentException("Limit or offset is incorrect");
+        }
+        Query query = query(where("postId").is(postId))
+                .with(Sort.by(Sort.Direction.DESC, "version"))
+                .skip(offset)
+                .limit(limit);
+        query.fields().exclude("nodes").exclude("nodeDeltas");
+        return mongoTemplate.find(query, PostRevision.class);
+    }
+
+    /**
+     * This method is used to restore the post in the given version
+     * from the nearest snapshot and the following deltas.
+     * Throws {@link PostRevisionNotFoundException} in case
+     * if the version or any revision between it and the snapshot isn't contained in database.
+     *
+     * @param postId  the post identifier
+     * @param version the version of the post
+     * @return the object of class Post
+     */
+    @Override
+    public Post findByVersion(String postId, long version) {
+        PostRevision snapshot = postRevisionRepository
+                .findTopByPostIdAndSnapshotIsTrueAndVersionLessThanEqualOrderByVersionDesc(postId, version)
+                .orElseThrow(() -> new PostRevisionNotFoundException(postId, version));
+        List<Node> nodes = nodesOf(snapshot);
+        PostRevision last = snapshot;
+        if (snapshot.getVersion() < version) {
+            Query query = query(where("postId").is(postId)
+                    .and("version").gt(snapshot.getVersion()).lte(version))
+                    .with(Sort.by("version"));
+            for (PostRevision delta : mongoTemplate.find(query, PostRevision.class)) {
+                if (delta.getVersion() != last.getVersion() + 1) {
+                    throw new PostRevisionNotFoundException(postId, last.getVersion() + 1);
+                }
+                nodes = delta.isSnapshot() ? nodesOf(delta) : apply(nodes, deltasOf(delta));
+                last = delta;
+            }
+        }
+        if (last.getVersion() != version) {
+            throw new PostRevisionNotFoundException(postId, version);
+        }
+        return Post.builder()
+                .id(postId)
+                .title(last.getTitle())
+                .source(last.getSource())
+                .userId(last.getUserId())
+                .tags(last.getTags())
+                .status(last.getStatus())
+                .nodes(nodes)
+                .version(last.getVersion())
+                .modificationDate(last.getModificationDate())
+                .createdDate(last.getCreatedDate())
+                .build();
+    }
+
+    private PostRevision snapshot(Post post) {
+        PostRevision revision = header(post);
+        revision.setSnapshot(true);
+        revision.setNodes(nodesOf(post).stream()
+                .map(PostRevisionServiceRealization::detached)
+                .collect(Collectors.toList()));
+        return revision;
+    }
+
+    private PostRevision header(Post post) {
+        return PostRevision.builder()
+                .postId(post.getId())
+                .version(versionOf(post))
+                .title(post.getTitle())
+                .source(post.getSource())
+                .userId(post.getUserId())
+                .tags(post.getTags())
+                .status(post.getStatus())
+                .modificationDate(post.getModificationDate())
+                .createdDate(post.getCreatedDate())
+                .build();
+    }
+
+    private Post snapshotOf(Post post) {
+        return Post.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .source(post.getSource())
+                .userId(post.getUserId())
+                .tags(post.getTags())
+                .status(post.getStatus())
+                .nodes(post.getNodes())
+                .modificationDate(post.getModificationDate())
+                .createdDate(post.getCreatedDate())
+                .build();
+    }
+
+    private boolean isSnapshotVersion(long version) {
+        return properties.getSnapshotInterval() <= 1 || version % properties.getSnapshotInterval() == 0;
+    }
+
+    private static long versionOf(Post post) {
+        return post.getVersion() == null ? 0 : post.getVersion();
+    }
+
+    private static List<Node> nodesOf(Post post) {
+        return post.getNodes() == null ? Collections.emptyList() : post.getNodes();
+    }
+
+    private static List<Node> nodesOf(PostRevision revision) {
+        return revision.getNodes() == null ? Collections.emptyList() : revision.getNodes();
+    }
+
+    private static List<NodeDelta> deltasOf(PostRevision revision) {
+        return revision.getNodeDeltas() == null ? Collections.emptyList() : revision.getNodeDeltas();
+    }
+
+    /**
+     * This method is used to compute the deltas of the nodes.
+     * The nodes with the same content at the beginning and at the end of the lists are matched first,
+     * the rest of the nodes are matched by position.
+     *
+     * @param previous the nodes of the previous version
+     * @param current  the nodes of the new version
+     * @return list of objects of class NodeDelta, one for every node of the new version
+     */
+    static List<NodeDelta> deltas(List<Node> previous, List<Node> current) {
+        int limit = Math.min(previous.size(), current.size());
+        int prefix = 0;
+        while (prefix < limit && sameContent(previous.get(prefix), current.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < limit - prefix && sameContent(previous.get(previous.size() - 1 - suffix),
+                current.get(current.size() - 1 - suffix))) {
+            suffix++;
+        }
+        List<NodeDelta> deltas = new ArrayList<>(current.size());
+        for (int i = 0; i < current.size(); i++) {
+            Node node = current.get(i);
+            int base = i < current.size() - suffix ? i : i - current.size() + previous.size();
+            if (base < previous.size() - suffix || i >= current.size() - suffix) {
+                Node baseNode = previous.get(base);
+                if (sameShape(baseNode, node)) {
+                    deltas.add(NodeDelta.builder()
+                            .base(base)
+                            .id(node.getId())
+                            .patch(TextDiff.diff(contentOf(baseNode.getNode()), contentOf(node.getNode())))
+                            .build());
+                    continue;
+                }
+            }
+            deltas.add(NodeDelta.builder().node(detached(node)).build());
+        }
+        return deltas;
+    }
+
+    /**
+     * This method is used to apply the deltas to the nodes of the previous version.
+     * The identifier and the text content of a matched node are taken from the delta,
+     * other fields are taken from the node of the previous version.
+     *
+     * @param previous the nodes of the previous version
+     * @param deltas   the deltas of the nodes
+     * @return list of nodes of the new version
+     */
+    static List<Node> apply(List<Node> previous, List<NodeDelta> deltas) {
+        List<Node> nodes = new ArrayList<>(deltas.size());
+        for (NodeDelta delta : deltas) {
+            if (delta.getNode() != null) {
+                nodes.add(delta.getNode());
+                continue;
+            }
+            Node base = previous.get(delta.getBase());
+            nodes.add(Node.builder()
+                    .id(delta.getId())
+                    .type(base.getType())
+                    .node(patched(base.getNode(), delta.getPatch()))
+                    .postId(base.getPostId())
+                    .source(base.getSource())
+                    .userId(base.getUserId())
+                    .status(base.getStatus())
+                    .version(base.getVersion())
+                    .modificationDate(base.getModificationDate())
+                    .createdDate(base.getCreatedDate())
+                    .build());
+        }
+        return nodes;
+    }
+
+    /**
+     * This method is used to copy the node without the reference to the shared blob of its content.
+     * The revisions don't hold references to the blobs, so they store the contents themselves.
+     *
+     * @param node the node
+     * @return the node itself or its copy with the content
+     */
+    private static Node detached(Node node) {
+        if (!(node.getNode() instanceof TextContent) || ((TextContent) node.getNode()).getBlobId() == null) {
+            return node;
+        }
+        Parent parent = node.getNode();
+        return Node.builder()
+                .id(node.getId())
+                .type(node.getType())
+                .node(parent instanceof TextNode
+                        ? new TextNode(contentOf(parent))
+                        : new CodeNode(((CodeNode) parent).getLanguage(), contentOf(parent)))
+                .postId(node.getPostId())
+                .source(node.getSource())
+                .userId(node.getUserId())
+                .status(node.getStatus())
+                .version(node.getVersion())
+                .modificationDate(node.getModificationDate())
+                .createdDate(node.getCreatedDate())
+                .build();
+    }
+
+    private static boolean sameContent(Node previous, Node current) {
+        if (previous.getNode() instanceof TextContent && current.getNode() instanceof TextContent) {
+            return sameShape(previous, current) && contentOf(previous.getNode()).equals(contentOf(current.getNode()));
+        }
+        return sameFields(previous, current) && Objects.equals(previous.getNode(), current.getNode());
+    }
+
+    /**
+     * This method is used to check if the nodes differ at most by their text content.
+     *
+     * @param previous the node of the previous version
+     * @param current  the node of the new version
+     * @return true if the node of the new version can be stored as a patch
+     */
+    private static boolean sameShape(Node previous, Node current) {
+        if (!sameFields(previous, current)) {
+            return false;
+        }
+        Parent before = previous.getNode();
+        Parent after = current.getNode();
+        if (before instanceof TextNode && after instanceof TextNode) {
+            return contentOf(before) != null && contentOf(after) != null;
+        }
+        if (before instanceof CodeNode && after instanceof CodeNode) {
+            return ((CodeNode) before).getLanguage() == ((CodeNode) after).getLanguage()
+                    && contentOf(before) != null && contentOf(after) != null;
+        }
+        return Objects.equals(before, after);
+    }
+
+    private static boolean sameFields(Node previous, Node current) {
+        return previous.getType() == current.getType()
+                && Objects.equals(previous.getPostId(), current.getPostId())
+                && Objects.equals(previous.getSource(), current.getSource())
+                && Objects.equals(previous.getUserId(), current.getUserId())
+                && previous.getStatus() == current.getStatus();
+    }
+
+    private static String contentOf(Parent parent) {
+        if (parent instanceof TextNode) {
+            return ((TextNode) parent).getContent();
+        }
+        if (parent instanceof CodeNode) {
+            return ((CodeNode) parent).getContent();
+        }
+        return "";
+    }
+
+    private static Parent patched(Parent parent, TextPatch patch) {
+        if (patch == null) {
+            return parent;
+        }
+        if (parent instanceof TextNode) {
+            return new TextNode(TextDiff.apply(((TextNode) parent).getContent(), patch));
+        }
+        CodeNode code = (CodeNode) parent;
+        return new CodeNode(code.getLanguage(), TextDiff.apply(code.getContent(), patch));
+    }
+}
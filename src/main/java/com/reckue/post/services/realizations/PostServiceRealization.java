@@ -1,20 +1,46 @@
 package com.reckue.post.services.realizations;
 
+import com.reckue.post.configs.properties.SearchProperties;
+import com.reckue.post.configs.properties.TagCatalogProperties;
+import com.reckue.post.exceptions.ReckueException;
 import com.reckue.post.exceptions.ReckueIllegalArgumentException;
 import com.reckue.post.exceptions.models.post.PostNotFoundException;
+import com.reckue.post.exceptions.models.post.PostVersionConflictException;
+import com.reckue.post.listeners.PostSearchTextListener;
 import com.reckue.post.models.Post;
+import com.reckue.post.models.PostSummary;
 import com.reckue.post.models.types.PostStatusType;
 import com.reckue.post.repositories.PostRepository;
+import com.reckue.post.services.CascadeDeleteService;
+import com.reckue.post.services.ContentBlobService;
+import com.reckue.post.services.DuplicatePostService;
+import com.reckue.post.services.FeedSnapshotService;
+import com.reckue.post.services.InstantSearchService;
+import com.reckue.post.services.NegativeLookupCache;
 import com.reckue.post.services.NodeService;
+import com.reckue.post.services.PostEntityCache;
+import com.reckue.post.services.PostRenderService;
+import com.reckue.post.services.PostRevisionService;
 import com.reckue.post.services.PostService;
+import com.reckue.post.services.RelatedPostService;
+import com.reckue.post.services.TagService;
+import com.reckue.post.services.TagUsageService;
+import com.reckue.post.utils.SearchText;
+import com.reckue.post.utils.converters.TagConverter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -22,12 +48,27 @@ import java.util.stream.Collectors;
  *
  * @author Kamila Meshcheryakova
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PostServiceRealization implements PostService {
 
     private final PostRepository postRepository;
     private final NodeService nodeService;
+    private final CascadeDeleteService cascadeDeleteService;
+    private final PostRevisionService postRevisionService;
+    private final ContentBlobService contentBlobService;
+    private final PostRenderService postRenderService;
+    private final PostEntityCache postEntityCache;
+    private final NegativeLookupCache negativeLookupCache;
+    private final FeedSnapshotService feedSnapshotService;
+    private final TagUsageService tagUsageService;
+    private final TagService tagService;
+    private final TagCatalogProperties tagCatalogProperties;
+    private final SearchProperties searchProperties;
+    private final RelatedPostService relatedPostService;
+    private final DuplicatePostService duplicatePostService;
+    private final InstantSearchService instantSearchService;
 
     /**
      * This method is used to create an object of class Post.
@@ -45,7 +86,17 @@ public class PostServiceRealization implements PostService {
         if (!post.getNodes().isEmpty()) {
             post.getNodes().forEach(nodeService::create);
         }
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        postEntityCache.evict(savedPost.getId());
+        negativeLookupCache.evict(Post.class, savedPost.getId());
+        feedSnapshotService.saved(savedPost);
+        tagUsageService.changed(null, savedPost.getTags());
+        relatedPostService.saved(savedPost);
+        duplicatePostService.saved(savedPost);
+        instantSearchService.saved(savedPost);
+        contentBlobService.retain(savedPost.getNodes());
+        recordRevision(null, savedPost);
+        return savedPost;
     }
 
     private void validateOnCreateStatus(Post post) {
@@ -75,12 +126,16 @@ public class PostServiceRealization implements PostService {
 
     /**
      * This method is used to update data in an object of class Post.
+     * The object is changed by a single conditional query on the version of the read previous object,
+     * so concurrent changes aren't lost and the previous object is exactly the replaced one.
      * Throws {@link PostNotFoundException} in case
      * if such object isn't contained in database.
+     * Throws {@link PostVersionConflictException} in case
+     * if the version of the object isn't equal to the expected one or the object is changed meanwhile.
      * Throws {@link ReckueIllegalArgumentException} in case
      * if parameter equals null.
      *
-     * @param post object of class Post
+     * @param post object of class Post, its version is the expected version of the stored object
      * @return post object of class Post
      */
     @Override
@@ -92,38 +147,70 @@ public class PostServiceRealization implements PostService {
         if (post.getId() == null) {
             throw new ReckueIllegalArgumentException("The parameter is null");
         }
+        validateOnUpdateStatus(post);
+        Post previousPost = postRepository.findById(post.getId())
+                .orElseThrow(() -> new PostNotFoundException(post.getId()));
+        if (post.getVersion() != null && !post.getVersion().equals(previousPost.getVersion())) {
+            throw new PostVersionConflictException(post.getId(), post.getVersion());
+        }
         if (!post.getNodes().isEmpty()) {
             post.getNodes().forEach(nodeService::create);
         }
-        validateOnUpdateStatus(post);
-        Post savedPost = postRepository
-                .findById(post.getId())
-                .orElseThrow(() -> new PostNotFoundException(post.getId()));
-        savedPost.setUserId(post.getUserId());
-        savedPost.setTitle(post.getTitle());
-        savedPost.setNodes(post.getNodes());
-        savedPost.setSource(post.getSource());
-        savedPost.setTags(post.getTags());
-
-        return postRepository.save(savedPost);
-    }
-
-    private void validateOnUpdateStatus(Post post) {
-        if (post.getStatus() == null) {
-            return;
+        boolean references = tagCatalogProperties.isReferences();
+        Update update = Update.update("userId", post.getUserId())
+                .set("title", post.getTitle())
+                .set("nodes", post.getNodes())
+                .set(PostSearchTextListener.SEARCH_TEXT, SearchText.of(post.getNodes(),
+                        searchProperties.getMaxTextLength()))
+                .set("source", post.getSource())
+                .set("tags", references ? TagConverter.convertToReferences(post.getTags()) : post.getTags())
+                .set("modificationDate", Instant.now());
+        if (post.getStatus() != null) {
+            update.set("status", post.getStatus());
         }
-        if (post.getStatus() == PostStatusType.DRAFT) {
-            postRepository.findById(post.getId()).get().setStatus(PostStatusType.DRAFT);
-            return;
+        Post savedPost = postRepository.updateIfVersionMatches(post.getId(), previousPost.getVersion(), update);
+        if (savedPost == null) {
+            throw notUpdated(post.getId(), previousPost.getVersion());
         }
-        if (post.getStatus() == PostStatusType.PUBLISHED) {
-            postRepository.findById(post.getId()).get().setStatus(PostStatusType.PUBLISHED);
-            return;
+        contentBlobService.resolve(savedPost.getNodes());
+        contentBlobService.resolve(previousPost.getNodes());
+        contentBlobService.retain(savedPost.getNodes());
+        contentBlobService.release(previousPost.getNodes());
+        postEntityCache.evict(savedPost.getId());
+        postRenderService.evict(savedPost.getId());
+        feedSnapshotService.saved(savedPost);
+        tagUsageService.changed(previousPost.getTags(), savedPost.getTags());
+        relatedPostService.saved(savedPost);
+        duplicatePostService.saved(savedPost);
+        instantSearchService.saved(savedPost);
+        recordRevision(previousPost, savedPost);
+        return savedPost;
+    }
+
+    /**
+     * This method is used to store the revision of the new version of the post.
+     * The post is already saved at this point, so a failure doesn't fail the request,
+     * the missing revision is replaced by a snapshot on the next update.
+     *
+     * @param previousPost the post in the previous version or null if the post is just created
+     * @param savedPost    the post in the new version
+     */
+    private void recordRevision(Post previousPost, Post savedPost) {
+        try {
+            postRevisionService.record(previousPost, savedPost);
+        } catch (RuntimeException e) {
+            log.warn("Revision '{}' of post by id '{}' isn't stored", savedPost.getVersion(), savedPost.getId(), e);
         }
-        if (post.getStatus() == PostStatusType.DELETED) {
-            postRepository.findById(post.getId()).get().setStatus(PostStatusType.DELETED);
-            return;
+    }
+
+    private ReckueException notUpdated(String id, Long version) {
+        if (version != null && postRepository.existsById(id)) {
+            return new PostVersionConflictException(id, version);
         }
+        return new PostNotFoundException(id);
+    }
+
+    private void validateOnUpdateStatus(Post post) {
         if (post.getStatus() == PostStatusType.BANNED) {
             throw new RuntimeException("Only for admin");
         }
@@ -131,16 +218,14 @@ public class PostServiceRealization implements PostService {
             throw new RuntimeException("Nodes are null");
         }
         if (post.getStatus() == PostStatusType.PENDING) {
-            Post currentPost = postRepository.findById(post.getId()).get();
-            if (currentPost.getStatus() == PostStatusType.PUBLISHED) {
-                currentPost.setStatus(PostStatusType.PENDING);
-            } else {
+            Post currentPost = postRepository.findById(post.getId())
+                    .orElseThrow(() -> new PostNotFoundException(post.getId()));
+            if (currentPost.getStatus() != PostStatusType.PUBLISHED) {
                 throw new RuntimeException();
             }
         }
     }
 
-
     /**
      * This method is used to get all objects of class Post.
      *
@@ -148,7 +233,7 @@ public class PostServiceRealization implements PostService {
      */
     @Override
     public List<Post> findAll() {
-        return postRepository.findAll();
+        return resolved(postRepository.findAll());
     }
 
     /**
@@ -163,20 +248,181 @@ public class PostServiceRealization implements PostService {
      */
     @Override
     public List<Post> findAll(Integer limit, Integer offset, String sort, Boolean desc) {
-        if (limit == null) limit = 10;
-        if (offset == null) offset = 0;
-        if (StringUtils.isEmpty(sort)) sort = "id";
-        if (desc == null) desc = false;
+        return findAll(limit, offset, sort, desc, null);
+    }
 
-        if (limit < 0 || offset < 0) {
+    /**
+     * This method is used to get all objects of class Post with the status by parameters.
+     * The first pages of the configured lists are served from their snapshots,
+     * the other pages are sorted in memory.
+     *
+     * @param limit  quantity of objects
+     * @param offset quantity to skip
+     * @param sort   parameter for sorting
+     * @param desc   sorting descending
+     * @param status status of the objects or null for all the objects
+     * @return list of given quantity of objects of class Post with a given offset
+     * sorted by the selected parameter for sorting in descending order
+     */
+    @Override
+    public List<Post> findAll(Integer limit, Integer offset, String sort, Boolean desc, PostStatusType status) {
+        int first = limit == null ? 10 : limit;
+        int skipped = offset == null ? 0 : offset;
+        String sortType = StringUtils.isEmpty(sort) ? "id" : sort;
+        boolean descending = desc != null && desc;
+
+        if (first < 0 || skipped < 0) {
             throw new ReckueIllegalArgumentException("Limit or offset is incorrect");
         }
-        return findAllByTypeAndDesc(sort, desc).stream()
-                .limit(limit)
-                .skip(offset)
+        return feedSnapshotService.find(sortType, descending, status, first, skipped).orElseGet(() ->
+                findAllByTypeAndDesc(sortType, descending).stream()
+                        .filter(post -> status == null || post.getStatus() == status)
+                        .limit(first)
+                        .skip(skipped)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * This method is used to get the objects with the tags by pages, the newest objects go first.
+     * With all the tags the rarest tag is looked up first, so the index scan is as short as possible.
+     * Throws {@link ReckueIllegalArgumentException} in case if the mode or the limit is incorrect.
+     *
+     * @param tagIds the tag identifiers
+     * @param mode   all if the objects must have all the tags, any if any of them, default - all
+     * @param status status of the objects or null for all the objects
+     * @param cursor identifier of the last object of the previous page or null for the first page
+     * @param limit  quantity of objects
+     * @return list of objects of class Post
+     */
+    @Override
+    public List<Post> findAllByTags(List<String> tagIds, String mode, PostStatusType status, String cursor,
+                                    Integer limit) {
+        if (limit == null) limit = 10;
+        if (limit < 0) {
+            throw new ReckueIllegalArgumentException("Limit is incorrect");
+        }
+        boolean all = StringUtils.isEmpty(mode) || "all".equalsIgnoreCase(mode);
+        if (!all && !"any".equalsIgnoreCase(mode)) {
+            throw new ReckueIllegalArgumentException("Such mode as " + mode + " doesn't exist");
+        }
+        List<String> tags = tagIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted(Comparator.comparingLong(tagUsageService::count))
+                .collect(Collectors.toList());
+        if (tags.isEmpty() || limit == 0) {
+            return List.of();
+        }
+        List<String> ids = postRepository.findIdsByTags(tags, all, status, cursor, limit);
+        Map<String, Post> posts = postEntityCache.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return ids.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * This method is used to get the objects most similar to the object by their tags and text.
+     * Throws {@link PostNotFoundException} in case if such object isn't contained in database.
+     * Throws {@link ReckueIllegalArgumentException} in case if the limit is negative.
+     *
+     * @param id    the object identifier
+     * @param limit quantity of objects, default - 10
+     * @return list of objects of class Post, the most similar objects go first
+     */
+    @Override
+    public List<Post> findRelated(String id, Integer limit) {
+        if (limit == null) limit = 10;
+        if (limit < 0) {
+            throw new ReckueIllegalArgumentException("Limit is incorrect");
+        }
+        return relatedPostService.findRelated(findById(id), limit);
+    }
+
+    /**
+     * This method is used to get the near duplicates of the object by its text.
+     * Throws {@link PostNotFoundException} in case if such object isn't contained in database.
+     *
+     * @param id the object identifier
+     * @return list of objects of class Post, the closest objects go first
+     */
+    @Override
+    public List<Post> findDuplicates(String id) {
+        return duplicatePostService.findDuplicates(findById(id));
+    }
+
+    /**
+     * This method is used to get the summaries of the objects matching the text by the text index by pages,
+     * the most relevant objects go first. The cursor is the relevance and the identifier of the last object
+     * of the previous page separated by a colon.
+     * Throws {@link ReckueIllegalArgumentException} in case if the text is empty,
+     * the cursor is incorrect or the limit is negative.
+     *
+     * @param text   the searched words and phrases
+     * @param status status of the objects or null for all the objects
+     * @param cursor cursor of the last object of the previous page or null for the first page
+     * @param limit  quantity of objects, default - 10
+     * @return list of objects of class PostSummary
+     */
+    @Override
+    public List<PostSummary> search(String text, PostStatusType status, String cursor, Integer limit) {
+        if (limit == null) limit = 10;
+        if (limit < 0) {
+            throw new ReckueIllegalArgumentException("Limit is incorrect");
+        }
+        if (!StringUtils.hasText(text)) {
+            throw new ReckueIllegalArgumentException("Search text is empty");
+        }
+        int separator = StringUtils.isEmpty(cursor) ? -1 : cursor.indexOf(':');
+        if (!StringUtils.isEmpty(cursor) && (separator <= 0 || separator == cursor.length() - 1)) {
+            throw new ReckueIllegalArgumentException("Cursor is incorrect");
+        }
+        Double cursorScore = separator < 0 ? null : parseScore(cursor.substring(0, separator));
+        String cursorId = separator < 0 ? null : cursor.substring(separator + 1);
+        if (limit == 0) {
+            return List.of();
+        }
+        List<PostSummary> summaries = postRepository.search(text, status, cursorScore, cursorId, limit);
+        if (tagCatalogProperties.isReferences()) {
+            summaries.forEach(summary -> summary.setTags(tagService.resolve(summary.getTags())));
+        }
+        return summaries;
+    }
+
+    /**
+     * This method is used to get the summaries of the newest objects whose titles and tags have all the typed words
+     * by the in-memory index, the last word may be typed partly.
+     * The text index of the database is searched while the in-memory index is disabled or isn't built yet.
+     * Throws {@link ReckueIllegalArgumentException} in case if the query is empty or the limit is negative.
+     *
+     * @param query the typed text
+     * @param limit quantity of objects, default - 10
+     * @return list of objects of class PostSummary
+     */
+    @Override
+    public List<PostSummary> searchInstant(String query, Integer limit) {
+        if (limit == null) limit = 10;
+        if (limit < 0) {
+            throw new ReckueIllegalArgumentException("Limit is incorrect");
+        }
+        if (!StringUtils.hasText(query)) {
+            throw new ReckueIllegalArgumentException("Search text is empty");
+        }
+        if (!instantSearchService.isReady()) {
+            return search(query, null, null, limit);
+        }
+        return instantSearchService.search(query, limit);
+    }
+
+    private static Double parseScore(String score) {
+        try {
+            return Double.valueOf(score);
+        } catch (NumberFormatException e) {
+            throw new ReckueIllegalArgumentException("Cursor is incorrect");
+        }
+    }
+
     /**
      * This method is used to sort objects in descending order by type.
      *
@@ -298,7 +544,7 @@ public class PostServiceRealization implements PostService {
     }
 
     /**
-     * This method is used to get an object by id.
+     * This method is used to get an object by id, the object is read through the cache of posts.
      * Throws {@link PostNotFoundException} in case if such object isn't contained in database.
      *
      * @param id object
@@ -306,23 +552,82 @@ public class PostServiceRealization implements PostService {
      */
     @Override
     public Post findById(String id) {
-        return postRepository.findById(id).orElseThrow(
-                () -> new PostNotFoundException(id));
+        if (negativeLookupCache.isMissing(Post.class, id)) {
+            throw new PostNotFoundException(id);
+        }
+        return postEntityCache.findById(id).orElseThrow(() -> {
+            negativeLookupCache.markMissing(Post.class, id);
+            return new PostNotFoundException(id);
+        });
+    }
+
+    /**
+     * This method is used to get the current version, modification date and tags of the object by id
+     * without reading the object itself.
+     * Throws {@link PostNotFoundException} in case if such object isn't contained in database.
+     *
+     * @param id object
+     * @return the object of class Post with identifier, version, modification date and tags,
+     * the version is zero for the objects saved before versioning
+     */
+    @Override
+    public Post findVersionById(String id) {
+        if (negativeLookupCache.isMissing(Post.class, id)) {
+            throw new PostNotFoundException(id);
+        }
+        Post post = postRepository.findVersionById(id);
+        if (post == null) {
+            negativeLookupCache.markMissing(Post.class, id);
+            throw new PostNotFoundException(id);
+        }
+        if (post.getVersion() == null) {
+            post.setVersion(0L);
+        }
+        return post;
+    }
+
+    /**
+     * This method is used to fill the node contents stored in shared blobs,
+     * the blobs of all the posts are read together.
+     *
+     * @param posts list of objects of class Post
+     * @return the same list of objects of class Post
+     */
+    private List<Post> resolved(List<Post> posts) {
+        contentBlobService.resolve(posts.stream()
+                .filter(post -> post.getNodes() != null)
+                .flatMap(post -> post.getNodes().stream())
+                .collect(Collectors.toList()));
+        return posts;
     }
 
     /**
      * This method is used to delete an object by id.
+     * The nodes, comments and ratings of the post are removed later by a background job,
+     * it is enqueued right after the post is removed, so a failure of the following evictions doesn't orphan them.
      * Throws {@link PostNotFoundException} in case if such object isn't contained in database.
      *
      * @param id object
      */
     @Override
     public void deleteById(String id) {
-        if (postRepository.existsById(id)) {
-            postRepository.deleteById(id);
-        } else {
+        if (negativeLookupCache.isMissing(Post.class, id)) {
+            throw new PostNotFoundException(id);
+        }
+        Post post = postRepository.removeById(id);
+        negativeLookupCache.markMissing(Post.class, id);
+        if (post == null) {
             throw new PostNotFoundException(id);
         }
+        cascadeDeleteService.enqueue(id);
+        postEntityCache.evict(id);
+        postRenderService.evict(id);
+        feedSnapshotService.deleted(id);
+        tagUsageService.changed(post.getTags(), null);
+        relatedPostService.deleted(id);
+        duplicatePostService.deleted(id);
+        instantSearchService.deleted(id);
+        contentBlobService.release(post.getNodes());
     }
 
     /**
@@ -333,7 +638,7 @@ public class PostServiceRealization implements PostService {
      */
     @Override
     public List<Post> findAllByTitle(String title) {
-        return postRepository.findAllByTitle(title);
+        return resolved(postRepository.findAllByTitle(title));
     }
 
     /**
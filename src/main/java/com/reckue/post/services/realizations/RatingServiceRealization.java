@@ -6,9 +6,11 @@ import com.reckue.post.exceptions.models.rating.RatingNotFoundException;
 import com.reckue.post.exceptions.models.user.UserNotFoundException;
 import com.reckue.post.models.Post;
 import com.reckue.post.models.Rating;
-import com.reckue.post.repositories.PostRepository;
 import com.reckue.post.repositories.RatingRepository;
+import com.reckue.post.services.NegativeLookupCache;
+import com.reckue.post.services.PostEntityCache;
 import com.reckue.post.services.RatingService;
+import com.reckue.post.utils.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
@@ -29,7 +31,9 @@ import java.util.stream.Collectors;
 public class RatingServiceRealization implements RatingService {
 
     private final RatingRepository ratingRepository;
-    private final PostRepository postRepository;
+    private final PostEntityCache postEntityCache;
+    private final SingleFlight<String, Integer> ratingsCountFlight;
+    private final NegativeLookupCache negativeLookupCache;
 
     /**
      * This method is used to create an object of class Rating using rating validation.
@@ -47,7 +51,9 @@ public class RatingServiceRealization implements RatingService {
             return existRating;
         }
 
-        return ratingRepository.save(rating);
+        Rating saved = ratingRepository.save(rating);
+        negativeLookupCache.evict(Rating.class, rating.getId());
+        return saved;
     }
 
     /**
@@ -57,7 +63,7 @@ public class RatingServiceRealization implements RatingService {
      * @param rating object of class Rating
      */
     public void validateCreatingRating(Rating rating) {
-        if (!postRepository.existsById(rating.getPostId())) {
+        if (!postEntityCache.existsById(rating.getPostId())) {
             throw new PostNotFoundException(rating.getPostId());
         }
     }
@@ -197,26 +203,35 @@ public class RatingServiceRealization implements RatingService {
      */
     @Override
     public void deleteById(String id) {
-        if (ratingRepository.existsById(id)) {
-            ratingRepository.deleteById(id);
-        } else {
+        if (negativeLookupCache.isMissing(Rating.class, id)) {
             throw new RatingNotFoundException(id);
         }
+        if (!ratingRepository.existsById(id)) {
+            negativeLookupCache.markMissing(Rating.class, id);
+            throw new RatingNotFoundException(id);
+        }
+        ratingRepository.deleteById(id);
+        negativeLookupCache.markMissing(Rating.class, id);
     }
 
     /**
      * This method is used to get the number of ratings to a single post.
      * Throws {@link PostNotFoundException} in case if such post id isn't contained in database.
+     * The concurrent counts of the same post are coalesced into one read.
      *
      * @param postId the post identifier
      * @return quantity of ratings to a post
      */
     @Override
     public int getRatingsCountByPostId(String postId) {
-        if (!postRepository.existsById(postId)) {
+        return ratingsCountFlight.execute(postId, () -> countRatingsByPostId(postId));
+    }
+
+    private int countRatingsByPostId(String postId) {
+        if (!postEntityCache.existsById(postId)) {
             throw new PostNotFoundException(postId);
         }
-        if (postRepository.existsById(postId) && !ratingRepository.existsByPostId(postId)) {
+        if (!ratingRepository.existsByPostId(postId)) {
             return 0;
         }
         List<Rating> ratings = ratingRepository.findByPostId(postId);
@@ -246,7 +261,7 @@ public class RatingServiceRealization implements RatingService {
         }
         List<Post> posts = new ArrayList<>();
         for (Rating rating : ratings) {
-            Post post = postRepository.findById(rating.getPostId())
+            Post post = postEntityCache.findById(rating.getPostId())
                     .orElseThrow(PostNotFoundException::new);
             posts.add(post);
         }
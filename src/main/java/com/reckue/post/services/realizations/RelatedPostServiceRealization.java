@@ -0,0 +1,168 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.configs.properties.RelatedProperties;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostSignature;
+import com.reckue.post.models.Tag;
+import com.reckue.post.models.nodes.TextNode;
+import com.reckue.post.models.types.PostStatusType;
+import com.reckue.post.services.PostEntityCache;
+import com.reckue.post.services.RelatedPostService;
+import com.reckue.post.utils.MinHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class RelatedPostServiceRealization represents realization of RelatedPostService.
+ * The set of a post consists of its tags and the shingles of its text nodes.
+ * The candidates are the posts with an equal band of the signature found by the index of the bands,
+ * only they are ranked by the estimated similarity, so no request compares all the posts.
+ * Only the published posts are candidates, the newest ones are taken first when there are too many of them.
+ * The status is stored with the signature, which is stored again on every change of the post.
+ * The signature missing for a post saved before is computed on its first request.
+ */
+@Slf4j
+@Service
+public class RelatedPostServiceRealization implements RelatedPostService {
+
+    private static final Comparator<Candidate> BY_SIMILARITY = Comparator
+            .comparingDouble((Candidate candidate) -> candidate.similarity)
+            .thenComparing(candidate -> candidate.id);
+
+    private final MongoTemplate mongoTemplate;
+    private final PostEntityCache postEntityCache;
+    private final RelatedProperties properties;
+    private final MinHash minHash;
+
+    public RelatedPostServiceRealization(MongoTemplate mongoTemplate, PostEntityCache postEntityCache,
+                                         RelatedProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.postEntityCache = postEntityCache;
+        this.properties = properties;
+        this.minHash = new MinHash(properties.getHashes(), properties.getBands());
+    }
+
+    /**
+     * This method is used to compute and store the signature of the saved post.
+     * The post is already saved at this point, so a failure doesn't fail the request,
+     * the missing signature is computed on the next request of the related posts.
+     *
+     * @param post the saved object of class Post
+     */
+    @Override
+    public void saved(Post post) {
+        try {
+            mongoTemplate.save(signature(post));
+        } catch (RuntimeException e) {
+            log.warn("Signature of post by id '{}' isn't stored", post.getId(), e);
+        }
+    }
+
+    /**
+     * This method is used to remove the signature of the deleted post.
+     *
+     * @param id the post identifier
+     */
+    @Override
+    public void deleted(String id) {
+        mongoTemplate.remove(query(where("_id").is(id)), PostSignature.class);
+    }
+
+    /**
+     * This method is used to get the posts most similar to the post.
+     * The posts with the same similarity are sorted by id descending.
+     *
+     * @param post  object of class Post
+     * @param limit quantity of objects
+     * @return list of objects of class Post, the most similar posts go first
+     */
+    @Override
+    public List<Post> findRelated(Post post, int limit) {
+        PostSignature signature = mongoTemplate.findById(post.getId(), PostSignature.class);
+        if (signature == null) {
+            signature = signature(post);
+            mongoTemplate.save(signature);
+        }
+        if (signature.getBands().isEmpty() || limit == 0) {
+            return List.of();
+        }
+        Query candidates = query(where("bands").in(signature.getBands())
+                .and("status").is(PostStatusType.PUBLISHED)
+                .and("_id").ne(post.getId()))
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(properties.getCandidates());
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, BY_SIMILARITY);
+        for (PostSignature candidate : mongoTemplate.find(candidates, PostSignature.class)) {
+            double similarity = MinHash.similarity(signature.getSignature(), candidate.getSignature());
+            if (similarity > 0) {
+                best.add(new Candidate(candidate.getId(), similarity));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<String> ids = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ids.add(best.poll().id);
+        }
+        Collections.reverse(ids);
+        Map<String, Post> posts = postEntityCache.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return ids.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private PostSignature signature(Post post) {
+        Set<String> shingles = new LinkedHashSet<>();
+        if (post.getTags() != null) {
+            post.getTags().stream()
+                    .map(Tag::getId)
+                    .filter(Objects::nonNull)
+                    .forEach(id -> shingles.add("#" + id));
+        }
+        if (post.getNodes() != null) {
+            post.getNodes().stream()
+                    .filter(node -> node.getNode() instanceof TextNode)
+                    .map(node -> ((TextNode) node.getNode()).getContent())
+                    .forEach(text -> shingles.addAll(MinHash.shingles(text, properties.getShingleSize())));
+        }
+        int[] signature = minHash.signature(shingles);
+        return PostSignature.builder()
+                .id(post.getId())
+                .signature(signature)
+                .bands(minHash.bands(signature))
+                .status(post.getStatus())
+                .build();
+    }
+
+    private static class Candidate {
+
+        private final String id;
+        private final double similarity;
+
+        private Candidate(String id, double similarity) {
+            this.id = id;
+            this.similarity = similarity;
+        }
+    }
+}
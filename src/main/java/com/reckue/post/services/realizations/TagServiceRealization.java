@@ -2,20 +2,40 @@ package com.reckue.post.services.realizations;
 
 import com.reckue.post.exceptions.ReckueIllegalArgumentException;
 import com.reckue.post.exceptions.models.tag.TagNotFoundException;
+import com.reckue.post.configs.properties.TagCatalogProperties;
+import com.reckue.post.configs.properties.TagUsageProperties;
 import com.reckue.post.models.Tag;
 import com.reckue.post.repositories.TagRepository;
+import com.reckue.post.services.NegativeLookupCache;
+import com.reckue.post.services.PostEntityCache;
 import com.reckue.post.services.TagService;
+import com.reckue.post.services.TagUsageService;
+import com.reckue.post.utils.EntityTags;
+import com.reckue.post.utils.caches.TagCatalog;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Class TagServiceRealization represents realization of TagService.
+ * The tags are read from an immutable catalog kept in memory, which is replaced by a new one on every change.
+ * The catalog is read again from the database by a schedule and a tag is read again
+ * when it is changed by another instance.
+ * When the posts keep only the identifiers of their tags, the entity tags and the cached responses of the posts
+ * carry the generation of the names of their tags, so a rename changes them without touching the stored posts,
+ * and the cached posts with the renamed tag are evicted, so they are read again with the new name.
  *
  * @author Kamila Meshcheryakova
  */
@@ -24,6 +44,12 @@ import java.util.stream.Collectors;
 public class TagServiceRealization implements TagService {
 
     private final TagRepository tagRepository;
+    private final NegativeLookupCache negativeLookupCache;
+    private final TagUsageService tagUsageService;
+    private final TagUsageProperties tagUsageProperties;
+    private final TagCatalogProperties tagCatalogProperties;
+    private final PostEntityCache postEntityCache;
+    private final AtomicReference<TagCatalog> catalog = new AtomicReference<>();
 
     /**
      * This method is used to create an object of class Tag.
@@ -33,7 +59,10 @@ public class TagServiceRealization implements TagService {
      */
     @Override
     public Tag create(Tag tag) {
-        return tagRepository.save(tag);
+        Tag saved = tagRepository.save(tag);
+        negativeLookupCache.evict(Tag.class, tag.getId());
+        catalog.updateAndGet(tags -> tags == null ? null : tags.with(saved));
+        return saved;
     }
 
     /**
@@ -54,18 +83,131 @@ public class TagServiceRealization implements TagService {
         Tag savedTag = tagRepository
                 .findById(tag.getId())
                 .orElseThrow(() -> new TagNotFoundException(tag.getId()));
+        String previousName = savedTag.getName();
         savedTag.setName(tag.getName());
-        return tagRepository.save(savedTag);
+        Tag saved = tagRepository.save(savedTag);
+        catalog.updateAndGet(tags -> tags == null ? null : tags.with(saved));
+        if (!Objects.equals(previousName, saved.getName())) {
+            renamed(saved.getId());
+        }
+        return saved;
     }
 
     /**
      * This method is used to get all objects of class Tag.
      *
-     * @return list of objects of class Tag
+     * @return list of objects of class Tag sorted by id
      */
     @Override
     public List<Tag> findAll() {
-        return tagRepository.findAll();
+        return new ArrayList<>(catalog().sortedById());
+    }
+
+    /**
+     * This method is used to get the catalog of tags, it is read from the database on first use.
+     * The first read is done under a lock, so concurrent requests read the database once,
+     * and the read catalog is set only if no other catalog is set meanwhile.
+     *
+     * @return the object of class TagCatalog
+     */
+    private TagCatalog catalog() {
+        TagCatalog tags = catalog.get();
+        if (tags != null) {
+            return tags;
+        }
+        synchronized (catalog) {
+            tags = catalog.get();
+            if (tags != null) {
+                return tags;
+            }
+            TagCatalog loaded = TagCatalog.of(tagRepository.findAll());
+            return catalog.compareAndSet(null, loaded) ? loaded : catalog.get();
+        }
+    }
+
+    /**
+     * This method is used to read all the tags of the catalog from the database again.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${reckue.tag-catalog.refresh-interval:60000}")
+    public void refresh() {
+        TagCatalog tags = TagCatalog.of(tagRepository.findAll());
+        TagCatalog previous = catalog.getAndSet(tags);
+        if (previous != null) {
+            tags.sortedById().stream()
+                    .filter(tag -> isRenamed(previous, tag))
+                    .forEach(tag -> renamed(tag.getId()));
+        }
+    }
+
+    /**
+     * This method is used to read the tag of the catalog from the database again after it is changed elsewhere.
+     *
+     * @param id the tag identifier
+     */
+    @Override
+    public void refresh(String id) {
+        Tag tag = tagRepository.findById(id).orElse(null);
+        TagCatalog previous = catalog.getAndUpdate(tags ->
+                tags == null ? null : tag == null ? tags.without(id) : tags.with(tag));
+        if (previous != null && tag != null && isRenamed(previous, tag)) {
+            renamed(id);
+        }
+    }
+
+    /**
+     * This method is used to replace the tags by the tags of the catalog, so their names are current
+     * and the posts share one object per tag. The tags missing in the catalog are kept as they are.
+     * The returned tags are shared, so they must not be changed.
+     *
+     * @param tags list of objects of class Tag, only their identifiers are used
+     * @return list of objects of class Tag or null if the tags are null
+     */
+    @Override
+    public List<Tag> resolve(List<Tag> tags) {
+        if (tags == null) {
+            return null;
+        }
+        TagCatalog current = catalog();
+        return tags.stream()
+                .map(tag -> tag.getId() == null ? tag : current.findById(tag.getId()).orElse(tag))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * This method is used to get the generation of the names of the tags of a post,
+     * it is the hash of the names, so it is the same on every instance with the same catalog.
+     *
+     * @param tags list of resolved objects of class Tag
+     * @return the generation or zero if the posts keep the names or there are no tags
+     */
+    @Override
+    public long generation(List<Tag> tags) {
+        if (!tagCatalogProperties.isReferences() || tags == null || tags.isEmpty()) {
+            return 0;
+        }
+        return EntityTags.hash(tags.stream()
+                .map(tag -> tag == null ? null : tag.getName())
+                .collect(Collectors.toList()));
+    }
+
+    private static boolean isRenamed(TagCatalog previous, Tag tag) {
+        return previous.findById(tag.getId())
+                .map(known -> !Objects.equals(known.getName(), tag.getName()))
+                .orElse(false);
+    }
+
+    /**
+     * This method is used to evict the cached posts with the tag after its rename when the posts keep
+     * only tag identifiers, their cached objects still have the previous name. Their cached responses
+     * are left, since they are rendered with another generation of the tag names and aren't found anymore.
+     *
+     * @param id the tag identifier
+     */
+    private void renamed(String id) {
+        if (tagCatalogProperties.isReferences()) {
+            postEntityCache.evictAllByTag(id);
+        }
     }
 
     /**
@@ -87,12 +229,81 @@ public class TagServiceRealization implements TagService {
         if (limit < 0 || offset < 0) {
             throw new ReckueIllegalArgumentException("Limit or offset is incorrect");
         }
-        return findAllByTypeAndDesc(sort, desc).stream()
-                .limit(limit)
-                .skip(offset)
+        List<Tag> tags = sorted(sort);
+        int to = Math.min(limit, tags.size());
+        boolean descending = desc;
+        return IntStream.range(Math.min(offset, to), to)
+                .mapToObj(index -> tags.get(descending ? tags.size() - 1 - index : index))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * This method is used to get the tags whose names start with the prefix, the most used tags go first.
+     * The tags of the prefix are found in the catalog by binary search and only the given quantity
+     * of the most used ones is kept while they are ranked.
+     *
+     * @param prefix the beginning of the name, ignoring case
+     * @param limit  quantity of objects
+     * @return list of objects of class Tag
+     */
+    @Override
+    public List<Tag> suggest(String prefix, Integer limit) {
+        if (limit == null) limit = 10;
+        if (limit < 0) {
+            throw new ReckueIllegalArgumentException("Limit is incorrect");
+        }
+        if (limit == 0) {
+            return List.of();
+        }
+        Comparator<Tag> rank = Comparator.comparingLong((Tag tag) -> tagUsageService.count(tag.getId()))
+                .reversed()
+                .thenComparing(Tag::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+        PriorityQueue<Tag> best = new PriorityQueue<>(limit + 1, rank.reversed());
+        for (Tag tag : catalog().findAllByPrefix(prefix)) {
+            best.add(tag);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        return best.stream().sorted(rank).collect(Collectors.toList());
+    }
+
+    /**
+     * This method is used to get the tags most added to the posts within the last period of time.
+     * Throws {@link ReckueIllegalArgumentException} in case if the window or the limit is incorrect.
+     *
+     * @param window length of the period, e.g. 24h or 7d, default - 7d
+     * @param limit  quantity of objects
+     * @return list of objects of class Tag
+     */
+    @Override
+    public List<Tag> findTrending(String window, Integer limit) {
+        if (limit == null) limit = 10;
+        if (limit < 0) {
+            throw new ReckueIllegalArgumentException("Limit is incorrect");
+        }
+        long period = StringUtils.isEmpty(window) ? tagUsageProperties.getDefaultWindow() : parse(window);
+        if (period <= 0) {
+            throw new ReckueIllegalArgumentException("Window is incorrect");
+        }
+        if (limit == 0) {
+            return List.of();
+        }
+        TagCatalog tags = catalog();
+        return tagUsageService.trending(period, limit).stream()
+                .map(id -> tags.findById(id).orElse(null))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static long parse(String window) {
+        try {
+            return DurationStyle.detectAndParse(window).toMillis();
+        } catch (IllegalArgumentException e) {
+            throw new ReckueIllegalArgumentException("Window " + window + " is incorrect");
+        }
+    }
+
     /**
      * This method is used to sort objects in descending order by type.
      *
@@ -113,16 +324,23 @@ public class TagServiceRealization implements TagService {
     /**
      * This method is used to sort objects by type.
      *
-     * @param sort type of sorting: name, default - id
+     * @param sort type of sorting: name, popular - the most used first, default - id
      * @return list of objects of class Tag sorted by the selected parameter for sorting
      */
     public List<Tag> findAllBySortType(String sort) {
+        return new ArrayList<>(sorted(sort));
+    }
 
+    private List<Tag> sorted(String sort) {
         switch (sort) {
             case "name":
-                return findAllAndSortByName();
+                return catalog().sortedByName();
+            case "popular":
+                return catalog().sortedByName().stream()
+                        .sorted(Comparator.comparingLong((Tag tag) -> tagUsageService.count(tag.getId())).reversed())
+                        .collect(Collectors.toList());
             case "id":
-                return findAllAndSortById();
+                return catalog().sortedById();
         }
         throw new ReckueIllegalArgumentException("Such field as " + sort + " doesn't exist");
     }
@@ -133,9 +351,7 @@ public class TagServiceRealization implements TagService {
      * @return list of objects of class Tag sorted by id
      */
     public List<Tag> findAllAndSortById() {
-        return findAll().stream()
-                .sorted(Comparator.comparing(Tag::getId))
-                .collect(Collectors.toList());
+        return new ArrayList<>(catalog().sortedById());
     }
 
     /**
@@ -144,13 +360,12 @@ public class TagServiceRealization implements TagService {
      * @return list of objects of class Tag sorted by content
      */
     public List<Tag> findAllAndSortByName() {
-        return findAll().stream()
-                .sorted(Comparator.comparing(Tag::getName))
-                .collect(Collectors.toList());
+        return new ArrayList<>(catalog().sortedByName());
     }
 
     /**
      * This method is used to get an object by id.
+     * A tag missing in the catalog is looked for in the database, it could be created by another instance.
      * Throws {@link TagNotFoundException} in case if such object isn't contained in database.
      *
      * @param id object
@@ -158,8 +373,19 @@ public class TagServiceRealization implements TagService {
      */
     @Override
     public Tag findById(String id) {
-        return tagRepository.findById(id).orElseThrow(
-                () -> new TagNotFoundException(id));
+        Tag cached = catalog().findById(id).orElse(null);
+        if (cached != null) {
+            return cached;
+        }
+        if (negativeLookupCache.isMissing(Tag.class, id)) {
+            throw new TagNotFoundException(id);
+        }
+        Tag tag = tagRepository.findById(id).orElseThrow(() -> {
+            negativeLookupCache.markMissing(Tag.class, id);
+            return new TagNotFoundException(id);
+        });
+        catalog.updateAndGet(tags -> tags == null ? null : tags.with(tag));
+        return tag;
     }
 
     /**
@@ -171,10 +397,15 @@ public class TagServiceRealization implements TagService {
      */
     @Override
     public void deleteById(String id) {
-        if (tagRepository.existsById(id)) {
-            tagRepository.deleteById(id);
-        } else {
+        if (negativeLookupCache.isMissing(Tag.class, id)) {
+            throw new TagNotFoundException(id);
+        }
+        if (!tagRepository.existsById(id)) {
+            negativeLookupCache.markMissing(Tag.class, id);
             throw new TagNotFoundException(id);
         }
+        tagRepository.deleteById(id);
+        negativeLookupCache.markMissing(Tag.class, id);
+        catalog.updateAndGet(tags -> tags == null ? null : tags.without(id));
     }
 }
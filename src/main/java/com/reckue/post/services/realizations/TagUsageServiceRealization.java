@@ -0,0 +1,191 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.configs.properties.TagUsageProperties;
+import com.reckue.post.models.Tag;
+import com.reckue.post.models.TagCounter;
+import com.reckue.post.models.TagUsageBucket;
+import com.reckue.post.repositories.PostRepository;
+import com.reckue.post.services.TagUsageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.limit;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Class TagUsageServiceRealization represents realization of TagUsageService.
+ * Every change of the tags of a post is added by $inc to the total counter of the tag
+ * and to the bucket of the tag for the current period, so the trending tags are summed from
+ * the buckets of the window instead of the posts. The database removes the buckets older than any window.
+ * <p>
+ * The totals are also kept in memory to rank the tags without reading the database,
+ * they are read again by a schedule to take in the changes made by the other instances.
+ * A counter can be below zero for a while when the posts are changed during the seeding,
+ * so the counts are clamped at zero.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagUsageServiceRealization implements TagUsageService {
+
+    private static final String SETTINGS = "storageSettings";
+    private static final String SEED_MARKER_ID = "tag-counters-seeded";
+
+    private final MongoTemplate mongoTemplate;
+    private final PostRepository postRepository;
+    private final TagUsageProperties properties;
+    private volatile Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public long count(String tagId) {
+        AtomicLong count = counts.get(tagId);
+        return count == null ? 0 : Math.max(count.get(), 0);
+    }
+
+    /**
+     * This method is used to count the difference of the tags of a post after it is changed,
+     * a tag repeated in a post is counted once.
+     * The post is already saved at this point, so a failure to store the counters doesn't fail the request.
+     *
+     * @param previous the tags before the change or null if the post is created
+     * @param current  the tags after the change or null if the post is deleted
+     */
+    @Override
+    public void changed(Collection<Tag> previous, Collection<Tag> current) {
+        Set<String> before = ids(previous);
+        Set<String> after = ids(current);
+        Map<String, Integer> deltas = new HashMap<>();
+        after.stream().filter(id -> !before.contains(id)).forEach(id -> deltas.put(id, 1));
+        before.stream().filter(id -> !after.contains(id)).forEach(id -> deltas.put(id, -1));
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Map<String, AtomicLong> target = counts;
+        deltas.forEach((id, delta) -> target.computeIfAbsent(id, key -> new AtomicLong()).addAndGet(delta));
+        try {
+            store(deltas);
+        } catch (RuntimeException e) {
+            log.warn("Usages of tags {} aren't counted", deltas, e);
+        }
+    }
+
+    private void store(Map<String, Integer> deltas) {
+        long bucketSize = properties.getBucketSize();
+        Instant start = Instant.ofEpochMilli(System.currentTimeMillis() / bucketSize * bucketSize);
+        BulkOperations counters = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagCounter.class);
+        deltas.forEach((id, delta) -> counters.upsert(query(where("_id").is(id)), new Update().inc("count", delta)));
+        counters.execute();
+        BulkOperations buckets = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagUsageBucket.class);
+        deltas.forEach((id, delta) -> buckets.upsert(query(where("_id").is(id + "/" + start.toEpochMilli())),
+                new Update().inc("count", delta).setOnInsert("tagId", id).setOnInsert("start", start)));
+        buckets.execute();
+    }
+
+    /**
+     * This method is used to get the tags most added to the posts within the last period of time,
+     * the period is rounded to the buckets.
+     *
+     * @param window length of the period in milliseconds
+     * @param limit  quantity of tags
+     * @return list of tag identifiers, the most added tags go first
+     */
+    @Override
+    public List<String> trending(long window, int limit) {
+        long bucketSize = properties.getBucketSize();
+        Instant since = Instant.ofEpochMilli((System.currentTimeMillis() - window) / bucketSize * bucketSize);
+        TypedAggregation<TagUsageBucket> aggregation = Aggregation.newAggregation(TagUsageBucket.class,
+                match(where("start").gte(since)),
+                group("tagId").sum("count").as("count"),
+                match(where("count").gt(0)),
+                sort(Sort.by(Sort.Direction.DESC, "count").and(Sort.by("_id"))),
+                limit(limit));
+        return mongoTemplate.aggregate(aggregation, Document.class).getMappedResults().stream()
+                .map(document -> document.get("_id").toString())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * This method is used to read the counters of every tag from the database again.
+     * The counters are seeded by the posts once, which is recorded by a marker in database.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${reckue.tag-catalog.refresh-interval:60000}")
+    public void refresh() {
+        if (mongoTemplate.findById(SEED_MARKER_ID, Document.class, SETTINGS) == null) {
+            seed();
+        }
+        Map<String, AtomicLong> recounted = new ConcurrentHashMap<>();
+        mongoTemplate.findAll(TagCounter.class)
+                .forEach(counter -> recounted.put(counter.getId(), new AtomicLong(counter.getCount())));
+        counts = recounted;
+    }
+
+    /**
+     * This method is used to add the posts counted by tags to the counters.
+     * The counters can already have the deltas of the posts changed before, which are counted in the posts too,
+     * so the difference of the counted posts and the counters read before is added by $inc.
+     * The marker is inserted first, so only one instance seeds the counters, and removed if the seeding fails.
+     */
+    private void seed() {
+        try {
+            mongoTemplate.insert(new Document("_id", SEED_MARKER_ID).append("seededDate", Instant.now()), SETTINGS);
+        } catch (DuplicateKeyException e) {
+            return;
+        }
+        try {
+            Map<String, Long> live = mongoTemplate.findAll(TagCounter.class).stream()
+                    .collect(Collectors.toMap(TagCounter::getId, TagCounter::getCount));
+            Map<String, Long> usages = postRepository.countTagUsages();
+            Map<String, Long> deltas = new HashMap<>();
+            usages.forEach((id, count) -> deltas.put(id, count - live.getOrDefault(id, 0L)));
+            live.forEach((id, count) -> deltas.putIfAbsent(id, -count));
+            deltas.values().removeIf(delta -> delta == 0);
+            if (!deltas.isEmpty()) {
+                BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagCounter.class);
+                deltas.forEach((id, delta) -> operations.upsert(query(where("_id").is(id)),
+                        new Update().inc("count", delta)));
+                operations.execute();
+            }
+            log.info("Tag counters are seeded by the posts: {} tags", usages.size());
+        } catch (RuntimeException e) {
+            mongoTemplate.remove(query(where("_id").is(SEED_MARKER_ID)), SETTINGS);
+            throw e;
+        }
+    }
+
+    private static Set<String> ids(Collection<Tag> tags) {
+        if (tags == null) {
+            return Set.of();
+        }
+        return tags.stream()
+                .filter(Objects::nonNull)
+                .map(Tag::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
@@ -35,6 +35,9 @@ public class CommentResponse {
     @ApiModelProperty(notes = "Сomment id that is being addressed")
     private String commentId;
 
+    @ApiModelProperty(notes = "Comment version, it is also returned as ETag")
+    private long version;
+
     @ApiModelProperty(notes = "Created date")
     private long createdDate;
 
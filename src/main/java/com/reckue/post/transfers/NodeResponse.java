@@ -39,6 +39,9 @@ public class NodeResponse {
     @ApiModelProperty(notes = "Node author identifier")
     private String userId;
 
+    @ApiModelProperty(notes = "Node version, it is also returned as ETag")
+    private long version;
+
     @ApiModelProperty(notes = "Created date")
     private long createdDate;
 
@@ -35,6 +35,9 @@ public class PostResponse {
     @ApiModelProperty(notes = "List of keywords used in the post")
     private List<Tag> tags;
 
+    @ApiModelProperty(notes = "Post version, it is also returned as ETag")
+    private long version;
+
     @ApiModelProperty(notes = "Created date")
     private long createdDate;
 
@@ -0,0 +1,35 @@
+package com.reckue.post.transfers;
+
+import com.reckue.post.models.types.PostStatusType;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Class PostRevisionResponse represents an outgoing DTO for receiving a revision of a post.
+ */
+@Data
+@Builder
+public class PostRevisionResponse {
+
+    @ApiModelProperty(notes = "Post ID")
+    private String postId;
+
+    @ApiModelProperty(notes = "Post version")
+    private long version;
+
+    @ApiModelProperty(notes = "Whether the revision stores all nodes of the post")
+    private boolean snapshot;
+
+    @ApiModelProperty(notes = "Post title in this version")
+    private String title;
+
+    @ApiModelProperty(notes = "Post author id")
+    private String userId;
+
+    @ApiModelProperty(notes = "Post activity status in this version")
+    private PostStatusType status;
+
+    @ApiModelProperty(notes = "Modification date of this version")
+    private long modificationDate;
+}
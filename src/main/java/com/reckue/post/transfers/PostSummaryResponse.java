@@ -0,0 +1,44 @@
+package com.reckue.post.transfers;
+
+import com.reckue.post.models.Tag;
+import com.reckue.post.models.types.PostStatusType;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Class PostSummaryResponse represents an outgoing DTO for receiving a post found by the search, without its nodes.
+ */
+@Data
+@Builder
+public class PostSummaryResponse {
+
+    @ApiModelProperty(notes = "Database generated post ID")
+    private String id;
+
+    @ApiModelProperty(notes = "Post title")
+    private String title;
+
+    @ApiModelProperty(notes = "Post author id")
+    private String userId;
+
+    @ApiModelProperty(notes = "List of keywords used in the post")
+    private List<Tag> tags;
+
+    @ApiModelProperty(notes = "Post activity status")
+    private PostStatusType status;
+
+    @ApiModelProperty(notes = "Created date")
+    private long createdDate;
+
+    @ApiModelProperty(notes = "Modification date")
+    private long modificationDate;
+
+    @ApiModelProperty(notes = "Relevance of the post to the searched text")
+    private double score;
+
+    @ApiModelProperty(notes = "Cursor of the next page if the post is the last one of the page")
+    private String cursor;
+}
@@ -0,0 +1,84 @@
+package com.reckue.post.transfers;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Class RenderedPost represents the serialized PostResponse of one version of the post
+ * and one generation of the names of its tags.
+ * The bytes may be located outside of the heap, in such case they stay valid
+ * only until {@link #release()} is called.
+ */
+public class RenderedPost {
+
+    @Getter
+    private final long version;
+    @Getter
+    private final long generation;
+    private final ByteBuffer json;
+    private final ByteBuffer gzip;
+    private final Runnable release;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    public RenderedPost(long version, long generation, ByteBuffer json, ByteBuffer gzip, Runnable release) {
+        this.version = version;
+        this.generation = generation;
+        this.json = json;
+        this.gzip = gzip;
+        this.release = release;
+    }
+
+    /**
+     * This method is used to create the response which is kept in the heap.
+     *
+     * @param version    the version of the post
+     * @param generation the generation of the names of the post tags
+     * @param json       the serialized response
+     * @param gzip       the serialized response compressed with gzip or null
+     * @return the object of class RenderedPost
+     */
+    public static RenderedPost of(long version, long generation, byte[] json, byte[] gzip) {
+        return new RenderedPost(version, generation, ByteBuffer.wrap(json),
+                gzip == null ? null : ByteBuffer.wrap(gzip), null);
+    }
+
+    /**
+     * This method is used to get the bytes of the response to write.
+     *
+     * @param compressed whether the bytes compressed with gzip are needed
+     * @return read-only buffer of the bytes
+     */
+    public ByteBuffer body(boolean compressed) {
+        return (compressed ? gzip : json).asReadOnlyBuffer();
+    }
+
+    /**
+     * This method is used to check if the response is also compressed with gzip.
+     *
+     * @return true if the compressed bytes are present
+     */
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    /**
+     * This method is used to get the memory taken by the serialized response.
+     *
+     * @return size in bytes
+     */
+    public long size() {
+        return json.remaining() + (gzip == null ? 0 : gzip.remaining());
+    }
+
+    /**
+     * This method is used to tell the storage that the bytes aren't read anymore.
+     * Only the first call has effect.
+     */
+    public void release() {
+        if (release != null && released.compareAndSet(false, true)) {
+            release.run();
+        }
+    }
+}
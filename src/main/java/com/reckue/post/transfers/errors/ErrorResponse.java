@@ -1,5 +1,6 @@
 package com.reckue.post.transfers.errors;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Builder;
@@ -25,6 +26,7 @@ public class ErrorResponse {
     @ApiModelProperty(notes = "Reckue error code")
     private String code;
 
-    @ApiModelProperty(notes = "Stack trace with exception message")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @ApiModelProperty(notes = "Stack trace with exception message, only if it is enabled")
     private String trace;
 }
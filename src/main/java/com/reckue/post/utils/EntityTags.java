@@ -0,0 +1,214 @@
+package com.reckue.post.utils;
+
+import com.reckue.post.exceptions.PreconditionFailedException;
+import com.reckue.post.exceptions.ReckueIllegalArgumentException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Class EntityTags converts versions of the models to HTTP entity tags and back
+ * and answers the conditional requests of the current request.
+ * The representation compressed with gzip has its own entity tag with the gzip suffix.
+ * A representation which also depends on data changed apart from the model, e.g. the names of the tags
+ * kept by reference, has the generation of that data after the version.
+ */
+public class EntityTags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final String GZIP_SUFFIX = "-gzip";
+    private static final char GENERATION_SEPARATOR = '.';
+
+    /**
+     * This method is used to build an entity tag from the version of the model.
+     *
+     * @param version the version of the model, null for the models saved before versioning
+     * @return the entity tag
+     */
+    public static String of(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * This method is used to build an entity tag from the version of the model and the content coding.
+     *
+     * @param version the version of the model, null for the models saved before versioning
+     * @param gzip    whether the representation is compressed with gzip
+     * @return the entity tag
+     */
+    public static String of(Long version, boolean gzip) {
+        return of(version, 0, gzip);
+    }
+
+    /**
+     * This method is used to build an entity tag from the version of the model, the generation of the data
+     * the representation depends on apart from the model and the content coding.
+     *
+     * @param version    the version of the model, null for the models saved before versioning
+     * @param generation the generation of the other data, zero if there is no such data
+     * @param gzip       whether the representation is compressed with gzip
+     * @return the entity tag
+     */
+    public static String of(Long version, long generation, boolean gzip) {
+        return "\"" + (version == null ? 0 : version)
+                + (generation == 0 ? "" : GENERATION_SEPARATOR + Long.toHexString(generation))
+                + (gzip ? GZIP_SUFFIX : "") + "\"";
+    }
+
+    /**
+     * This method is used to check if the client accepts gzip by the Accept-Encoding header.
+     * The codings with the zero quality value aren't accepted, gzip is accepted by the asterisk
+     * unless it is listed itself.
+     *
+     * @param acceptEncoding value of the Accept-Encoding header or null
+     * @return true if the response can be compressed with gzip
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parameters);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = quality;
+            } else if (name.equals("*")) {
+                any = quality;
+            }
+        }
+        return gzip != null ? gzip > 0 : any != null && any > 0;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * This method is used to build an entity tag from the content of a model without a version.
+     * The tag is a 64-bit FNV-1a hash of the parts, so it changes whenever any of them changes.
+     *
+     * @param parts the parts of the content
+     * @return the entity tag
+     */
+    public static String ofContent(Collection<String> parts) {
+        return "\"" + Long.toHexString(hash(parts)) + "\"";
+    }
+
+    /**
+     * This method is used to get the 64-bit FNV-1a hash of the parts.
+     *
+     * @param parts the parts of the content
+     * @return the hash
+     */
+    public static long hash(Collection<String> parts) {
+        long hash = FNV_OFFSET;
+        for (String part : parts) {
+            String value = String.valueOf(part);
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+            hash = (hash ^ 0xffff) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * This method is used to check if the current request has If-None-Match or If-Modified-Since header.
+     *
+     * @return true if the request is conditional
+     */
+    public static boolean isConditional() {
+        HttpServletRequest request = currentRequest();
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * This method is used to check if the client already has the representation of the current request.
+     * The entity tag takes precedence over the modification date as in RFC 7232.
+     *
+     * @param entityTag    the entity tag of the current representation
+     * @param lastModified the modification date of the model or null if it is unknown
+     * @return true if the response should be 304 Not Modified
+     */
+    public static boolean isNotModified(String entityTag, Instant lastModified) {
+        return new ServletWebRequest(currentRequest())
+                .checkNotModified(entityTag, lastModified == null ? -1 : lastModified.toEpochMilli());
+    }
+
+    /**
+     * This method is used to add the validators of the representation to the response.
+     *
+     * @param response     the response being built
+     * @param entityTag    the entity tag of the representation
+     * @param lastModified the modification date of the model or null if it is unknown
+     * @return the same response
+     */
+    public static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder response,
+                                                            String entityTag, Instant lastModified) {
+        response.eTag(entityTag);
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+        return response;
+    }
+
+    /**
+     * This method is used to get the version of the model from the If-Match header.
+     * The If-Match header is compared strongly, so a weak tag never matches.
+     * The tag of the representation compressed with gzip or with a generation has the same version.
+     * Throws {@link ReckueIllegalArgumentException} in case if the header isn't a version tag.
+     * Throws {@link PreconditionFailedException} in case if the header is a weak tag.
+     *
+     * @param ifMatch value of the If-Match header
+     * @return the expected version or null if any version is acceptable
+     */
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match header is a weak entity tag, it never matches");
+        }
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        if (tag.endsWith(GZIP_SUFFIX)) {
+            tag = tag.substring(0, tag.length() - GZIP_SUFFIX.length());
+        }
+        if (tag.indexOf(GENERATION_SEPARATOR) >= 0) {
+            tag = tag.substring(0, tag.indexOf(GENERATION_SEPARATOR));
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new ReckueIllegalArgumentException("If-Match header is incorrect");
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+    }
+}
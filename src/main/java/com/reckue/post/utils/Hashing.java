@@ -0,0 +1,39 @@
+package com.reckue.post.utils;
+
+/**
+ * Class Hashing computes the 64-bit hashes of strings which are the same in every instance,
+ * unlike the hash codes of the strings, so the hashes can be stored and compared later.
+ */
+public class Hashing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * This method is used to compute the hash of the string by FNV-1a, mixed so all the bits depend on the string.
+     *
+     * @param value the string
+     * @return the hash
+     */
+    public static long hash(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * This method is used to mix the bits of the value by the finalizer of SplitMix64.
+     *
+     * @param value the value
+     * @return the mixed value
+     */
+    public static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
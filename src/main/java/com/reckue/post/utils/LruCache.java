@@ -0,0 +1,97 @@
+package com.reckue.post.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Class LruCache represents a thread-safe cache which evicts the least recently used entries
+ * when the total weight of the values exceeds the capacity.
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public class LruCache<K, V> {
+
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long capacity;
+    private final ToLongFunction<V> weigher;
+    private long weight;
+
+    public LruCache(long capacity, ToLongFunction<V> weigher) {
+        this.capacity = capacity;
+        this.weigher = weigher;
+    }
+
+    /**
+     * This method is used to get the value and mark it as recently used.
+     *
+     * @param key the key
+     * @return the value or null if it isn't cached
+     */
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * This method is used to put the value, the values heavier than the whole capacity aren't cached.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public synchronized void put(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > capacity) {
+            return;
+        }
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            weight -= weigher.applyAsLong(previous);
+        }
+        weight += valueWeight;
+        Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+        while (weight > capacity && eldest.hasNext()) {
+            weight -= weigher.applyAsLong(eldest.next().getValue());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * This method is used to remove the value.
+     *
+     * @param key the key
+     */
+    public synchronized void remove(K key) {
+        V previous = entries.remove(key);
+        if (previous != null) {
+            weight -= weigher.applyAsLong(previous);
+        }
+    }
+
+    /**
+     * This method is used to remove all the values.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * This method is used to get quantity of the cached values.
+     *
+     * @return quantity of values
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * This method is used to get total weight of the cached values.
+     *
+     * @return total weight
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+}
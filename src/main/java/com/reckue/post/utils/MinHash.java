@@ -0,0 +1,132 @@
+package com.reckue.post.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Class MinHash computes the signatures of sets whose share of equal positions estimates
+ * the Jaccard similarity of the sets. The signature is split into bands of rows,
+ * two sets similar enough have an equal band with high probability,
+ * so the candidates for a set are found by its band keys.
+ */
+public class MinHash {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final long[] seeds;
+    private final int bands;
+    private final int rows;
+
+    /**
+     * This constructor is used to set up the hash functions, they are the same in every instance,
+     * so the signatures computed anywhere can be compared.
+     *
+     * @param hashes quantity of the hash functions, the length of the signature
+     * @param bands  quantity of the bands, it must divide the quantity of the hash functions
+     */
+    public MinHash(int hashes, int bands) {
+        if (hashes <= 0 || bands <= 0 || hashes % bands != 0) {
+            throw new IllegalArgumentException("Quantity of bands must divide quantity of hashes");
+        }
+        this.seeds = new SplittableRandom(SEED).longs(hashes).toArray();
+        this.bands = bands;
+        this.rows = hashes / bands;
+    }
+
+    /**
+     * This method is used to compute the signature of the set.
+     *
+     * @param shingles the elements of the set
+     * @return the minimal values of every hash function or an empty array if the set is empty
+     */
+    public int[] signature(Collection<String> shingles) {
+        if (shingles.isEmpty()) {
+            return new int[0];
+        }
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long hash = Hashing.hash(shingle);
+            for (int i = 0; i < seeds.length; i++) {
+                int value = (int) (Hashing.mix(hash ^ seeds[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * This method is used to compute the keys of the bands of the signature,
+     * the key includes the band number, so equal rows of different bands don't match.
+     *
+     * @param signature the signature computed by this object
+     * @return list of band keys or an empty list if the signature is empty
+     */
+    public List<String> bands(int[] signature) {
+        List<String> keys = new ArrayList<>(signature.length == 0 ? 0 : bands);
+        for (int band = 0; band < bands && signature.length > 0; band++) {
+            long hash = band;
+            for (int row = band * rows; row < (band + 1) * rows; row++) {
+                hash = Hashing.mix(hash * 31 + signature[row]);
+            }
+            keys.add(band + ":" + Long.toHexString(hash));
+        }
+        return keys;
+    }
+
+    /**
+     * This method is used to estimate the Jaccard similarity of two sets by their signatures.
+     *
+     * @param first  signature of the first set
+     * @param second signature of the second set
+     * @return the share of equal positions or zero if the signatures aren't comparable
+     */
+    public static double similarity(int[] first, int[] second) {
+        if (first.length == 0 || first.length != second.length) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / first.length;
+    }
+
+    /**
+     * This method is used to split the text into shingles of consecutive words, ignoring case and punctuation.
+     * A text shorter than a shingle is a single shingle.
+     *
+     * @param text the text
+     * @param size quantity of words in a shingle
+     * @return set of shingles
+     */
+    public static Set<String> shingles(String text, int size) {
+        Set<String> shingles = new LinkedHashSet<>();
+        if (text == null) {
+            return shingles;
+        }
+        String[] words = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+        if (words.length <= size) {
+            if (words.length > 0) {
+                shingles.add(String.join(" ", words));
+            }
+            return shingles;
+        }
+        for (int i = 0; i + size <= words.length; i++) {
+            shingles.add(String.join(" ", Arrays.copyOfRange(words, i, i + size)));
+        }
+        return shingles;
+    }
+}
@@ -0,0 +1,64 @@
+package com.reckue.post.utils;
+
+import com.reckue.post.transfers.RenderedPost;
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Class RenderedPostHttpMessageConverter writes the serialized post responses as they are.
+ * The compressed bytes are written when the response has the gzip content encoding.
+ * The bytes are passed to Tomcat as a buffer, so the off-heap responses aren't copied to the heap.
+ */
+public class RenderedPostHttpMessageConverter extends AbstractHttpMessageConverter<RenderedPost> {
+
+    public RenderedPostHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON, MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RenderedPost.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RenderedPost readInternal(Class<? extends RenderedPost> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Rendered posts can't be read", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(RenderedPost rendered, MediaType contentType) {
+        return null;
+    }
+
+    @Override
+    protected void writeInternal(RenderedPost rendered, HttpOutputMessage outputMessage) throws IOException {
+        boolean compressed = "gzip".equals(outputMessage.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        ByteBuffer body = rendered.body(compressed);
+        outputMessage.getHeaders().setContentLength(body.remaining());
+        OutputStream stream = outputMessage.getBody();
+        if (stream instanceof CoyoteOutputStream) {
+            ((CoyoteOutputStream) stream).write(body);
+            return;
+        }
+        WritableByteChannel channel = Channels.newChannel(stream);
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+    }
+}
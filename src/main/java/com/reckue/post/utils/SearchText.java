@@ -0,0 +1,56 @@
+package com.reckue.post.utils;
+
+import com.reckue.post.models.Node;
+import com.reckue.post.models.nodes.ListNode;
+import com.reckue.post.models.nodes.PollNode;
+import com.reckue.post.models.nodes.TextContent;
+
+import java.util.List;
+
+/**
+ * Class SearchText joins the text of the nodes of a post into the plain text indexed by the search.
+ * The contents of text and code nodes, the items of list nodes and the titles of poll nodes are joined by lines.
+ */
+public class SearchText {
+
+    /**
+     * This method is used to join the text of the nodes, the text is cut at the maximal length.
+     * The contents of the nodes must be resolved, the nodes with only a blob identifier are skipped.
+     *
+     * @param nodes     list of objects of class Node
+     * @param maxLength maximal length of the text
+     * @return the text, empty if the nodes have no text
+     */
+    public static String of(List<Node> nodes, int maxLength) {
+        StringBuilder text = new StringBuilder();
+        if (nodes == null) {
+            return "";
+        }
+        for (Node node : nodes) {
+            if (node == null) {
+                continue;
+            }
+            if (node.getNode() instanceof TextContent) {
+                append(text, ((TextContent) node.getNode()).getContent(), maxLength);
+            } else if (node.getNode() instanceof ListNode && ((ListNode) node.getNode()).getContent() != null) {
+                ((ListNode) node.getNode()).getContent().forEach(item -> append(text, item, maxLength));
+            } else if (node.getNode() instanceof PollNode) {
+                append(text, ((PollNode) node.getNode()).getTitle(), maxLength);
+            }
+            if (text.length() >= maxLength) {
+                break;
+            }
+        }
+        return text.length() > maxLength ? text.substring(0, maxLength) : text.toString();
+    }
+
+    private static void append(StringBuilder text, String value, int maxLength) {
+        if (value == null || value.isEmpty() || text.length() >= maxLength) {
+            return;
+        }
+        if (text.length() > 0) {
+            text.append('\n');
+        }
+        text.append(value, 0, Math.min(value.length(), Math.max(maxLength - text.length(), 0)));
+    }
+}
@@ -0,0 +1,67 @@
+package com.reckue.post.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Class SimHash computes the 64-bit fingerprints of texts whose Hamming distance is small for similar texts.
+ * Every bit of the fingerprint is the sign of the sum of the bits of the feature hashes.
+ * The fingerprint is split into blocks, the fingerprints within the distance have at least one equal block,
+ * so the candidates for a fingerprint are found by its block keys.
+ */
+public class SimHash {
+
+    /**
+     * This method is used to compute the fingerprint of the features of the text.
+     *
+     * @param features the features, repeated features weigh more
+     * @return the fingerprint or zero if there are no features
+     */
+    public static long fingerprint(Collection<String> features) {
+        int[] weights = new int[Long.SIZE];
+        for (String feature : features) {
+            long hash = Hashing.hash(feature);
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                weights[bit] += (hash >>> bit & 1) == 1 ? 1 : -1;
+            }
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * This method is used to get the quantity of different bits of the fingerprints.
+     *
+     * @param first  the first fingerprint
+     * @param second the second fingerprint
+     * @return the Hamming distance
+     */
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    /**
+     * This method is used to compute the keys of the blocks of the fingerprint.
+     * The fingerprints within the distance of one less than the quantity of blocks have an equal block key.
+     *
+     * @param fingerprint the fingerprint
+     * @param blocks      quantity of blocks
+     * @return list of block keys
+     */
+    public static List<String> blocks(long fingerprint, int blocks) {
+        List<String> keys = new ArrayList<>(blocks);
+        for (int block = 0; block < blocks; block++) {
+            int from = block * Long.SIZE / blocks;
+            int to = (block + 1) * Long.SIZE / blocks;
+            long mask = to - from == Long.SIZE ? -1L : (1L << (to - from)) - 1;
+            keys.add(block + ":" + Long.toHexString(fingerprint >>> from & mask));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,103 @@
+package com.reckue.post.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Class SingleFlight coalesces the concurrent reads of the same key into one.
+ * The first caller of a key reads it, the callers coming while the read is in flight
+ * wait for its result or exception instead of repeating it. Nothing is kept after the read finishes.
+ * <p>
+ * The result is shared by all the waiting callers, so they must not modify it.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the result
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final long timeout;
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter timedOut;
+
+    public SingleFlight(String name, long timeout, MeterRegistry registry) {
+        this.timeout = timeout;
+        this.executed = counter(registry, name, "executed");
+        this.coalesced = counter(registry, name, "coalesced");
+        this.timedOut = counter(registry, name, "timeout");
+    }
+
+    /**
+     * This method is used to read the key or to join the read of the key in flight.
+     * A caller that waits longer than the timeout reads the key by itself.
+     *
+     * @param key    the key
+     * @param loader the read of the key
+     * @return the result of the read
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            coalesced.increment();
+            return await(inFlight, loader);
+        }
+        executed.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /**
+     * This method is used to get quantity of the reads in flight.
+     *
+     * @return quantity of keys
+     */
+    public int inFlight() {
+        return calls.size();
+    }
+
+    private V await(CompletableFuture<V> inFlight, Supplier<V> loader) {
+        try {
+            return inFlight.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String result) {
+        return Counter.builder("reckue.single.flight")
+                .description("Reads coalesced by key")
+                .tag("name", name)
+                .tag("result", result)
+                .register(registry);
+    }
+}
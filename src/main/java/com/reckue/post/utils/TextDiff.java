@@ -0,0 +1,55 @@
+package com.reckue.post.utils;
+
+import com.reckue.post.models.revisions.TextPatch;
+
+/**
+ * Class TextDiff allows to compute and apply the patches of text.
+ * The patch is a single replacement of the text between the common prefix and the common suffix,
+ * which is exact for any change and is as small as the change for the usual edit of one place.
+ */
+public class TextDiff {
+
+    /**
+     * This method is used to compute the patch which turns one text into another.
+     *
+     * @param source previous text
+     * @param target new text
+     * @return the patch or null if the texts are equal
+     */
+    public static TextPatch diff(String source, String target) {
+        if (source.equals(target)) {
+            return null;
+        }
+        int limit = Math.min(source.length(), target.length());
+        int prefix = 0;
+        while (prefix < limit && source.charAt(prefix) == target.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < limit - prefix
+                && source.charAt(source.length() - 1 - suffix) == target.charAt(target.length() - 1 - suffix)) {
+            suffix++;
+        }
+        return TextPatch.builder()
+                .position(prefix)
+                .removed(source.length() - prefix - suffix)
+                .inserted(target.substring(prefix, target.length() - suffix))
+                .build();
+    }
+
+    /**
+     * This method is used to apply the patch to the text.
+     *
+     * @param source text
+     * @param patch  the patch or null
+     * @return patched text
+     */
+    public static String apply(String source, TextPatch patch) {
+        if (patch == null) {
+            return source;
+        }
+        return source.substring(0, patch.getPosition())
+                + patch.getInserted()
+                + source.substring(patch.getPosition() + patch.getRemoved());
+    }
+}
@@ -0,0 +1,48 @@
+package com.reckue.post.utils.caches;
+
+import com.reckue.post.transfers.RenderedPost;
+import com.reckue.post.utils.LruCache;
+
+/**
+ * Class HeapRenderedPostStore keeps the serialized responses in the heap
+ * and evicts the least recently used ones.
+ */
+public class HeapRenderedPostStore implements RenderedPostStore {
+
+    private final LruCache<String, RenderedPost> cache;
+
+    public HeapRenderedPostStore(long capacity) {
+        this.cache = new LruCache<>(capacity, RenderedPost::size);
+    }
+
+    @Override
+    public RenderedPost find(String id, long version) {
+        RenderedPost rendered = cache.get(id);
+        return rendered == null || rendered.getVersion() != version ? null : rendered;
+    }
+
+    @Override
+    public void put(String id, RenderedPost rendered) {
+        cache.put(id, rendered);
+    }
+
+    @Override
+    public void remove(String id) {
+        cache.remove(id);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public long bytes() {
+        return cache.weight();
+    }
+}
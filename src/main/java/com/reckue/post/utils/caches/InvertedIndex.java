@@ -0,0 +1,480 @@
+package com.reckue.post.utils.caches;
+
+import com.reckue.post.models.PostSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.BiPredicate;
+import java.util.function.IntPredicate;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Class InvertedIndex is an in-memory index of the words of the post titles and tags for the search as you type.
+ * Every post gets a number growing with the order of adding, the postings of a word are the sorted numbers
+ * of the posts with it. The postings of the short prefixes of the words are kept as well,
+ * so the last word being typed is found without merging the postings of all the words starting with it.
+ * A longer prefix is found by merging the postings of the words starting with it lazily from the newest posts,
+ * so only the part of them reached by the page is read.
+ * The postings are intersected from the shortest one, going from the newest posts and galloping through
+ * the other postings, so a page of the newest matching posts is found without reading all the postings.
+ * The index keeps the given quantity of posts and forgets the oldest ones when more posts are added.
+ * The numbers of the removed posts and the words dropped by a change of a post are left in the postings
+ * and counted as dead, the removed numbers are marked in a bitmap and skipped by the intersection,
+ * the found posts are checked against their words. A postings is compacted at once when half of it is dead,
+ * so a removal doesn't shift the big postings and the compaction is paid by a batch of removals.
+ */
+public class InvertedIndex {
+
+    private static final int MAX_WORD_LENGTH = 32;
+
+    private final int capacity;
+    private final int prefixLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Document> byId = new HashMap<>();
+    private final TreeMap<Integer, Document> byNumber = new TreeMap<>();
+    private final TreeMap<String, Postings> words = new TreeMap<>();
+    private final Map<String, Postings> prefixes = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private int nextNumber;
+
+    /**
+     * This constructor is used to make an empty index.
+     *
+     * @param capacity     maximal quantity of the indexed posts, it bounds the memory of the index
+     * @param prefixLength maximal length of the prefixes whose postings are kept
+     */
+    public InvertedIndex(int capacity, int prefixLength) {
+        this.capacity = capacity;
+        this.prefixLength = prefixLength;
+    }
+
+    /**
+     * This method is used to add the post or replace its words, the replaced post keeps its place in the order.
+     *
+     * @param id    the post identifier
+     * @param title the post title
+     * @param tags  the names of the post tags
+     */
+    public void put(String id, String title, Collection<String> tags) {
+        Set<String> terms = new LinkedHashSet<>(tokens(title));
+        tags.forEach(tag -> terms.addAll(tokens(tag)));
+        lock.writeLock().lock();
+        try {
+            Document previous = byId.get(id);
+            int number = previous == null ? nextNumber++ : previous.number;
+            Document document = new Document(number, id, title, terms.toArray(new String[0]));
+            byId.put(id, document);
+            byNumber.put(number, document);
+            Set<String> previousWords = previous == null ? Set.of() : new HashSet<>(Arrays.asList(previous.terms));
+            Set<String> previousPrefixes = previous == null ? Set.of() : prefixes(previous.terms);
+            Set<String> documentPrefixes = prefixes(document.terms);
+            link(words, Arrays.asList(document.terms), previousWords, number);
+            link(prefixes, documentPrefixes, previousPrefixes, number);
+            if (previous != null) {
+                Set<String> documentWords = new HashSet<>(Arrays.asList(document.terms));
+                unlink(words, previousWords, documentWords, Document::hasWord);
+                unlink(prefixes, previousPrefixes, documentPrefixes, Document::hasPrefix);
+            }
+            while (byId.size() > capacity) {
+                remove(byNumber.firstEntry().getValue().id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method is used to remove the post.
+     *
+     * @param id the post identifier
+     */
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Document document = byId.remove(id);
+            if (document != null) {
+                byNumber.remove(document.number);
+                removed.set(document.number);
+                unlink(words, Arrays.asList(document.terms), Set.of(), Document::hasWord);
+                unlink(prefixes, prefixes(document.terms), Set.of(), Document::hasPrefix);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method is used to find the newest posts with all the words of the query,
+     * the last word of the query is a prefix.
+     *
+     * @param query the typed text
+     * @param limit quantity of posts
+     * @return list of objects of class PostSummary with identifiers and titles, the newest posts go first
+     */
+    public List<PostSummary> search(String query, int limit) {
+        List<String> terms = tokens(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<String> exact = terms.subList(0, terms.size() - 1);
+            String last = terms.get(terms.size() - 1);
+            List<Cursor> cursors = new ArrayList<>(terms.size());
+            for (String term : exact) {
+                Postings postings = words.get(term);
+                cursors.add(postings == null ? null : new PostingsCursor(postings));
+            }
+            cursors.add(prefix(last));
+            if (cursors.stream().anyMatch(cursor -> cursor == null || cursor.size() == 0)) {
+                return List.of();
+            }
+            cursors.sort(Comparator.comparingInt(Cursor::size));
+            List<PostSummary> found = new ArrayList<>(limit);
+            IntPredicate matches = number -> {
+                Document document = byNumber.get(number);
+                return exact.stream().allMatch(document::hasWord) && document.hasPrefix(last);
+            };
+            for (int number : intersect(cursors, limit, removed, matches)) {
+                Document document = byNumber.get(number);
+                found.add(PostSummary.builder().id(document.id).title(document.title).build());
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method is used to split the text into the lower-cased words, ignoring punctuation.
+     *
+     * @param text the text
+     * @return list of words, the long words are cut
+     */
+    public static List<String> tokens(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                tokens.add(word.length() > MAX_WORD_LENGTH ? word.substring(0, MAX_WORD_LENGTH) : word);
+            }
+        }
+        return tokens;
+    }
+
+    private Cursor prefix(String prefix) {
+        if (prefix.length() <= prefixLength) {
+            Postings postings = prefixes.get(prefix);
+            return postings == null ? null : new PostingsCursor(postings);
+        }
+        Collection<Postings> matching = words.subMap(prefix, prefix + Character.MAX_VALUE).values();
+        if (matching.isEmpty()) {
+            return null;
+        }
+        if (matching.size() == 1) {
+            return new PostingsCursor(matching.iterator().next());
+        }
+        return new UnionCursor(matching);
+    }
+
+    /**
+     * This method is used to find the greatest numbers contained in all the postings.
+     * The cursors only go down, the shortest one is moved to the greatest number not greater
+     * than the one found by the other cursors, so the skipped numbers of the long postings aren't read.
+     * The removed numbers are skipped, the numbers found by all the cursors are checked with the predicate,
+     * because the postings of the words dropped by a change of a post still hold its number.
+     */
+    private static int[] intersect(List<Cursor> cursors, int limit, BitSet removed, IntPredicate matches) {
+        Cursor shortest = cursors.get(0);
+        int[] found = new int[limit];
+        int count = 0;
+        int target = Integer.MAX_VALUE;
+        while (count < limit) {
+            int number = shortest.seek(target);
+            if (number < 0) {
+                break;
+            }
+            if (removed.get(number)) {
+                target = number - 1;
+                continue;
+            }
+            boolean all = true;
+            target = number - 1;
+            for (int i = 1; i < cursors.size() && all; i++) {
+                int other = cursors.get(i).seek(number);
+                all = other == number;
+                if (!all) {
+                    target = other;
+                }
+            }
+            if (all && matches.test(number)) {
+                found[count++] = number;
+            } else if (target < 0) {
+                break;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    private Set<String> prefixes(String[] terms) {
+        Set<String> keys = new HashSet<>();
+        for (String term : terms) {
+            for (int length = 1; length <= Math.min(prefixLength, term.length()); length++) {
+                keys.add(term.substring(0, length));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * This method is used to add the number to the postings of the keys, except the kept ones.
+     * The number found in the postings was left there dead by a previous change of the post, so it is alive again.
+     */
+    private static void link(Map<String, Postings> postings, Collection<String> keys, Set<String> kept, int number) {
+        for (String key : keys) {
+            if (!kept.contains(key) && !postings.computeIfAbsent(key, k -> new Postings()).add(number)) {
+                postings.get(key).dead--;
+            }
+        }
+    }
+
+    /**
+     * This method is used to count the number as dead in the postings of the keys, except the kept ones,
+     * and to compact the postings which are half dead.
+     */
+    private void unlink(Map<String, Postings> postings, Collection<String> keys, Set<String> kept,
+                        BiPredicate<Document, String> contains) {
+        for (String key : keys) {
+            Postings list = postings.get(key);
+            if (list == null || kept.contains(key)) {
+                continue;
+            }
+            list.dead++;
+            if (list.dead * 2 >= list.size) {
+                list.retain(alive -> {
+                    Document document = byNumber.get(alive);
+                    return document != null && contains.test(document, key);
+                });
+                if (list.size == 0) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    private static class Document {
+
+        private final int number;
+        private final String id;
+        private final String title;
+        private final String[] terms;
+
+        private Document(int number, String id, String title, String[] terms) {
+            this.number = number;
+            this.id = id;
+            this.title = title;
+            this.terms = terms;
+        }
+
+        private boolean hasWord(String word) {
+            for (String term : terms) {
+                if (term.equals(word)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean hasPrefix(String prefix) {
+            for (String term : terms) {
+                if (term.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Class Postings keeps the numbers of the posts sorted ascending in an array.
+     * The new posts have the greatest numbers, so they are appended.
+     * The dead numbers stay in the array until it is compacted.
+     */
+    private static class Postings {
+
+        private int[] numbers = new int[2];
+        private int size;
+        private int dead;
+
+        /**
+         * This method is used to add the number.
+         *
+         * @return false if the number is already contained
+         */
+        private boolean add(int number) {
+            int index = size == 0 || numbers[size - 1] < number
+                    ? -size - 1
+                    : Arrays.binarySearch(numbers, 0, size, number);
+            if (index >= 0) {
+                return false;
+            }
+            int position = -index - 1;
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size * 2);
+            }
+            System.arraycopy(numbers, position, numbers, position + 1, size - position);
+            numbers[position] = number;
+            size++;
+            return true;
+        }
+
+        /**
+         * This method is used to keep only the alive numbers in one pass and to shrink the array.
+         *
+         * @param alive the check of a number
+         */
+        private void retain(IntPredicate alive) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (alive.test(numbers[i])) {
+                    numbers[kept++] = numbers[i];
+                }
+            }
+            size = kept;
+            dead = 0;
+            if (size < numbers.length / 4) {
+                numbers = Arrays.copyOf(numbers, Math.max(size * 2, 2));
+            }
+        }
+
+        /**
+         * This method is used to find the position of the greatest number not greater than the target,
+         * starting from the position and going down by doubling steps, then by binary search within the last step.
+         *
+         * @return the position or -1 if all the numbers below the position are greater
+         */
+        private int gallop(int from, int target) {
+            if (from < 0 || numbers[from] <= target) {
+                return from;
+            }
+            int step = 1;
+            int high = from;
+            int low = from - step;
+            while (low >= 0 && numbers[low] > target) {
+                high = low;
+                step <<= 1;
+                low = from - step;
+            }
+            int index = Arrays.binarySearch(numbers, Math.max(low, 0), high, target);
+            return index >= 0 ? index : -index - 2;
+        }
+    }
+
+    /**
+     * Interface Cursor goes down the sorted numbers of the posts.
+     */
+    private interface Cursor {
+
+        /**
+         * This method is used to get the quantity of the numbers or its upper bound.
+         *
+         * @return quantity of numbers
+         */
+        int size();
+
+        /**
+         * This method is used to move the cursor down to the greatest number not greater than the target.
+         *
+         * @param target the target number, not greater than the previous target
+         * @return the number or -1 if there are no such numbers
+         */
+        int seek(int target);
+    }
+
+    private static class PostingsCursor implements Cursor {
+
+        private final Postings postings;
+        private int position;
+
+        private PostingsCursor(Postings postings) {
+            this.postings = postings;
+            this.position = postings.size - 1;
+        }
+
+        @Override
+        public int size() {
+            return postings.size;
+        }
+
+        @Override
+        public int seek(int target) {
+            position = postings.gallop(position, target);
+            return current();
+        }
+
+        private int current() {
+            return position < 0 ? -1 : postings.numbers[position];
+        }
+    }
+
+    /**
+     * Class UnionCursor merges the postings of several words, the cursors of the words are kept
+     * in a heap by their current numbers, so only the cursors above the target are moved.
+     */
+    private static class UnionCursor implements Cursor {
+
+        private final PriorityQueue<PostingsCursor> heap;
+        private final int size;
+
+        private UnionCursor(Collection<Postings> postings) {
+            this.heap = new PriorityQueue<>(postings.size(),
+                    Comparator.comparingInt(PostingsCursor::current).reversed());
+            int total = 0;
+            for (Postings list : postings) {
+                heap.add(new PostingsCursor(list));
+                total += list.size;
+            }
+            this.size = total;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int seek(int target) {
+            while (!heap.isEmpty() && heap.peek().current() > target) {
+                PostingsCursor cursor = heap.poll();
+                if (cursor.seek(target) >= 0) {
+                    heap.add(cursor);
+                }
+            }
+            return heap.isEmpty() ? -1 : heap.peek().current();
+        }
+    }
+}
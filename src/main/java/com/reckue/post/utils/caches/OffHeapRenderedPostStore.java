@@ -0,0 +1,361 @@
+package com.reckue.post.utils.caches;
+
+import com.reckue.post.transfers.RenderedPost;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class OffHeapRenderedPostStore keeps the serialized responses in direct buffers outside of the heap,
+ * only a small index of the post identifiers to the locations of their bytes stays in the heap.
+ * <p>
+ * The memory is allocated by slabs of the same size. Every slab is cut into chunks of one size class,
+ * the classes are powers of two from 1 KB up to the slab size, and a response takes the smallest chunk it fits.
+ * When a class has no free chunks and all the slabs are taken, a chunk of the class is evicted
+ * with the CLOCK algorithm: the hand skips and clears the recently read chunks and takes the first other one.
+ * The chunks being written to the clients are pinned and never evicted or reused until they are released.
+ * <p>
+ * A slab isn't kept by its class forever, otherwise the classes which took all the slabs first would keep them
+ * when the sizes of the responses change. A class which has to evict while another class has at least two slabs
+ * more takes the coldest slab of the class with the most slabs: all its responses are evicted and it is cut again.
+ * A class which can't evict takes a slab of any other class. If the direct memory runs out,
+ * no more slabs are allocated and the taken ones are shared this way.
+ */
+public class OffHeapRenderedPostStore implements RenderedPostStore {
+
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    private final int slabSize;
+    private int maxSlabs;
+    private final List<Slab> slabs = new ArrayList<>();
+    private final List<SizeClass> classes = new ArrayList<>();
+    private final Map<String, Entry> index = new HashMap<>();
+    private long bytes;
+
+    public OffHeapRenderedPostStore(long capacity, int slabSize) {
+        this.slabSize = Math.max(slabSize, MIN_CHUNK_SIZE);
+        this.maxSlabs = (int) Math.min(Integer.MAX_VALUE, capacity / this.slabSize);
+        for (long size = MIN_CHUNK_SIZE; size <= this.slabSize; size *= 2) {
+            classes.add(new SizeClass((int) size));
+        }
+    }
+
+    /**
+     * This method is used to get the stored response of the version of the post.
+     * The response refers to the stored bytes, so its chunk is pinned until the response is released.
+     *
+     * @param id      the post identifier
+     * @param version the version of the post
+     * @return the object of class RenderedPost or null if the version isn't stored
+     */
+    @Override
+    public synchronized RenderedPost find(String id, long version) {
+        Entry entry = index.get(id);
+        if (entry == null || entry.version != version) {
+            return null;
+        }
+        Chunk chunk = entry.chunk;
+        chunk.referenced = true;
+        entry.pins++;
+        ByteBuffer json = slice(chunk, 0, entry.jsonLength);
+        ByteBuffer gzip = entry.gzipLength < 0 ? null : slice(chunk, entry.jsonLength, entry.gzipLength);
+        return new RenderedPost(entry.version, entry.generation, json, gzip, () -> unpin(entry));
+    }
+
+    /**
+     * This method is used to copy the response of the post to a chunk, replacing the previous one.
+     * The response isn't stored if it is bigger than a slab or every chunk of its class is pinned.
+     *
+     * @param id       the post identifier
+     * @param rendered the response kept in the heap
+     */
+    @Override
+    public synchronized void put(String id, RenderedPost rendered) {
+        remove(id);
+        ByteBuffer json = rendered.body(false);
+        ByteBuffer gzip = rendered.hasGzip() ? rendered.body(true) : null;
+        int length = json.remaining() + (gzip == null ? 0 : gzip.remaining());
+        SizeClass sizeClass = sizeClass(length);
+        Chunk chunk = sizeClass == null ? null : allocate(sizeClass);
+        if (chunk == null) {
+            return;
+        }
+        Entry entry = new Entry(id, rendered.getVersion(), rendered.getGeneration(), chunk, json.remaining(),
+                gzip == null ? -1 : gzip.remaining());
+        ByteBuffer target = chunk.slab.buffer.duplicate();
+        target.position(chunk.offset);
+        target.put(json);
+        if (gzip != null) {
+            target.put(gzip);
+        }
+        chunk.entry = entry;
+        chunk.referenced = false;
+        index.put(id, entry);
+        bytes += length;
+    }
+
+    /**
+     * This method is used to remove the response of the post.
+     * The chunk of a pinned response is freed when the last reader releases it.
+     *
+     * @param id the post identifier
+     */
+    @Override
+    public synchronized void remove(String id) {
+        Entry entry = index.remove(id);
+        if (entry == null) {
+            return;
+        }
+        bytes -= entry.length();
+        entry.removed = true;
+        if (entry.pins == 0) {
+            free(entry.chunk);
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        new ArrayList<>(index.keySet()).forEach(this::remove);
+    }
+
+    @Override
+    public synchronized int size() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    /**
+     * This method is used to get quantity of the allocated slabs.
+     *
+     * @return quantity of slabs
+     */
+    public synchronized int slabs() {
+        return slabs.size();
+    }
+
+    private synchronized void unpin(Entry entry) {
+        entry.pins--;
+        if (entry.pins == 0 && entry.removed) {
+            free(entry.chunk);
+        }
+    }
+
+    private ByteBuffer slice(Chunk chunk, int offset, int length) {
+        ByteBuffer buffer = chunk.slab.buffer.duplicate();
+        buffer.position(chunk.offset + offset).limit(chunk.offset + offset + length);
+        return buffer.slice().asReadOnlyBuffer();
+    }
+
+    private SizeClass sizeClass(int length) {
+        for (SizeClass sizeClass : classes) {
+            if (length <= sizeClass.chunkSize) {
+                return sizeClass;
+            }
+        }
+        return null;
+    }
+
+    private Chunk allocate(SizeClass sizeClass) {
+        if (sizeClass.free.isEmpty() && slabs.size() < maxSlabs) {
+            try {
+                Slab slab = new Slab(ByteBuffer.allocateDirect(slabSize));
+                slabs.add(slab);
+                cut(slab, sizeClass);
+            } catch (OutOfMemoryError e) {
+                maxSlabs = slabs.size();
+            }
+        }
+        if (!sizeClass.free.isEmpty()) {
+            return sizeClass.free.pop();
+        }
+        SizeClass richest = richestClass(sizeClass);
+        if (richest != null && richest.slabs.size() > sizeClass.slabs.size() + 1) {
+            Slab coldest = coldestSlab(richest);
+            if (coldest != null) {
+                return reassign(coldest, sizeClass);
+            }
+        }
+        Chunk evicted = evict(sizeClass);
+        if (evicted != null) {
+            return evicted;
+        }
+        for (SizeClass other : classes) {
+            Slab coldest = other == sizeClass ? null : coldestSlab(other);
+            if (coldest != null) {
+                return reassign(coldest, sizeClass);
+            }
+        }
+        return null;
+    }
+
+    private SizeClass richestClass(SizeClass sizeClass) {
+        SizeClass richest = null;
+        for (SizeClass other : classes) {
+            if (other != sizeClass && (richest == null || other.slabs.size() > richest.slabs.size())) {
+                richest = other;
+            }
+        }
+        return richest;
+    }
+
+    /**
+     * This method is used to find the slab of the class without pinned chunks
+     * and with the fewest recently read chunks.
+     *
+     * @return the slab or null if every slab of the class has a pinned chunk
+     */
+    private static Slab coldestSlab(SizeClass sizeClass) {
+        Slab coldest = null;
+        int coldestReferenced = 0;
+        for (Slab slab : sizeClass.slabs) {
+            if (slab.pinned()) {
+                continue;
+            }
+            int referenced = slab.referenced();
+            if (coldest == null || referenced < coldestReferenced) {
+                coldest = slab;
+                coldestReferenced = referenced;
+            }
+        }
+        return coldest;
+    }
+
+    private Chunk reassign(Slab slab, SizeClass sizeClass) {
+        SizeClass owner = slab.owner;
+        for (Chunk chunk : slab.chunks) {
+            Entry entry = chunk.entry;
+            if (entry != null && !entry.removed) {
+                index.remove(entry.id);
+                bytes -= entry.length();
+            }
+        }
+        Set<Chunk> chunks = new HashSet<>(slab.chunks);
+        owner.chunks.removeAll(chunks);
+        owner.free.removeAll(chunks);
+        owner.slabs.remove(slab);
+        owner.hand = owner.chunks.isEmpty() ? 0 : owner.hand % owner.chunks.size();
+        cut(slab, sizeClass);
+        return sizeClass.free.pop();
+    }
+
+    private void cut(Slab slab, SizeClass sizeClass) {
+        slab.owner = sizeClass;
+        slab.chunks.clear();
+        for (int offset = 0; offset + sizeClass.chunkSize <= slabSize; offset += sizeClass.chunkSize) {
+            Chunk chunk = new Chunk(sizeClass, slab, offset);
+            slab.chunks.add(chunk);
+            sizeClass.chunks.add(chunk);
+            sizeClass.free.push(chunk);
+        }
+        sizeClass.slabs.add(slab);
+    }
+
+    private Chunk evict(SizeClass sizeClass) {
+        int count = sizeClass.chunks.size();
+        for (int step = 0; step < 2 * count; step++) {
+            Chunk chunk = sizeClass.chunks.get(sizeClass.hand);
+            sizeClass.hand = (sizeClass.hand + 1) % count;
+            Entry entry = chunk.entry;
+            if (entry == null || entry.pins > 0) {
+                continue;
+            }
+            if (chunk.referenced) {
+                chunk.referenced = false;
+                continue;
+            }
+            index.remove(entry.id);
+            bytes -= entry.length();
+            chunk.entry = null;
+            return chunk;
+        }
+        return null;
+    }
+
+    private void free(Chunk chunk) {
+        chunk.entry = null;
+        chunk.referenced = false;
+        chunk.sizeClass.free.push(chunk);
+    }
+
+    private static class SizeClass {
+
+        private final int chunkSize;
+        private final List<Chunk> chunks = new ArrayList<>();
+        private final ArrayDeque<Chunk> free = new ArrayDeque<>();
+        private final List<Slab> slabs = new ArrayList<>();
+        private int hand;
+
+        SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    private static class Slab {
+
+        private final ByteBuffer buffer;
+        private final List<Chunk> chunks = new ArrayList<>();
+        private SizeClass owner;
+
+        Slab(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        boolean pinned() {
+            return chunks.stream().anyMatch(chunk -> chunk.entry != null && chunk.entry.pins > 0);
+        }
+
+        int referenced() {
+            return (int) chunks.stream().filter(chunk -> chunk.referenced).count();
+        }
+    }
+
+    private static class Chunk {
+
+        private final SizeClass sizeClass;
+        private final Slab slab;
+        private final int offset;
+        private Entry entry;
+        private boolean referenced;
+
+        Chunk(SizeClass sizeClass, Slab slab, int offset) {
+            this.sizeClass = sizeClass;
+            this.slab = slab;
+            this.offset = offset;
+        }
+    }
+
+    private static class Entry {
+
+        private final String id;
+        private final long version;
+        private final long generation;
+        private final Chunk chunk;
+        private final int jsonLength;
+        private final int gzipLength;
+        private int pins;
+        private boolean removed;
+
+        Entry(String id, long version, long generation, Chunk chunk, int jsonLength, int gzipLength) {
+            this.id = id;
+            this.version = version;
+            this.generation = generation;
+            this.chunk = chunk;
+            this.jsonLength = jsonLength;
+            this.gzipLength = gzipLength;
+        }
+
+        int length() {
+            return jsonLength + Math.max(gzipLength, 0);
+        }
+    }
+}
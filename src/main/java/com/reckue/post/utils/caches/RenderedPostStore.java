@@ -0,0 +1,53 @@
+package com.reckue.post.utils.caches;
+
+import com.reckue.post.transfers.RenderedPost;
+
+/**
+ * Interface RenderedPostStore represents the storage of serialized post responses.
+ */
+public interface RenderedPostStore {
+
+    /**
+     * This method is used to get the stored response of the version of the post.
+     * The caller has to release the response when its bytes are written.
+     *
+     * @param id      the post identifier
+     * @param version the version of the post
+     * @return the object of class RenderedPost or null if the version isn't stored
+     */
+    RenderedPost find(String id, long version);
+
+    /**
+     * This method is used to store the response of the post, replacing the previous one.
+     *
+     * @param id       the post identifier
+     * @param rendered the response kept in the heap
+     */
+    void put(String id, RenderedPost rendered);
+
+    /**
+     * This method is used to remove the response of the post.
+     *
+     * @param id the post identifier
+     */
+    void remove(String id);
+
+    /**
+     * This method is used to remove all the responses.
+     */
+    void clear();
+
+    /**
+     * This method is used to get quantity of the stored responses.
+     *
+     * @return quantity of responses
+     */
+    int size();
+
+    /**
+     * This method is used to get total size of the stored responses.
+     *
+     * @return size in bytes
+     */
+    long bytes();
+}
@@ -0,0 +1,150 @@
+package com.reckue.post.utils.caches;
+
+import com.reckue.post.models.Tag;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Class TagCatalog is an immutable snapshot of all the tags, kept sorted by id and by name.
+ * The names are also kept lower-cased in sorted order, so the tags starting with a prefix
+ * are found by binary search as a range of this order.
+ * A change makes a new snapshot, so the readers never see a half-changed catalog
+ * and need no locks. The tags of the catalog are shared between the readers, so they must not be changed.
+ */
+public final class TagCatalog {
+
+    private static final Comparator<Tag> BY_ID =
+            Comparator.comparing(Tag::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+    private static final Comparator<Tag> BY_NAME =
+            Comparator.comparing(Tag::getName, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparing(BY_ID);
+
+    private final Map<String, Tag> tags;
+    private final List<Tag> sortedById;
+    private final List<Tag> sortedByName;
+    private final List<Tag> sortedByKey;
+    private final String[] keys;
+
+    private TagCatalog(Map<String, Tag> tags) {
+        this.tags = tags;
+        this.sortedById = tags.values().stream().sorted(BY_ID).collect(Collectors.toUnmodifiableList());
+        this.sortedByName = tags.values().stream().sorted(BY_NAME).collect(Collectors.toUnmodifiableList());
+        this.sortedByKey = tags.values().stream()
+                .sorted(Comparator.comparing((Tag tag) -> key(tag.getName())).thenComparing(BY_ID))
+                .collect(Collectors.toUnmodifiableList());
+        this.keys = sortedByKey.stream().map(tag -> key(tag.getName())).toArray(String[]::new);
+    }
+
+    /**
+     * This method is used to make the catalog of the tags, the tags are copied.
+     *
+     * @param tags list of objects of class Tag
+     * @return the object of class TagCatalog
+     */
+    public static TagCatalog of(Collection<Tag> tags) {
+        Map<String, Tag> copies = new HashMap<>();
+        tags.forEach(tag -> copies.put(tag.getId(), copy(tag)));
+        return new TagCatalog(copies);
+    }
+
+    /**
+     * This method is used to make the catalog with the tag added or replaced.
+     *
+     * @param tag object of class Tag
+     * @return the new object of class TagCatalog
+     */
+    public TagCatalog with(Tag tag) {
+        Map<String, Tag> copies = new HashMap<>(tags);
+        copies.put(tag.getId(), copy(tag));
+        return new TagCatalog(copies);
+    }
+
+    /**
+     * This method is used to make the catalog without the tag.
+     *
+     * @param id the tag identifier
+     * @return the new object of class TagCatalog or this one if it has no such tag
+     */
+    public TagCatalog without(String id) {
+        if (!tags.containsKey(id)) {
+            return this;
+        }
+        Map<String, Tag> copies = new HashMap<>(tags);
+        copies.remove(id);
+        return new TagCatalog(copies);
+    }
+
+    /**
+     * This method is used to get the tag by id.
+     *
+     * @param id the tag identifier
+     * @return the object of class Tag or empty if the catalog has no such tag
+     */
+    public Optional<Tag> findById(String id) {
+        return Optional.ofNullable(tags.get(id));
+    }
+
+    /**
+     * This method is used to get the tags sorted by id.
+     *
+     * @return unmodifiable list of objects of class Tag
+     */
+    public List<Tag> sortedById() {
+        return sortedById;
+    }
+
+    /**
+     * This method is used to get the tags sorted by name, the tags with the same name are sorted by id.
+     *
+     * @return unmodifiable list of objects of class Tag
+     */
+    public List<Tag> sortedByName() {
+        return sortedByName;
+    }
+
+    /**
+     * This method is used to get the tags whose names start with the prefix, ignoring case.
+     *
+     * @param prefix the beginning of the name
+     * @return unmodifiable list of objects of class Tag sorted by name ignoring case
+     */
+    public List<Tag> findAllByPrefix(String prefix) {
+        String key = key(prefix);
+        int from = lowerBound(key);
+        int to = lowerBound(key + Character.MAX_VALUE);
+        return sortedByKey.subList(from, to);
+    }
+
+    public int size() {
+        return tags.size();
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static Tag copy(Tag tag) {
+        return Tag.builder().id(tag.getId()).name(tag.getName()).build();
+    }
+}
@@ -0,0 +1,243 @@
+package com.reckue.post.utils.codecs;
+
+import com.reckue.post.configs.properties.CompressionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.types.Binary;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Class NodeContentCodec compresses the contents of nodes with Deflate before they are stored in database.
+ * A compressed content is stored as binary: the length of the raw content followed by the deflated bytes.
+ * The plain contents are strings or lists, so any binary content is a compressed one.
+ * The content which isn't big enough or isn't compressible stays as it is.
+ */
+@Component
+public class NodeContentCodec {
+
+    /**
+     * Binary subtype of the compressed contents, it is in the user defined range.
+     * It marks the compressed contents for the tools, the codec itself doesn't rely on it.
+     */
+    public static final byte SUBTYPE = (byte) 0x80;
+
+    private final CompressionProperties properties;
+    private final Timer compressTimer;
+    private final Timer decompressTimer;
+    private final DistributionSummary ratio;
+    private final Counter rawBytes;
+    private final Counter storedBytes;
+
+    public NodeContentCodec(CompressionProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.compressTimer = Timer.builder("reckue.node.codec")
+                .description("Time spent on the compression of node contents")
+                .tag("operation", "compress")
+                .register(registry);
+        this.decompressTimer = Timer.builder("reckue.node.codec")
+                .description("Time spent on the decompression of node contents")
+                .tag("operation", "decompress")
+                .register(registry);
+        this.ratio = DistributionSummary.builder("reckue.node.compression.ratio")
+                .description("Compressed size divided by raw size of the stored node contents")
+                .register(registry);
+        this.rawBytes = Counter.builder("reckue.node.compression.bytes")
+                .tag("form", "raw")
+                .register(registry);
+        this.storedBytes = Counter.builder("reckue.node.compression.bytes")
+                .tag("form", "compressed")
+                .register(registry);
+    }
+
+    /**
+     * This method is used to encode the text content of a node.
+     *
+     * @param content the content
+     * @return the content itself or its compressed binary
+     */
+    public Object encode(String content) {
+        if (!properties.isEnabled() || content == null || content.length() * 3L < properties.getThreshold()) {
+            return content;
+        }
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        Binary binary = compress(raw);
+        return binary == null ? content : binary;
+    }
+
+    /**
+     * This method is used to encode the list content of a node.
+     *
+     * @param content the content
+     * @return the content itself or its compressed binary
+     */
+    public Object encode(List<String> content) {
+        if (!properties.isEnabled() || content == null) {
+            return content;
+        }
+        long length = 0;
+        for (String item : content) {
+            length += item == null ? 0 : item.length() * 3L;
+        }
+        if (length < properties.getThreshold()) {
+            return content;
+        }
+        Binary binary = compress(serialize(content));
+        return binary == null ? content : binary;
+    }
+
+    /**
+     * This method is used to decode the stored text content of a node.
+     *
+     * @param stored the stored content
+     * @return the content
+     */
+    public String decodeString(Object stored) {
+        byte[] compressed = compressedBytes(stored);
+        if (compressed == null) {
+            return (String) stored;
+        }
+        return new String(decompress(compressed), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method is used to decode the stored list content of a node.
+     *
+     * @param stored the stored content
+     * @return the content
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> decodeList(Object stored) {
+        byte[] compressed = compressedBytes(stored);
+        if (compressed == null) {
+            return (List<String>) stored;
+        }
+        return deserialize(decompress(compressed));
+    }
+
+    private static byte[] compressedBytes(Object stored) {
+        if (stored instanceof Binary) {
+            return ((Binary) stored).getData();
+        }
+        if (stored instanceof byte[]) {
+            return (byte[]) stored;
+        }
+        return null;
+    }
+
+    /**
+     * This method is used to compress the raw content.
+     *
+     * @param raw the raw content
+     * @return the compressed binary or null if the content is too small or isn't compressible
+     */
+    private Binary compress(byte[] raw) {
+        if (raw.length < properties.getThreshold()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Deflater deflater = new Deflater(properties.getLevel());
+        ByteArrayOutputStream output = new ByteArrayOutputStream(raw.length / 2 + 16);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            output.write(ByteBuffer.allocate(Integer.BYTES).putInt(raw.length).array(), 0, Integer.BYTES);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+        } finally {
+            deflater.end();
+            compressTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        byte[] compressed = output.toByteArray();
+        ratio.record((double) compressed.length / raw.length);
+        if (compressed.length >= raw.length) {
+            return null;
+        }
+        rawBytes.increment(raw.length);
+        storedBytes.increment(compressed.length);
+        return new Binary(SUBTYPE, compressed);
+    }
+
+    private byte[] decompress(byte[] compressed) {
+        long start = System.nanoTime();
+        Inflater inflater = new Inflater();
+        try {
+            byte[] raw = new byte[ByteBuffer.wrap(compressed, 0, Integer.BYTES).getInt()];
+            inflater.setInput(compressed, Integer.BYTES, compressed.length - Integer.BYTES);
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != raw.length) {
+                throw new IllegalStateException("Compressed node content is truncated");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed node content is corrupted", e);
+        } finally {
+            inflater.end();
+            decompressTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static byte[] serialize(List<String> content) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(content.size());
+            for (String item : content) {
+                if (item == null) {
+                    output.writeInt(-1);
+                    continue;
+                }
+                byte[] raw = item.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(raw.length);
+                output.write(raw);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<String> deserialize(byte[] raw) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(raw))) {
+            int size = input.readInt();
+            List<String> content = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int length = input.readInt();
+                if (length < 0) {
+                    content.add(null);
+                    continue;
+                }
+                byte[] item = new byte[length];
+                input.readFully(item);
+                content.add(new String(item, StandardCharsets.UTF_8));
+            }
+            return content;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.reckue.post.utils.codecs;
+
+import com.reckue.post.models.nodes.CodeNode;
+import com.reckue.post.models.nodes.ListNode;
+import com.reckue.post.models.nodes.TextContent;
+import com.reckue.post.models.nodes.TextNode;
+import com.reckue.post.models.types.LangType;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+
+import java.util.List;
+
+/**
+ * Class NodeContentConverters holds the Mongo converters of the nodes with big contents.
+ * The converters write the same documents as the default mapping, including the type key,
+ * except the content which is passed through {@link NodeContentCodec}.
+ * The content of a node stored with a shared blob isn't written at all, only the blob identifier.
+ */
+public class NodeContentConverters {
+
+    private static final String TYPE_KEY = DefaultMongoTypeMapper.DEFAULT_TYPE_KEY;
+
+    /**
+     * This method is used to get all the converters.
+     *
+     * @param codec the codec of node contents
+     * @return list of converters
+     */
+    public static List<Object> getConvertersToRegister(NodeContentCodec codec) {
+        return List.of(
+                new TextNodeWritingConverter(codec), new TextNodeReadingConverter(codec),
+                new CodeNodeWritingConverter(codec), new CodeNodeReadingConverter(codec),
+                new ListNodeWritingConverter(codec), new ListNodeReadingConverter(codec));
+    }
+
+    private static Document document(Class<?> type, Object content) {
+        Document document = new Document(TYPE_KEY, type.getName());
+        if (content != null) {
+            document.put("content", content);
+        }
+        return document;
+    }
+
+    private static Document document(Class<?> type, TextContent source, NodeContentCodec codec) {
+        if (source.getBlobId() != null) {
+            return document(type, null).append("blobId", source.getBlobId());
+        }
+        return document(type, codec.encode(source.getContent()));
+    }
+
+    private static <T extends TextContent> T read(Document source, T text, NodeContentCodec codec) {
+        text.setBlobId(source.getString("blobId"));
+        text.setContent(codec.decodeString(source.get("content")));
+        return text;
+    }
+
+    @WritingConverter
+    @RequiredArgsConstructor
+    static class TextNodeWritingConverter implements Converter<TextNode, Document> {
+
+        private final NodeContentCodec codec;
+
+        @Override
+        public Document convert(TextNode source) {
+            return document(TextNode.class, source, codec);
+        }
+    }
+
+    @ReadingConverter
+    @RequiredArgsConstructor
+    static class TextNodeReadingConverter implements Converter<Document, TextNode> {
+
+        private final NodeContentCodec codec;
+
+        @Override
+        public TextNode convert(Document source) {
+            return read(source, new TextNode(), codec);
+        }
+    }
+
+    @WritingConverter
+    @RequiredArgsConstructor
+    static class CodeNodeWritingConverter implements Converter<CodeNode, Document> {
+
+        private final NodeContentCodec codec;
+
+        @Override
+        public Document convert(CodeNode source) {
+            Document document = document(CodeNode.class, source, codec);
+            if (source.getLanguage() != null) {
+                document.put("language", source.getLanguage().name());
+            }
+            return document;
+        }
+    }
+
+    @ReadingConverter
+    @RequiredArgsConstructor
+    static class CodeNodeReadingConverter implements Converter<Document, CodeNode> {
+
+        private final NodeContentCodec codec;
+
+        @Override
+        public CodeNode convert(Document source) {
+            String language = source.getString("language");
+            CodeNode code = read(source, new CodeNode(), codec);
+            code.setLanguage(language == null ? null : LangType.valueOf(language));
+            return code;
+        }
+    }
+
+    @WritingConverter
+    @RequiredArgsConstructor
+    static class ListNodeWritingConverter implements Converter<ListNode, Document> {
+
+        private final NodeContentCodec codec;
+
+        @Override
+        public Document convert(ListNode source) {
+            return document(ListNode.class, codec.encode(source.getContent()));
+        }
+    }
+
+    @ReadingConverter
+    @RequiredArgsConstructor
+    static class ListNodeReadingConverter implements Converter<Document, ListNode> {
+
+        private final NodeContentCodec codec;
+
+        @Override
+        public ListNode convert(Document source) {
+            return new ListNode(codec.decodeList(source.get("content")));
+        }
+    }
+}
@@ -5,8 +5,6 @@ import com.reckue.post.models.Comment;
 import com.reckue.post.transfers.CommentRequest;
 import com.reckue.post.transfers.CommentResponse;
 
-import java.time.ZoneId;
-
 /**
  * Class for converting CommentRequest object to Comment and Comment object to CommentResponse.
  *
@@ -48,10 +46,9 @@ public class CommentConverter {
                 .userId(comment.getUserId())
                 .postId(comment.getPostId())
                 .commentId(comment.getCommentId())
-                .createdDate(comment.getCreatedDate()
-                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
-                .modificationDate(comment.getModificationDate()
-                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .version(comment.getVersion() == null ? 0 : comment.getVersion())
+                .createdDate(comment.getCreatedDate().toEpochMilli())
+                .modificationDate(comment.getModificationDate().toEpochMilli())
                 .build();
     }
 }
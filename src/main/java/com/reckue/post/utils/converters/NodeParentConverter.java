@@ -0,0 +1,69 @@
+package com.reckue.post.utils.converters;
+
+import com.reckue.post.exceptions.ReckueIllegalArgumentException;
+import com.reckue.post.models.nodes.Parent;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.transfers.nodes.NodeParentRequest;
+import com.reckue.post.transfers.nodes.NodeParentResponse;
+import com.reckue.post.utils.converters.nodes.NodeCodec;
+import com.reckue.post.utils.converters.nodes.NodeCodecRegistry;
+
+/**
+ * Class NodeParentConverter represents specialized mapping of node bodies without reflection.
+ * The mapping is dispatched to the codec of the node type from {@link NodeCodecRegistry},
+ * bodies that don't match the classes of the codec are delegated to the reflective {@link Converter}.
+ */
+public class NodeParentConverter {
+
+    /**
+     * Converts the body of a node request to the model of the given type.
+     *
+     * @param request the body of the node request
+     * @param type    type of the node
+     * @return the object implementing Parent
+     */
+    public static Parent convert(NodeParentRequest request, NodeType type) {
+        if (request == null || type == null) {
+            throw new ReckueIllegalArgumentException("Null parameters are not allowed");
+        }
+        return toModel(codec(type), request);
+    }
+
+    /**
+     * Converts the model of a node body to the response of the given type.
+     *
+     * @param node the object implementing Parent
+     * @param type type of the node
+     * @return the body of the node response
+     */
+    public static NodeParentResponse convert(Parent node, NodeType type) {
+        if (node == null || type == null) {
+            throw new ReckueIllegalArgumentException("Null parameters are not allowed");
+        }
+        return toResponse(codec(type), node);
+    }
+
+    private static NodeCodec<?, ?, ?> codec(NodeType type) {
+        NodeCodec<?, ?, ?> codec = NodeCodecRegistry.get(type);
+        if (codec == null) {
+            throw new ReckueIllegalArgumentException("Unsupported node type: " + type);
+        }
+        return codec;
+    }
+
+    private static <Q extends NodeParentRequest, M extends Parent> M toModel(NodeCodec<Q, M, ?> codec,
+                                                                             NodeParentRequest request) {
+        if (codec.getRequestClass().isInstance(request)) {
+            return codec.toModel(codec.getRequestClass().cast(request));
+        }
+        return Converter.convert(request, codec.getModelClass());
+    }
+
+    private static <M extends Parent, S extends NodeParentResponse> S toResponse(NodeCodec<?, M, S> codec,
+                                                                                 Parent node) {
+        if (codec.getModelClass().isInstance(node)) {
+            return codec.toResponse(codec.getModelClass().cast(node));
+        }
+        return Converter.convert(node, codec.getResponseClass());
+    }
+}
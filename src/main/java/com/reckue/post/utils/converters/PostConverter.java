@@ -3,11 +3,12 @@ package com.reckue.post.utils.converters;
 import com.reckue.post.exceptions.ReckueIllegalArgumentException;
 import com.reckue.post.models.Node;
 import com.reckue.post.models.Post;
+import com.reckue.post.models.PostSummary;
 import com.reckue.post.transfers.NodeResponse;
 import com.reckue.post.transfers.PostRequest;
 import com.reckue.post.transfers.PostResponse;
+import com.reckue.post.transfers.PostSummaryResponse;
 
-import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -73,9 +74,36 @@ public class PostConverter {
                 .nodes(nodes)
                 .source(post.getSource())
                 .tags(post.getTags())
-                .createdDate(post.getCreatedDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
-                .modificationDate(post.getModificationDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .version(post.getVersion() == null ? 0 : post.getVersion())
+                .createdDate(post.getCreatedDate().toEpochMilli())
+                .modificationDate(post.getModificationDate().toEpochMilli())
                 .status(post.getStatus())
                 .build();
     }
+
+    /**
+     * This method is used to convert from the object of class PostSummary
+     * to the object of class PostSummaryResponse.
+     *
+     * @param summary the object of class PostSummary
+     * @return the object of class PostSummaryResponse
+     */
+    public static PostSummaryResponse convert(PostSummary summary) {
+        if (summary == null) {
+            throw new ReckueIllegalArgumentException("Null parameters are not allowed");
+        }
+
+        return PostSummaryResponse.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .userId(summary.getUserId())
+                .tags(summary.getTags())
+                .status(summary.getStatus())
+                .createdDate(summary.getCreatedDate() == null ? 0 : summary.getCreatedDate().toEpochMilli())
+                .modificationDate(summary.getModificationDate() == null
+                        ? 0 : summary.getModificationDate().toEpochMilli())
+                .score(summary.getScore())
+                .cursor(summary.getScore() + ":" + summary.getId())
+                .build();
+    }
 }
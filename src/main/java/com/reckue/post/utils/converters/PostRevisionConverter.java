@@ -0,0 +1,34 @@
+package com.reckue.post.utils.converters;
+
+import com.reckue.post.exceptions.ReckueIllegalArgumentException;
+import com.reckue.post.models.PostRevision;
+import com.reckue.post.transfers.PostRevisionResponse;
+
+/**
+ * Class PostRevisionConverter converts from PostRevision object to PostRevisionResponse.
+ */
+public class PostRevisionConverter {
+
+    /**
+     * This method is used to convert from the object of class PostRevision
+     * to the object of class PostRevisionResponse.
+     *
+     * @param revision the object of class PostRevision
+     * @return the object of class PostRevisionResponse
+     */
+    public static PostRevisionResponse convert(PostRevision revision) {
+        if (revision == null) {
+            throw new ReckueIllegalArgumentException("Null parameters are not allowed");
+        }
+        return PostRevisionResponse.builder()
+                .postId(revision.getPostId())
+                .version(revision.getVersion())
+                .snapshot(revision.isSnapshot())
+                .title(revision.getTitle())
+                .userId(revision.getUserId())
+                .status(revision.getStatus())
+                .modificationDate(revision.getModificationDate() == null ? 0 : revision.getModificationDate()
+                        .toEpochMilli())
+                .build();
+    }
+}
@@ -5,8 +5,6 @@ import com.reckue.post.models.Rating;
 import com.reckue.post.transfers.RatingRequest;
 import com.reckue.post.transfers.RatingResponse;
 
-import java.time.ZoneId;
-
 /**
  * Class for converting RatingRequest object to Rating and Rating object to RatingResponse.
  *
@@ -42,10 +40,8 @@ public class RatingConverter {
         return RatingResponse.builder()
                 .postId(rating.getPostId())
                 .userId(rating.getUserId())
-                .createdDate(rating.getCreatedDate()
-                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
-                .modificationDate(rating.getModificationDate()
-                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .createdDate(rating.getCreatedDate().toEpochMilli())
+                .modificationDate(rating.getModificationDate().toEpochMilli())
                 .id(rating.getId())
                 .build();
     }
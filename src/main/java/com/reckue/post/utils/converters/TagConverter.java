@@ -5,6 +5,9 @@ import com.reckue.post.models.Tag;
 import com.reckue.post.transfers.TagRequest;
 import com.reckue.post.transfers.TagResponse;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Class for converting TagRequest object to Tag and Tag object to TagResponse.
  *
@@ -42,4 +45,19 @@ public class TagConverter {
                 .name(tag.getName())
                 .build();
     }
+
+    /**
+     * Converts the tags of a post to the references kept in database, which have only identifiers.
+     *
+     * @param tags list of objects of class Tag
+     * @return list of objects of class Tag without names or null if the tags are null
+     */
+    public static List<Tag> convertToReferences(List<Tag> tags) {
+        if (tags == null) {
+            return null;
+        }
+        return tags.stream()
+                .map(tag -> Tag.builder().id(tag.getId()).build())
+                .collect(Collectors.toList());
+    }
 }
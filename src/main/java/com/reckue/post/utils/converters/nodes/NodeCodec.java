@@ -0,0 +1,78 @@
+package com.reckue.post.utils.converters.nodes;
+
+import com.reckue.post.models.nodes.Parent;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.transfers.nodes.NodeParentRequest;
+import com.reckue.post.transfers.nodes.NodeParentResponse;
+
+import java.util.function.Function;
+
+/**
+ * Interface NodeCodec represents the specialized mapping of the body of one node type.
+ *
+ * @param <Q> type of the request body
+ * @param <M> type of the model
+ * @param <S> type of the response body
+ */
+public interface NodeCodec<Q extends NodeParentRequest, M extends Parent, S extends NodeParentResponse> {
+
+    NodeType getType();
+
+    Class<Q> getRequestClass();
+
+    Class<M> getModelClass();
+
+    Class<S> getResponseClass();
+
+    M toModel(Q request);
+
+    S toResponse(M model);
+
+    /**
+     * This method is used to create a codec from two mapping functions.
+     *
+     * @param type          type of the node
+     * @param requestClass  class of the request body
+     * @param modelClass    class of the model
+     * @param responseClass class of the response body
+     * @param toModel       function converting the request body to the model
+     * @param toResponse    function converting the model to the response body
+     * @return the object of NodeCodec
+     */
+    static <Q extends NodeParentRequest, M extends Parent, S extends NodeParentResponse> NodeCodec<Q, M, S> of(
+            NodeType type, Class<Q> requestClass, Class<M> modelClass, Class<S> responseClass,
+            Function<Q, M> toModel, Function<M, S> toResponse) {
+        return new NodeCodec<>() {
+
+            @Override
+            public NodeType getType() {
+                return type;
+            }
+
+            @Override
+            public Class<Q> getRequestClass() {
+                return requestClass;
+            }
+
+            @Override
+            public Class<M> getModelClass() {
+                return modelClass;
+            }
+
+            @Override
+            public Class<S> getResponseClass() {
+                return responseClass;
+            }
+
+            @Override
+            public M toModel(Q request) {
+                return toModel.apply(request);
+            }
+
+            @Override
+            public S toResponse(M model) {
+                return toResponse.apply(model);
+            }
+        };
+    }
+}
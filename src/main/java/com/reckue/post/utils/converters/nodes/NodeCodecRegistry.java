@@ -0,0 +1,97 @@
+package com.reckue.post.utils.converters.nodes;
+
+import com.reckue.post.models.nodes.*;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.transfers.nodes.audio.AudioNodeRequest;
+import com.reckue.post.transfers.nodes.audio.AudioNodeResponse;
+import com.reckue.post.transfers.nodes.code.CodeNodeRequest;
+import com.reckue.post.transfers.nodes.code.CodeNodeResponse;
+import com.reckue.post.transfers.nodes.image.ImageNodeRequest;
+import com.reckue.post.transfers.nodes.image.ImageNodeResponse;
+import com.reckue.post.transfers.nodes.list.ListNodeRequest;
+import com.reckue.post.transfers.nodes.list.ListNodeResponse;
+import com.reckue.post.transfers.nodes.poll.PollNodeRequest;
+import com.reckue.post.transfers.nodes.poll.PollNodeResponse;
+import com.reckue.post.transfers.nodes.text.TextNodeRequest;
+import com.reckue.post.transfers.nodes.text.TextNodeResponse;
+import com.reckue.post.transfers.nodes.video.VideoNodeRequest;
+import com.reckue.post.transfers.nodes.video.VideoNodeResponse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Class NodeCodecRegistry holds the codec of every node type.
+ * Codecs of new node types are added with {@link #register(NodeCodec)} while the application starts.
+ * Every registration publishes a new EnumMap which is never changed after, so the codecs are read
+ * without locking and a lookup stays an index of an array.
+ */
+public class NodeCodecRegistry {
+
+    private static volatile Map<NodeType, NodeCodec<?, ?, ?>> codecs =
+            Collections.unmodifiableMap(new EnumMap<>(NodeType.class));
+
+    static {
+        register(NodeCodec.of(NodeType.TEXT, TextNodeRequest.class, TextNode.class, TextNodeResponse.class,
+                request -> new TextNode(request.getContent()),
+                model -> new TextNodeResponse(model.getContent())));
+        register(NodeCodec.of(NodeType.CODE, CodeNodeRequest.class, CodeNode.class, CodeNodeResponse.class,
+                request -> new CodeNode(request.getLanguage(), request.getContent()),
+                model -> new CodeNodeResponse(model.getLanguage(), model.getContent())));
+        register(NodeCodec.of(NodeType.IMAGE, ImageNodeRequest.class, ImageNode.class, ImageNodeResponse.class,
+                request -> new ImageNode(request.getImageUrl()),
+                model -> new ImageNodeResponse(model.getImageUrl())));
+        register(NodeCodec.of(NodeType.VIDEO, VideoNodeRequest.class, VideoNode.class, VideoNodeResponse.class,
+                request -> new VideoNode(request.getVideoUrl()),
+                model -> new VideoNodeResponse(model.getVideoUrl())));
+        register(NodeCodec.of(NodeType.AUDIO, AudioNodeRequest.class, AudioNode.class, AudioNodeResponse.class,
+                request -> new AudioNode(request.getAudioUrl()),
+                model -> new AudioNodeResponse(model.getAudioUrl())));
+        register(NodeCodec.of(NodeType.LIST, ListNodeRequest.class, ListNode.class, ListNodeResponse.class,
+                request -> new ListNode(request.getContent()),
+                model -> new ListNodeResponse(model.getContent())));
+        register(NodeCodec.of(NodeType.POLL, PollNodeRequest.class, PollNode.class, PollNodeResponse.class,
+                request -> PollNode.builder().title(request.getTitle()).items(request.getItems()).build(),
+                model -> new PollNodeResponse(model.getTitle(), model.getItems())));
+    }
+
+    /**
+     * This method is used to add or replace the codec of a node type.
+     *
+     * @param codec the codec of the node type
+     */
+    public static synchronized void register(NodeCodec<?, ?, ?> codec) {
+        Map<NodeType, NodeCodec<?, ?, ?>> registered = new EnumMap<>(NodeType.class);
+        registered.putAll(codecs);
+        registered.put(codec.getType(), codec);
+        codecs = Collections.unmodifiableMap(registered);
+    }
+
+    /**
+     * This method is used to get the codec of a node type.
+     *
+     * @param type type of the node
+     * @return the codec of the node type or null if it isn't registered
+     */
+    public static NodeCodec<?, ?, ?> get(NodeType type) {
+        return codecs.get(type);
+    }
+
+    /**
+     * This method is used to check that every node type has a codec.
+     *
+     * @throws IllegalStateException if some node types have no codec
+     */
+    public static void verify() {
+        String missing = Arrays.stream(NodeType.values())
+                .filter(type -> !codecs.containsKey(type))
+                .map(NodeType::name)
+                .collect(Collectors.joining(", "));
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("No node codecs registered for types: " + missing);
+        }
+    }
+}
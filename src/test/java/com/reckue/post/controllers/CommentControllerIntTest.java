@@ -27,6 +27,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -363,4 +364,37 @@ public class CommentControllerIntTest extends PostServiceApplicationTests {
 
         Assertions.assertEquals(commentRepository.findAll().size(), 2);
     }
+
+    @Test
+    void findByIdNotModified() throws Exception {
+        Comment comment = commentRepository.findAll().get(0);
+        String entityTag = this.mockMvc.perform(get("/comments/" + comment.getId()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse().getHeader("ETag");
+
+        this.mockMvc.perform(get("/comments/" + comment.getId()).header("If-None-Match", entityTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        this.mockMvc.perform(get("/comments/" + comment.getId())
+                .header("If-Modified-Since", comment.getModificationDate().plusSeconds(1).toEpochMilli()))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void findAllByPostIdNotModifiedUntilCommentIsAdded() throws Exception {
+        postRepository.save(Post.builder().id("planets").title("planets").build());
+        String entityTag = this.mockMvc.perform(get("/comments/post/planets"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse().getHeader("ETag");
+
+        this.mockMvc.perform(get("/comments/post/planets").header("If-None-Match", entityTag))
+                .andExpect(status().isNotModified());
+
+        commentRepository.save(Comment.builder().text("comment2").userId("anton").postId("planets").build());
+
+        this.mockMvc.perform(get("/comments/post/planets").header("If-None-Match", entityTag))
+                .andExpect(status().isOk());
+    }
 }
@@ -0,0 +1,111 @@
+package com.reckue.post.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.models.Post;
+import com.reckue.post.repositories.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Class PostControllerRenderIntTest is the integration test of the cached post responses.
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "reckue.render.storage=off-heap",
+        "reckue.render.gzip-threshold=256"})
+class PostControllerRenderIntTest extends PostServiceApplicationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Post post;
+
+    @BeforeEach
+    public void setUp() {
+        postRepository.deleteAll();
+        post = postRepository.save(Post.builder()
+                .title("title".repeat(100))
+                .nodes(new ArrayList<>())
+                .build());
+    }
+
+    @Test
+    void findByIdTwice() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = mockMvc.perform(get("/posts/" + post.getId()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+            JsonNode json = objectMapper.readTree(response.getContentAsByteArray());
+
+            assertEquals(post.getTitle(), json.get("title").asText());
+            assertEquals("\"0\"", response.getHeader("ETag"));
+            assertNull(response.getHeader("Content-Encoding"));
+        }
+    }
+
+    @Test
+    void findByIdCompressed() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/posts/" + post.getId())
+                .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("\"0-gzip\"", response.getHeader("ETag"));
+        try (GZIPInputStream stream = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(post.getTitle(), objectMapper.readTree(stream).get("title").asText());
+        }
+    }
+
+    @Test
+    void findByIdWithGzipRefused() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/posts/" + post.getId())
+                .header("Accept-Encoding", "gzip;q=0, deflate"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals("\"0\"", response.getHeader("ETag"));
+        assertEquals(post.getTitle(), objectMapper.readTree(response.getContentAsByteArray()).get("title").asText());
+    }
+
+    @Test
+    void findNotExistingById() throws Exception {
+        mockMvc.perform(get("/posts/missing")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void findByIdNotModified() throws Exception {
+        mockMvc.perform(get("/posts/" + post.getId()).header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/posts/" + post.getId()).header("If-None-Match", "\"1\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/posts/" + post.getId()).header("If-None-Match", "\"0-gzip\"")
+                .header("Accept-Encoding", "gzip"))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/posts/" + post.getId()).header("If-None-Match", "\"0-gzip\""))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,191 @@
+package com.reckue.post.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.configs.properties.TagCatalogProperties;
+import com.reckue.post.migrations.TagReferencesChangeLog;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.Tag;
+import com.reckue.post.repositories.PostRepository;
+import com.reckue.post.repositories.TagRepository;
+import com.reckue.post.services.TagService;
+import com.reckue.post.transfers.PostResponse;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Class PostControllerTagIntTest is the integration test of the posts listed by tags.
+ */
+@AutoConfigureMockMvc
+class PostControllerTagIntTest extends PostServiceApplicationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private TagCatalogProperties tagCatalogProperties;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final List<Post> posts = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        postRepository.deleteAll();
+        Tag java = tagRepository.save(Tag.builder().id("java").name("Java").build());
+        Tag spring = tagRepository.save(Tag.builder().id("spring").name("Spring").build());
+        Tag kotlin = tagRepository.save(Tag.builder().id("kotlin").name("Kotlin").build());
+        tagService.refresh();
+        posts.add(save("1", java, spring));
+        posts.add(save("2", java));
+        posts.add(save("3", kotlin, spring));
+        posts.add(save("4", java, spring, kotlin));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tagCatalogProperties.setReferences(false);
+        mongoTemplate.remove(new Document("_id", "tag-references"), "storageSettings");
+        postRepository.deleteAll();
+        tagRepository.deleteAll();
+        tagService.refresh();
+    }
+
+    @Test
+    void findAllWithAllTags() throws Exception {
+        assertEquals(List.of("4", "1"), titles(find("/posts?tag=spring&tag=java")));
+        assertEquals(List.of("4"), titles(find("/posts?tag=spring&tag=java&tag=kotlin&mode=all")));
+    }
+
+    @Test
+    void findAllWithAnyTagByPages() throws Exception {
+        List<PostResponse> first = find("/posts?tag=kotlin&tag=java&mode=any&limit=2");
+        List<PostResponse> second = find("/posts?tag=kotlin&tag=java&mode=any&limit=2&cursor="
+                + first.get(1).getId());
+
+        assertEquals(List.of("4", "3"), titles(first));
+        assertEquals(List.of("2", "1"), titles(second));
+    }
+
+    @Test
+    void postsWithReferencesHaveCurrentTagNames() throws Exception {
+        tagCatalogProperties.setReferences(true);
+        Post post = save("5", Tag.builder().id("java").name("Old").build());
+
+        assertEquals(List.of(new Document("_id", "java")), storedTags(post.getId()));
+        assertEquals("Java", findById(post.getId()).getTags().get(0).getName());
+
+        tagService.update(Tag.builder().id("java").name("JVM").build());
+
+        assertEquals("JVM", findById(post.getId()).getTags().get(0).getName());
+        assertEquals(List.of(new Document("_id", "java")), storedTags(post.getId()));
+    }
+
+    @Test
+    void renameWithReferencesChangesEntityTagsOfPostsWithTag() throws Exception {
+        tagCatalogProperties.setReferences(true);
+        Post renamed = save("5", Tag.builder().id("java").build());
+        Post other = save("6", Tag.builder().id("kotlin").build());
+        String renamedTag = entityTag(renamed.getId());
+        String otherTag = entityTag(other.getId());
+
+        tagService.update(Tag.builder().id("java").name("JVM").build());
+
+        String currentTag = mockMvc.perform(get("/posts/" + renamed.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, renamedTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags[0].name").value("JVM"))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/posts/" + renamed.getId()).header(HttpHeaders.IF_NONE_MATCH, currentTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/posts/" + other.getId()).header(HttpHeaders.IF_NONE_MATCH, otherTag))
+                .andExpect(status().isNotModified());
+        assertEquals(renamed.getVersion(), postRepository.findById(renamed.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void storedPostsAreConvertedToReferencesAndBack() {
+        TagReferencesChangeLog changeLog = new TagReferencesChangeLog();
+        String id = posts.get(0).getId();
+
+        changeLog.convert(mongoTemplate, new MockEnvironment().withProperty("reckue.tag-catalog.references", "true"));
+        assertEquals(List.of(new Document("_id", "java"), new Document("_id", "spring")), storedTags(id));
+
+        changeLog.convert(mongoTemplate, new MockEnvironment());
+        assertEquals(List.of(new Document("_id", "java").append("name", "Java"),
+                new Document("_id", "spring").append("name", "Spring")), storedTags(id));
+    }
+
+    private List<Document> storedTags(String id) {
+        Document document = mongoTemplate.findById(id, Document.class, mongoTemplate.getCollectionName(Post.class));
+        return document.getList("tags", Document.class);
+    }
+
+    private String entityTag(String id) throws Exception {
+        return mockMvc.perform(get("/posts/" + id))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private PostResponse findById(String id) throws Exception {
+        return objectMapper.readValue(mockMvc.perform(get("/posts/" + id))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse().getContentAsString(), PostResponse.class);
+    }
+
+    private Post save(String title, Tag... tags) {
+        return postRepository.save(Post.builder()
+                .title(title)
+                .nodes(new ArrayList<>())
+                .tags(List.of(tags))
+                .build());
+    }
+
+    private List<PostResponse> find(String url) throws Exception {
+        return objectMapper.readValue(mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse().getContentAsString(), new TypeReference<>() {
+        });
+    }
+
+    private static List<String> titles(List<PostResponse> posts) {
+        return posts.stream().map(PostResponse::getTitle).collect(Collectors.toList());
+    }
+}
@@ -20,10 +20,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
-import java.util.TimeZone;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -64,22 +62,19 @@ public class RatingControllerIntTest extends PostServiceApplicationTests {
                 .id("1")
                 .userId("Garry")
                 .postId("cars")
-                .createdDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(1234567890),
-                        TimeZone.getDefault().toZoneId()))
+                .createdDate(Instant.ofEpochMilli(1234567890))
                 .build());
         ratingRepository.save(Rating.builder()
                 .id("2")
                 .userId("Antony")
                 .postId("animals")
-                .createdDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(1234563590),
-                        TimeZone.getDefault().toZoneId()))
+                .createdDate(Instant.ofEpochMilli(1234563590))
                 .build());
         ratingRepository.save(Rating.builder()
                 .id("3")
                 .userId("Bart")
                 .postId("news")
-                .createdDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(2134567820),
-                        TimeZone.getDefault().toZoneId()))
+                .createdDate(Instant.ofEpochMilli(2134567820))
                 .build());
     }
 
@@ -3,8 +3,13 @@ package com.reckue.post.controllers;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.models.Post;
 import com.reckue.post.models.Tag;
+import com.reckue.post.models.TagCounter;
+import com.reckue.post.repositories.PostRepository;
 import com.reckue.post.repositories.TagRepository;
+import com.reckue.post.services.TagService;
+import com.reckue.post.services.TagUsageService;
 import com.reckue.post.transfers.TagRequest;
 import com.reckue.post.transfers.TagResponse;
 import com.reckue.post.utils.converters.TagConverter;
@@ -13,6 +18,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
@@ -43,6 +49,18 @@ public class TagControllerIntTest extends PostServiceApplicationTests {
     @Autowired
     private TagRepository tagRepository;
 
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagUsageService tagUsageService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -62,6 +80,7 @@ public class TagControllerIntTest extends PostServiceApplicationTests {
                 .id("3")
                 .name("Bill")
                 .build());
+        tagService.refresh();
     }
 
     @Test
@@ -145,6 +164,32 @@ public class TagControllerIntTest extends PostServiceApplicationTests {
         Assertions.assertEquals(expected, actual);
     }
 
+    @Test
+    public void suggestMostUsedTags() throws Exception {
+        Tag sam = tagRepository.findById("2").orElseThrow();
+        Tag alex = tagRepository.findById("1").orElseThrow();
+        postRepository.deleteAll();
+        postRepository.save(Post.builder().title("first").tags(List.of(sam, alex)).build());
+        postRepository.save(Post.builder().title("second").tags(List.of(sam)).build());
+        mongoTemplate.dropCollection(TagCounter.class);
+        tagUsageService.refresh();
+        tagService.create(Tag.builder().id("4").name("Sara").build());
+
+        List<TagResponse> actual = objectMapper
+                .readValue(this.mockMvc.perform(get("/tags/suggest?prefix=s"))
+                        .andDo(print())
+                        .andExpect(status().isOk())
+                        .andReturn()
+                        .getResponse().getContentAsString(), new TypeReference<>() {
+                });
+
+        Assertions.assertEquals(List.of(TagConverter.convert(sam),
+                TagResponse.builder().id("4").name("Sara").build()), actual);
+        postRepository.deleteAll();
+        mongoTemplate.dropCollection(TagCounter.class);
+        tagUsageService.refresh();
+    }
+
     @Test
     public void findById() throws Exception {
         TagResponse expected = TagConverter.convert(tagRepository.findAll().get(0));
@@ -219,4 +264,16 @@ public class TagControllerIntTest extends PostServiceApplicationTests {
 
         Assertions.assertEquals(tagRepository.findAll().size(), 2);
     }
+
+    @Test
+    void findByIdNotModified() throws Exception {
+        String id = tagRepository.findAll().get(0).getId();
+        String entityTag = this.mockMvc.perform(get("/tags/" + id))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse().getHeader("ETag");
+
+        this.mockMvc.perform(get("/tags/" + id).header("If-None-Match", entityTag))
+                .andExpect(status().isNotModified());
+    }
 }
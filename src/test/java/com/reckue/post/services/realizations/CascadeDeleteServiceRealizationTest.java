@@ -0,0 +1,164 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.models.CascadeDeleteJob;
+import com.reckue.post.models.Comment;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.PostRevision;
+import com.reckue.post.models.Rating;
+import com.reckue.post.models.nodes.PollNode;
+import com.reckue.post.models.nodes.TextNode;
+import com.reckue.post.models.types.JobStatusType;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.repositories.CascadeDeleteJobRepository;
+import com.reckue.post.repositories.CommentRepository;
+import com.reckue.post.repositories.NodeRepository;
+import com.reckue.post.repositories.PollNodeRepository;
+import com.reckue.post.repositories.PostRevisionRepository;
+import com.reckue.post.repositories.RatingRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Class CascadeDeleteServiceRealizationTest represents test for CascadeDeleteService class.
+ */
+@TestPropertySource(properties = {
+        "reckue.cascade.batch-size=2",
+        "reckue.cascade.batch-pause=0",
+        "reckue.cascade.poll-delay=3600000"})
+class CascadeDeleteServiceRealizationTest extends PostServiceApplicationTests {
+
+    @Autowired
+    private CascadeDeleteServiceRealization cascadeDeleteService;
+
+    @Autowired
+    private CascadeDeleteJobRepository cascadeDeleteJobRepository;
+
+    @Autowired
+    private NodeRepository nodeRepository;
+
+    @Autowired
+    private PollNodeRepository pollNodeRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private PostRevisionRepository postRevisionRepository;
+
+    @BeforeEach
+    public void setUp() {
+        cascadeDeleteJobRepository.deleteAll();
+        nodeRepository.deleteAll();
+        pollNodeRepository.deleteAll();
+        commentRepository.deleteAll();
+        ratingRepository.deleteAll();
+        postRevisionRepository.deleteAll();
+    }
+
+    @Test
+    public void processRemovesEverythingOfPost() throws InterruptedException {
+        PollNode poll = pollNodeRepository.save(PollNode.builder().title("poll").items(List.of("a", "b")).build());
+        nodeRepository.save(Node.builder().postId("1").type(NodeType.POLL).node(poll).build());
+        for (int i = 0; i < 3; i++) {
+            nodeRepository.save(Node.builder().postId("1").type(NodeType.TEXT).node(new TextNode("text")).build());
+            commentRepository.save(Comment.builder().postId("1").text("comment").build());
+            ratingRepository.save(Rating.builder().postId("1").userId(String.valueOf(i)).build());
+        }
+        nodeRepository.save(Node.builder().postId("2").type(NodeType.TEXT).node(new TextNode("text")).build());
+        ratingRepository.save(Rating.builder().postId("2").userId("1").build());
+        postRevisionRepository.save(PostRevision.builder().postId("1").version(0).snapshot(true).build());
+
+        CascadeDeleteJob job = cascadeDeleteService.enqueue("1");
+        cascadeDeleteService.processPendingJobs();
+        CascadeDeleteJob processed = awaitFinished(job.getId());
+
+        Assertions.assertAll(
+                () -> assertEquals(JobStatusType.DONE, processed.getStatus()),
+                () -> assertEquals(4, processed.getDeletedNodes()),
+                () -> assertEquals(1, processed.getDeletedPollNodes()),
+                () -> assertEquals(3, processed.getDeletedComments()),
+                () -> assertEquals(3, processed.getDeletedRatings()),
+                () -> assertEquals(1, processed.getDeletedRevisions()),
+                () -> assertEquals(1, nodeRepository.count()),
+                () -> assertEquals(0, pollNodeRepository.count()),
+                () -> assertEquals(0, commentRepository.count()),
+                () -> assertEquals(1, ratingRepository.count()),
+                () -> assertEquals(0, postRevisionRepository.count())
+        );
+    }
+
+    @Test
+    public void failedJobIsRetriedWhileAttemptsAreLeft() throws InterruptedException {
+        commentRepository.save(Comment.builder().postId("1").build());
+        CascadeDeleteJob job = cascadeDeleteJobRepository.save(CascadeDeleteJob.builder()
+                .postId("1")
+                .status(JobStatusType.FAILED)
+                .attempts(1)
+                .build());
+
+        cascadeDeleteService.processPendingJobs();
+        CascadeDeleteJob processed = awaitFinished(job.getId());
+
+        Assertions.assertAll(
+                () -> assertEquals(JobStatusType.DONE, processed.getStatus()),
+                () -> assertEquals(2, processed.getAttempts()),
+                () -> assertEquals(0, commentRepository.count())
+        );
+    }
+
+    @Test
+    public void jobIsNotRetriedAfterMaxAttemptsOrBeforeItsTime() {
+        CascadeDeleteJob exhausted = cascadeDeleteJobRepository.save(CascadeDeleteJob.builder()
+                .postId("1")
+                .status(JobStatusType.FAILED)
+                .attempts(5)
+                .build());
+        CascadeDeleteJob delayed = cascadeDeleteJobRepository.save(CascadeDeleteJob.builder()
+                .postId("2")
+                .status(JobStatusType.PENDING)
+                .attempts(1)
+                .notBefore(Instant.now().plusSeconds(3600))
+                .build());
+
+        cascadeDeleteService.processPendingJobs();
+
+        Assertions.assertAll(
+                () -> assertEquals(JobStatusType.FAILED, cascadeDeleteService.findById(exhausted.getId()).getStatus()),
+                () -> assertEquals(JobStatusType.PENDING, cascadeDeleteService.findById(delayed.getId()).getStatus()),
+                () -> assertEquals(1, cascadeDeleteService.findById(delayed.getId()).getAttempts())
+        );
+    }
+
+    @Test
+    public void findLatest() {
+        cascadeDeleteService.enqueue("1");
+        cascadeDeleteService.enqueue("2");
+
+        assertEquals(2, cascadeDeleteService.findLatest().size());
+    }
+
+    /**
+     * The scheduler of another cached test context may have claimed the job first,
+     * so wait until whoever took it finishes.
+     */
+    private CascadeDeleteJob awaitFinished(String id) throws InterruptedException {
+        CascadeDeleteJob job = cascadeDeleteService.findById(id);
+        for (int i = 0; i < 100 && job.getStatus() != JobStatusType.DONE; i++) {
+            Thread.sleep(50);
+            job = cascadeDeleteService.findById(id);
+        }
+        return job;
+    }
+}
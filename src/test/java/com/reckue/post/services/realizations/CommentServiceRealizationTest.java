@@ -4,23 +4,32 @@ import com.reckue.post.PostServiceApplicationTests;
 import com.reckue.post.exceptions.ReckueIllegalArgumentException;
 import com.reckue.post.exceptions.models.comment.CommentAlreadyExistsException;
 import com.reckue.post.exceptions.models.comment.CommentNotFoundException;
+import com.reckue.post.exceptions.models.comment.CommentVersionConflictException;
+import com.reckue.post.exceptions.models.post.PostNotFoundException;
 import com.reckue.post.models.Comment;
 import com.reckue.post.repositories.CommentRepository;
-import com.reckue.post.repositories.PostRepository;
+import com.reckue.post.services.NegativeLookupCache;
+import com.reckue.post.services.PostEntityCache;
+import com.reckue.post.utils.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,7 +46,14 @@ public class CommentServiceRealizationTest extends PostServiceApplicationTests {
     private CommentRepository commentRepository;
 
     @Mock
-    private PostRepository postRepository;
+    private PostEntityCache postEntityCache;
+
+    @Mock
+    private NegativeLookupCache negativeLookupCache;
+
+    @Spy
+    private SingleFlight<String, List<Comment>> commentTreeFlight =
+            new SingleFlight<>("comment-tree", 1000, new SimpleMeterRegistry());
 
     @InjectMocks
     private CommentServiceRealization commentService;
@@ -49,7 +65,7 @@ public class CommentServiceRealizationTest extends PostServiceApplicationTests {
                 .text("front")
                 .userId("vlad")
                 .postId("007")
-                .createdDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(404L), TimeZone.getDefault().toZoneId()))
+                .createdDate(Instant.ofEpochMilli(404L))
                 .build();
 
         comment2 = Comment.builder()
@@ -57,7 +73,7 @@ public class CommentServiceRealizationTest extends PostServiceApplicationTests {
                 .text("test")
                 .userId("ivery")
                 .postId("911")
-                .createdDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(500L), TimeZone.getDefault().toZoneId()))
+                .createdDate(Instant.ofEpochMilli(500L))
                 .build();
 
         comment3 = Comment.builder().
@@ -65,14 +81,14 @@ public class CommentServiceRealizationTest extends PostServiceApplicationTests {
                 text("web").
                 userId("sherzod").
                 postId("666").
-                createdDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(200L), TimeZone.getDefault().toZoneId())).
+                createdDate(Instant.ofEpochMilli(200L)).
                 build();
     }
 
     @Test
     public void create() {
         when(commentRepository.save(comment)).thenReturn(comment);
-        doReturn(true).when(postRepository).existsById(Mockito.anyString());
+        doReturn(true).when(postEntityCache).existsById(Mockito.anyString());
         doReturn(true).when(commentRepository).existsById(Mockito.isNull());
 
         assertEquals(comment, commentService.create(comment));
@@ -89,20 +105,39 @@ public class CommentServiceRealizationTest extends PostServiceApplicationTests {
 
         Comment comment = Comment.builder()
                 .id("1")
-                .text("text")
-                .userId("2jjjj")
-                .postId("4ijkml")
+                .text("newText")
+                .userId("2")
+                .postId("3")
+                .version(6L)
                 .build();
-        when(commentRepository.findById(commentRequest.getId())).thenReturn(Optional.of(comment));
-        when(commentRepository.save(comment)).thenReturn(comment);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        when(commentRepository.updateIfVersionMatches(eq(commentRequest.getId()), isNull(), update.capture()))
+                .thenReturn(comment);
 
-        commentService.update(commentRequest);
+        Comment actual = commentService.update(commentRequest);
 
+        assertSame(comment, actual);
+        Document changes = update.getValue().getUpdateObject().get("$set", Document.class);
         Assertions.assertAll(
-                () -> assertEquals(commentRequest.getText(), comment.getText()),
-                () -> assertEquals(commentRequest.getUserId(), comment.getUserId()),
-                () -> assertEquals(commentRequest.getPostId(), comment.getPostId())
+                () -> assertEquals(commentRequest.getText(), changes.get("text")),
+                () -> assertEquals(commentRequest.getUserId(), changes.get("userId")),
+                () -> assertEquals(commentRequest.getPostId(), changes.get("postId"))
         );
+        verify(commentRepository, never()).findById(commentRequest.getId());
+    }
+
+    @Test
+    public void updateWithOutdatedVersion() {
+        Comment commentRequest = Comment.builder()
+                .id("1")
+                .text("newText")
+                .version(2L)
+                .build();
+        when(commentRepository.updateIfVersionMatches(eq(commentRequest.getId()), eq(2L), any(Update.class)))
+                .thenReturn(null);
+        when(commentRepository.existsById(commentRequest.getId())).thenReturn(true);
+
+        assertThrows(CommentVersionConflictException.class, () -> commentService.update(commentRequest));
     }
 
     @Test
@@ -331,4 +366,25 @@ public class CommentServiceRealizationTest extends PostServiceApplicationTests {
                 () -> commentService.deleteById(comment.getId()));
         assertEquals("Comment by id '" + comment.getId() + "' is not found", exception.getMessage());
     }
+
+    @Test
+    public void findAllByPostIdInThreadOrder() {
+        Comment first = Comment.builder().id("1").postId("007").build();
+        Comment second = Comment.builder().id("2").postId("007").build();
+        Comment answer = Comment.builder().id("3").postId("007").commentId("1").build();
+        Comment orphan = Comment.builder().id("4").postId("007").commentId("deleted").build();
+        Comment nested = Comment.builder().id("5").postId("007").commentId("3").build();
+        when(postEntityCache.existsById("007")).thenReturn(true);
+        when(commentRepository.findAllByPostIdOrderByCreatedDateAsc("007"))
+                .thenReturn(List.of(first, second, answer, orphan, nested));
+
+        assertEquals(List.of(first, answer, nested, second, orphan), commentService.findAllByPostId("007"));
+    }
+
+    @Test
+    public void findAllByPostIdWithNotExistPost() {
+        when(postEntityCache.existsById("007")).thenReturn(false);
+
+        assertThrows(PostNotFoundException.class, () -> commentService.findAllByPostId("007"));
+    }
 }
@@ -0,0 +1,107 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.models.ContentBlob;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.nodes.CodeNode;
+import com.reckue.post.models.nodes.Parent;
+import com.reckue.post.models.nodes.TextNode;
+import com.reckue.post.models.types.LangType;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.repositories.NodeRepository;
+import com.reckue.post.services.NodeService;
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Class ContentBlobServiceRealizationTest represents test for ContentBlobService class.
+ */
+@TestPropertySource(properties = "reckue.blob.threshold=16")
+class ContentBlobServiceRealizationTest extends PostServiceApplicationTests {
+
+    private static final String CODE = "System.out.println(\"Hello, world!\");";
+
+    @Autowired
+    private ContentBlobServiceRealization contentBlobService;
+
+    @Autowired
+    private NodeService nodeService;
+
+    @Autowired
+    private NodeRepository nodeRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        nodeRepository.deleteAll();
+        mongoTemplate.remove(new Query(), ContentBlob.class);
+    }
+
+    @Test
+    public void equalContentsShareBlob() {
+        Node first = nodeService.create(code(CODE));
+        Node second = nodeService.create(node(NodeType.TEXT, new TextNode(CODE)));
+        Node small = nodeService.create(node(NodeType.TEXT, new TextNode("small")));
+
+        List<ContentBlob> blobs = mongoTemplate.findAll(ContentBlob.class);
+        Document stored = mongoTemplate.findById(first.getId(), Document.class, "node").get("node", Document.class);
+        Assertions.assertAll(
+                () -> assertEquals(1, blobs.size()),
+                () -> assertEquals(2, blobs.get(0).getRefCount()),
+                () -> assertEquals(blobs.get(0).getId(), stored.getString("blobId")),
+                () -> assertNull(stored.get("content")),
+                () -> assertEquals(CODE, ((CodeNode) first.getNode()).getContent()),
+                () -> assertEquals(CODE, ((CodeNode) nodeService.findById(first.getId()).getNode()).getContent()),
+                () -> assertEquals(CODE, ((TextNode) nodeService.findById(second.getId()).getNode()).getContent()),
+                () -> assertNull(((TextNode) small.getNode()).getBlobId())
+        );
+    }
+
+    @Test
+    public void blobIsRemovedWithLastReference() {
+        Node first = nodeService.create(code(CODE));
+        Node second = nodeService.create(code(CODE));
+
+        nodeService.deleteById(first.getId());
+        assertEquals(1, mongoTemplate.findAll(ContentBlob.class).get(0).getRefCount());
+
+        nodeService.deleteById(second.getId());
+        assertEquals(0, mongoTemplate.findAll(ContentBlob.class).size());
+    }
+
+    @Test
+    public void resolveFillsContentsOfAllNodes() {
+        Node code = nodeService.create(code(CODE));
+        Node text = nodeService.create(node(NodeType.TEXT, new TextNode(CODE + CODE)));
+        List<Node> stored = List.of(nodeRepository.findById(code.getId()).orElseThrow(),
+                nodeRepository.findById(text.getId()).orElseThrow());
+
+        contentBlobService.resolve(stored);
+
+        Assertions.assertAll(
+                () -> assertEquals(code.getNode(), stored.get(0).getNode()),
+                () -> assertEquals(text.getNode(), stored.get(1).getNode())
+        );
+    }
+
+    private Node code(String content) {
+        return node(NodeType.CODE, new CodeNode(LangType.JAVA, content));
+    }
+
+    private Node node(NodeType type, Parent parent) {
+        return Node.builder().type(type).node(parent).postId("1").build();
+    }
+}
@@ -0,0 +1,163 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostFingerprint;
+import com.reckue.post.models.nodes.CodeNode;
+import com.reckue.post.models.nodes.TextNode;
+import com.reckue.post.models.types.LangType;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.repositories.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class DuplicatePostServiceRealizationTest represents test for DuplicatePostService class.
+ */
+class DuplicatePostServiceRealizationTest extends PostServiceApplicationTests {
+
+    private static final String ARTICLE = "Spring Boot makes it easy to create stand-alone, production-grade "
+            + "Spring based applications that you can just run. We take an opinionated view of the Spring platform "
+            + "and third-party libraries so you can get started with minimum fuss. Most Spring Boot applications "
+            + "need minimal Spring configuration. You can use Spring Boot to create Java applications that can be "
+            + "started by using java -jar or more traditional war deployments. We also provide a command line tool "
+            + "that runs spring scripts. Our primary goals are to provide a radically faster and widely accessible "
+            + "getting-started experience for all Spring development.";
+    private static final String CODE = "public static void main(String[] args) { SpringApplication.run(App.class); }";
+
+    @Autowired
+    private DuplicatePostServiceRealization duplicatePostService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        postRepository.deleteAll();
+        mongoTemplate.dropCollection(PostFingerprint.class);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        setUp();
+    }
+
+    @Test
+    void repostWithMinorEditsIsFlagged() {
+        Post original = save("original", ARTICLE);
+        Post repost = save("repost", ARTICLE.replace("minimum fuss", "minimal fuss") + " Subscribe!");
+        Post other = save("other", "Kotlin coroutines are light-weight threads launched in a coroutine scope, "
+                + "they are suspended without blocking the thread and resumed later on another thread.");
+
+        assertFalse(fingerprint(original).isFlagged());
+        assertTrue(fingerprint(repost).isFlagged());
+        assertEquals(List.of(original.getId()), fingerprint(repost).getDuplicates());
+        assertFalse(fingerprint(other).isFlagged());
+        assertEquals(List.of("repost"), titles(duplicatePostService.findDuplicates(original)));
+        assertEquals(List.of("original"), titles(duplicatePostService.findDuplicates(repost)));
+        assertTrue(duplicatePostService.findDuplicates(other).isEmpty());
+    }
+
+    @Test
+    void duplicatesAreLinkedOnBothSides() {
+        Post original = save("original", ARTICLE);
+        Post repost = save("repost", ARTICLE + " Subscribe!");
+
+        assertEquals(List.of(repost.getId()), fingerprint(original).getDuplicates());
+        assertFalse(fingerprint(original).isFlagged());
+        assertTrue(fingerprint(repost).isFlagged());
+
+        original.setNodes(post("original", "Completely different text about cooking pasta with tomato sauce "
+                + "and basil leaves for a quick dinner at home.", null).getNodes());
+        duplicatePostService.saved(original);
+
+        assertTrue(fingerprint(original).getDuplicates().isEmpty());
+        assertTrue(fingerprint(repost).getDuplicates().isEmpty());
+        assertFalse(fingerprint(repost).isFlagged());
+    }
+
+    @Test
+    void deletedOriginalUnflagsRepost() {
+        Post original = save("original", ARTICLE);
+        Post repost = save("repost", ARTICLE + " Subscribe!");
+        Post copy = save("copy", ARTICLE + " Like!");
+
+        duplicatePostService.deleted(original.getId());
+
+        assertTrue(fingerprint(copy).isFlagged());
+        assertEquals(List.of(copy.getId()), fingerprint(repost).getDuplicates());
+        assertFalse(fingerprint(repost).isFlagged());
+        assertEquals(List.of(repost.getId()), fingerprint(copy).getDuplicates());
+    }
+
+    @Test
+    void codeIsCompared() {
+        Post original = save("original", null, CODE);
+        Post repost = save("repost", null, CODE);
+
+        assertTrue(fingerprint(repost).isFlagged());
+        assertEquals(List.of("repost"), titles(duplicatePostService.findDuplicates(original)));
+    }
+
+    @Test
+    void missingFingerprintIsComputedOnRequest() {
+        Post original = save("original", ARTICLE);
+        Post repost = postRepository.save(post("repost", ARTICLE, null));
+
+        assertEquals(List.of("original"), titles(duplicatePostService.findDuplicates(repost)));
+        assertNotNull(mongoTemplate.findById(repost.getId(), PostFingerprint.class));
+
+        duplicatePostService.deleted(repost.getId());
+        assertTrue(duplicatePostService.findDuplicates(original).isEmpty());
+    }
+
+    @Test
+    void postsWithoutTextAreNotDuplicates() {
+        Post first = save("first", null);
+        save("second", null);
+
+        assertFalse(fingerprint(first).isFlagged());
+        assertTrue(duplicatePostService.findDuplicates(first).isEmpty());
+    }
+
+    private PostFingerprint fingerprint(Post post) {
+        return mongoTemplate.findById(post.getId(), PostFingerprint.class);
+    }
+
+    private Post save(String title, String text) {
+        return save(title, text, null);
+    }
+
+    private Post save(String title, String text, String code) {
+        Post post = postRepository.save(post(title, text, code));
+        duplicatePostService.saved(post);
+        return post;
+    }
+
+    private static Post post(String title, String text, String code) {
+        return Post.builder()
+                .title(title)
+                .nodes(List.of(Node.builder().type(NodeType.TEXT).node(new TextNode(text)).build(),
+                        Node.builder().type(NodeType.CODE).node(new CodeNode(LangType.JAVA, code)).build()))
+                .build();
+    }
+
+    private static List<String> titles(List<Post> posts) {
+        return posts.stream().map(Post::getTitle).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,152 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.configs.properties.FeedProperties;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.types.PostStatusType;
+import com.reckue.post.services.PostEntityCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Class FeedSnapshotServiceRealizationTest represents test for FeedSnapshotService class.
+ */
+class FeedSnapshotServiceRealizationTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final PostEntityCache postEntityCache = mock(PostEntityCache.class);
+    private final Map<String, Post> stored = new HashMap<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private FeedSnapshotServiceRealization feedSnapshotService;
+
+    @BeforeEach
+    public void setUp() {
+        FeedProperties properties = new FeedProperties();
+        properties.setSize(3);
+        feedSnapshotService = new FeedSnapshotServiceRealization(mongoTemplate, postEntityCache, properties, registry);
+        when(postEntityCache.findAllById(anyCollection())).thenAnswer(invocation ->
+                ((Collection<?>) invocation.getArgument(0)).stream()
+                        .map(stored::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    void firstPageIsServedFromSnapshot() {
+        List<Post> posts = store(post("1", 1, PostStatusType.DRAFT), post("2", 2, PostStatusType.PUBLISHED),
+                post("3", 3, PostStatusType.DRAFT), post("4", 4, PostStatusType.PUBLISHED));
+        read(posts.get(3), posts.get(2), posts.get(1), posts.get(0));
+
+        assertEquals(List.of(posts.get(2), posts.get(1)),
+                feedSnapshotService.find("createdDate", true, null, 3, 1).orElseThrow());
+        assertEquals(List.of(posts.get(3), posts.get(2)),
+                feedSnapshotService.find("createdDate", true, null, 2, 0).orElseThrow());
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Post.class));
+        assertEquals(2, registry.get("reckue.post.feed")
+                .tags("feed", "createdDate:desc", "result", "hit").counter().count());
+    }
+
+    @Test
+    void pageBeyondSnapshotIsNotServed() {
+        List<Post> posts = store(post("1", 1, null), post("2", 2, null), post("3", 3, null), post("4", 4, null));
+        read(posts.get(3), posts.get(2), posts.get(1), posts.get(0));
+
+        assertTrue(feedSnapshotService.find("createdDate", true, null, 4, 0).isEmpty());
+        assertTrue(feedSnapshotService.find("title", true, null, 1, 0).isEmpty());
+        assertEquals(1, registry.get("reckue.post.feed")
+                .tags("feed", "createdDate:desc", "result", "miss").counter().count());
+    }
+
+    @Test
+    void savedPostIsPutToItsPlace() {
+        List<Post> posts = store(post("1", 1, null), post("3", 3, null));
+        read(posts.get(1), posts.get(0));
+        feedSnapshotService.find("createdDate", true, null, 1, 0);
+
+        Post saved = store(post("2", 2, null)).get(0);
+        feedSnapshotService.saved(saved);
+        Post last = store(post("0", 0, null)).get(0);
+        feedSnapshotService.saved(last);
+
+        assertEquals(List.of(posts.get(1), saved, posts.get(0)),
+                feedSnapshotService.find("createdDate", true, null, 3, 0).orElseThrow());
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Post.class));
+    }
+
+    @Test
+    void postLeavesSnapshotOfItsPreviousStatus() {
+        List<Post> posts = store(post("1", 1, PostStatusType.PUBLISHED), post("2", 2, PostStatusType.PUBLISHED));
+        read(posts.get(1), posts.get(0));
+        feedSnapshotService.find("createdDate", true, PostStatusType.PUBLISHED, 1, 0);
+
+        Post moderated = store(post("2", 2, PostStatusType.MODERATED)).get(0);
+        feedSnapshotService.saved(moderated);
+
+        assertEquals(List.of(posts.get(0)),
+                feedSnapshotService.find("createdDate", true, PostStatusType.PUBLISHED, 10, 0).orElseThrow());
+    }
+
+    @Test
+    void deletedPostIsRemoved() {
+        List<Post> posts = store(post("1", 1, null), post("2", 2, null));
+        read(posts.get(1), posts.get(0));
+        feedSnapshotService.find("createdDate", true, null, 1, 0);
+
+        feedSnapshotService.deleted("2");
+
+        assertEquals(List.of(posts.get(0)),
+                feedSnapshotService.find("createdDate", true, null, 10, 0).orElseThrow());
+    }
+
+    @Test
+    void missingPostRebuildsSnapshot() {
+        List<Post> posts = store(post("1", 1, null), post("2", 2, null));
+        read(posts.get(1), posts.get(0));
+        stored.remove("2");
+
+        assertTrue(feedSnapshotService.find("createdDate", true, null, 2, 0).isEmpty());
+        read(posts.get(0));
+        assertEquals(List.of(posts.get(0)),
+                feedSnapshotService.find("createdDate", true, null, 2, 0).orElseThrow());
+    }
+
+    private void read(Post... posts) {
+        when(mongoTemplate.find(any(Query.class), eq(Post.class))).thenReturn(new ArrayList<>(List.of(posts)));
+    }
+
+    private List<Post> store(Post... posts) {
+        for (Post post : posts) {
+            stored.put(post.getId(), post);
+        }
+        return List.of(posts);
+    }
+
+    private static Post post(String id, long created, PostStatusType status) {
+        return Post.builder()
+                .id(id)
+                .status(status)
+                .createdDate(Instant.ofEpochSecond(created))
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.configs.properties.InstantSearchProperties;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostSummary;
+import com.reckue.post.models.Tag;
+import com.reckue.post.repositories.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class InstantSearchServiceRealizationTest represents test for InstantSearchService class.
+ */
+class InstantSearchServiceRealizationTest extends PostServiceApplicationTests {
+
+    @Autowired
+    private InstantSearchServiceRealization instantSearchService;
+
+    @Autowired
+    private InstantSearchProperties properties;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @BeforeEach
+    public void setUp() {
+        postRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        setUp();
+        instantSearchService.stop();
+        properties.setEnabled(new InstantSearchProperties().isEnabled());
+        properties.setCapacity(new InstantSearchProperties().getCapacity());
+    }
+
+    private List<String> search(String query) {
+        return instantSearchService.search(query, 10).stream()
+                .map(PostSummary::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void newestPostsAreIndexedOnBuild() {
+        postRepository.save(Post.builder().id("1").title("Spring Boot").tags(List.of()).build());
+        postRepository.save(Post.builder().id("2").title("Spring Data")
+                .tags(List.of(Tag.builder().id("t").name("mongodb").build())).build());
+        postRepository.save(Post.builder().id("3").title("Spring Cloud").tags(List.of()).build());
+        properties.setCapacity(2);
+
+        instantSearchService.build();
+
+        assertTrue(instantSearchService.isReady());
+        assertEquals(List.of("3", "2"), search("spring"));
+        assertEquals(List.of("2"), search("spring mon"));
+    }
+
+    @Test
+    void savedAndDeletedPostsAreIndexed() {
+        postRepository.save(Post.builder().id("1").title("Spring Boot").tags(List.of()).build());
+        instantSearchService.build();
+
+        instantSearchService.saved(Post.builder().id("2").title("Spring Batch").tags(List.of()).build());
+        instantSearchService.deleted("1");
+        postRepository.save(Post.builder().id("3").title("Spring Shell").tags(List.of()).build());
+        instantSearchService.changed("3");
+
+        assertEquals(List.of("3", "2"), search("spring"));
+        assertTrue(search("boot").isEmpty());
+    }
+
+    @Test
+    void missedChangesAreFoundAfterRebuild() throws InterruptedException {
+        postRepository.save(Post.builder().id("1").title("Spring Boot").tags(List.of()).build());
+        properties.setEnabled(true);
+        instantSearchService.start();
+        for (int i = 0; i < 100 && !search("spring").equals(List.of("1")); i++) {
+            Thread.sleep(50);
+        }
+        postRepository.save(Post.builder().id("2").title("Spring Batch").tags(List.of()).build());
+        assertEquals(List.of("1"), search("spring"));
+
+        instantSearchService.rebuild();
+        for (int i = 0; i < 100 && search("spring").size() < 2; i++) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(List.of("2", "1"), search("spring"));
+    }
+}
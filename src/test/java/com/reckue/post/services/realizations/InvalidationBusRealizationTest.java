@@ -0,0 +1,249 @@
+package com.reckue.post.services.realizations;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.reckue.post.configs.properties.EntityCacheProperties;
+import com.reckue.post.configs.properties.InvalidationProperties;
+import com.reckue.post.models.Comment;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.Rating;
+import com.reckue.post.models.Tag;
+import com.reckue.post.services.FeedSnapshotService;
+import com.reckue.post.services.InstantSearchService;
+import com.reckue.post.services.NegativeLookupCache;
+import com.reckue.post.services.PostEntityCache;
+import com.reckue.post.services.PostRenderService;
+import com.reckue.post.services.TagService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Class InvalidationBusRealizationTest represents test for InvalidationBus class.
+ * The test of the change stream needs a replica set, e.g. a local single-node one started with
+ * {@code mongod --replSet rs0} and {@code rs.initiate()}, given by the MONGO_REPLICA_SET_URI variable.
+ */
+class InvalidationBusRealizationTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final PostEntityCache postEntityCache = mock(PostEntityCache.class);
+    private final PostRenderService postRenderService = mock(PostRenderService.class);
+    private final NegativeLookupCache negativeLookupCache = mock(NegativeLookupCache.class);
+    private final FeedSnapshotService feedSnapshotService = mock(FeedSnapshotService.class);
+    private final InstantSearchService instantSearchService = mock(InstantSearchService.class);
+    private final TagService tagService = mock(TagService.class);
+    private final InvalidationProperties properties = new InvalidationProperties();
+
+    @BeforeEach
+    public void setUp() {
+        when(mongoTemplate.getCollectionName(Post.class)).thenReturn("post");
+        when(mongoTemplate.getCollectionName(Node.class)).thenReturn("node");
+        when(mongoTemplate.getCollectionName(Comment.class)).thenReturn("comment");
+        when(mongoTemplate.getCollectionName(Rating.class)).thenReturn("rating");
+        when(mongoTemplate.getCollectionName(Tag.class)).thenReturn("tag");
+        properties.setRetryDelay(10);
+        properties.setMaxAwaitTime(100);
+    }
+
+    @Test
+    void invalidatePost() {
+        bus(mongoTemplate).invalidate("post", "1");
+
+        verify(postEntityCache).evict("1");
+        verify(postRenderService).evict("1");
+        verify(negativeLookupCache).evict(Post.class, "1");
+        verify(feedSnapshotService).changed("1");
+        verify(instantSearchService).changed("1");
+    }
+
+    @Test
+    void invalidateComment() {
+        bus(mongoTemplate).invalidate("comment", "1");
+
+        verify(negativeLookupCache).evict(Comment.class, "1");
+        verifyNoInteractions(postEntityCache, postRenderService, feedSnapshotService, instantSearchService);
+    }
+
+    @Test
+    void invalidateTag() {
+        bus(mongoTemplate).invalidate("tag", "1");
+
+        verify(tagService).refresh("1");
+        verify(negativeLookupCache).evict(Tag.class, "1");
+        verifyNoInteractions(postEntityCache, postRenderService, feedSnapshotService, instantSearchService);
+    }
+
+    @Test
+    void invalidateUnknownCollection() {
+        bus(mongoTemplate).invalidate("postRevision", "1");
+
+        verifyNoInteractions(postEntityCache, postRenderService, negativeLookupCache, tagService);
+    }
+
+    @Test
+    void fallbackWhenChangeStreamIsUnavailable() throws InterruptedException {
+        CountDownLatch attempts = new CountDownLatch(2);
+        when(mongoTemplate.getDb()).thenAnswer(invocation -> {
+            attempts.countDown();
+            throw new MongoCommandException(new BsonDocument("code", new BsonInt32(40573))
+                    .append("errmsg", new BsonString("The $changeStream stage is only supported on replica sets")),
+                    new ServerAddress());
+        });
+        InvalidationBusRealization bus = bus(mongoTemplate);
+
+        bus.start();
+        try {
+            assertTrue(attempts.await(10, TimeUnit.SECONDS));
+            assertFalse(bus.isStreaming());
+            assertTrue(bus.isRunning());
+        } finally {
+            bus.stop();
+        }
+        verify(postEntityCache, never()).evictAll();
+        verify(instantSearchService, never()).rebuild();
+    }
+
+    @Test
+    void searchIndexIsRebuiltWhileChangeStreamIsUnavailable() throws InterruptedException {
+        CountDownLatch attempts = new CountDownLatch(1);
+        when(mongoTemplate.getDb()).thenAnswer(invocation -> {
+            attempts.countDown();
+            throw new MongoCommandException(new BsonDocument("code", new BsonInt32(40573)), new ServerAddress());
+        });
+        InvalidationBusRealization bus = bus(mongoTemplate);
+
+        bus.rebuildSearchIndex();
+        verifyNoInteractions(instantSearchService);
+        bus.start();
+        try {
+            assertTrue(attempts.await(10, TimeUnit.SECONDS));
+            bus.rebuildSearchIndex();
+        } finally {
+            bus.stop();
+        }
+        verify(instantSearchService).rebuild();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchIndexIsRebuiltWhenChangeStreamIsOpenedAfterGap() {
+        MongoDatabase database = mock(MongoDatabase.class);
+        ChangeStreamIterable<Document> stream = mock(ChangeStreamIterable.class);
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mock(MongoChangeStreamCursor.class);
+        when(mongoTemplate.getDb())
+                .thenThrow(new MongoCommandException(new BsonDocument("code", new BsonInt32(40573)),
+                        new ServerAddress()))
+                .thenReturn(database);
+        when(database.watch(anyList())).thenReturn(stream);
+        when(stream.maxAwaitTime(anyLong(), any())).thenReturn(stream);
+        when(stream.cursor()).thenReturn(cursor);
+        InvalidationBusRealization bus = bus(mongoTemplate);
+
+        bus.start();
+        try {
+            verify(instantSearchService, timeout(10000)).rebuild();
+            assertTrue(bus.isStreaming());
+        } finally {
+            bus.stop();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedChangeDoesNotStopWatcher() throws InterruptedException {
+        MongoDatabase database = mock(MongoDatabase.class);
+        ChangeStreamIterable<Document> stream = mock(ChangeStreamIterable.class);
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mock(MongoChangeStreamCursor.class);
+        when(mongoTemplate.getDb()).thenReturn(database);
+        when(database.watch(anyList())).thenReturn(stream);
+        when(stream.maxAwaitTime(anyLong(), any())).thenReturn(stream);
+        when(stream.cursor()).thenReturn(cursor);
+        when(cursor.tryNext()).thenReturn(change("1"), change("2"), null);
+        doThrow(new DataAccessResourceFailureException("Timed out")).when(feedSnapshotService).changed("1");
+        CountDownLatch delivered = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            delivered.countDown();
+            return null;
+        }).when(feedSnapshotService).changed("2");
+        InvalidationBusRealization bus = bus(mongoTemplate);
+
+        bus.start();
+        try {
+            assertTrue(delivered.await(10, TimeUnit.SECONDS));
+            assertTrue(bus.isStreaming());
+        } finally {
+            bus.stop();
+        }
+        verify(postEntityCache).evict("1");
+        verify(postEntityCache).evict("2");
+        verify(instantSearchService, never()).rebuild();
+    }
+
+    private static ChangeStreamDocument<Document> change(String id) {
+        return new ChangeStreamDocument<>(OperationType.UPDATE, new BsonDocument("_data", new BsonString(id)),
+                new BsonDocument("db", new BsonString("post-api")).append("coll", new BsonString("post")), null,
+                null, new BsonDocument("_id", new BsonString(id)), null, null);
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "MONGO_REPLICA_SET_URI", matches = ".+")
+    void changeOfPostIsDelivered() throws InterruptedException {
+        try (MongoClient client = MongoClients.create(System.getenv("MONGO_REPLICA_SET_URI"))) {
+            MongoTemplate template = new MongoTemplate(client, "post-invalidation-test");
+            InvalidationBusRealization bus = bus(template);
+            bus.start();
+            try {
+                for (int i = 0; i < 100 && !bus.isStreaming(); i++) {
+                    Thread.sleep(50);
+                }
+                assertTrue(bus.isStreaming());
+
+                Post post = template.save(Post.builder().title("title").build());
+
+                verify(postEntityCache, timeout(5000)).evict(post.getId());
+                verify(negativeLookupCache, timeout(5000)).evict(Post.class, post.getId());
+            } finally {
+                bus.stop();
+                template.dropCollection(Post.class);
+            }
+        }
+    }
+
+    private InvalidationBusRealization bus(MongoTemplate template) {
+        return new InvalidationBusRealization(template, postEntityCache, postRenderService, negativeLookupCache,
+                feedSnapshotService, instantSearchService, tagService, properties, new EntityCacheProperties(),
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,49 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.configs.properties.NegativeLookupProperties;
+import com.reckue.post.models.Comment;
+import com.reckue.post.models.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class NegativeLookupCacheRealizationTest represents test for NegativeLookupCache class.
+ */
+class NegativeLookupCacheRealizationTest {
+
+    private final NegativeLookupCacheRealization negativeLookupCache =
+            new NegativeLookupCacheRealization(new NegativeLookupProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void markedIdIsMissingForItsTypeOnly() {
+        negativeLookupCache.markMissing(Post.class, "1");
+
+        assertTrue(negativeLookupCache.isMissing(Post.class, "1"));
+        assertFalse(negativeLookupCache.isMissing(Comment.class, "1"));
+        assertFalse(negativeLookupCache.isMissing(Post.class, "2"));
+    }
+
+    @Test
+    void evictedIdIsNotMissing() {
+        negativeLookupCache.markMissing(Post.class, "1");
+        negativeLookupCache.evict(Post.class, "1");
+
+        assertFalse(negativeLookupCache.isMissing(Post.class, "1"));
+    }
+
+    @Test
+    void expiredIdIsNotMissing() throws InterruptedException {
+        NegativeLookupProperties properties = new NegativeLookupProperties();
+        properties.setTtl(10);
+        NegativeLookupCacheRealization cache =
+                new NegativeLookupCacheRealization(properties, new SimpleMeterRegistry());
+        cache.markMissing(Post.class, "1");
+
+        Thread.sleep(50);
+
+        assertFalse(cache.isMissing(Post.class, "1"));
+    }
+}
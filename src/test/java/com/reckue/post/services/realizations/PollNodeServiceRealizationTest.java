@@ -6,6 +6,7 @@ import com.reckue.post.exceptions.models.nodes.pollnode.PollNodeAlreadyExistsExc
 import com.reckue.post.exceptions.models.nodes.pollnode.PollNodeNotFoundException;
 import com.reckue.post.models.nodes.PollNode;
 import com.reckue.post.repositories.PollNodeRepository;
+import com.reckue.post.services.NegativeLookupCache;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -29,6 +30,9 @@ public class PollNodeServiceRealizationTest extends PostServiceApplicationTests
     @Mock
     private PollNodeRepository pollNodeRepository;
 
+    @Mock
+    private NegativeLookupCache negativeLookupCache;
+
     @InjectMocks
     private PollNodeServiceRealization pollNodeService;
 
@@ -0,0 +1,119 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.configs.properties.EntityCacheProperties;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.Tag;
+import com.reckue.post.models.nodes.TextNode;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.repositories.PostRepository;
+import com.reckue.post.services.ContentBlobService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Class PostEntityCacheRealizationTest represents test for PostEntityCache class.
+ */
+class PostEntityCacheRealizationTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final ContentBlobService contentBlobService = mock(ContentBlobService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PostEntityCacheRealization postEntityCache;
+
+    private final Post post = Post.builder().id("1").title("title").build();
+
+    @BeforeEach
+    public void setUp() {
+        postEntityCache = new PostEntityCacheRealization(postRepository, contentBlobService,
+                new EntityCacheProperties(), registry);
+        when(postRepository.findById("1")).thenReturn(Optional.of(post));
+        when(postRepository.findById("2")).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void findByIdReadsOnce() {
+        assertEquals(post, postEntityCache.findById("1").orElseThrow());
+        assertEquals(post, postEntityCache.findById("1").orElseThrow());
+
+        verify(postRepository, times(1)).findById("1");
+        assertEquals(1, registry.get("cache.gets").tag("cache", "posts").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void findMissingIsNotCached() {
+        assertFalse(postEntityCache.findById("2").isPresent());
+        assertFalse(postEntityCache.findById("2").isPresent());
+
+        verify(postRepository, times(2)).findById("2");
+    }
+
+    @Test
+    void existsByIdOfCachedPost() {
+        postEntityCache.findById("1");
+
+        assertTrue(postEntityCache.existsById("1"));
+        verify(postRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    void evict() {
+        postEntityCache.findById("1");
+        postEntityCache.evict("1");
+        postEntityCache.findById("1");
+
+        verify(postRepository, times(2)).findById("1");
+    }
+
+    @Test
+    void evictAllByTagEvictsOnlyPostsWithTag() {
+        Post tagged = Post.builder().id("3").tags(List.of(Tag.builder().id("java").build())).build();
+        when(postRepository.findById("3")).thenReturn(Optional.of(tagged));
+        postEntityCache.findById("1");
+        postEntityCache.findById("3");
+
+        postEntityCache.evictAllByTag("java");
+        postEntityCache.findById("1");
+        postEntityCache.findById("3");
+
+        verify(postRepository, times(1)).findById("1");
+        verify(postRepository, times(2)).findById("3");
+    }
+
+    @Test
+    void findAllByIdReadsMissingTogether() {
+        Post other = Post.builder().id("3").build();
+        when(postRepository.findAllById(eq(List.of("3")))).thenReturn(List.of(other));
+        postEntityCache.findById("1");
+
+        List<Post> posts = postEntityCache.findAllById(List.of("1", "3"));
+
+        assertEquals(List.of(post, other), posts);
+        verify(postRepository).findAllById(List.of("3"));
+    }
+
+    @Test
+    void weightGrowsWithContent() {
+        Post big = Post.builder()
+                .nodes(List.of(Node.builder().type(NodeType.TEXT).node(new TextNode("x".repeat(1000))).build()))
+                .build();
+
+        assertTrue(PostEntityCacheRealization.weight(big) > 2000);
+    }
+}
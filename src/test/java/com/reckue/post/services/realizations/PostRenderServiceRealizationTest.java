@@ -0,0 +1,112 @@
+package com.reckue.post.services.realizations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reckue.post.configs.properties.RenderProperties;
+import com.reckue.post.models.Post;
+import com.reckue.post.services.TagService;
+import com.reckue.post.transfers.RenderedPost;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Class PostRenderServiceRealizationTest represents test for PostRenderService class.
+ */
+class PostRenderServiceRealizationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RenderProperties properties = new RenderProperties();
+    private final TagService tagService = mock(TagService.class);
+
+    private Post post(long version, String title) {
+        return Post.builder()
+                .id("1")
+                .title(title)
+                .version(version)
+                .createdDate(Instant.ofEpochMilli(1))
+                .modificationDate(Instant.ofEpochMilli(2))
+                .build();
+    }
+
+    private byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    @Test
+    void findOnlyRenderedVersion() throws IOException {
+        PostRenderServiceRealization renderService =
+                new PostRenderServiceRealization(objectMapper, properties, tagService, registry);
+        RenderedPost rendered = renderService.render(post(2, "title"));
+
+        assertSame(rendered, renderService.find("1", 2, 0));
+        assertNull(renderService.find("1", 3, 0));
+        assertNull(renderService.find("2", 2, 0));
+        assertEquals("title", objectMapper.readTree(bytes(rendered.body(false))).get("title").asText());
+        assertEquals(1, registry.get("reckue.post.render.cache").tag("result", "hit").counter().count());
+        assertEquals(2, registry.get("reckue.post.render.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void findOnlyRenderedGenerationOfTagNames() {
+        when(tagService.generation(any())).thenReturn(7L);
+        PostRenderServiceRealization renderService =
+                new PostRenderServiceRealization(objectMapper, properties, tagService, registry);
+        RenderedPost rendered = renderService.render(post(2, "title"));
+
+        assertEquals(7, rendered.getGeneration());
+        assertSame(rendered, renderService.find("1", 2, 7));
+        assertNull(renderService.find("1", 2, 8));
+    }
+
+    @Test
+    void evict() {
+        PostRenderServiceRealization renderService =
+                new PostRenderServiceRealization(objectMapper, properties, tagService, registry);
+        renderService.render(post(1, "title"));
+        renderService.evict("1");
+
+        assertNull(renderService.find("1", 1, 0));
+    }
+
+    @Test
+    void gzipBigResponse() throws IOException {
+        properties.setGzipThreshold(0);
+        PostRenderServiceRealization renderService =
+                new PostRenderServiceRealization(objectMapper, properties, tagService, registry);
+        RenderedPost rendered = renderService.render(post(1, "title".repeat(100)));
+
+        try (GZIPInputStream stream = new GZIPInputStream(new ByteArrayInputStream(bytes(rendered.body(true))))) {
+            assertArrayEquals(bytes(rendered.body(false)), stream.readAllBytes());
+        }
+    }
+
+    @Test
+    void findOffHeap() {
+        properties.setStorage(RenderProperties.Storage.OFF_HEAP);
+        PostRenderServiceRealization renderService =
+                new PostRenderServiceRealization(objectMapper, properties, tagService, registry);
+        RenderedPost rendered = renderService.render(post(1, "title"));
+        RenderedPost found = renderService.find("1", 1, 0);
+
+        assertTrue(found.body(false).isDirect());
+        assertEquals(rendered.body(false), found.body(false));
+        found.release();
+    }
+}
@@ -0,0 +1,145 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.exceptions.models.post.PostRevisionNotFoundException;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostRevision;
+import com.reckue.post.models.nodes.CodeNode;
+import com.reckue.post.models.nodes.ImageNode;
+import com.reckue.post.models.nodes.Parent;
+import com.reckue.post.models.nodes.TextNode;
+import com.reckue.post.models.revisions.TextPatch;
+import com.reckue.post.models.types.LangType;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.repositories.PostRevisionRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class PostRevisionServiceRealizationTest represents test for PostRevisionService class.
+ */
+@TestPropertySource(properties = "reckue.revision.snapshot-interval=3")
+class PostRevisionServiceRealizationTest extends PostServiceApplicationTests {
+
+    @Autowired
+    private PostRevisionServiceRealization postRevisionService;
+
+    @Autowired
+    private PostRevisionRepository postRevisionRepository;
+
+    private final Instant createdDate = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @BeforeEach
+    public void setUp() {
+        postRevisionRepository.deleteAll();
+    }
+
+    @Test
+    public void findByVersionRestoresEveryVersion() {
+        List<Post> versions = new ArrayList<>();
+        versions.add(post(0, text("hello world"), image("cat.png")));
+        versions.add(post(1, text("hello brave world"), image("cat.png"), code("int a;")));
+        versions.add(post(2, image("cat.png"), code("int a = 1;")));
+        versions.add(post(3, image("dog.png"), code("int a = 1;")));
+        versions.add(post(4, text("intro"), image("dog.png"), code("int b = 1;")));
+        postRevisionService.record(null, versions.get(0));
+        for (int i = 1; i < versions.size(); i++) {
+            postRevisionService.record(versions.get(i - 1), versions.get(i));
+        }
+
+        for (Post expected : versions) {
+            assertEquals(expected, postRevisionService.findByVersion("1", expected.getVersion()));
+        }
+        List<PostRevision> revisions = postRevisionService.findAllByPostId("1", null, null);
+        Assertions.assertAll(
+                () -> assertEquals(5, revisions.size()),
+                () -> assertEquals(4, revisions.get(0).getVersion()),
+                () -> assertTrue(revisions.get(1).isSnapshot()),
+                () -> assertFalse(revisions.get(2).isSnapshot()),
+                () -> assertNull(revisions.get(2).getNodeDeltas())
+        );
+    }
+
+    @Test
+    public void recordStoresOnlyPatchOfChangedText() {
+        Post previous = post(0, text("first paragraph"), text("second paragraph"));
+        Post current = post(1, text("first paragraph"), text("second long paragraph"));
+        postRevisionService.record(null, previous);
+
+        PostRevision revision = postRevisionService.record(previous, current);
+
+        Assertions.assertAll(
+                () -> assertFalse(revision.isSnapshot()),
+                () -> assertNull(revision.getNodes()),
+                () -> assertNull(revision.getNodeDeltas().get(0).getPatch()),
+                () -> assertEquals(new TextPatch(7, 0, "long "), revision.getNodeDeltas().get(1).getPatch())
+        );
+    }
+
+    @Test
+    public void recordStoresPreviousVersionIfItsRevisionIsAbsent() {
+        Post previous = post(7, text("text"));
+        Post current = post(8, text("new text"));
+
+        postRevisionService.record(previous, current);
+
+        Assertions.assertAll(
+                () -> assertEquals(previous, postRevisionService.findByVersion("1", 7)),
+                () -> assertEquals(current, postRevisionService.findByVersion("1", 8)),
+                () -> assertThrows(PostRevisionNotFoundException.class,
+                        () -> postRevisionService.findByVersion("1", 6)),
+                () -> assertThrows(PostRevisionNotFoundException.class,
+                        () -> postRevisionService.findByVersion("1", 9))
+        );
+    }
+
+    private Post post(long version, Node... nodes) {
+        return Post.builder()
+                .id("1")
+                .title("title " + version)
+                .userId("user")
+                .nodes(List.of(nodes))
+                .version(version)
+                .modificationDate(createdDate.plus(version, ChronoUnit.MINUTES))
+                .createdDate(createdDate)
+                .build();
+    }
+
+    private Node text(String content) {
+        return node(NodeType.TEXT, new TextNode(content));
+    }
+
+    private Node code(String content) {
+        return node(NodeType.CODE, new CodeNode(LangType.JAVA, content));
+    }
+
+    private Node image(String link) {
+        return node(NodeType.IMAGE, new ImageNode(link));
+    }
+
+    private Node node(NodeType type, Parent parent) {
+        return Node.builder()
+                .id(UUID.randomUUID().toString())
+                .type(type)
+                .node(parent)
+                .postId("1")
+                .userId("user")
+                .build();
+    }
+}
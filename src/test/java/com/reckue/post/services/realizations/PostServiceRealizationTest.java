@@ -1,27 +1,46 @@
 package com.reckue.post.services.realizations;
 
 import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.configs.properties.SearchProperties;
+import com.reckue.post.configs.properties.TagCatalogProperties;
 import com.reckue.post.exceptions.ReckueIllegalArgumentException;
 import com.reckue.post.exceptions.models.post.PostAlreadyExistsException;
 import com.reckue.post.exceptions.models.post.PostNotFoundException;
+import com.reckue.post.exceptions.models.post.PostVersionConflictException;
 import com.reckue.post.models.Node;
 import com.reckue.post.models.Post;
+import com.reckue.post.models.PostSummary;
 import com.reckue.post.models.Tag;
 import com.reckue.post.models.types.PostStatusType;
 import com.reckue.post.models.types.StatusType;
 import com.reckue.post.repositories.PostRepository;
+import com.reckue.post.services.CascadeDeleteService;
+import com.reckue.post.services.ContentBlobService;
+import com.reckue.post.services.DuplicatePostService;
+import com.reckue.post.services.FeedSnapshotService;
+import com.reckue.post.services.InstantSearchService;
+import com.reckue.post.services.NegativeLookupCache;
+import com.reckue.post.services.PostEntityCache;
+import com.reckue.post.services.PostRenderService;
+import com.reckue.post.services.PostRevisionService;
+import com.reckue.post.services.RelatedPostService;
+import com.reckue.post.services.TagService;
+import com.reckue.post.services.TagUsageService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -34,6 +53,48 @@ class PostServiceRealizationTest extends PostServiceApplicationTests {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private CascadeDeleteService cascadeDeleteService;
+
+    @Mock
+    private PostRevisionService postRevisionService;
+
+    @Mock
+    private ContentBlobService contentBlobService;
+
+    @Mock
+    private PostRenderService postRenderService;
+
+    @Mock
+    private PostEntityCache postEntityCache;
+
+    @Mock
+    private NegativeLookupCache negativeLookupCache;
+
+    @Mock
+    private FeedSnapshotService feedSnapshotService;
+
+    @Mock
+    private TagUsageService tagUsageService;
+
+    @Mock
+    private TagService tagService;
+
+    @Mock
+    private TagCatalogProperties tagCatalogProperties;
+
+    @Mock
+    private SearchProperties searchProperties;
+
+    @Mock
+    private RelatedPostService relatedPostService;
+
+    @Mock
+    private DuplicatePostService duplicatePostService;
+
+    @Mock
+    private InstantSearchService instantSearchService;
+
     @InjectMocks
     private PostServiceRealization postService;
 
@@ -101,13 +162,113 @@ class PostServiceRealizationTest extends PostServiceApplicationTests {
 //        assertThrows(PostNotFoundException.class, () -> postService.update(postOne));
 //    }
 
+    @Test
+    public void updateReturnsStoredObject() {
+        Post postRequest = Post.builder()
+                .id("1")
+                .title("newTitle")
+                .nodes(Collections.emptyList())
+                .source("newSource")
+                .userId("1")
+                .version(3L)
+                .build();
+        Post postOne = Post.builder()
+                .id("1")
+                .title("postOne")
+                .status(PostStatusType.DRAFT)
+                .version(3L)
+                .build();
+        Post stored = Post.builder()
+                .id("1")
+                .title("newTitle")
+                .source("newSource")
+                .userId("1")
+                .status(PostStatusType.DRAFT)
+                .version(4L)
+                .build();
+        when(postRepository.findById("1")).thenReturn(Optional.of(postOne));
+        when(postRepository.updateIfVersionMatches(eq("1"), eq(3L), any(Update.class))).thenReturn(stored);
+
+        Post actual = postService.update(postRequest);
+
+        assertSame(stored, actual);
+        verify(postRevisionService).record(postOne, stored);
+        verify(tagUsageService).changed(postOne.getTags(), stored.getTags());
+        verify(postEntityCache).evict("1");
+        verify(postRenderService).evict("1");
+    }
+
+    @Test
+    public void updateResolvesPreviousContentsBeforeRelease() {
+        List<Node> previousNodes = List.of(Node.builder().id("previous").build());
+        List<Node> storedNodes = List.of(Node.builder().id("stored").build());
+        Post postRequest = Post.builder()
+                .id("1")
+                .title("newTitle")
+                .nodes(Collections.emptyList())
+                .version(3L)
+                .build();
+        Post postOne = Post.builder().id("1").title("postOne").nodes(previousNodes).version(3L).build();
+        Post stored = Post.builder().id("1").title("newTitle").nodes(storedNodes).version(4L).build();
+        when(postRepository.findById("1")).thenReturn(Optional.of(postOne));
+        when(postRepository.updateIfVersionMatches(eq("1"), eq(3L), any(Update.class))).thenReturn(stored);
+
+        postService.update(postRequest);
+
+        InOrder order = inOrder(contentBlobService, postRevisionService);
+        order.verify(contentBlobService).resolve(previousNodes);
+        order.verify(contentBlobService).retain(storedNodes);
+        order.verify(contentBlobService).release(previousNodes);
+        order.verify(postRevisionService).record(postOne, stored);
+    }
+
+    @Test
+    public void updateWithOutdatedVersion() {
+        Post postRequest = Post.builder()
+                .id("1")
+                .title("newTitle")
+                .nodes(Collections.emptyList())
+                .version(2L)
+                .build();
+        when(postRepository.findById("1")).thenReturn(Optional.of(Post.builder().id("1").version(3L).build()));
+
+        assertThrows(PostVersionConflictException.class, () -> postService.update(postRequest));
+        verify(postRepository, never()).updateIfVersionMatches(any(), any(), any());
+    }
+
+    @Test
+    public void updateChangedMeanwhile() {
+        Post postRequest = Post.builder()
+                .id("1")
+                .title("newTitle")
+                .nodes(Collections.emptyList())
+                .build();
+        when(postRepository.findById("1")).thenReturn(Optional.of(Post.builder().id("1").version(3L).build()));
+        when(postRepository.updateIfVersionMatches(eq("1"), eq(3L), any(Update.class))).thenReturn(null);
+        when(postRepository.existsById("1")).thenReturn(true);
+
+        assertThrows(PostVersionConflictException.class, () -> postService.update(postRequest));
+    }
+
+    @Test
+    public void updateWithNotExistId() {
+        Post postRequest = Post.builder()
+                .id("1")
+                .title("newTitle")
+                .nodes(Collections.emptyList())
+                .build();
+        when(postRepository.findById("1")).thenReturn(Optional.empty());
+
+        assertThrows(PostNotFoundException.class, () -> postService.update(postRequest));
+    }
+
     @Test
     public void findById() {
         Post postOne = Post.builder()
                 .id("1")
                 .title("postOne")
                 .build();
-        when(postRepository.findById(postOne.getId())).thenReturn(Optional.of(postOne));
+        when(postEntityCache.findById(postOne.getId())).thenReturn(Optional.of(postOne));
 
         assertEquals(postOne, postService.findById(postOne.getId()));
     }
@@ -118,11 +279,20 @@ class PostServiceRealizationTest extends PostServiceApplicationTests {
                 .id("1")
                 .title("postOne")
                 .build();
-        when(postRepository.findById(postOne.getId())).thenReturn(Optional.empty());
+        when(postEntityCache.findById(postOne.getId())).thenReturn(Optional.empty());
 
         assertThrows(PostNotFoundException.class, () -> postService.findById(postOne.getId()));
     }
 
+    @Test
+    public void findByIdOfRecentlyMissingPost() {
+        when(negativeLookupCache.isMissing(Post.class, "1")).thenReturn(true);
+
+        PostNotFoundException exception = assertThrows(PostNotFoundException.class, () -> postService.findById("1"));
+        assertEquals(0, exception.getStackTrace().length);
+        verify(postEntityCache, never()).findById("1");
+    }
+
     @Test
     public void findAll() {
         Post postOne = Post.builder()
@@ -206,13 +376,13 @@ class PostServiceRealizationTest extends PostServiceApplicationTests {
     @Test
     public void findAllSortByPublished() {
         Post postOne = Post.builder()
-                .createdDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(1), TimeZone.getDefault().toZoneId()))
+                .createdDate(Instant.ofEpochMilli(1))
                 .build();
         Post postTwo = Post.builder()
-                .createdDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(2), TimeZone.getDefault().toZoneId()))
+                .createdDate(Instant.ofEpochMilli(2))
                 .build();
         Post postThree = Post.builder()
-                .createdDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(3), TimeZone.getDefault().toZoneId()))
+                .createdDate(Instant.ofEpochMilli(3))
                 .build();
         List<Post> posts = List.of(postOne, postTwo, postThree);
 
@@ -228,13 +398,13 @@ class PostServiceRealizationTest extends PostServiceApplicationTests {
     @Test
     public void findAllSortByChanged() {
         Post postOne = Post.builder()
-                .modificationDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(1), TimeZone.getDefault().toZoneId()))
+                .modificationDate(Instant.ofEpochMilli(1))
                 .build();
         Post postTwo = Post.builder()
-                .modificationDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(2), TimeZone.getDefault().toZoneId()))
+                .modificationDate(Instant.ofEpochMilli(2))
                 .build();
         Post postThree = Post.builder()
-                .modificationDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(3), TimeZone.getDefault().toZoneId()))
+                .modificationDate(Instant.ofEpochMilli(3))
                 .build();
         List<Post> posts = List.of(postOne, postTwo, postThree);
 
@@ -297,6 +467,83 @@ class PostServiceRealizationTest extends PostServiceApplicationTests {
         assertEquals(expected, postService.findAll(3, 1, "userId", true));
     }
 
+    @Test
+    public void findAllWithStatus() {
+        Post postOne = Post.builder().id("1").status(PostStatusType.PUBLISHED).build();
+        Post postTwo = Post.builder().id("2").status(PostStatusType.DRAFT).build();
+        Post postThree = Post.builder().id("3").status(PostStatusType.PUBLISHED).build();
+
+        when(postRepository.findAll()).thenReturn(List.of(postOne, postTwo, postThree));
+
+        assertEquals(List.of(postThree, postOne),
+                postService.findAll(10, 0, "id", true, PostStatusType.PUBLISHED));
+    }
+
+    @Test
+    public void findAllByTagsFromRarestTag() {
+        Post postOne = Post.builder().id("1").build();
+        Post postTwo = Post.builder().id("2").build();
+        when(tagUsageService.count("common")).thenReturn(100L);
+        when(tagUsageService.count("rare")).thenReturn(2L);
+        when(postRepository.findIdsByTags(List.of("rare", "common"), true, null, "3", 2))
+                .thenReturn(List.of("2", "1"));
+        when(postEntityCache.findAllById(List.of("2", "1"))).thenReturn(List.of(postOne, postTwo));
+
+        assertEquals(List.of(postTwo, postOne),
+                postService.findAllByTags(List.of("common", "rare", "common"), "ALL", null, "3", 2));
+        assertThrows(ReckueIllegalArgumentException.class,
+                () -> postService.findAllByTags(List.of("rare"), "some", null, null, 2));
+    }
+
+    @Test
+    public void findRelated() {
+        Post post = Post.builder().id("1").build();
+        List<Post> related = List.of(Post.builder().id("2").build());
+        when(postEntityCache.findById("1")).thenReturn(Optional.of(post));
+        when(relatedPostService.findRelated(post, 10)).thenReturn(related);
+
+        assertEquals(related, postService.findRelated("1", null));
+        assertThrows(ReckueIllegalArgumentException.class, () -> postService.findRelated("1", -1));
+        assertThrows(PostNotFoundException.class, () -> postService.findRelated("3", 10));
+    }
+
+    @Test
+    public void searchAfterCursor() {
+        List<PostSummary> page = List.of(PostSummary.builder().id("1").score(0.5).build());
+        when(postRepository.search("spring boot", PostStatusType.PUBLISHED, 1.25, "2", 10)).thenReturn(page);
+
+        assertEquals(page, postService.search("spring boot", PostStatusType.PUBLISHED, "1.25:2", null));
+        postService.search("spring", null, "", 5);
+        verify(postRepository).search("spring", null, null, null, 5);
+        assertThrows(ReckueIllegalArgumentException.class, () -> postService.search(" ", null, null, 10));
+        assertThrows(ReckueIllegalArgumentException.class, () -> postService.search("spring", null, "2", 10));
+        assertThrows(ReckueIllegalArgumentException.class, () -> postService.search("spring", null, "a:2", 10));
+        assertThrows(ReckueIllegalArgumentException.class, () -> postService.search("spring", null, "1:", 10));
+    }
+
+    @Test
+    public void searchInstantFallsBackToTextIndex() {
+        List<PostSummary> found = List.of(PostSummary.builder().id("1").title("Spring boot").build());
+        when(instantSearchService.isReady()).thenReturn(true, false);
+        when(instantSearchService.search("spring bo", 10)).thenReturn(found);
+
+        assertEquals(found, postService.searchInstant("spring bo", null));
+        postService.searchInstant("spring bo", 5);
+        verify(postRepository).search("spring bo", null, null, null, 5);
+        assertThrows(ReckueIllegalArgumentException.class, () -> postService.searchInstant(" ", 10));
+        assertThrows(ReckueIllegalArgumentException.class, () -> postService.searchInstant("spring", -1));
+    }
+
+    @Test
+    public void findAllFromFeedSnapshot() {
+        List<Post> page = List.of(Post.builder().id("2").build(), Post.builder().id("1").build());
+
+        when(feedSnapshotService.find("createdDate", true, null, 10, 0)).thenReturn(Optional.of(page));
+
+        assertEquals(page, postService.findAll(null, null, "createdDate", true));
+        verify(postRepository, never()).findAll();
+    }
+
     @Test
     public void findAllWithIllegalArgLimit() {
         assertThrows(ReckueIllegalArgumentException.class,
@@ -317,14 +564,27 @@ class PostServiceRealizationTest extends PostServiceApplicationTests {
                 .build();
         List<Post> posts = new ArrayList<>();
         posts.add(postOne);
-        when(postRepository.existsById(postOne.getId())).thenReturn(true);
         doAnswer(invocation -> {
             posts.remove(postOne);
-            return null;
-        }).when(postRepository).deleteById(postOne.getId());
+            return postOne;
+        }).when(postRepository).removeById(postOne.getId());
         postService.deleteById(postOne.getId());
 
         assertEquals(0, posts.size());
+        verify(postRepository, never()).existsById(postOne.getId());
+        verify(cascadeDeleteService).enqueue(postOne.getId());
+        verify(contentBlobService).release(postOne.getNodes());
+        verify(postRenderService).evict(postOne.getId());
+    }
+
+    @Test
+    public void deleteByIdEnqueuesCascadeBeforeEvictions() {
+        Post post = Post.builder().id("1").title("post").build();
+        when(postRepository.removeById(post.getId())).thenReturn(post);
+        doThrow(new IllegalStateException("Snapshot is broken")).when(feedSnapshotService).deleted(post.getId());
+
+        assertThrows(IllegalStateException.class, () -> postService.deleteById(post.getId()));
+        verify(cascadeDeleteService).enqueue(post.getId());
     }
 
     @Test
@@ -333,8 +593,9 @@ class PostServiceRealizationTest extends PostServiceApplicationTests {
                 .id("1")
                 .title("postOne")
                 .build();
-        when(postRepository.existsById(postOne.getId())).thenReturn(false);
+        when(postRepository.removeById(postOne.getId())).thenReturn(null);
 
         assertThrows(PostNotFoundException.class, () -> postService.deleteById(postOne.getId()));
+        verify(cascadeDeleteService, never()).enqueue(postOne.getId());
     }
 }
@@ -7,13 +7,17 @@ import com.reckue.post.exceptions.models.rating.RatingAlreadyExistsException;
 import com.reckue.post.exceptions.models.rating.RatingNotFoundException;
 import com.reckue.post.models.Post;
 import com.reckue.post.models.Rating;
-import com.reckue.post.repositories.PostRepository;
 import com.reckue.post.repositories.RatingRepository;
+import com.reckue.post.services.NegativeLookupCache;
+import com.reckue.post.services.PostEntityCache;
+import com.reckue.post.utils.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -40,7 +44,14 @@ public class RatingServiceRealizationTest extends PostServiceApplicationTests {
     private RatingRepository ratingRepository;
 
     @Mock
-    private PostRepository postRepository;
+    private PostEntityCache postEntityCache;
+
+    @Mock
+    private NegativeLookupCache negativeLookupCache;
+
+    @Spy
+    private SingleFlight<String, Integer> ratingsCountFlight =
+            new SingleFlight<>("ratings-count", 1000, new SimpleMeterRegistry());
 
     @InjectMocks
     private RatingServiceRealization ratingService;
@@ -77,7 +88,6 @@ public class RatingServiceRealizationTest extends PostServiceApplicationTests {
         Post post = Post.builder()
                 .id("2rs5")
                 .build();
-        when(postRepository.save(post)).thenReturn(post);
 
         Rating rating = Rating.builder()
                 .id("4")
@@ -85,7 +95,7 @@ public class RatingServiceRealizationTest extends PostServiceApplicationTests {
                 .postId(post.getId())
                 .build();
         when(ratingRepository.save(rating)).thenReturn(rating);
-        doReturn(true).when(postRepository).existsById(post.getId());
+        doReturn(true).when(postEntityCache).existsById(post.getId());
 
         assertEquals(rating, ratingService.create(rating));
     }
@@ -93,7 +103,7 @@ public class RatingServiceRealizationTest extends PostServiceApplicationTests {
     @Test
     public void createIfNotFound() {
         when(ratingRepository.existsById(rating1.getId())).thenReturn(false);
-        doReturn(false).when(postRepository).existsById(rating1.getPostId());
+        doReturn(false).when(postEntityCache).existsById(rating1.getPostId());
 
         Exception exception = assertThrows(PostNotFoundException.class, () -> ratingService.create(rating1));
 
@@ -159,4 +169,13 @@ public class RatingServiceRealizationTest extends PostServiceApplicationTests {
                 () -> ratingService.deleteById(rating1.getId()));
         assertEquals("Rating by id '" + rating1.getId() + "' is not found", exception.getMessage());
     }
+
+    @Test
+    public void getRatingsCountByPostId() {
+        when(postEntityCache.existsById("1")).thenReturn(true);
+        when(ratingRepository.existsByPostId("1")).thenReturn(true);
+        when(ratingRepository.findByPostId("1")).thenReturn(List.of(rating1, rating2));
+
+        assertEquals(2, ratingService.getRatingsCountByPostId("1"));
+    }
 }
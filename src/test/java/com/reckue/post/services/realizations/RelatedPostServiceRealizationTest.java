@@ -0,0 +1,149 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.configs.properties.RelatedProperties;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.PostSignature;
+import com.reckue.post.models.Tag;
+import com.reckue.post.models.nodes.TextNode;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.models.types.PostStatusType;
+import com.reckue.post.repositories.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class RelatedPostServiceRealizationTest represents test for RelatedPostService class.
+ */
+class RelatedPostServiceRealizationTest extends PostServiceApplicationTests {
+
+    private static final String TEXT = "the quick brown fox jumps over the lazy dog near the river bank";
+
+    @Autowired
+    private RelatedPostServiceRealization relatedPostService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RelatedProperties relatedProperties;
+
+    @BeforeEach
+    public void setUp() {
+        postRepository.deleteAll();
+        mongoTemplate.dropCollection(PostSignature.class);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        setUp();
+    }
+
+    @Test
+    void similarPostsGoFirst() {
+        Post post = save("post", TEXT, "java", "spring");
+        Post same = save("same", TEXT, "java", "spring");
+        Post close = save("close", TEXT + " in the morning", "java");
+        save("other", "completely different words about cooking pasta with tomato sauce", "food");
+
+        assertEquals(List.of("same", "close"), titles(relatedPostService.findRelated(post, 10)));
+        assertEquals(List.of("same"), titles(relatedPostService.findRelated(post, 1)));
+        assertEquals(List.of("post", "close"), titles(relatedPostService.findRelated(same, 10)));
+        assertTrue(relatedPostService.findRelated(close, 0).isEmpty());
+    }
+
+    @Test
+    void missingSignatureIsComputedOnRequest() {
+        Post post = save("post", TEXT, "java");
+        Post other = postRepository.save(post("other", TEXT, "java"));
+
+        assertEquals(List.of("post"), titles(relatedPostService.findRelated(other, 10)));
+        assertNotNull(mongoTemplate.findById(other.getId(), PostSignature.class));
+        assertEquals(List.of("other"), titles(relatedPostService.findRelated(post, 10)));
+    }
+
+    @Test
+    void deletedPostIsNotRelated() {
+        Post post = save("post", TEXT, "java");
+        Post deleted = save("deleted", TEXT, "java");
+
+        relatedPostService.deleted(deleted.getId());
+
+        assertNull(mongoTemplate.findById(deleted.getId(), PostSignature.class));
+        assertTrue(relatedPostService.findRelated(post, 10).isEmpty());
+    }
+
+    @Test
+    void postWithoutTagsAndTextHasNoRelatedPosts() {
+        Post empty = save("empty", null);
+        save("post", TEXT, "java");
+
+        assertTrue(relatedPostService.findRelated(empty, 10).isEmpty());
+    }
+
+    @Test
+    void onlyPublishedPostsAreRelated() {
+        Post post = save("post", TEXT, "java");
+        Post draft = save("draft", TEXT, "java");
+        draft.setStatus(PostStatusType.DRAFT);
+        relatedPostService.saved(postRepository.save(draft));
+
+        assertTrue(titles(relatedPostService.findRelated(post, 10)).isEmpty());
+
+        draft.setStatus(PostStatusType.PUBLISHED);
+        relatedPostService.saved(postRepository.save(draft));
+
+        assertEquals(List.of("draft"), titles(relatedPostService.findRelated(post, 10)));
+    }
+
+    @Test
+    void newestCandidatesAreTakenFirst() {
+        relatedProperties.setCandidates(1);
+        try {
+            Post post = save("post", TEXT, "java");
+            save("older", TEXT, "java");
+            save("newer", TEXT, "java");
+
+            assertEquals(List.of("newer"), titles(relatedPostService.findRelated(post, 10)));
+        } finally {
+            relatedProperties.setCandidates(500);
+        }
+    }
+
+    private Post save(String title, String text, String... tags) {
+        Post post = postRepository.save(post(title, text, tags));
+        relatedPostService.saved(post);
+        return post;
+    }
+
+    private static Post post(String title, String text, String... tags) {
+        return Post.builder()
+                .title(title)
+                .status(PostStatusType.PUBLISHED)
+                .nodes(List.of(Node.builder().type(NodeType.TEXT).node(new TextNode(text)).build()))
+                .tags(Arrays.stream(tags)
+                        .map(id -> Tag.builder().id(id).name(id).build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static List<String> titles(List<Post> posts) {
+        return posts.stream().map(Post::getTitle).collect(Collectors.toList());
+    }
+}
@@ -1,21 +1,29 @@
 package com.reckue.post.services.realizations;
 
 import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.configs.properties.TagCatalogProperties;
+import com.reckue.post.configs.properties.TagUsageProperties;
 import com.reckue.post.exceptions.ModelNotFoundException;
 import com.reckue.post.exceptions.ReckueIllegalArgumentException;
 import com.reckue.post.exceptions.models.tag.TagAlreadyExistsException;
 import com.reckue.post.exceptions.models.tag.TagNotFoundException;
 import com.reckue.post.models.Tag;
 import com.reckue.post.repositories.TagRepository;
+import com.reckue.post.services.NegativeLookupCache;
+import com.reckue.post.services.PostEntityCache;
+import com.reckue.post.services.TagUsageService;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,6 +40,21 @@ public class TagServiceRealizationUnitTest extends PostServiceApplicationTests {
     @Mock
     private TagRepository tagRepository;
 
+    @Mock
+    private NegativeLookupCache negativeLookupCache;
+
+    @Mock
+    private TagUsageService tagUsageService;
+
+    @Spy
+    private TagUsageProperties tagUsageProperties = new TagUsageProperties();
+
+    @Spy
+    private TagCatalogProperties tagCatalogProperties = new TagCatalogProperties();
+
+    @Mock
+    private PostEntityCache postEntityCache;
+
     @InjectMocks
     private TagServiceRealization tagService;
 
@@ -62,6 +85,46 @@ public class TagServiceRealizationUnitTest extends PostServiceApplicationTests {
         assertEquals(tagRequest.getName(), tag.getName());
     }
 
+    @Test
+    public void updateEvictsPostsOnRenameWithReferences() {
+        tagCatalogProperties.setReferences(true);
+        Tag tag = Tag.builder().id("1").name("code").build();
+        when(tagRepository.findById("1")).thenReturn(Optional.of(tag));
+        when(tagRepository.save(tag)).thenReturn(tag);
+
+        tagService.update(Tag.builder().id("1").name("code").build());
+        verify(postEntityCache, never()).evictAllByTag("1");
+
+        tagService.update(Tag.builder().id("1").name("newName").build());
+        verify(postEntityCache).evictAllByTag("1");
+        verify(postEntityCache, never()).evictAll();
+    }
+
+    @Test
+    public void generationChangesWithTagNamesOnlyWithReferences() {
+        List<Tag> tags = List.of(Tag.builder().id("1").name("java").build());
+        List<Tag> same = List.of(Tag.builder().id("1").name("java").build());
+        List<Tag> renamed = List.of(Tag.builder().id("1").name("jvm").build());
+
+        assertEquals(0, tagService.generation(tags));
+        tagCatalogProperties.setReferences(true);
+        assertEquals(tagService.generation(tags), tagService.generation(same));
+        assertNotEquals(tagService.generation(tags), tagService.generation(renamed));
+        assertEquals(0, tagService.generation(List.of()));
+    }
+
+    @Test
+    public void resolveReplacesTagsByCatalogTags() {
+        Tag tag = Tag.builder().id("1").name("code").build();
+        when(tagRepository.findAll()).thenReturn(List.of(tag));
+
+        List<Tag> resolved = tagService.resolve(List.of(Tag.builder().id("1").build(), Tag.builder().id("2").build()));
+
+        assertEquals(List.of(tag, Tag.builder().id("2").build()), resolved);
+        assertSame(resolved.get(0), tagService.resolve(List.of(Tag.builder().id("1").build())).get(0));
+        assertNull(tagService.resolve(null));
+    }
+
     @Test
     public void updateTagWithNullId() {
         Tag tag = Tag.builder().build();
@@ -238,6 +301,104 @@ public class TagServiceRealizationUnitTest extends PostServiceApplicationTests {
         assertEquals(test5, tagService.findAll(2, 1, "id", true));
     }
 
+    @Test
+    public void readsAreServedFromCatalog() {
+        Tag tag1 = Tag.builder().id("1").name("b").build();
+        Tag tag2 = Tag.builder().id("2").name("a").build();
+        when(tagRepository.findAll()).thenReturn(List.of(tag1, tag2));
+
+        assertEquals(List.of(tag2, tag1), tagService.findAll(10, 0, "name", false));
+        assertEquals(tag1, tagService.findById("1"));
+        assertEquals(List.of(tag2), tagService.findAll(2, 1, "id", false));
+
+        verify(tagRepository, times(1)).findAll();
+        verify(tagRepository, never()).findById(anyString());
+    }
+
+    @Test
+    public void catalogIsReadOnceByConcurrentRequests() throws Exception {
+        Tag tag = Tag.builder().id("1").name("core").build();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(tagRepository.findAll()).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(tag);
+        });
+        Thread first = new Thread(() -> tagService.findAll());
+        Thread second = new Thread(() -> tagService.findAll());
+        first.start();
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        second.start();
+        while (second.getState() != Thread.State.BLOCKED && second.isAlive()) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        first.join();
+        second.join();
+
+        assertEquals(List.of(tag), tagService.findAll());
+        verify(tagRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void createdTagIsAddedToCatalog() {
+        Tag tag = Tag.builder().id("1").name("core").build();
+        when(tagRepository.findAll()).thenReturn(List.of());
+        when(tagRepository.save(tag)).thenReturn(tag);
+
+        assertTrue(tagService.findAll().isEmpty());
+        tagService.create(tag);
+
+        assertEquals(List.of(tag), tagService.findAll());
+        verify(tagRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void suggestMostUsedTagsOfPrefix() {
+        Tag java = Tag.builder().id("1").name("Java").build();
+        Tag javascript = Tag.builder().id("2").name("javascript").build();
+        Tag jvm = Tag.builder().id("3").name("jvm").build();
+        Tag kotlin = Tag.builder().id("4").name("kotlin").build();
+        Tag jakarta = Tag.builder().id("5").name("jakarta").build();
+        when(tagRepository.findAll()).thenReturn(List.of(java, javascript, jvm, kotlin, jakarta));
+        when(tagUsageService.count("1")).thenReturn(5L);
+        when(tagUsageService.count("2")).thenReturn(7L);
+        when(tagUsageService.count("4")).thenReturn(9L);
+
+        assertEquals(List.of(javascript, java), tagService.suggest("JA", 2));
+        assertEquals(List.of(javascript, java, jakarta, jvm), tagService.suggest("j", null));
+        assertTrue(tagService.suggest("scala", 5).isEmpty());
+        assertThrows(ReckueIllegalArgumentException.class, () -> tagService.suggest("j", -1));
+    }
+
+    @Test
+    public void findAllSortedByPopular() {
+        Tag tag1 = Tag.builder().id("1").name("a").build();
+        Tag tag2 = Tag.builder().id("2").name("b").build();
+        Tag tag3 = Tag.builder().id("3").name("c").build();
+        when(tagRepository.findAll()).thenReturn(List.of(tag1, tag2, tag3));
+        when(tagUsageService.count("2")).thenReturn(4L);
+        when(tagUsageService.count("3")).thenReturn(1L);
+
+        assertEquals(List.of(tag2, tag3), tagService.findAll(2, 0, "popular", false));
+        assertEquals(List.of(tag1, tag3, tag2), tagService.findAll(3, 0, "popular", true));
+    }
+
+    @Test
+    public void findTrending() {
+        Tag tag1 = Tag.builder().id("1").name("a").build();
+        Tag tag2 = Tag.builder().id("2").name("b").build();
+        when(tagRepository.findAll()).thenReturn(List.of(tag1, tag2));
+        when(tagUsageService.trending(24 * 3600000L, 3)).thenReturn(List.of("2", "deleted", "1"));
+        when(tagUsageService.trending(tagUsageProperties.getDefaultWindow(), 10)).thenReturn(List.of("1"));
+
+        assertEquals(List.of(tag2, tag1), tagService.findTrending("24h", 3));
+        assertEquals(List.of(tag1), tagService.findTrending(null, null));
+        assertThrows(ReckueIllegalArgumentException.class, () -> tagService.findTrending("week", 3));
+        assertThrows(ReckueIllegalArgumentException.class, () -> tagService.findTrending("-1d", 3));
+    }
+
     @Test
     public void deleteById() {
         Tag tag = Tag.builder()
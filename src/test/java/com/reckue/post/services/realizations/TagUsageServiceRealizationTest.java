@@ -0,0 +1,151 @@
+package com.reckue.post.services.realizations;
+
+import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.models.Post;
+import com.reckue.post.models.Tag;
+import com.reckue.post.models.TagCounter;
+import com.reckue.post.models.TagUsageBucket;
+import com.reckue.post.repositories.PostRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Class TagUsageServiceRealizationTest represents test for TagUsageService class.
+ */
+class TagUsageServiceRealizationTest extends PostServiceApplicationTests {
+
+    @Autowired
+    private TagUsageServiceRealization tagUsageService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private static Tag tag(String id) {
+        return Tag.builder().id(id).name(id).build();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate.dropCollection(TagCounter.class);
+        mongoTemplate.dropCollection(TagUsageBucket.class);
+        postRepository.deleteAll();
+        removeSeedMarker();
+        tagUsageService.refresh();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        setUp();
+    }
+
+    @Test
+    void differenceOfTagsIsCounted() {
+        tagUsageService.changed(null, List.of(tag("a"), tag("b"), tag("b")));
+        tagUsageService.changed(null, List.of(tag("a")));
+        tagUsageService.changed(List.of(tag("a"), tag("b")), List.of(tag("b"), tag("c")));
+
+        assertEquals(1, tagUsageService.count("a"));
+        assertEquals(1, tagUsageService.count("b"));
+        assertEquals(1, tagUsageService.count("c"));
+        assertEquals(0, tagUsageService.count("d"));
+        assertEquals(1, mongoTemplate.findById("a", TagCounter.class).getCount());
+        assertEquals(List.of("a", "b", "c"), tagUsageService.trending(3600000, 10));
+    }
+
+    @Test
+    void refreshReadsCountersOfOtherInstances() {
+        tagUsageService.changed(null, List.of(tag("a")));
+        mongoTemplate.save(TagCounter.builder().id("b").count(3).build());
+
+        tagUsageService.refresh();
+
+        assertEquals(1, tagUsageService.count("a"));
+        assertEquals(3, tagUsageService.count("b"));
+    }
+
+    @Test
+    void refreshCountsPostsWithoutCounters() {
+        postRepository.save(Post.builder().title("first").tags(List.of(tag("a"), tag("b"))).build());
+        postRepository.save(Post.builder().title("second").tags(List.of(tag("a"))).build());
+        removeSeedMarker();
+
+        tagUsageService.refresh();
+
+        assertEquals(2, tagUsageService.count("a"));
+        assertEquals(1, tagUsageService.count("b"));
+    }
+
+    @Test
+    void seedingDoesNotCountChangedPostsTwice() {
+        removeSeedMarker();
+        postRepository.save(Post.builder().title("first").tags(List.of(tag("a"))).build());
+        tagUsageService.changed(null, List.of(tag("a"), tag("b")));
+        postRepository.save(Post.builder().title("second").tags(List.of(tag("a"))).build());
+
+        tagUsageService.refresh();
+
+        assertEquals(2, tagUsageService.count("a"));
+        assertEquals(0, tagUsageService.count("b"));
+        assertEquals(0, mongoTemplate.findById("b", TagCounter.class).getCount());
+    }
+
+    @Test
+    void countersAreSeededOnce() {
+        postRepository.save(Post.builder().title("first").tags(List.of(tag("a"))).build());
+        removeSeedMarker();
+        tagUsageService.refresh();
+        mongoTemplate.dropCollection(TagCounter.class);
+
+        tagUsageService.refresh();
+
+        assertEquals(0, tagUsageService.count("a"));
+    }
+
+    @Test
+    void negativeCounterIsClampedAtZero() {
+        mongoTemplate.save(TagCounter.builder().id("a").count(-2).build());
+
+        tagUsageService.refresh();
+
+        assertEquals(0, tagUsageService.count("a"));
+    }
+
+    @Test
+    void trendingIsSummedWithinWindow() {
+        Instant now = Instant.now();
+        mongoTemplate.save(bucket("a", now.minus(Duration.ofDays(3)), 10));
+        mongoTemplate.save(bucket("b", now.minus(Duration.ofHours(3)), 2));
+        mongoTemplate.save(bucket("b", now.minus(Duration.ofHours(2)), 2));
+        mongoTemplate.save(bucket("c", now.minus(Duration.ofHours(1)), 3));
+        mongoTemplate.save(bucket("d", now.minus(Duration.ofHours(1)), -1));
+
+        assertEquals(List.of("b", "c"), tagUsageService.trending(Duration.ofDays(1).toMillis(), 10));
+        assertEquals(List.of("a", "b"), tagUsageService.trending(Duration.ofDays(7).toMillis(), 2));
+    }
+
+    private void removeSeedMarker() {
+        mongoTemplate.remove(new Document("_id", "tag-counters-seeded"), "storageSettings");
+    }
+
+    private static TagUsageBucket bucket(String tagId, Instant start, long count) {
+        return TagUsageBucket.builder()
+                .id(tagId + "/" + start.toEpochMilli())
+                .tagId(tagId)
+                .start(start)
+                .count(count)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.reckue.post.utils;
+
+import com.reckue.post.exceptions.PreconditionFailedException;
+import com.reckue.post.exceptions.ReckueIllegalArgumentException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class EntityTagsTest allows to test all methods of class EntityTags.
+ */
+class EntityTagsTest {
+
+    @Test
+    void of() {
+        assertEquals("\"3\"", EntityTags.of(3L));
+        assertEquals("\"0\"", EntityTags.of(null));
+        assertEquals("\"3-gzip\"", EntityTags.of(3L, true));
+        assertEquals("\"3\"", EntityTags.of(3L, false));
+        assertEquals("\"3.1f\"", EntityTags.of(3L, 31, false));
+        assertEquals("\"3.1f-gzip\"", EntityTags.of(3L, 31, true));
+        assertEquals("\"3-gzip\"", EntityTags.of(3L, 0, true));
+    }
+
+    @Test
+    void acceptsGzip() {
+        assertTrue(EntityTags.acceptsGzip("gzip, deflate"));
+        assertTrue(EntityTags.acceptsGzip("deflate;q=1, GZIP;q=0.5"));
+        assertTrue(EntityTags.acceptsGzip("*"));
+        assertFalse(EntityTags.acceptsGzip(null));
+        assertFalse(EntityTags.acceptsGzip("deflate, br"));
+        assertFalse(EntityTags.acceptsGzip("gzip;q=0, deflate"));
+        assertFalse(EntityTags.acceptsGzip("gzip; q=0.0"));
+        assertFalse(EntityTags.acceptsGzip("*, gzip;q=0"));
+        assertFalse(EntityTags.acceptsGzip("*;q=0"));
+    }
+
+    @Test
+    void parseVersion() {
+        assertEquals(3L, EntityTags.parseVersion("\"3\""));
+        assertEquals(3L, EntityTags.parseVersion("3"));
+        assertEquals(3L, EntityTags.parseVersion("\"3-gzip\""));
+        assertEquals(3L, EntityTags.parseVersion("\"3.1f\""));
+        assertEquals(3L, EntityTags.parseVersion("\"3.1f-gzip\""));
+        assertNull(EntityTags.parseVersion(null));
+        assertNull(EntityTags.parseVersion("*"));
+    }
+
+    @Test
+    void parseVersionWithIllegalTag() {
+        assertThrows(ReckueIllegalArgumentException.class, () -> EntityTags.parseVersion("\"abc\""));
+    }
+
+    @Test
+    void parseVersionWithWeakTag() {
+        assertThrows(PreconditionFailedException.class, () -> EntityTags.parseVersion("W/\"3\""));
+    }
+}
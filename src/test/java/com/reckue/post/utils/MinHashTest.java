@@ -0,0 +1,77 @@
+package com.reckue.post.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class MinHashTest represents test for MinHash class.
+ */
+class MinHashTest {
+
+    private final MinHash minHash = new MinHash(128, 32);
+
+    private static Set<String> range(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "word" + i).collect(Collectors.toSet());
+    }
+
+    @Test
+    void similarityEstimatesJaccardIndex() {
+        int[] first = minHash.signature(range(0, 100));
+        int[] second = minHash.signature(range(50, 150));
+
+        assertEquals(1.0 / 3, MinHash.similarity(first, second), 0.12);
+        assertEquals(1.0, MinHash.similarity(first, minHash.signature(range(0, 100))));
+        assertTrue(MinHash.similarity(first, minHash.signature(range(200, 300))) < 0.1);
+    }
+
+    @Test
+    void signaturesAreEqualInEveryInstance() {
+        assertArrayEquals(minHash.signature(range(0, 10)), new MinHash(128, 32).signature(range(0, 10)));
+    }
+
+    @Test
+    void similarSetsShareBand() {
+        List<String> first = minHash.bands(minHash.signature(range(0, 100)));
+        List<String> similar = minHash.bands(minHash.signature(range(5, 100)));
+        List<String> other = minHash.bands(minHash.signature(range(200, 300)));
+
+        Set<String> shared = new HashSet<>(first);
+        shared.retainAll(similar);
+        assertEquals(32, first.size());
+        assertTrue(!shared.isEmpty());
+        assertTrue(first.stream().noneMatch(other::contains));
+    }
+
+    @Test
+    void emptySetHasNoBands() {
+        int[] signature = minHash.signature(Set.of());
+
+        assertEquals(0, signature.length);
+        assertTrue(minHash.bands(signature).isEmpty());
+        assertEquals(0, MinHash.similarity(signature, signature));
+    }
+
+    @Test
+    void textIsSplitIntoShingles() {
+        assertEquals(Set.of("hello big", "big world"), MinHash.shingles("Hello, big  World!", 2));
+        assertEquals(Set.of("hello"), MinHash.shingles("Hello", 2));
+        assertTrue(MinHash.shingles(" ... ", 2).isEmpty());
+        assertNotEquals(MinHash.shingles("a b c", 2), MinHash.shingles("c b a", 2));
+    }
+
+    @Test
+    void bandsMustDivideHashes() {
+        assertThrows(IllegalArgumentException.class, () -> new MinHash(100, 32));
+    }
+}
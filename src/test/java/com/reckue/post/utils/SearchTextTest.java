@@ -0,0 +1,60 @@
+package com.reckue.post.utils;
+
+import com.reckue.post.models.Node;
+import com.reckue.post.models.nodes.CodeNode;
+import com.reckue.post.models.nodes.ImageNode;
+import com.reckue.post.models.nodes.ListNode;
+import com.reckue.post.models.nodes.Parent;
+import com.reckue.post.models.nodes.PollNode;
+import com.reckue.post.models.nodes.TextNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Class SearchTextTest represents test for SearchText class.
+ */
+class SearchTextTest {
+
+    private static Node node(Parent parent) {
+        return Node.builder().node(parent).build();
+    }
+
+    @Test
+    void joinTextOfNodes() {
+        List<Node> nodes = List.of(
+                node(TextNode.builder().content("text").blobId("blob").build()),
+                node(CodeNode.builder().content("code").build()),
+                node(ListNode.builder().content(List.of("first", "second")).build()),
+                node(PollNode.builder().title("poll").items(List.of("yes", "no")).build()),
+                node(ImageNode.builder().build()));
+
+        assertEquals("text\ncode\nfirst\nsecond\npoll", SearchText.of(nodes, 100));
+    }
+
+    @Test
+    void cutTextAtMaxLength() {
+        List<Node> nodes = List.of(
+                node(TextNode.builder().content("x".repeat(50)).build()),
+                node(TextNode.builder().content("y".repeat(50)).build()),
+                node(TextNode.builder().content("z").build()));
+
+        String text = SearchText.of(nodes, 60);
+
+        assertEquals(60, text.length());
+        assertEquals("x".repeat(50) + "\n" + "y".repeat(9), text);
+    }
+
+    @Test
+    void skipUnresolvedAndEmptyNodes() {
+        List<Node> nodes = List.of(
+                node(TextNode.builder().blobId("blob").build()),
+                node(ListNode.builder().build()),
+                node(TextNode.builder().content("text").build()));
+
+        assertEquals("text", SearchText.of(nodes, 100));
+        assertEquals("", SearchText.of(null, 100));
+    }
+}
@@ -0,0 +1,51 @@
+package com.reckue.post.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class SimHashTest represents test for SimHash class.
+ */
+class SimHashTest {
+
+    private static List<String> features(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "word" + i).collect(Collectors.toList());
+    }
+
+    @Test
+    void similarFeaturesHaveCloseFingerprints() {
+        long fingerprint = SimHash.fingerprint(features(0, 200));
+        List<String> edited = new ArrayList<>(features(0, 200));
+        edited.set(100, "edited");
+
+        assertTrue(SimHash.distance(fingerprint, SimHash.fingerprint(edited)) <= 3);
+        assertTrue(SimHash.distance(fingerprint, SimHash.fingerprint(features(200, 400))) > 10);
+        assertEquals(0, SimHash.distance(fingerprint, SimHash.fingerprint(features(0, 200))));
+    }
+
+    @Test
+    void closeFingerprintsShareBlock() {
+        long fingerprint = 0x0123456789abcdefL;
+        long close = fingerprint ^ 1L ^ 1L << 20 ^ 1L << 40;
+
+        List<String> blocks = SimHash.blocks(fingerprint, 4);
+        List<String> closeBlocks = SimHash.blocks(close, 4);
+
+        assertEquals(List.of("0:cdef", "1:89ab", "2:4567", "3:123"), blocks);
+        assertEquals(3, SimHash.distance(fingerprint, close));
+        assertTrue(blocks.stream().anyMatch(closeBlocks::contains));
+        assertEquals(List.of("0:" + Long.toHexString(fingerprint)), SimHash.blocks(fingerprint, 1));
+    }
+
+    @Test
+    void emptyFeaturesHaveZeroFingerprint() {
+        assertEquals(0, SimHash.fingerprint(List.of()));
+    }
+}
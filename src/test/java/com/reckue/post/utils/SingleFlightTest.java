@@ -0,0 +1,120 @@
+package com.reckue.post.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class SingleFlightTest represents test for SingleFlight class.
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    public void concurrentCallsShareOneRead() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", 5000, registry);
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> flight.execute("key", () -> {
+                    reads.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            while (coalesced() < CALLERS - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, reads.get());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    public void exceptionIsSharedWithWaitingCalls() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", 5000, registry);
+        IllegalStateException failure = new IllegalStateException("failure");
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> leader = executor.submit(() -> flight.execute("key", () -> {
+                await(release);
+                throw failure;
+            }));
+            while (flight.inFlight() == 0) {
+                Thread.sleep(5);
+            }
+            new Thread(() -> {
+                while (coalesced() < 1) {
+                    Thread.onSpinWait();
+                }
+                release.countDown();
+            }).start();
+
+            assertSame(failure, assertThrows(IllegalStateException.class, () -> flight.execute("key", () -> 0)));
+            assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    public void slowReadIsNotAwaitedLongerThanTimeout() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", 50, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> flight.execute("key", () -> {
+                await(release);
+                return 1;
+            }));
+            while (flight.inFlight() == 0) {
+                Thread.sleep(5);
+            }
+
+            assertEquals(2, flight.execute("key", () -> 2));
+            assertEquals(1.0, registry.get("reckue.single.flight").tag("result", "timeout").counter().count());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private double coalesced() {
+        return registry.get("reckue.single.flight").tag("result", "coalesced").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.reckue.post.utils.caches;
+
+import com.reckue.post.models.PostSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class InvertedIndexTest represents test for InvertedIndex class.
+ */
+class InvertedIndexTest {
+
+    private static List<String> ids(List<PostSummary> summaries) {
+        return summaries.stream().map(PostSummary::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void wordsAreSplitIgnoringCaseAndPunctuation() {
+        assertEquals(List.of("spring", "boot", "2", "how", "to"), InvertedIndex.tokens("Spring-Boot 2: how to?"));
+        assertTrue(InvertedIndex.tokens(" ... ").isEmpty());
+    }
+
+    @Test
+    void allWordsAreFoundAndLastOneByPrefix() {
+        InvertedIndex index = new InvertedIndex(10, 2);
+        index.put("1", "Spring Boot testing", List.of("java"));
+        index.put("2", "Spring Data Mongo", List.of("java", "mongodb"));
+        index.put("3", "Kotlin coroutines", List.of("kotlin"));
+        index.put("4", "Spring Boot actuator", List.of("ops"));
+
+        assertEquals(List.of("4", "2", "1"), ids(index.search("spring", 10)));
+        assertEquals(List.of("4", "1"), ids(index.search("SPRING b", 10)));
+        assertEquals(List.of("4", "1"), ids(index.search("boot spr", 10)));
+        assertEquals(List.of("2"), ids(index.search("spring mongo", 10)));
+        assertEquals(List.of("2", "1"), ids(index.search("ja", 10)));
+        assertEquals(List.of("4"), ids(index.search("spring", 1)));
+        assertEquals("Spring Boot actuator", index.search("actuator", 10).get(0).getTitle());
+        assertTrue(index.search("spring kotlin", 10).isEmpty());
+        assertTrue(index.search("springs", 10).isEmpty());
+        assertTrue(index.search("", 10).isEmpty());
+    }
+
+    @Test
+    void changedPostKeepsItsPlace() {
+        InvertedIndex index = new InvertedIndex(10, 3);
+        index.put("1", "Spring Boot", List.of());
+        index.put("2", "Spring Data", List.of());
+
+        index.put("1", "Spring Cloud", List.of());
+        index.remove("2");
+
+        assertEquals(List.of("1"), ids(index.search("spring", 10)));
+        assertTrue(index.search("boot", 10).isEmpty());
+        assertTrue(index.search("data", 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void oldestPostsAreRemovedOverCapacity() {
+        InvertedIndex index = new InvertedIndex(2, 3);
+        index.put("1", "Spring one", List.of());
+        index.put("2", "Spring two", List.of());
+        index.put("3", "Spring three", List.of());
+
+        assertEquals(List.of("3", "2"), ids(index.search("spring", 10)));
+        assertTrue(index.search("one", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void droppedWordsAreSkippedUntilPostingsAreCompacted() {
+        InvertedIndex index = new InvertedIndex(10, 2);
+        for (int i = 1; i <= 5; i++) {
+            index.put(String.valueOf(i), "Spring Boot " + i, List.of());
+        }
+
+        index.put("3", "Spring Cloud", List.of());
+        assertEquals(List.of("5", "4", "2", "1"), ids(index.search("boot", 10)));
+        assertEquals(List.of("5", "4", "2", "1"), ids(index.search("spring bo", 10)));
+
+        index.put("3", "Spring Boot again", List.of());
+        assertEquals(List.of("5", "4", "3", "2", "1"), ids(index.search("boot", 10)));
+
+        index.remove("5");
+        index.remove("4");
+        index.remove("3");
+        assertEquals(List.of("2", "1"), ids(index.search("boot", 10)));
+        assertEquals(List.of("2", "1"), ids(index.search("sp", 10)));
+        assertTrue(index.search("cloud", 10).isEmpty());
+    }
+
+    @Test
+    void writesAtCapacityKeepNewestPosts() {
+        InvertedIndex index = new InvertedIndex(100, 3);
+        for (int i = 0; i < 5000; i++) {
+            index.put(String.valueOf(i), "post " + (i % 2 == 0 ? "even" : "odd"), List.of());
+            if (i % 10 == 0) {
+                index.put(String.valueOf(i), "post changed", List.of());
+            }
+        }
+
+        assertEquals(100, index.size());
+        assertEquals(List.of("4999", "4998", "4997"), ids(index.search("post", 3)));
+        assertEquals(100, index.search("post", 1000).size());
+        assertEquals(40, index.search("even", 1000).size());
+        assertEquals(List.of("4990", "4980"), ids(index.search("chan", 2)));
+    }
+
+    @Test
+    void longPostingsAreIntersected() {
+        InvertedIndex index = new InvertedIndex(10000, 3);
+        for (int i = 0; i < 5000; i++) {
+            index.put(String.valueOf(i), "post " + (i % 7 == 0 ? "seven " : "") + (i % 11 == 0 ? "eleven" : ""),
+                    List.of());
+        }
+
+        assertEquals(List.of("4928", "4851", "4774"), ids(index.search("post eleven sev", 3)));
+        assertEquals(65, index.search("seven elev", 100).size());
+    }
+
+    @Test
+    void longPrefixIsMergedFromNewestPosts() {
+        InvertedIndex index = new InvertedIndex(10000, 2);
+        for (int i = 0; i < 3000; i++) {
+            index.put(String.valueOf(i), "post " + List.of("spring", "springboot", "sprint").get(i % 3)
+                    + (i % 5 == 0 ? " five" : ""), List.of());
+        }
+
+        assertEquals(List.of("2999", "2998", "2997"), ids(index.search("spri", 3)));
+        assertEquals(List.of("2995", "2990", "2985", "2980"), ids(index.search("five spri", 4)));
+        assertEquals(List.of("2995", "2980"), ids(index.search("five springb", 2)));
+        assertEquals(600, index.search("post five spr", 1000).size());
+        assertTrue(index.search("five sprx", 10).isEmpty());
+    }
+}
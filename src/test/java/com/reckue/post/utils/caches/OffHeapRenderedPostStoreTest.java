@@ -0,0 +1,112 @@
+package com.reckue.post.utils.caches;
+
+import com.reckue.post.transfers.RenderedPost;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Class OffHeapRenderedPostStoreTest represents test for OffHeapRenderedPostStore class.
+ */
+class OffHeapRenderedPostStoreTest {
+
+    private static RenderedPost rendered(long version, String json) {
+        return RenderedPost.of(version, 0, json.getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    private static String json(RenderedPost rendered) {
+        return StandardCharsets.UTF_8.decode(rendered.body(false)).toString();
+    }
+
+    @Test
+    void findStoredVersion() {
+        OffHeapRenderedPostStore store = new OffHeapRenderedPostStore(4096, 2048);
+        store.put("1", RenderedPost.of(2, 0, "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8), new byte[]{1, 2, 3}));
+
+        RenderedPost found = store.find("1", 2);
+
+        assertEquals("{\"id\":\"1\"}", json(found));
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3}), found.body(true));
+        assertNull(store.find("1", 3));
+        assertEquals(1, store.size());
+        assertEquals(13, store.bytes());
+    }
+
+    @Test
+    void evictNotRecentlyReadChunk() {
+        OffHeapRenderedPostStore store = new OffHeapRenderedPostStore(2048, 2048);
+        store.put("1", rendered(1, "one"));
+        store.put("2", rendered(1, "two"));
+        store.find("1", 1).release();
+
+        store.put("3", rendered(1, "three"));
+
+        assertNotNull(store.find("1", 1));
+        assertNull(store.find("2", 1));
+        assertEquals("three", json(store.find("3", 1)));
+        assertEquals(1, store.slabs());
+    }
+
+    @Test
+    void neverReusePinnedChunk() {
+        OffHeapRenderedPostStore store = new OffHeapRenderedPostStore(1024, 1024);
+        store.put("1", rendered(1, "one"));
+        RenderedPost pinned = store.find("1", 1);
+
+        store.put("1", rendered(2, "two"));
+        assertNull(store.find("1", 2));
+        assertEquals("one", json(pinned));
+
+        pinned.release();
+        store.put("1", rendered(2, "two"));
+        assertEquals("two", json(store.find("1", 2)));
+    }
+
+    @Test
+    void skipTooBigResponse() {
+        OffHeapRenderedPostStore store = new OffHeapRenderedPostStore(4096, 1024);
+        store.put("1", rendered(1, "x".repeat(2048)));
+
+        assertNull(store.find("1", 1));
+        assertEquals(0, store.size());
+        assertFalse(store.slabs() > 0);
+    }
+
+    @Test
+    void handOverSlabToAnotherSizeClass() {
+        OffHeapRenderedPostStore store = new OffHeapRenderedPostStore(4096, 2048);
+        for (int i = 0; i < 4; i++) {
+            store.put(String.valueOf(i), rendered(1, "small " + i));
+        }
+        store.find("0", 1).release();
+
+        store.put("big", rendered(1, "x".repeat(1500)));
+
+        assertEquals(1500, json(store.find("big", 1)).length());
+        assertEquals("small 0", json(store.find("0", 1)));
+        assertEquals(3, store.size());
+        assertEquals(2, store.slabs());
+    }
+
+    @Test
+    void neverHandOverPinnedSlab() {
+        OffHeapRenderedPostStore store = new OffHeapRenderedPostStore(2048, 2048);
+        store.put("1", rendered(1, "one"));
+        RenderedPost pinned = store.find("1", 1);
+
+        store.put("big", rendered(1, "x".repeat(1500)));
+        assertNull(store.find("big", 1));
+        assertEquals("one", json(pinned));
+
+        pinned.release();
+        store.put("big", rendered(1, "x".repeat(1500)));
+        assertNotNull(store.find("big", 1));
+        assertNull(store.find("1", 1));
+    }
+}
@@ -0,0 +1,65 @@
+package com.reckue.post.utils.caches;
+
+import com.reckue.post.models.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class TagCatalogTest represents test for TagCatalog class.
+ */
+class TagCatalogTest {
+
+    private static Tag tag(String id, String name) {
+        return Tag.builder().id(id).name(name).build();
+    }
+
+    @Test
+    void tagsAreSortedByIdAndByName() {
+        TagCatalog catalog = TagCatalog.of(List.of(tag("2", "b"), tag("3", "a"), tag("1", "b")));
+
+        assertEquals(List.of(tag("1", "b"), tag("2", "b"), tag("3", "a")), catalog.sortedById());
+        assertEquals(List.of(tag("3", "a"), tag("1", "b"), tag("2", "b")), catalog.sortedByName());
+        assertThrows(UnsupportedOperationException.class, () -> catalog.sortedById().remove(0));
+    }
+
+    @Test
+    void changeMakesNewCatalog() {
+        TagCatalog catalog = TagCatalog.of(List.of(tag("1", "a"), tag("2", "b")));
+
+        TagCatalog renamed = catalog.with(tag("1", "c"));
+        TagCatalog removed = renamed.without("2");
+
+        assertEquals(tag("1", "a"), catalog.findById("1").orElseThrow());
+        assertEquals(List.of(tag("2", "b"), tag("1", "c")), renamed.sortedByName());
+        assertEquals(List.of(tag("1", "c")), removed.sortedById());
+        assertTrue(removed.findById("2").isEmpty());
+        assertSame(removed, removed.without("2"));
+    }
+
+    @Test
+    void tagsAreCopied() {
+        Tag tag = tag("1", "a");
+        TagCatalog catalog = TagCatalog.of(List.of(tag));
+
+        tag.setName("b");
+
+        assertEquals("a", catalog.findById("1").orElseThrow().getName());
+    }
+
+    @Test
+    void tagsAreFoundByPrefixIgnoringCase() {
+        TagCatalog catalog = TagCatalog.of(List.of(tag("1", "Java"), tag("2", "javascript"), tag("3", "jvm"),
+                tag("4", "kotlin")));
+
+        assertEquals(List.of(tag("1", "Java"), tag("2", "javascript")), catalog.findAllByPrefix("jA"));
+        assertEquals(List.of(tag("2", "javascript")), catalog.findAllByPrefix("javas"));
+        assertEquals(4, catalog.findAllByPrefix("").size());
+        assertTrue(catalog.findAllByPrefix("z").isEmpty());
+    }
+}
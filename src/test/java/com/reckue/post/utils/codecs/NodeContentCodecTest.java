@@ -0,0 +1,111 @@
+package com.reckue.post.utils.codecs;
+
+import com.reckue.post.PostServiceApplicationTests;
+import com.reckue.post.migrations.NodeCompressionChangeLog;
+import com.reckue.post.models.Node;
+import com.reckue.post.models.nodes.CodeNode;
+import com.reckue.post.models.nodes.ListNode;
+import com.reckue.post.models.nodes.Parent;
+import com.reckue.post.models.nodes.TextNode;
+import com.reckue.post.models.types.LangType;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.repositories.NodeRepository;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class NodeContentCodecTest represents test for the compression of node contents.
+ */
+@TestPropertySource(properties = {
+        "reckue.compression.enabled=true",
+        "reckue.compression.threshold=64"})
+class NodeContentCodecTest extends PostServiceApplicationTests {
+
+    private static final String BIG_TEXT = "public static void main(String[] args) {}\n".repeat(20);
+
+    @Autowired
+    private NodeRepository nodeRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    @BeforeEach
+    public void setUp() {
+        nodeRepository.deleteAll();
+        mongoTemplate.dropCollection("storageSettings");
+    }
+
+    @Test
+    public void bigContentsAreCompressedTransparently() {
+        Node text = nodeRepository.save(node(NodeType.TEXT, new TextNode(BIG_TEXT)));
+        Node code = nodeRepository.save(node(NodeType.CODE, new CodeNode(LangType.JAVA, BIG_TEXT)));
+        Node list = nodeRepository.save(node(NodeType.LIST, new ListNode(Arrays.asList(BIG_TEXT, null, "item"))));
+
+        Assertions.assertAll(
+                () -> assertTrue(storedContent(text) instanceof Binary),
+                () -> assertTrue(storedContent(code) instanceof Binary),
+                () -> assertTrue(storedContent(list) instanceof Binary),
+                () -> assertEquals(text.getNode(), nodeRepository.findById(text.getId()).orElseThrow().getNode()),
+                () -> assertEquals(code.getNode(), nodeRepository.findById(code.getId()).orElseThrow().getNode()),
+                () -> assertEquals(list.getNode(), nodeRepository.findById(list.getId()).orElseThrow().getNode())
+        );
+    }
+
+    @Test
+    public void smallContentsAreStoredAsTheyAre() {
+        Node text = nodeRepository.save(node(NodeType.TEXT, new TextNode("small")));
+        Node list = nodeRepository.save(node(NodeType.LIST, new ListNode(List.of("a", "b"))));
+
+        Assertions.assertAll(
+                () -> assertEquals("small", storedContent(text)),
+                () -> assertEquals(List.of("a", "b"), storedContent(list)),
+                () -> assertEquals(TextNode.class.getName(), storedNode(text).getString("_class"))
+        );
+    }
+
+    @Test
+    public void migrationCompressesExistingContents() {
+        Document node = new Document("_id", "legacy")
+                .append("type", NodeType.TEXT.name())
+                .append("version", 3L)
+                .append("node", new Document("_class", TextNode.class.getName()).append("content", BIG_TEXT));
+        mongoTemplate.insert(node, "node");
+
+        new NodeCompressionChangeLog().recompress(mongoTemplate, environment);
+        Document stored = mongoTemplate.findById("legacy", Document.class, "node");
+
+        Assertions.assertAll(
+                () -> assertTrue(stored.get("node", Document.class).get("content") instanceof Binary),
+                () -> assertEquals(3L, stored.getLong("version")),
+                () -> assertEquals(new TextNode(BIG_TEXT), nodeRepository.findById("legacy").orElseThrow().getNode())
+        );
+    }
+
+    private Node node(NodeType type, Parent parent) {
+        return Node.builder().type(type).node(parent).postId("1").build();
+    }
+
+    private Document storedNode(Node node) {
+        return mongoTemplate.findById(node.getId(), Document.class, "node").get("node", Document.class);
+    }
+
+    private Object storedContent(Node node) {
+        return storedNode(node).get("content");
+    }
+}
@@ -0,0 +1,86 @@
+package com.reckue.post.utils.converters;
+
+import com.reckue.post.exceptions.ReckueIllegalArgumentException;
+import com.reckue.post.models.nodes.*;
+import com.reckue.post.models.types.LangType;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.transfers.nodes.NodeParentRequest;
+import com.reckue.post.transfers.nodes.audio.AudioNodeRequest;
+import com.reckue.post.transfers.nodes.audio.AudioNodeResponse;
+import com.reckue.post.transfers.nodes.code.CodeNodeRequest;
+import com.reckue.post.transfers.nodes.code.CodeNodeResponse;
+import com.reckue.post.transfers.nodes.image.ImageNodeRequest;
+import com.reckue.post.transfers.nodes.image.ImageNodeResponse;
+import com.reckue.post.transfers.nodes.list.ListNodeRequest;
+import com.reckue.post.transfers.nodes.list.ListNodeResponse;
+import com.reckue.post.transfers.nodes.poll.PollNodeRequest;
+import com.reckue.post.transfers.nodes.poll.PollNodeResponse;
+import com.reckue.post.transfers.nodes.text.TextNodeRequest;
+import com.reckue.post.transfers.nodes.text.TextNodeResponse;
+import com.reckue.post.transfers.nodes.video.VideoNodeRequest;
+import com.reckue.post.transfers.nodes.video.VideoNodeResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class NodeParentConverterTest checks that specialized mapping matches the reflective one.
+ */
+class NodeParentConverterTest {
+
+    @Test
+    void convertRequestsLikeModelMapper() {
+        Map<NodeParentRequest, Class<? extends Parent>> requests = Map.of(
+                new TextNodeRequest("text", NodeType.TEXT), TextNode.class,
+                new CodeNodeRequest(LangType.JAVA, "code", NodeType.CODE), CodeNode.class,
+                new ImageNodeRequest("image", NodeType.IMAGE), ImageNode.class,
+                new VideoNodeRequest("video", NodeType.VIDEO), VideoNode.class,
+                new AudioNodeRequest("audio", NodeType.AUDIO), AudioNode.class,
+                new ListNodeRequest(List.of("a", "b"), NodeType.LIST), ListNode.class,
+                new PollNodeRequest("poll", List.of("yes", "no"), NodeType.POLL), PollNode.class);
+
+        requests.forEach((request, model) -> assertEquals(Converter.convert(request, model),
+                NodeParentConverter.convert(request, request.getType())));
+    }
+
+    @Test
+    void convertModelsLikeModelMapper() {
+        Map<NodeType, Parent> models = Map.of(
+                NodeType.TEXT, new TextNode("text"),
+                NodeType.CODE, new CodeNode(LangType.JAVA, "code"),
+                NodeType.IMAGE, new ImageNode("image"),
+                NodeType.VIDEO, new VideoNode("video"),
+                NodeType.AUDIO, new AudioNode("audio"),
+                NodeType.LIST, new ListNode(List.of("a", "b")),
+                NodeType.POLL, PollNode.builder().id("1").title("poll").items(List.of("yes", "no")).build());
+        Map<NodeType, Class<?>> responses = Map.of(
+                NodeType.TEXT, TextNodeResponse.class,
+                NodeType.CODE, CodeNodeResponse.class,
+                NodeType.IMAGE, ImageNodeResponse.class,
+                NodeType.VIDEO, VideoNodeResponse.class,
+                NodeType.AUDIO, AudioNodeResponse.class,
+                NodeType.LIST, ListNodeResponse.class,
+                NodeType.POLL, PollNodeResponse.class);
+
+        models.forEach((type, model) -> assertEquals(Converter.convert(model, responses.get(type)),
+                NodeParentConverter.convert(model, type)));
+    }
+
+    @Test
+    void fallBackToModelMapperOnMismatchedType() {
+        ImageNodeRequest request = new ImageNodeRequest("url", NodeType.IMAGE);
+
+        assertEquals(new VideoNode(null), NodeParentConverter.convert(request, NodeType.VIDEO));
+    }
+
+    @Test
+    void convertNull() {
+        Throwable exception = assertThrows(ReckueIllegalArgumentException.class,
+                () -> NodeParentConverter.convert((Parent) null, NodeType.TEXT));
+        assertEquals("Null parameters are not allowed", exception.getMessage());
+    }
+}
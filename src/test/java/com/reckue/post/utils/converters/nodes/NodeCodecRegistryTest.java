@@ -0,0 +1,43 @@
+package com.reckue.post.utils.converters.nodes;
+
+import com.reckue.post.models.nodes.TextNode;
+import com.reckue.post.models.types.NodeType;
+import com.reckue.post.transfers.nodes.text.TextNodeRequest;
+import com.reckue.post.transfers.nodes.text.TextNodeResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Class NodeCodecRegistryTest checks the registry of node codecs.
+ */
+class NodeCodecRegistryTest {
+
+    @Test
+    void everyNodeTypeHasCodec() {
+        assertDoesNotThrow(NodeCodecRegistry::verify);
+        for (NodeType type : NodeType.values()) {
+            assertEquals(type, NodeCodecRegistry.get(type).getType());
+        }
+    }
+
+    @Test
+    void registeredCodecReplacesPrevious() {
+        NodeCodec<?, ?, ?> previous = NodeCodecRegistry.get(NodeType.TEXT);
+        NodeCodec<?, ?, ?> replacement = NodeCodec.of(NodeType.TEXT, TextNodeRequest.class, TextNode.class,
+                TextNodeResponse.class, request -> new TextNode("replaced"), model -> new TextNodeResponse("replaced"));
+        try {
+            NodeCodecRegistry.register(replacement);
+
+            assertSame(replacement, NodeCodecRegistry.get(NodeType.TEXT));
+            assertDoesNotThrow(NodeCodecRegistry::verify);
+        } finally {
+            NodeCodecRegistry.register(previous);
+        }
+        assertSame(previous, NodeCodecRegistry.get(NodeType.TEXT));
+        assertNull(NodeCodecRegistry.get(null));
+    }
+}